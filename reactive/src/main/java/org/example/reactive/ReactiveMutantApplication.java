@@ -0,0 +1,25 @@
+package org.example.reactive;
+
+import org.example.config.DetectorConfig;
+import org.example.config.FingerprintConfig;
+import org.example.service.MutantDetector;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Mutant Detector API - variante reactiva (WebFlux + R2DBC).
+ * Reutiliza el detector y el fingerprint del modulo servlet; solo cambia la capa web
+ * y el acceso a datos.
+ */
+@SpringBootApplication
+@Import({ FingerprintConfig.class, DetectorConfig.class, MutantDetector.class })
+public class ReactiveMutantApplication {
+
+    public static void main(String[] args) {
+        // reactive.properties: el application.properties del modulo servlet tambien esta en el classpath
+        new SpringApplicationBuilder(ReactiveMutantApplication.class)
+                .properties("spring.config.name=reactive")
+                .run(args);
+    }
+}
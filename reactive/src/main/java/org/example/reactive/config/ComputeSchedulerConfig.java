@@ -0,0 +1,24 @@
+package org.example.reactive.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Scheduler acotado para el trabajo de CPU (fingerprint y deteccion). Los hilos del
+ * event loop de Netty nunca ejecutan el analisis de la matriz.
+ */
+@Slf4j
+@Configuration
+public class ComputeSchedulerConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler computeScheduler(@Value("${reactive.compute.threads:0}") int threads) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        log.info("Using {} compute thread(s) for DNA analysis", size);
+        return Schedulers.newParallel("dna-compute", size);
+    }
+}
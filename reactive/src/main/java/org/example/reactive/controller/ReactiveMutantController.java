@@ -0,0 +1,39 @@
+package org.example.reactive.controller;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.example.dto.DnaRequest;
+import org.example.dto.StatsResponse;
+import org.example.reactive.service.ReactiveMutantService;
+import org.example.reactive.service.ReactiveStatsService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * Mismo contrato que el MutantController servlet para /mutant y /stats.
+ */
+@RestController
+@RequiredArgsConstructor
+public class ReactiveMutantController {
+
+    private final ReactiveMutantService mutantService;
+    private final ReactiveStatsService statsService;
+
+    @PostMapping("/mutant")
+    public Mono<ResponseEntity<Void>> detectMutant(@Valid @RequestBody DnaRequest dnaRequest) {
+        return mutantService.analyzeDna(dnaRequest.getDna())
+                .map(isMutant -> isMutant
+                        ? ResponseEntity.ok().<Void>build()
+                        : ResponseEntity.status(HttpStatus.FORBIDDEN).<Void>build());
+    }
+
+    @GetMapping("/stats")
+    public Mono<StatsResponse> getStats() {
+        return statsService.getStats();
+    }
+}
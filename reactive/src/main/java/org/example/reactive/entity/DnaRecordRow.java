@@ -0,0 +1,28 @@
+package org.example.reactive.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fila de dna_records leida via R2DBC. Mismo esquema que la entidad JPA DnaRecord.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("dna_records")
+public class DnaRecordRow {
+
+    @Id
+    private Long id;
+
+    private String dnaHash;
+
+    private boolean isMutant;
+
+    private LocalDateTime createdAt;
+}
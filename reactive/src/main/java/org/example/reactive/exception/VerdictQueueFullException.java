@@ -0,0 +1,11 @@
+package org.example.reactive.exception;
+
+/**
+ * La cola de escritura de veredictos esta llena: la base no sigue el ritmo de las peticiones.
+ */
+public class VerdictQueueFullException extends RuntimeException {
+
+    public VerdictQueueFullException(int capacity) {
+        super("Verdict write queue is full (" + capacity + " pending), retry later");
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.reactive.repository;
+
+import org.example.reactive.entity.DnaRecordRow;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveDnaRecordRepository extends ReactiveCrudRepository<DnaRecordRow, Long> {
+
+    Mono<DnaRecordRow> findByDnaHash(String dnaHash);
+}
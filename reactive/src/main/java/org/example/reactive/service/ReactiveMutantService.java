@@ -0,0 +1,42 @@
+package org.example.reactive.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.fingerprint.DnaFingerprint;
+import org.example.reactive.entity.DnaRecordRow;
+import org.example.reactive.repository.ReactiveDnaRecordRepository;
+import org.example.service.MutantDetector;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Version reactiva de MutantService: el fingerprint y la deteccion corren en el
+ * scheduler de computo, la busqueda de duplicados y la escritura son no bloqueantes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReactiveMutantService {
+
+    private final MutantDetector mutantDetector;
+    private final DnaFingerprint dnaFingerprint;
+    private final ReactiveDnaRecordRepository dnaRecordRepository;
+    private final VerdictBatchWriter verdictBatchWriter;
+    private final Scheduler computeScheduler;
+
+    public Mono<Boolean> analyzeDna(String[] dna) {
+        return Mono.fromCallable(() -> dnaFingerprint.fingerprint(dna))
+                .subscribeOn(computeScheduler)
+                .flatMap(dnaHash -> dnaRecordRepository.findByDnaHash(dnaHash)
+                        .map(DnaRecordRow::isMutant)
+                        .doOnNext(isMutant -> log.debug("DNA already analyzed, returning stored verdict"))
+                        .switchIfEmpty(Mono.defer(() -> detectAndStore(dna, dnaHash))));
+    }
+
+    private Mono<Boolean> detectAndStore(String[] dna, String dnaHash) {
+        return Mono.fromCallable(() -> mutantDetector.isMutant(dna))
+                .subscribeOn(computeScheduler)
+                .flatMap(isMutant -> verdictBatchWriter.write(dnaHash, isMutant).thenReturn(isMutant));
+    }
+}
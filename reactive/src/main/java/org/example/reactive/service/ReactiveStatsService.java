@@ -0,0 +1,32 @@
+package org.example.reactive.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.dto.StatsResponse;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Lee los contadores materializados de dna_stats (todas las filas, como el modulo servlet).
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveStatsService {
+
+    private static final String SUM_COUNTS =
+            "SELECT CAST(COALESCE(SUM(mutant_count), 0) AS BIGINT) AS mutants, "
+                    + "CAST(COALESCE(SUM(human_count), 0) AS BIGINT) AS humans FROM dna_stats";
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<StatsResponse> getStats() {
+        return databaseClient.sql(SUM_COUNTS)
+                .map(row -> {
+                    long countMutant = row.get("mutants", Long.class);
+                    long countHuman = row.get("humans", Long.class);
+                    double ratio = countHuman == 0 ? 0 : (double) countMutant / countHuman;
+                    return new StatsResponse(countMutant, countHuman, ratio);
+                })
+                .one();
+    }
+}
@@ -0,0 +1,145 @@
+package org.example.reactive.service;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.reactive.exception.VerdictQueueFullException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Agrupa los veredictos nuevos y los persiste por lotes: un insert multi-fila de dna_records
+ * y un unico incremento de dna_stats por lote, dentro de la misma transaccion.
+ * El buffer tiene capacidad fija y el agrupador solo pide el siguiente lote cuando la
+ * base termino el anterior; si la base se atrasa, el buffer se llena y las peticiones
+ * nuevas se rechazan en lugar de acumular memoria.
+ */
+@Slf4j
+@Service
+public class VerdictBatchWriter {
+
+    private static final String INSERT_IF_ABSENT =
+            "INSERT INTO dna_records (dna_hash, is_mutant, created_at) SELECT $1, $2, $3 "
+                    + "WHERE NOT EXISTS (SELECT 1 FROM dna_records WHERE dna_hash = $4)";
+    private static final String INCREMENT_STATS =
+            "UPDATE dna_stats SET mutant_count = mutant_count + :mutants, human_count = human_count + :humans "
+                    + "WHERE stripe = 0";
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final int capacity;
+    private final Sinks.Many<PendingVerdict> pending;
+    private final Disposable subscription;
+
+    public VerdictBatchWriter(DatabaseClient databaseClient,
+                              TransactionalOperator transactionalOperator,
+                              @Value("${reactive.writer.batch-size:256}") int batchSize,
+                              @Value("${reactive.writer.max-delay-ms:5}") long maxDelayMs,
+                              @Value("${reactive.writer.queue-capacity:8192}") int capacity) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+        this.capacity = capacity;
+        this.pending = Sinks.many().unicast().onBackpressureBuffer(Queues.<PendingVerdict>get(capacity).get());
+        // fairBackpressure: el lote siguiente se arma solo cuando concatMap pide mas
+        this.subscription = pending.asFlux()
+                .bufferTimeout(batchSize, Duration.ofMillis(maxDelayMs), true)
+                .concatMap(this::writeBatch, 1)
+                .subscribe();
+    }
+
+    /**
+     * Encola el veredicto; el Mono completa cuando el lote que lo contiene fue confirmado.
+     * Falla con {@link VerdictQueueFullException} si el buffer esta lleno.
+     */
+    public Mono<Void> write(String dnaHash, boolean isMutant) {
+        PendingVerdict verdict = new PendingVerdict(dnaHash, isMutant, Sinks.empty());
+        Sinks.EmitResult result;
+        // El sink unicast admite un solo emisor a la vez
+        synchronized (pending) {
+            result = pending.tryEmitNext(verdict);
+        }
+        if (result == Sinks.EmitResult.FAIL_OVERFLOW) {
+            return Mono.error(new VerdictQueueFullException(capacity));
+        }
+        if (result.isFailure()) {
+            return Mono.error(new IllegalStateException("Verdict writer is not accepting writes: " + result));
+        }
+        return verdict.done().asMono();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        synchronized (pending) {
+            pending.tryEmitComplete();
+        }
+        subscription.dispose();
+    }
+
+    private Mono<Void> writeBatch(List<PendingVerdict> batch) {
+        LocalDateTime now = LocalDateTime.now();
+        return databaseClient.inConnectionMany(connection -> insertAll(connection, batch, now))
+                .collectList()
+                .flatMap(rowsUpdated -> incrementStats(batch, rowsUpdated))
+                .as(transactionalOperator::transactional)
+                .doOnSuccess(ignored -> batch.forEach(verdict -> verdict.done().tryEmitEmpty()))
+                .onErrorResume(e -> {
+                    log.error("Failed to persist batch of {} verdicts: {}", batch.size(), e.getMessage());
+                    batch.forEach(verdict -> verdict.done().tryEmitError(e));
+                    return Mono.empty();
+                });
+    }
+
+    private static Flux<Long> insertAll(Connection connection, List<PendingVerdict> batch, LocalDateTime now) {
+        Statement statement = connection.createStatement(INSERT_IF_ABSENT);
+        for (int i = 0; i < batch.size(); i++) {
+            PendingVerdict verdict = batch.get(i);
+            if (i > 0) {
+                statement.add();
+            }
+            statement.bind(0, verdict.dnaHash())
+                    .bind(1, verdict.isMutant())
+                    .bind(2, now)
+                    .bind(3, verdict.dnaHash());
+        }
+        // Un resultado por fila del lote, en orden
+        return Flux.from(statement.execute()).concatMap(Result::getRowsUpdated);
+    }
+
+    private Mono<Void> incrementStats(List<PendingVerdict> batch, List<Long> rowsUpdated) {
+        long mutants = 0;
+        long humans = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            // 0 filas: el ADN ya estaba registrado (otra instancia o el mismo lote), no se cuenta
+            if (i < rowsUpdated.size() && rowsUpdated.get(i) > 0) {
+                if (batch.get(i).isMutant()) {
+                    mutants++;
+                } else {
+                    humans++;
+                }
+            }
+        }
+        if (mutants == 0 && humans == 0) {
+            return Mono.empty();
+        }
+        return databaseClient.sql(INCREMENT_STATS)
+                .bind("mutants", mutants)
+                .bind("humans", humans)
+                .then();
+    }
+
+    private record PendingVerdict(String dnaHash, boolean isMutant, Sinks.Empty<Void> done) {
+    }
+}
@@ -0,0 +1,3 @@
+-- Fila de contadores que incrementa VerdictBatchWriter (no pisa una fila existente)
+INSERT INTO dna_stats (stripe, mutant_count, human_count)
+SELECT 0, 0, 0 WHERE NOT EXISTS (SELECT 1 FROM dna_stats WHERE stripe = 0);
@@ -0,0 +1,124 @@
+package org.example.reactive.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generador de carga para comparar la variante reactiva con la servlet sobre el mismo
+ * hardware. Ambas exponen el mismo contrato, asi que se ejecuta igual contra cada una:
+ *
+ * <pre>
+ * ./gradlew bootRun                    (servlet, puerto 8080)
+ * ./gradlew :reactive:bootRun          (reactiva, puerto 8081)
+ * ./gradlew :reactive:loadTest -Dload.target=http://localhost:8080
+ * ./gradlew :reactive:loadTest -Dload.target=http://localhost:8081
+ * </pre>
+ *
+ * Parametros: load.requests, load.concurrency, load.size (N de la matriz) y
+ * load.repeat-ratio (fraccion de muestras ya enviadas, que resuelve la deduplicacion).
+ */
+@Tag("benchmark")
+class MutantLoadTest {
+
+    private static final char[] BASES = { 'A', 'C', 'G', 'T' };
+    private static final int DISTINCT_REPEATED = 1000;
+
+    @Test
+    void postMutantUnderLoad() throws Exception {
+        String target = System.getProperty("load.target", "http://localhost:8081");
+        int requests = Integer.getInteger("load.requests", 50_000);
+        int concurrency = Integer.getInteger("load.concurrency", 256);
+        int size = Integer.getInteger("load.size", 6);
+        double repeatRatio = Double.parseDouble(System.getProperty("load.repeat-ratio", "0.5"));
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        URI uri = URI.create(target + "/mutant");
+        String[] repeated = new String[DISTINCT_REPEATED];
+        Random random = new Random(42);
+        for (int i = 0; i < repeated.length; i++) {
+            repeated[i] = body(random, size);
+        }
+
+        // Warm-up del servidor (JIT) antes de medir
+        run(client, uri, repeated, Math.min(requests, 5_000), concurrency, size, repeatRatio, new long[0]);
+
+        long[] latencies = new long[requests];
+        long start = System.nanoTime();
+        int[] outcome = run(client, uri, repeated, requests, concurrency, size, repeatRatio, latencies);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Arrays.sort(latencies);
+        System.out.printf("%s: %d requests, concurrency %d, N=%d, repeat %.0f%%%n",
+                target, requests, concurrency, size, repeatRatio * 100);
+        System.out.printf("  throughput %.0f req/s, p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                requests / seconds, percentile(latencies, 0.50), percentile(latencies, 0.99),
+                latencies[latencies.length - 1] / 1e6);
+        System.out.printf("  200/403: %d, 503: %d, other: %d%n", outcome[0], outcome[1], outcome[2]);
+    }
+
+    private static int[] run(HttpClient client, URI uri, String[] repeated, int requests, int concurrency,
+                             int size, double repeatRatio, long[] latencies) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(concurrency);
+        CountDownLatch done = new CountDownLatch(requests);
+        AtomicInteger ok = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger other = new AtomicInteger();
+        Random random = new Random(System.nanoTime());
+        for (int i = 0; i < requests; i++) {
+            String body = random.nextDouble() < repeatRatio
+                    ? repeated[random.nextInt(repeated.length)]
+                    : body(random, size);
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            int index = i;
+            inFlight.acquire();
+            long sent = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                if (index < latencies.length) {
+                    latencies[index] = System.nanoTime() - sent;
+                }
+                int status = error == null ? response.statusCode() : -1;
+                if (status == 200 || status == 403) {
+                    ok.incrementAndGet();
+                } else if (status == 503) {
+                    rejected.incrementAndGet();
+                } else {
+                    other.incrementAndGet();
+                }
+                inFlight.release();
+                done.countDown();
+            });
+        }
+        done.await();
+        return new int[] { ok.get(), rejected.get(), other.get() };
+    }
+
+    private static String body(Random random, int n) {
+        StringBuilder json = new StringBuilder("{\"dna\":[");
+        for (int r = 0; r < n; r++) {
+            json.append(r == 0 ? "\"" : ",\"");
+            for (int c = 0; c < n; c++) {
+                json.append(BASES[random.nextInt(BASES.length)]);
+            }
+            json.append('"');
+        }
+        return json.append("]}").toString();
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))] / 1e6;
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.reactive.controller;
+
+import org.example.dto.DnaRequest;
+import org.example.dto.StatsResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the reactive /mutant and /stats endpoints (WebFlux + R2DBC on H2).
+ *
+ * Tests cover:
+ * - POST /mutant with mutant and human DNA (200 / 403)
+ * - POST /mutant with invalid DNA (400)
+ * - Stats counted once per distinct DNA, including repeated requests
+ *
+ * Total tests: 4
+ */
+@SpringBootTest(properties = { "spring.config.name=reactive", "mutant.detector.calibrate=false" })
+@AutoConfigureWebTestClient
+class ReactiveMutantControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    @DisplayName("POST /mutant should return 200 OK for mutant DNA")
+    void testMutantEndpoint_ReturnOk() {
+        // Arrange
+        DnaRequest request = new DnaRequest(new String[] { "ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG" });
+
+        // Act & Assert
+        webTestClient.post().uri("/mutant")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    @DisplayName("POST /mutant should return 403 Forbidden for human DNA")
+    void testHumanEndpoint_ReturnForbidden() {
+        // Arrange
+        DnaRequest request = new DnaRequest(new String[] { "ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG" });
+
+        // Act & Assert
+        webTestClient.post().uri("/mutant")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    @Test
+    @DisplayName("POST /mutant should return 400 Bad Request for invalid characters")
+    void testInvalidDna_ReturnBadRequest() {
+        // Arrange
+        DnaRequest request = new DnaRequest(new String[] { "ATGX", "CAGT", "TTAT", "AGAA" });
+
+        // Act & Assert
+        webTestClient.post().uri("/mutant")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.status").isEqualTo(400);
+    }
+
+    @Test
+    @DisplayName("GET /stats should count a repeated DNA only once")
+    void testStatsCountDistinctDna() {
+        // Arrange
+        StatsResponse before = getStats();
+        DnaRequest mutant = new DnaRequest(new String[] { "AAAAGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG" });
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            webTestClient.post().uri("/mutant")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(mutant)
+                    .exchange()
+                    .expectStatus().isOk();
+        }
+        StatsResponse after = getStats();
+
+        // Assert
+        assertEquals(before.getCountMutantDna() + 1, after.getCountMutantDna());
+        assertEquals(before.getCountHumanDna(), after.getCountHumanDna());
+    }
+
+    private StatsResponse getStats() {
+        StatsResponse stats = webTestClient.get().uri("/stats")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(StatsResponse.class)
+                .returnResult()
+                .getResponseBody();
+        assertNotNull(stats);
+        return stats;
+    }
+}
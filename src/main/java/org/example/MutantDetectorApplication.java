@@ -1,6 +1,8 @@
 package org.example;
 
+import org.example.bulk.BulkClassificationRunner;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
 /**
@@ -11,6 +13,12 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 public class MutantDetectorApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(MutantDetectorApplication.class, args);
+        SpringApplication application = new SpringApplication(MutantDetectorApplication.class);
+        if (BulkClassificationRunner.isRequested(args)) {
+            // Modo CLI: sin servidor web, termina al procesar el archivo
+            application.setWebApplicationType(WebApplicationType.NONE);
+            System.exit(SpringApplication.exit(application.run(args)));
+        }
+        application.run(args);
     }
 }
@@ -0,0 +1,9 @@
+package org.example.archive;
+
+/**
+ * Muestra leida del archivo crudo: el fingerprint con el que se guardo, su ubicacion
+ * (id del archivo, segmento y offset, los mismos que figuran en dna_records) y la matriz
+ * ya decodificada.
+ */
+public record ArchivedSample(String dnaHash, String archiveId, int segment, long offset, char[][] matrix) {
+}
@@ -0,0 +1,531 @@
+package org.example.archive;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.codec.PackedDnaCodec;
+import org.example.repository.DnaRecordRepository;
+import org.example.shard.ShardContext;
+import org.example.shard.ShardRouter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Archivo opcional de las muestras crudas, para poder reprocesarlas cuando se auditan las
+ * reglas de deteccion. Cada muestra nueva se guarda en el formato de PackedDnaCodec (N*N/4
+ * bytes, contra ~N*N+4N del JSON) comprimido con deflate, al final de segmentos de solo
+ * agregado; dna_records guarda el id del archivo, el segmento y el offset de su entrada.
+ *
+ * Cada instancia escribe sus propios segmentos en su directorio, que se identifica con un
+ * id aleatorio guardado en {@code archive.id} la primera vez. Una ubicacion solo se puede
+ * leer en la instancia cuyo directorio tiene ese id, y la lectura verifica el fingerprint.
+ *
+ * <pre>
+ * entrada: int largo del resto | int crc32 del resto | short largo del hash | hash (ASCII) | deflate
+ * </pre>
+ *
+ * El request solo empaqueta la matriz y la encola (si la cola esta llena la muestra se
+ * descarta y se cuenta); la compresion, la escritura y la actualizacion de dna_records
+ * ocurren en un thread propio, por lotes. La carga masiva escribe sus lotes directamente
+ * con {@link #appendAll}.
+ */
+@Slf4j
+@Component
+public class RawSampleArchive {
+
+    static final String SEGMENT_PREFIX = "segment-";
+    static final String SEGMENT_SUFFIX = ".dna";
+    static final String ID_FILE = "archive.id";
+
+    private static final int ENTRY_HEADER_BYTES = 8;
+    /** Cota para descartar largos corruptos: una matriz de 1000x1000 empaquetada ocupa ~250 KB. */
+    private static final int MAX_PAYLOAD_BYTES = 1 << 20;
+    private static final long POLL_TIMEOUT_MS = 200;
+
+    private final DnaRecordRepository dnaRecordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+    private final boolean enabled;
+    private final Path directory;
+    private final long segmentBytes;
+    private final int batchSize;
+    private final BlockingQueue<PendingSample> queue;
+    private final Deflater deflater;
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile String archiveId;
+
+    // Protegidos por el monitor: los usan el thread de escritura y la carga masiva
+    private FileChannel segment;
+    private int segmentNumber;
+    private long segmentSize;
+
+    private Thread writer;
+    private volatile boolean running;
+
+    public RawSampleArchive(DnaRecordRepository dnaRecordRepository,
+                            TransactionTemplate transactionTemplate,
+                            ShardRouter shardRouter,
+                            @Value("${dna.archive.enabled:false}") boolean enabled,
+                            @Value("${dna.archive.dir:./data/archive}") String directory,
+                            @Value("${dna.archive.segment-bytes:268435456}") long segmentBytes,
+                            @Value("${dna.archive.compression-level:6}") int compressionLevel,
+                            @Value("${dna.archive.queue-capacity:10000}") int queueCapacity,
+                            @Value("${dna.archive.batch-size:256}") int batchSize) {
+        this.dnaRecordRepository = dnaRecordRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.shardRouter = shardRouter;
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.segmentBytes = segmentBytes;
+        this.batchSize = Math.max(1, batchSize);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.deflater = new Deflater(compressionLevel);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        recover();
+        running = true;
+        writer = new Thread(this::drainLoop, "dna-archive");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Raw sample archive enabled in {} (segment {}, {} bytes)", directory, segmentNumber, segmentSize);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Encola una muestra ya persistida en dna_records. No bloquea: con la cola llena la
+     * muestra no se archiva.
+     */
+    public void append(String dnaHash, CharSequence[] rows) {
+        if (!enabled) {
+            return;
+        }
+        if (!queue.offer(new PendingSample(dnaHash, PackedDnaCodec.encode(rows)))) {
+            dropped.increment();
+            log.warn("Raw sample archive queue full, sample {} not archived ({} dropped so far)", dnaHash, dropped.sum());
+        }
+    }
+
+    /**
+     * Para la carga masiva: escribe en el hilo llamador las muestras ya empaquetadas, sin
+     * pasar por la cola (no se descarta ninguna). Los registros ya deben estar en dna_records.
+     */
+    public void appendAll(Map<String, byte[]> packedSamples) throws IOException {
+        if (!enabled || packedSamples.isEmpty()) {
+            return;
+        }
+        List<PendingSample> batch = new ArrayList<>(packedSamples.size());
+        packedSamples.forEach((dnaHash, packed) -> batch.add(new PendingSample(dnaHash, packed)));
+        writeBatch(batch);
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Id del directorio de esta instancia; null antes de arrancar.
+     */
+    public String getArchiveId() {
+        return archiveId;
+    }
+
+    /**
+     * Lee una entrada puntual a partir de la ubicacion guardada en dna_records.
+     *
+     * @throws IOException si la ubicacion es de otra instancia, si la entrada no existe o
+     *                     esta corrupta, o si no corresponde al fingerprint esperado
+     */
+    public ArchivedSample read(String expectedDnaHash, String sampleArchiveId, int segmentNumber, long offset)
+            throws IOException {
+        if (archiveId == null || !archiveId.equals(sampleArchiveId)) {
+            throw new IOException("Sample " + expectedDnaHash + " was archived by " + sampleArchiveId
+                    + ", this instance archives as " + archiveId);
+        }
+        ArchivedSample sample = readEntry(segmentNumber, offset);
+        if (!sample.dnaHash().equals(expectedDnaHash)) {
+            throw new IOException("Archived sample at segment " + segmentNumber + " offset " + offset
+                    + " belongs to " + sample.dnaHash() + ", not " + expectedDnaHash);
+        }
+        return sample;
+    }
+
+    private ArchivedSample readEntry(int segmentNumber, long offset) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentPath(segmentNumber), StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(ENTRY_HEADER_BYTES);
+            readFully(channel, header, offset);
+            header.flip();
+            int length = header.getInt();
+            int crc = header.getInt();
+            if (length <= 0 || length > MAX_PAYLOAD_BYTES || offset + ENTRY_HEADER_BYTES + length > channel.size()) {
+                throw new IOException("No archived sample at segment " + segmentNumber + " offset " + offset);
+            }
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            readFully(channel, payload, offset + ENTRY_HEADER_BYTES);
+            return parseEntry(archiveId, segmentNumber, offset, payload.array(), crc);
+        }
+    }
+
+    /**
+     * Recorre todas las muestras en orden de escritura, decodificando de a una para que la
+     * memoria no dependa del tamano del archivo. Una entrada incompleta al final del ultimo
+     * segmento (escritura en curso) se ignora.
+     *
+     * @return cantidad de muestras recorridas
+     */
+    public long forEachSample(Consumer<ArchivedSample> consumer) throws IOException {
+        long count = 0;
+        for (int number : listSegments()) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                    Files.newInputStream(segmentPath(number)), 1 << 16))) {
+                long offset = 0;
+                while (true) {
+                    byte[] payload;
+                    int crc;
+                    try {
+                        int length = in.readInt();
+                        crc = in.readInt();
+                        if (length <= 0 || length > MAX_PAYLOAD_BYTES) {
+                            break;
+                        }
+                        payload = new byte[length];
+                        in.readFully(payload);
+                    } catch (EOFException e) {
+                        break;
+                    }
+                    consumer.accept(parseEntry(archiveId, number, offset, payload, crc));
+                    offset += ENTRY_HEADER_BYTES + payload.length;
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Abre el ultimo segmento para seguir agregando. Si quedo una entrada a medio escribir
+     * (corte durante una escritura), el segmento se trunca en la ultima entrada valida.
+     */
+    synchronized void recover() throws IOException {
+        Files.createDirectories(directory);
+        archiveId = loadArchiveId();
+        List<Integer> segments = listSegments();
+        segmentNumber = segments.isEmpty() ? 1 : segments.get(segments.size() - 1);
+        segment = FileChannel.open(segmentPath(segmentNumber),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long validSize = validPrefix(segment);
+        if (validSize < segment.size()) {
+            log.warn("Truncating torn tail of archive segment {} from {} to {} bytes",
+                    segmentNumber, segment.size(), validSize);
+            segment.truncate(validSize);
+        }
+        segmentSize = validSize;
+        segment.position(segmentSize);
+    }
+
+    /**
+     * Escribe lo que haya en la cola y actualiza dna_records.
+     *
+     * @return cantidad de muestras escritas
+     */
+    int writePending() throws IOException {
+        List<PendingSample> batch = new ArrayList<>(batchSize);
+        queue.drainTo(batch, batchSize);
+        int written = 0;
+        while (!batch.isEmpty()) {
+            writeBatch(batch);
+            written += batch.size();
+            batch.clear();
+            queue.drainTo(batch, batchSize);
+        }
+        return written;
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        if (writer != null) {
+            running = false;
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        synchronized (this) {
+            if (segment != null) {
+                segment.close();
+            }
+            deflater.end();
+        }
+    }
+
+    private void drainLoop() {
+        List<PendingSample> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingSample first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                log.error("Failed to archive {} raw samples", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private synchronized void writeBatch(List<PendingSample> batch) throws IOException {
+        int startSegment = segmentNumber;
+        long startSize = segmentSize;
+        List<Location> locations = new ArrayList<>(batch.size());
+        try {
+            for (PendingSample sample : batch) {
+                byte[] entry = encodeEntry(sample);
+                if (segmentSize > 0 && segmentSize + entry.length > segmentBytes) {
+                    rollSegment();
+                }
+                ByteBuffer buffer = ByteBuffer.wrap(entry);
+                while (buffer.hasRemaining()) {
+                    segment.write(buffer);
+                }
+                locations.add(new Location(sample.dnaHash(), archiveId, segmentNumber, segmentSize));
+                segmentSize += entry.length;
+            }
+            // La entrada tiene que estar en disco antes de que dna_records la referencie
+            segment.force(false);
+        } catch (IOException e) {
+            rollBack(startSegment, startSize, e);
+            throw e;
+        }
+        updateLocations(locations);
+    }
+
+    /**
+     * Deshace un lote que fallo a mitad: borra los segmentos que abrio y trunca el inicial
+     * donde empezaba, para que el siguiente lote no quede detras de una entrada cortada ni
+     * con un segmentSize que no coincide con el archivo.
+     */
+    private void rollBack(int startSegment, long startSize, IOException cause) {
+        try {
+            if (segmentNumber != startSegment) {
+                segment.close();
+                for (int number = segmentNumber; number > startSegment; number--) {
+                    Files.deleteIfExists(segmentPath(number));
+                }
+                segmentNumber = startSegment;
+                segment = FileChannel.open(segmentPath(startSegment), StandardOpenOption.READ, StandardOpenOption.WRITE);
+            }
+            segment.truncate(startSize);
+            segment.position(startSize);
+            segmentSize = startSize;
+            log.warn("Rolled back raw sample archive to segment {} at {} bytes after a failed write",
+                    startSegment, startSize);
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+            // Vuelve a sincronizar con lo que haya en disco, como en el arranque
+            try {
+                segment.close();
+                recover();
+            } catch (IOException recoverError) {
+                cause.addSuppressed(recoverError);
+            }
+        }
+    }
+
+    /**
+     * Abre el segmento siguiente antes de soltar el actual: si no se puede crear, el estado
+     * sigue apuntando al segmento que esta abierto.
+     */
+    private void rollSegment() throws IOException {
+        segment.force(false);
+        int nextNumber = segmentNumber + 1;
+        FileChannel next = FileChannel.open(segmentPath(nextNumber),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment.close();
+        segment = next;
+        segmentNumber = nextNumber;
+        segmentSize = 0;
+        log.info("Rolled raw sample archive to segment {}", segmentNumber);
+    }
+
+    private void updateLocations(List<Location> locations) {
+        Map<Integer, List<Location>> byShard = new HashMap<>();
+        for (Location location : locations) {
+            byShard.computeIfAbsent(shardRouter.shardFor(location.dnaHash()), shard -> new ArrayList<>()).add(location);
+        }
+        byShard.forEach((shard, shardLocations) -> {
+            try {
+                ShardContext.runOn(shard, () -> transactionTemplate.executeWithoutResult(status -> {
+                    for (Location location : shardLocations) {
+                        dnaRecordRepository.updateArchiveLocation(location.dnaHash(), location.archiveId(),
+                                location.segment(), location.offset());
+                    }
+                }));
+            } catch (DataAccessException e) {
+                // Las entradas quedan en el archivo y se pueden recorrer igual con forEachSample
+                log.warn("Failed to store archive locations for {} records on shard {}: {}",
+                        shardLocations.size(), shard, e.getMessage());
+            }
+        });
+    }
+
+    private byte[] encodeEntry(PendingSample sample) {
+        byte[] hash = sample.dnaHash().getBytes(StandardCharsets.US_ASCII);
+        deflater.reset();
+        deflater.setInput(sample.packed());
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(ENTRY_HEADER_BYTES + 2 + hash.length
+                + sample.packed().length / 2 + 64);
+        out.writeBytes(new byte[ENTRY_HEADER_BYTES + 2]);
+        out.writeBytes(hash);
+        byte[] chunk = new byte[8192];
+        while (!deflater.finished()) {
+            out.write(chunk, 0, deflater.deflate(chunk));
+        }
+
+        byte[] entry = out.toByteArray();
+        ByteBuffer header = ByteBuffer.wrap(entry);
+        header.putShort(ENTRY_HEADER_BYTES, (short) hash.length);
+        CRC32 crc = new CRC32();
+        crc.update(entry, ENTRY_HEADER_BYTES, entry.length - ENTRY_HEADER_BYTES);
+        header.putInt(entry.length - ENTRY_HEADER_BYTES).putInt((int) crc.getValue());
+        return entry;
+    }
+
+    private static ArchivedSample parseEntry(String archiveId, int segmentNumber, long offset, byte[] payload,
+                                             int expectedCrc) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        if ((int) crc.getValue() != expectedCrc) {
+            throw new IOException("Corrupt archived sample at segment " + segmentNumber + " offset " + offset);
+        }
+        int hashLength = ((payload[0] & 0xFF) << 8) | (payload[1] & 0xFF);
+        String dnaHash = new String(payload, 2, hashLength, StandardCharsets.US_ASCII);
+        try (InputStream packed = new InflaterInputStream(
+                new ByteArrayInputStream(payload, 2 + hashLength, payload.length - 2 - hashLength))) {
+            return new ArchivedSample(dnaHash, archiveId, segmentNumber, offset, PackedDnaCodec.decode(packed));
+        }
+    }
+
+    /**
+     * Largo de las entradas completas y con crc valido desde el inicio del segmento.
+     */
+    private static long validPrefix(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long position = 0;
+        ByteBuffer header = ByteBuffer.allocate(ENTRY_HEADER_BYTES);
+        while (position + ENTRY_HEADER_BYTES <= size) {
+            header.clear();
+            readFully(channel, header, position);
+            header.flip();
+            int length = header.getInt();
+            int expectedCrc = header.getInt();
+            if (length <= 0 || length > MAX_PAYLOAD_BYTES || position + ENTRY_HEADER_BYTES + length > size) {
+                break;
+            }
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            readFully(channel, payload, position + ENTRY_HEADER_BYTES);
+            CRC32 crc = new CRC32();
+            crc.update(payload.array());
+            if ((int) crc.getValue() != expectedCrc) {
+                break;
+            }
+            position += ENTRY_HEADER_BYTES + length;
+        }
+        return position;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    private List<Integer> listSegments() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Integer.parseInt(name.substring(SEGMENT_PREFIX.length(),
+                            name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Lee el id del directorio o, si es nuevo, genera uno y lo guarda antes de escribir
+     * cualquier segmento.
+     */
+    private String loadArchiveId() throws IOException {
+        Path idFile = directory.resolve(ID_FILE);
+        if (Files.exists(idFile)) {
+            String id = Files.readString(idFile, StandardCharsets.US_ASCII).trim();
+            if (!id.isEmpty()) {
+                return id;
+            }
+        }
+        String id = UUID.randomUUID().toString();
+        Path tempFile = directory.resolve(ID_FILE + ".tmp");
+        Files.writeString(tempFile, id, StandardCharsets.US_ASCII);
+        Files.move(tempFile, idFile, StandardCopyOption.ATOMIC_MOVE);
+        return id;
+    }
+
+    private Path segmentPath(int number) {
+        return directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+    }
+
+    private record PendingSample(String dnaHash, byte[] packed) {
+    }
+
+    private record Location(String dnaHash, String archiveId, int segment, long offset) {
+    }
+}
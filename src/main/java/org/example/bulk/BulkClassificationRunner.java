@@ -0,0 +1,60 @@
+package org.example.bulk;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Modo linea de comandos: clasifica un archivo NDJSON y termina, sin servidor web.
+ *
+ * <pre>
+ * java -jar app.jar --bulk.input=samples.ndjson [--bulk.output=verdicts.ndjson] [--bulk.load=true]
+ * </pre>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = BulkClassificationRunner.INPUT_PROPERTY)
+@RequiredArgsConstructor
+public class BulkClassificationRunner implements ApplicationRunner {
+
+    public static final String INPUT_PROPERTY = "bulk.input";
+
+    private final BulkClassifier bulkClassifier;
+
+    @Value("${bulk.input}")
+    private String input;
+
+    @Value("${bulk.output:}")
+    private String output;
+
+    @Value("${bulk.load:false}")
+    private boolean load;
+
+    /**
+     * Indica si los argumentos piden el modo de clasificacion masiva.
+     */
+    public static boolean isRequested(String[] args) {
+        return Arrays.stream(args).anyMatch(arg -> arg.startsWith("--" + INPUT_PROPERTY + "="));
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        Path inputPath = Path.of(input);
+        Path outputPath = output.isBlank() ? Path.of(input + ".verdicts.ndjson") : Path.of(output);
+
+        BulkClassifier.Report report = bulkClassifier.classify(inputPath, outputPath, load);
+
+        System.out.printf("Bulk classification complete: %d samples (%d mutant, %d human, %d invalid), %d loaded%n",
+                report.samples(), report.mutants(), report.humans(), report.invalid(), report.loaded());
+        System.out.printf("Throughput: %.0f samples/sec, %.1f MB/sec (%.2f s)%n",
+                report.samplesPerSecond(), report.megabytesPerSecond(), report.elapsedNanos() / 1e9);
+        System.out.printf("Verdicts written to %s%n", outputPath);
+    }
+}
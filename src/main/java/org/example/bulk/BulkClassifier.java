@@ -0,0 +1,300 @@
+package org.example.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.example.archive.RawSampleArchive;
+import org.example.codec.PackedDnaCodec;
+import org.example.dto.DnaRequest;
+import org.example.fingerprint.DnaFingerprint;
+import org.example.service.DnaRecordBatchWriter;
+import org.example.service.MutantDetector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Clasificacion masiva de un archivo NDJSON ({@code {"dna": [...]}} por linea).
+ * El archivo se divide en rangos alineados a lineas que se mapean en memoria y se
+ * procesan en paralelo con la misma validacion y el mismo detector que la API.
+ * La salida tiene una linea por cada linea no vacia de la entrada, en el mismo orden:
+ * {@code {"fingerprint":"...","mutant":true}} o {@code {"error":"..."}}.
+ * Con la carga activada y el archivo de muestras crudas encendido, las muestras nuevas
+ * tambien se archivan (en el hilo de cada rango, sin la cola del request).
+ */
+@Slf4j
+@Component
+public class BulkClassifier {
+
+    private static final byte[] NEWLINE = { '\n' };
+    /** Rangos en vuelo por hilo: acota los resultados retenidos esperando su turno de escritura. */
+    static final int CHUNKS_IN_FLIGHT_PER_THREAD = 2;
+    /** Cota de las muestras empaquetadas que un rango retiene antes de cargarlas. */
+    private static final long MAX_PENDING_PACKED_BYTES = 16L << 20;
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final MutantDetector mutantDetector;
+    private final DnaFingerprint dnaFingerprint;
+    private final DnaRecordBatchWriter batchWriter;
+    private final RawSampleArchive rawSampleArchive;
+    private final int threads;
+    private final long maxChunkBytes;
+    private final int loadBatchSize;
+
+    public BulkClassifier(ObjectMapper objectMapper,
+                          Validator validator,
+                          MutantDetector mutantDetector,
+                          DnaFingerprint dnaFingerprint,
+                          DnaRecordBatchWriter batchWriter,
+                          RawSampleArchive rawSampleArchive,
+                          @Value("${bulk.threads:0}") int threads,
+                          @Value("${bulk.chunk-bytes:67108864}") long maxChunkBytes,
+                          @Value("${bulk.load-batch-size:1000}") int loadBatchSize) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.mutantDetector = mutantDetector;
+        this.dnaFingerprint = dnaFingerprint;
+        this.batchWriter = batchWriter;
+        this.rawSampleArchive = rawSampleArchive;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.maxChunkBytes = Math.min(maxChunkBytes, Integer.MAX_VALUE);
+        this.loadBatchSize = loadBatchSize;
+    }
+
+    public Report classify(Path input, Path output, boolean load) throws IOException {
+        long startNanos = System.nanoTime();
+        Counters counters = new Counters();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ);
+             OutputStream out = new BufferedOutputStream(Files.newOutputStream(output))) {
+            long size = channel.size();
+            // Varios rangos por core para repartir mejor las lineas de distinto tamaño
+            long chunkBytes = Math.max(1, Math.min(maxChunkBytes, (size + threads * 4L - 1) / (threads * 4L)));
+            List<NdjsonChunker.Chunk> chunks = NdjsonChunker.split(channel, chunkBytes);
+            log.info("Classifying {} ({} bytes) in {} chunks on {} threads", input, size, chunks.size(), threads);
+
+            // Ventana deslizante: un rango nuevo entra recien cuando se escribe el mas viejo, asi
+            // que la salida retenida no depende del tamano del archivo
+            int window = threads * CHUNKS_IN_FLIGHT_PER_THREAD;
+            Deque<CompletableFuture<byte[]>> inFlight = new ArrayDeque<>(window);
+            Iterator<NdjsonChunker.Chunk> remaining = chunks.iterator();
+            while (remaining.hasNext() || !inFlight.isEmpty()) {
+                while (remaining.hasNext() && inFlight.size() < window) {
+                    NdjsonChunker.Chunk chunk = remaining.next();
+                    inFlight.add(CompletableFuture.supplyAsync(() -> processChunk(channel, chunk, load, counters), pool));
+                }
+                // Los resultados se escriben en el orden de la entrada a medida que se completan
+                out.write(inFlight.poll().join());
+            }
+            counters.bytes.add(size);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        } finally {
+            pool.shutdownNow();
+        }
+        return counters.toReport(System.nanoTime() - startNanos);
+    }
+
+    private byte[] processChunk(FileChannel channel, NdjsonChunker.Chunk chunk, boolean load, Counters counters) {
+        MappedByteBuffer buffer;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, chunk.start(), chunk.length());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream((int) Math.min(chunk.length() / 4 + 64, Integer.MAX_VALUE));
+        PendingLoad pendingLoad = load ? new PendingLoad(rawSampleArchive.isEnabled()) : null;
+        byte[] line = new byte[4096];
+        int limit = buffer.limit();
+        int lineStart = 0;
+        while (lineStart < limit) {
+            int lineEnd = lineStart;
+            while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int length = lineEnd - lineStart;
+            if (length > 0 && buffer.get(lineEnd - 1) == '\r') {
+                length--;
+            }
+            if (length > line.length) {
+                line = new byte[Math.max(length, line.length * 2)];
+            }
+            buffer.get(lineStart, line, 0, length);
+            lineStart = lineEnd + 1;
+
+            if (isBlank(line, length)) {
+                continue;
+            }
+            out.writeBytes(classifyLine(line, length, counters, pendingLoad));
+            out.writeBytes(NEWLINE);
+
+            if (pendingLoad != null && pendingLoad.isFull()) {
+                pendingLoad.flush(counters);
+            }
+        }
+        if (pendingLoad != null) {
+            pendingLoad.flush(counters);
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] classifyLine(byte[] line, int length, Counters counters, PendingLoad pendingLoad) {
+        counters.samples.increment();
+        DnaRequest request;
+        try {
+            request = objectMapper.readValue(line, 0, length, DnaRequest.class);
+        } catch (IOException e) {
+            counters.invalid.increment();
+            return error("Malformed JSON line");
+        }
+
+        Set<ConstraintViolation<DnaRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            counters.invalid.increment();
+            return error(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+
+        String[] dna = request.getDna();
+        String dnaHash = dnaFingerprint.fingerprint(dna);
+        boolean isMutant = mutantDetector.isMutant(dna);
+        (isMutant ? counters.mutants : counters.humans).increment();
+        if (pendingLoad != null) {
+            pendingLoad.add(dnaHash, isMutant, dna);
+        }
+        return ("{\"fingerprint\":\"" + dnaHash + "\",\"mutant\":" + isMutant + "}").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private byte[] error(String message) {
+        try {
+            return objectMapper.writeValueAsBytes(Map.of("error", message));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean isBlank(byte[] line, int length) {
+        for (int i = 0; i < length; i++) {
+            if (line[i] != ' ' && line[i] != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Veredictos de un rango pendientes de cargar y, si se archivan, sus muestras ya
+     * empaquetadas (N*N/4 bytes cada una).
+     */
+    private final class PendingLoad {
+
+        private final Map<String, Boolean> verdicts = new HashMap<>();
+        private final Map<String, byte[]> packedSamples;
+        private long packedBytes;
+
+        private PendingLoad(boolean archive) {
+            this.packedSamples = archive ? new HashMap<>() : null;
+        }
+
+        private void add(String dnaHash, boolean isMutant, String[] dna) {
+            verdicts.put(dnaHash, isMutant);
+            if (packedSamples != null) {
+                byte[] packed = PackedDnaCodec.encode(dna);
+                packedSamples.put(dnaHash, packed);
+                packedBytes += packed.length;
+            }
+        }
+
+        private boolean isFull() {
+            return verdicts.size() >= loadBatchSize || packedBytes >= MAX_PENDING_PACKED_BYTES;
+        }
+
+        private void flush(Counters counters) {
+            if (verdicts.isEmpty()) {
+                return;
+            }
+            if (packedSamples == null) {
+                counters.loaded.add(batchWriter.writeAll(verdicts));
+            } else {
+                Set<String> inserted = batchWriter.insertAll(verdicts);
+                counters.loaded.add(inserted.size());
+                // Solo las muestras nuevas: las que ya estaban en dna_records no se archivan otra vez
+                Map<String, byte[]> newSamples = new HashMap<>();
+                for (String dnaHash : inserted) {
+                    newSamples.put(dnaHash, packedSamples.get(dnaHash));
+                }
+                try {
+                    rawSampleArchive.appendAll(newSamples);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                packedSamples.clear();
+                packedBytes = 0;
+            }
+            verdicts.clear();
+        }
+    }
+
+    private static final class Counters {
+
+        private final LongAdder samples = new LongAdder();
+        private final LongAdder mutants = new LongAdder();
+        private final LongAdder humans = new LongAdder();
+        private final LongAdder invalid = new LongAdder();
+        private final LongAdder loaded = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+
+        private Report toReport(long elapsedNanos) {
+            return new Report(samples.sum(), mutants.sum(), humans.sum(), invalid.sum(), loaded.sum(), bytes.sum(),
+                    elapsedNanos);
+        }
+    }
+
+    public record Report(long samples, long mutants, long humans, long invalid, long loaded, long bytes,
+                         long elapsedNanos) {
+
+        public double samplesPerSecond() {
+            return elapsedNanos == 0 ? 0 : samples * 1e9 / elapsedNanos;
+        }
+
+        public double megabytesPerSecond() {
+            return elapsedNanos == 0 ? 0 : bytes / (1024.0 * 1024.0) * 1e9 / elapsedNanos;
+        }
+    }
+}
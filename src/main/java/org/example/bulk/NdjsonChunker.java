@@ -0,0 +1,66 @@
+package org.example.bulk;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Divide un archivo NDJSON en rangos de bytes que empiezan y terminan en limites de
+ * linea, para que cada rango se pueda mapear y procesar de forma independiente.
+ */
+final class NdjsonChunker {
+
+    private static final int SCAN_BUFFER_BYTES = 8192;
+
+    private NdjsonChunker() {
+    }
+
+    record Chunk(long start, long end) {
+
+        long length() {
+            return end - start;
+        }
+    }
+
+    /**
+     * Rangos de aproximadamente {@code chunkBytes}; cada corte se corre hasta el
+     * siguiente salto de linea. Los rangos vacios se omiten.
+     */
+    static List<Chunk> split(FileChannel channel, long chunkBytes) throws IOException {
+        long size = channel.size();
+        List<Chunk> chunks = new ArrayList<>();
+        long start = 0;
+        while (start < size) {
+            long end = start + chunkBytes >= size ? size : nextLineStart(channel, start + chunkBytes, size);
+            if (end > start) {
+                chunks.add(new Chunk(start, end));
+            }
+            start = end;
+        }
+        return chunks;
+    }
+
+    /**
+     * Posicion siguiente al primer '\n' encontrado desde {@code position}, o el fin del archivo.
+     */
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_BYTES);
+        long offset = position;
+        while (offset < size) {
+            buffer.clear();
+            int read = channel.read(buffer, offset);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,231 @@
+package org.example.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementacion de referencia del nivel compartido: un servidor TCP embebido que
+ * guarda los veredictos en memoria. Sirve como stand-in local de un cache
+ * distribuido y se puede levantar dentro de una instancia o en los tests.
+ *
+ * No tiene autenticacion: cualquiera que llegue al puerto puede fijar veredictos que no
+ * se invalidan nunca. Por eso escucha solo en loopback salvo que se indique otra
+ * direccion, y atiende a lo sumo {@code maxConnections} conexiones a la vez. Una conexion
+ * sin comandos durante {@code idleTimeoutMs} se cierra para liberar su lugar; los clientes
+ * reconectan al reutilizarla.
+ */
+@Slf4j
+public class EmbeddedVerdictServer implements Closeable {
+
+    private static final int BACKLOG = 50;
+
+    private final InetAddress bindAddress;
+    private final int port;
+    private final int maxEntries;
+    private final int maxConnections;
+    private final int idleTimeoutMs;
+    private final Map<String, Boolean> verdicts = new ConcurrentHashMap<>();
+    private final Semaphore connectionSlots;
+    private final AtomicLong rejectedVerdicts = new AtomicLong();
+    private final AtomicLong rejectedConnections = new AtomicLong();
+
+    private ServerSocket serverSocket;
+    private ExecutorService workers;
+
+    public EmbeddedVerdictServer(int port, int maxEntries) {
+        this(InetAddress.getLoopbackAddress(), port, maxEntries, 64, 30_000);
+    }
+
+    public EmbeddedVerdictServer(InetAddress bindAddress, int port, int maxEntries, int maxConnections,
+                                 int idleTimeoutMs) {
+        this.bindAddress = bindAddress;
+        this.port = port;
+        this.maxEntries = maxEntries;
+        this.maxConnections = Math.max(1, maxConnections);
+        this.connectionSlots = new Semaphore(this.maxConnections);
+        this.idleTimeoutMs = idleTimeoutMs;
+    }
+
+    public synchronized void start() throws IOException {
+        serverSocket = new ServerSocket(port, BACKLOG, bindAddress);
+        AtomicInteger threadCount = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(maxConnections, runnable -> {
+            Thread thread = new Thread(runnable, "verdict-server-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Thread acceptor = new Thread(this::acceptLoop, "verdict-server-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        log.info("Embedded verdict server listening on {}:{} (max {} connections)",
+                bindAddress.getHostAddress(), getPort(), maxConnections);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int size() {
+        return verdicts.size();
+    }
+
+    /**
+     * Veredictos nuevos descartados porque el servidor ya tenia {@code maxEntries}.
+     */
+    public long getRejectedVerdicts() {
+        return rejectedVerdicts.get();
+    }
+
+    /**
+     * Conexiones cerradas al aceptarlas porque ya habia {@code maxConnections} abiertas.
+     */
+    public long getRejectedConnections() {
+        return rejectedConnections.get();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (serverSocket != null) {
+            serverSocket.close();
+            workers.shutdownNow();
+        }
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                if (!connectionSlots.tryAcquire()) {
+                    rejectConnection(socket);
+                    continue;
+                }
+                workers.execute(() -> {
+                    try {
+                        serve(socket);
+                    } finally {
+                        connectionSlots.release();
+                    }
+                });
+            } catch (SocketException e) {
+                // El socket se cerro en close()
+                return;
+            } catch (IOException e) {
+                log.warn("Verdict server failed to accept connection: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void rejectConnection(Socket socket) {
+        long rejected = rejectedConnections.incrementAndGet();
+        if (rejected == 1 || rejected % 1000 == 0) {
+            log.warn("Verdict server rejected {} connections: limit of {} reached", rejected, maxConnections);
+        }
+        try (socket; Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII)) {
+            out.write(VerdictProtocol.ERROR + " too many connections\n");
+        } catch (IOException e) {
+            log.debug("Verdict server failed to reject connection: {}", e.getMessage());
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII))) {
+            socket.setTcpNoDelay(true);
+            socket.setSoTimeout(idleTimeoutMs);
+            String command;
+            while ((command = in.readLine()) != null) {
+                int separator = command.indexOf(' ');
+                String name = separator < 0 ? command : command.substring(0, separator);
+                int count = separator < 0 ? -1 : parseCount(command.substring(separator + 1));
+                if (count < 0) {
+                    out.write(VerdictProtocol.ERROR + " malformed command\n");
+                    out.flush();
+                    return;
+                }
+                if (VerdictProtocol.MGET.equals(name)) {
+                    handleGet(in, out, count);
+                } else if (VerdictProtocol.MSET.equals(name)) {
+                    handleSet(in, out, count);
+                } else {
+                    out.write(VerdictProtocol.ERROR + " unknown command\n");
+                    out.flush();
+                    return;
+                }
+                out.flush();
+            }
+        } catch (SocketTimeoutException e) {
+            log.debug("Verdict server closed a connection idle for {} ms", idleTimeoutMs);
+        } catch (IOException e) {
+            log.debug("Verdict server connection closed: {}", e.getMessage());
+        }
+    }
+
+    private void handleGet(BufferedReader in, Writer out, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            String key = in.readLine();
+            Boolean verdict = key == null ? null : verdicts.get(key);
+            out.write(verdict == null ? VerdictProtocol.UNKNOWN : VerdictProtocol.encode(verdict));
+            out.write('\n');
+        }
+    }
+
+    private void handleSet(BufferedReader in, Writer out, int count) throws IOException {
+        int stored = 0;
+        int rejected = 0;
+        for (int i = 0; i < count; i++) {
+            String line = in.readLine();
+            int separator = line == null ? -1 : line.lastIndexOf(' ');
+            if (separator <= 0) {
+                continue;
+            }
+            String key = line.substring(0, separator);
+            boolean isMutant = VerdictProtocol.MUTANT.equals(line.substring(separator + 1));
+            // Veredictos inmutables: gana el primer escritor, nunca se sobrescribe
+            if (verdicts.containsKey(key)) {
+                continue;
+            }
+            if (verdicts.size() >= maxEntries) {
+                rejected++;
+            } else if (verdicts.putIfAbsent(key, isMutant) == null) {
+                stored++;
+            }
+        }
+        if (rejected > 0) {
+            long total = rejectedVerdicts.addAndGet(rejected);
+            // Un aviso al llenarse y luego cada millon, para no inundar el log
+            if (total == rejected || total / 1_000_000 != (total - rejected) / 1_000_000) {
+                log.warn("Verdict server is full ({} entries): {} new verdicts not stored so far", maxEntries, total);
+            }
+        }
+        out.write(VerdictProtocol.OK + " " + stored + "\n");
+    }
+
+    private static int parseCount(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
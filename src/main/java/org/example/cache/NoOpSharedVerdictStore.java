@@ -0,0 +1,20 @@
+package org.example.cache;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Nivel compartido vacio, usado cuando no hay un store compartido configurado.
+ */
+public class NoOpSharedVerdictStore implements SharedVerdictStore {
+
+    @Override
+    public Map<String, Boolean> getAll(Collection<String> fingerprints) {
+        return Map.of();
+    }
+
+    @Override
+    public void putAll(Map<String, Boolean> verdicts) {
+        // Sin nivel compartido: solo se usa el near-cache local
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.cache;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Nivel compartido del cache de veredictos, visible por todas las instancias.
+ * Las escrituras respetan al primer escritor: un fingerprint existente no se sobrescribe.
+ */
+public interface SharedVerdictStore {
+
+    Map<String, Boolean> getAll(Collection<String> fingerprints) throws IOException;
+
+    void putAll(Map<String, Boolean> verdicts) throws IOException;
+}
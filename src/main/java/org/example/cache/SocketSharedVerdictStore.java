@@ -0,0 +1,217 @@
+package org.example.cache;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cliente del nivel compartido que habla el protocolo de {@link EmbeddedVerdictServer}.
+ * Reutiliza conexiones mediante un pool acotado; una conexion con error se descarta.
+ * Abre a lo sumo {@code maxConnections} a la vez, para no agotar los lugares del servidor,
+ * y si el servidor cerro una conexion ociosa del pool el pedido se repite con una nueva.
+ */
+public class SocketSharedVerdictStore implements SharedVerdictStore, Closeable {
+
+    private final String host;
+    private final int port;
+    private final int timeoutMs;
+    private final int maxConnections;
+    private final BlockingQueue<Connection> idleConnections;
+    private final Semaphore openConnections;
+
+    public SocketSharedVerdictStore(String host, int port, int timeoutMs, int maxIdleConnections, int maxConnections) {
+        this.host = host;
+        this.port = port;
+        this.timeoutMs = timeoutMs;
+        this.maxConnections = Math.max(1, maxConnections);
+        this.idleConnections = new ArrayBlockingQueue<>(Math.max(1, Math.min(maxIdleConnections, this.maxConnections)));
+        this.openConnections = new Semaphore(this.maxConnections);
+    }
+
+    @Override
+    public Map<String, Boolean> getAll(Collection<String> fingerprints) throws IOException {
+        if (fingerprints.isEmpty()) {
+            return Map.of();
+        }
+        List<String> keys = new ArrayList<>(fingerprints);
+        keys.forEach(VerdictProtocol::checkKey);
+
+        return call(connection -> {
+            connection.out.write(VerdictProtocol.MGET + " " + keys.size() + "\n");
+            for (String key : keys) {
+                connection.out.write(key);
+                connection.out.write('\n');
+            }
+            connection.out.flush();
+
+            Map<String, Boolean> found = new HashMap<>();
+            for (String key : keys) {
+                String reply = connection.readLine();
+                if (VerdictProtocol.MUTANT.equals(reply)) {
+                    found.put(key, true);
+                } else if (VerdictProtocol.HUMAN.equals(reply)) {
+                    found.put(key, false);
+                } else if (!VerdictProtocol.UNKNOWN.equals(reply)) {
+                    throw new IOException("Unexpected reply from verdict server: " + reply);
+                }
+            }
+            return found;
+        });
+    }
+
+    @Override
+    public void putAll(Map<String, Boolean> verdicts) throws IOException {
+        if (verdicts.isEmpty()) {
+            return;
+        }
+        verdicts.keySet().forEach(VerdictProtocol::checkKey);
+
+        call(connection -> {
+            connection.out.write(VerdictProtocol.MSET + " " + verdicts.size() + "\n");
+            for (Map.Entry<String, Boolean> entry : verdicts.entrySet()) {
+                connection.out.write(entry.getKey());
+                connection.out.write(' ');
+                connection.out.write(VerdictProtocol.encode(entry.getValue()));
+                connection.out.write('\n');
+            }
+            connection.out.flush();
+
+            String reply = connection.readLine();
+            if (!reply.startsWith(VerdictProtocol.OK)) {
+                throw new IOException("Unexpected reply from verdict server: " + reply);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void close() {
+        Connection connection;
+        while ((connection = idleConnections.poll()) != null) {
+            discard(connection);
+        }
+    }
+
+    /**
+     * Ejecuta el pedido en una conexion del pool o en una nueva. MGET y MSET se pueden
+     * repetir: si una conexion reutilizada resulta cerrada por el servidor (timeout de
+     * inactividad o reinicio), se descarta y el pedido se repite una vez con una nueva.
+     */
+    private <T> T call(Exchange<T> exchange) throws IOException {
+        Connection connection = idleConnections.poll();
+        if (connection != null) {
+            try {
+                T result = exchange.run(connection);
+                release(connection);
+                return result;
+            } catch (ConnectionClosedException | SocketException e) {
+                discard(connection);
+            } catch (IOException | RuntimeException e) {
+                discard(connection);
+                throw e;
+            }
+        }
+        connection = open();
+        try {
+            T result = exchange.run(connection);
+            release(connection);
+            return result;
+        } catch (IOException | RuntimeException e) {
+            discard(connection);
+            throw e;
+        }
+    }
+
+    private Connection open() throws IOException {
+        try {
+            if (!openConnections.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new IOException("All " + maxConnections + " connections to the verdict server are busy");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for a verdict server connection");
+        }
+        try {
+            return new Connection(host, port, timeoutMs);
+        } catch (IOException | RuntimeException e) {
+            openConnections.release();
+            throw e;
+        }
+    }
+
+    private void release(Connection connection) {
+        if (!idleConnections.offer(connection)) {
+            discard(connection);
+        }
+    }
+
+    private void discard(Connection connection) {
+        connection.close();
+        openConnections.release();
+    }
+
+    @FunctionalInterface
+    private interface Exchange<T> {
+        T run(Connection connection) throws IOException;
+    }
+
+    /**
+     * El servidor cerro la conexion (EOF).
+     */
+    private static final class ConnectionClosedException extends IOException {
+
+        private ConnectionClosedException() {
+            super("Verdict server closed the connection");
+        }
+    }
+
+    private static final class Connection {
+
+        private final Socket socket;
+        private final BufferedReader in;
+        private final Writer out;
+
+        private Connection(String host, int port, int timeoutMs) throws IOException {
+            socket = new Socket();
+            socket.setTcpNoDelay(true);
+            socket.setSoTimeout(timeoutMs);
+            socket.connect(new InetSocketAddress(host, port), timeoutMs);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII));
+        }
+
+        private String readLine() throws IOException {
+            String line = in.readLine();
+            if (line == null) {
+                throw new ConnectionClosedException();
+            }
+            return line;
+        }
+
+        private void close() {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // La conexion ya no es utilizable
+            }
+        }
+    }
+}
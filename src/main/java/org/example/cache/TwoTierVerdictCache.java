@@ -0,0 +1,84 @@
+package org.example.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Cache de veredictos de dos niveles: un near-cache local acotado delante de un
+ * store compartido entre instancias. Los fallos del nivel compartido se registran
+ * y se tratan como miss, nunca como error de la request.
+ */
+@Slf4j
+public class TwoTierVerdictCache implements VerdictCache {
+
+    private final NearCache nearCache;
+    private final SharedVerdictStore sharedStore;
+
+    public TwoTierVerdictCache(NearCache nearCache, SharedVerdictStore sharedStore) {
+        this.nearCache = nearCache;
+        this.sharedStore = sharedStore;
+    }
+
+    @Override
+    public Optional<Boolean> get(String fingerprint) {
+        Boolean local = nearCache.get(fingerprint);
+        if (local != null) {
+            return Optional.of(local);
+        }
+        return Optional.ofNullable(fetchShared(List.of(fingerprint)).get(fingerprint));
+    }
+
+    @Override
+    public Map<String, Boolean> getAll(Collection<String> fingerprints) {
+        Map<String, Boolean> result = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String fingerprint : fingerprints) {
+            Boolean local = nearCache.get(fingerprint);
+            if (local != null) {
+                result.put(fingerprint, local);
+            } else {
+                misses.add(fingerprint);
+            }
+        }
+        if (!misses.isEmpty()) {
+            result.putAll(fetchShared(misses));
+        }
+        return result;
+    }
+
+    @Override
+    public void put(String fingerprint, boolean isMutant) {
+        putAll(Map.of(fingerprint, isMutant));
+    }
+
+    @Override
+    public void putAll(Map<String, Boolean> verdicts) {
+        if (verdicts.isEmpty()) {
+            return;
+        }
+        verdicts.forEach(nearCache::put);
+        try {
+            sharedStore.putAll(verdicts);
+        } catch (IOException e) {
+            log.warn("Shared verdict store unavailable on put: {}", e.getMessage());
+        }
+    }
+
+    private Map<String, Boolean> fetchShared(List<String> fingerprints) {
+        try {
+            Map<String, Boolean> found = sharedStore.getAll(fingerprints);
+            found.forEach(nearCache::put);
+            return found;
+        } catch (IOException e) {
+            log.warn("Shared verdict store unavailable on get: {}", e.getMessage());
+            return Map.of();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.cache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Cache de veredictos indexado por fingerprint de ADN.
+ * Los veredictos son inmutables: una vez guardados nunca se invalidan ni se sobrescriben.
+ */
+public interface VerdictCache {
+
+    Optional<Boolean> get(String fingerprint);
+
+    /**
+     * Devuelve solo los fingerprints conocidos; los ausentes no aparecen en el mapa.
+     */
+    Map<String, Boolean> getAll(Collection<String> fingerprints);
+
+    void put(String fingerprint, boolean isMutant);
+
+    void putAll(Map<String, Boolean> verdicts);
+}
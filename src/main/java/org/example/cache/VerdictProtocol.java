@@ -0,0 +1,40 @@
+package org.example.cache;
+
+/**
+ * Protocolo de texto (lineas ASCII) entre {@link SocketSharedVerdictStore} y {@link EmbeddedVerdictServer}.
+ * <pre>
+ * MGET &lt;n&gt;            seguido de n lineas con un fingerprint cada una
+ *                      respuesta: n lineas con 1 (mutante), 0 (humano) o - (desconocido)
+ * MSET &lt;n&gt;            seguido de n lineas "&lt;fingerprint&gt; &lt;1|0&gt;"
+ *                      respuesta: "OK &lt;guardados&gt;"
+ * </pre>
+ */
+final class VerdictProtocol {
+
+    static final String MGET = "MGET";
+    static final String MSET = "MSET";
+    static final String OK = "OK";
+    static final String ERROR = "ERR";
+    static final String MUTANT = "1";
+    static final String HUMAN = "0";
+    static final String UNKNOWN = "-";
+
+    private VerdictProtocol() {
+    }
+
+    static String encode(boolean isMutant) {
+        return isMutant ? MUTANT : HUMAN;
+    }
+
+    static void checkKey(String fingerprint) {
+        if (fingerprint.isEmpty()) {
+            throw new IllegalArgumentException("Fingerprint cannot be empty");
+        }
+        for (int i = 0; i < fingerprint.length(); i++) {
+            char c = fingerprint.charAt(i);
+            if (c <= ' ' || c > '~') {
+                throw new IllegalArgumentException("Invalid character in fingerprint: " + fingerprint);
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.codec;
+
+import org.example.validation.ValidDnaSequenceValidator;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Formato binario compacto para muestras de ADN (application/octet-stream).
+ *
+ * <pre>
+ * bytes 0..3  N (entero sin signo big-endian, 1..1000)
+ * bytes 4..   N*N bases de 2 bits, por filas, empezando por los bits mas significativos
+ *             de cada byte: A=00, C=01, G=10, T=11; el ultimo byte se completa con ceros
+ * </pre>
+ *
+ * El cuerpo debe medir exactamente 4 + ceil(N*N / 4) bytes. Como cada combinacion de
+ * 2 bits es una base valida, no hace falta validar caracteres.
+ */
+public final class PackedDnaCodec {
+
+    public static final int HEADER_BYTES = 4;
+
+    private static final char[] BASES = { 'A', 'C', 'G', 'T' };
+
+    private PackedDnaCodec() {
+    }
+
+    /**
+     * Cantidad de bytes de bases para una matriz de n x n.
+     */
+    public static int packedLength(int n) {
+        return (int) (((long) n * n + 3) / 4);
+    }
+
+    /**
+     * Decodifica el cuerpo directamente en la matriz del detector, sin crear Strings.
+     *
+     * @throws IllegalArgumentException si el encabezado o la longitud del cuerpo no son validos
+     */
+    public static char[][] decode(InputStream in) throws IOException {
+        byte[] header = in.readNBytes(HEADER_BYTES);
+        if (header.length < HEADER_BYTES) {
+            throw new IllegalArgumentException("Packed DNA body is shorter than its " + HEADER_BYTES + "-byte header");
+        }
+        long n = ((header[0] & 0xFFL) << 24) | ((header[1] & 0xFFL) << 16) | ((header[2] & 0xFFL) << 8) | (header[3] & 0xFFL);
+        if (n < 1 || n > ValidDnaSequenceValidator.MAX_DNA_SIZE) {
+            throw new IllegalArgumentException("Packed DNA size must be between 1 and "
+                    + ValidDnaSequenceValidator.MAX_DNA_SIZE + " (got " + n + ")");
+        }
+        int size = (int) n;
+
+        byte[] packed;
+        try {
+            packed = readExactly(in, packedLength(size));
+        } catch (EOFException e) {
+            throw new IllegalArgumentException("Packed DNA body is truncated for a " + size + "x" + size + " matrix");
+        }
+        if (in.read() != -1) {
+            throw new IllegalArgumentException("Packed DNA body has trailing bytes for a " + size + "x" + size + " matrix");
+        }
+        return unpack(packed, size);
+    }
+
+    /**
+     * Codifica una matriz en el formato binario. Acepta bases en minusculas y filas de
+     * cualquier CharSequence (por ejemplo, las de una matriz ya decodificada).
+     *
+     * @throws IllegalArgumentException si la matriz no es cuadrada o tiene bases invalidas
+     */
+    public static byte[] encode(CharSequence[] dna) {
+        int n = dna.length;
+        byte[] out = new byte[HEADER_BYTES + packedLength(n)];
+        out[0] = (byte) (n >>> 24);
+        out[1] = (byte) (n >>> 16);
+        out[2] = (byte) (n >>> 8);
+        out[3] = (byte) n;
+
+        int cell = 0;
+        for (int row = 0; row < n; row++) {
+            if (dna[row] == null || dna[row].length() != n) {
+                throw new IllegalArgumentException("DNA row " + row + " is null or not of length " + n);
+            }
+            for (int col = 0; col < n; col++, cell++) {
+                int code = code(dna[row].charAt(col));
+                out[HEADER_BYTES + (cell >>> 2)] |= (byte) (code << (6 - 2 * (cell & 3)));
+            }
+        }
+        return out;
+    }
+
+    private static char[][] unpack(byte[] packed, int n) {
+        char[][] matrix = new char[n][n];
+        int cell = 0;
+        for (int row = 0; row < n; row++) {
+            char[] line = matrix[row];
+            for (int col = 0; col < n; col++, cell++) {
+                line[col] = BASES[(packed[cell >>> 2] >>> (6 - 2 * (cell & 3))) & 3];
+            }
+        }
+        return matrix;
+    }
+
+    private static int code(char base) {
+        return switch (base) {
+            case 'A', 'a' -> 0;
+            case 'C', 'c' -> 1;
+            case 'G', 'g' -> 2;
+            case 'T', 't' -> 3;
+            default -> throw new IllegalArgumentException("Invalid DNA base '" + base + "'");
+        };
+    }
+
+    private static byte[] readExactly(InputStream in, int length) throws IOException {
+        byte[] buffer = in.readNBytes(length);
+        if (buffer.length < length) {
+            throw new EOFException();
+        }
+        return buffer;
+    }
+}
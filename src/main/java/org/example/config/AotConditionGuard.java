@@ -0,0 +1,124 @@
+package org.example.config;
+
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.PropertyResolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * Con Spring AOT los {@code @ConditionalOnProperty} se evaluan en processAot (perfil prod)
+ * y el codigo generado ya no los vuelve a mirar: cambiar una de estas propiedades en
+ * runtime no crea ni quita beans. processAot guarda sus valores en
+ * {@value #SNAPSHOT_RESOURCE} y, al arrancar con {@code -Dspring.aot.enabled=true}, la
+ * aplicacion falla antes de crear el contexto si alguno difiere.
+ */
+public class AotConditionGuard implements BeanFactoryInitializationAotProcessor, EnvironmentPostProcessor, Ordered {
+
+    static final String SNAPSHOT_RESOURCE = "META-INF/aot-conditions.properties";
+
+    /**
+     * Propiedades que deciden un {@code @ConditionalOnProperty} propio o de una
+     * auto-configuracion que el perfil prod configura.
+     */
+    static final List<String> CONDITION_PROPERTIES = List.of(
+            "sharding.enabled",
+            "datasource.replica.enabled",
+            "datasource.replica.stand-in.enabled",
+            "cache.shared.embedded-server.enabled",
+            "grpc.server.enabled",
+            "warmup.enabled",
+            "bulk.input",
+            "springdoc.api-docs.enabled",
+            "springdoc.swagger-ui.enabled",
+            "spring.h2.console.enabled",
+            "spring.jmx.enabled");
+
+    @Override
+    public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+        String snapshot = snapshot(beanFactory.getBean(Environment.class));
+        return (generationContext, code) -> generationContext.getGeneratedFiles()
+                .addResourceFile(SNAPSHOT_RESOURCE, snapshot);
+    }
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!AotDetector.useGeneratedArtifacts()) {
+            return;
+        }
+        List<String> changed = changedProperties(loadSnapshot(), environment);
+        if (!changed.isEmpty()) {
+            throw new IllegalStateException("Bean conditions were fixed by Spring AOT at build time; rebuild with "
+                    + "./gradlew :bootJar -Paot using these values or start without -Dspring.aot.enabled=true: "
+                    + String.join(", ", changed));
+        }
+    }
+
+    /**
+     * Despues de cargar application*.properties, variables de entorno y argumentos.
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    static String snapshot(PropertyResolver environment) {
+        Properties values = new Properties();
+        for (String name : CONDITION_PROPERTIES) {
+            String value = environment.getProperty(name);
+            if (value != null) {
+                values.setProperty(name, value);
+            }
+        }
+        StringWriter out = new StringWriter();
+        try {
+            values.store(out, "Values of the bean condition properties seen by processAot");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Una propiedad ausente en el build tiene que seguir ausente en runtime.
+     */
+    static List<String> changedProperties(Properties buildTime, PropertyResolver environment) {
+        List<String> changed = new ArrayList<>();
+        for (String name : CONDITION_PROPERTIES) {
+            String built = buildTime.getProperty(name);
+            String current = environment.getProperty(name);
+            if (!Objects.equals(built, current)) {
+                changed.add(name + " (build: " + built + ", runtime: " + current + ")");
+            }
+        }
+        return changed;
+    }
+
+    private static Properties loadSnapshot() {
+        Properties buildTime = new Properties();
+        try (InputStream in = AotConditionGuard.class.getClassLoader().getResourceAsStream(SNAPSHOT_RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("spring.aot.enabled=true but " + SNAPSHOT_RESOURCE
+                        + " is missing: build the jar with ./gradlew :bootJar -Paot");
+            }
+            buildTime.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buildTime;
+    }
+}
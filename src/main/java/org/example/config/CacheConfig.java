@@ -1,13 +1,61 @@
 package org.example.config;
 
-import org.springframework.cache.annotation.EnableCaching;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cache.EmbeddedVerdictServer;
+import org.example.cache.NearCache;
+import org.example.cache.NoOpSharedVerdictStore;
+import org.example.cache.SharedVerdictStore;
+import org.example.cache.SocketSharedVerdictStore;
+import org.example.cache.TwoTierVerdictCache;
+import org.example.cache.VerdictCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
 /**
- * Configuracion para la chache de Spring.
+ * Configuracion del cache de veredictos de dos niveles.
+ * Sin {@code cache.shared.host} solo se usa el near-cache local de cada instancia.
  */
+@Slf4j
 @Configuration
-@EnableCaching
 public class CacheConfig {
-    // Spring Boot will auto-configure a simple ConcurrentMapCacheManager
+
+    @Bean
+    public VerdictCache verdictCache(@Value("${cache.near.max-entries:10000}") int nearMaxEntries,
+                                     SharedVerdictStore sharedVerdictStore) {
+        return new TwoTierVerdictCache(new NearCache(nearMaxEntries), sharedVerdictStore);
+    }
+
+    @Bean
+    public SharedVerdictStore sharedVerdictStore(@Value("${cache.shared.host:}") String host,
+                                                 @Value("${cache.shared.port:7379}") int port,
+                                                 @Value("${cache.shared.timeout-ms:50}") int timeoutMs,
+                                                 @Value("${cache.shared.max-idle-connections:8}") int maxIdleConnections,
+                                                 @Value("${cache.shared.max-connections:16}") int maxConnections) {
+        if (host.isBlank()) {
+            return new NoOpSharedVerdictStore();
+        }
+        log.info("Using shared verdict store at {}:{}", host, port);
+        return new SocketSharedVerdictStore(host, port, timeoutMs, maxIdleConnections, maxConnections);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(name = "cache.shared.embedded-server.enabled", havingValue = "true")
+    public EmbeddedVerdictServer embeddedVerdictServer(@Value("${cache.shared.bind-address:}") String bindAddress,
+                                                       @Value("${cache.shared.port:7379}") int port,
+                                                       @Value("${cache.shared.embedded-server.max-entries:1000000}") int maxEntries,
+                                                       @Value("${cache.shared.embedded-server.max-connections:64}") int maxConnections,
+                                                       @Value("${cache.shared.embedded-server.idle-timeout-ms:30000}") int idleTimeoutMs)
+            throws UnknownHostException {
+        // Sin autenticacion: solo loopback salvo que se pida otra interfaz explicitamente
+        InetAddress address = bindAddress.isBlank() ? InetAddress.getLoopbackAddress() : InetAddress.getByName(bindAddress.trim());
+        if (!address.isLoopbackAddress()) {
+            log.warn("Embedded verdict server bound to {}: any host that reaches it can write verdicts", address.getHostAddress());
+        }
+        return new EmbeddedVerdictServer(address, port, maxEntries, maxConnections, idleTimeoutMs);
+    }
 }
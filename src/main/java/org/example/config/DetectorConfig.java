@@ -0,0 +1,52 @@
+package org.example.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.detector.BitboardStrategy;
+import org.example.detector.DetectorStrategyTable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Seleccion de la estrategia de deteccion por tamaño de matriz. Por defecto se calibra al
+ * iniciar; {@code mutant.detector.strategies} fija la estrategia de algunos tamaños,
+ * por ejemplo {@code 6=bitboard,8=row-scan}.
+ */
+@Slf4j
+@Configuration
+public class DetectorConfig {
+
+    @Bean
+    public DetectorStrategyTable detectorStrategyTable(@Value("${mutant.detector.calibrate:true}") boolean calibrate,
+                                                       @Value("${mutant.detector.strategies:}") String strategies) {
+        long start = System.nanoTime();
+        DetectorStrategyTable table = DetectorStrategyTable.build(List.of(new BitboardStrategy()),
+                parseOverrides(strategies), calibrate);
+        log.info("Detector strategies ({}): {} in {} ms", calibrate ? "calibrated" : "default", table,
+                (System.nanoTime() - start) / 1_000_000);
+        return table;
+    }
+
+    private static Map<Integer, String> parseOverrides(String strategies) {
+        Map<Integer, String> overrides = new HashMap<>();
+        if (strategies == null || strategies.isBlank()) {
+            return overrides;
+        }
+        for (String entry : strategies.split(",")) {
+            String[] parts = entry.split("=");
+            try {
+                if (parts.length != 2) {
+                    throw new NumberFormatException();
+                }
+                overrides.put(Integer.parseInt(parts[0].trim()), parts[1].trim().toLowerCase());
+            } catch (NumberFormatException e) {
+                throw new IllegalStateException("Invalid mutant.detector.strategies entry: " + entry.trim());
+            }
+        }
+        return overrides;
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.fingerprint.CanonicalDnaFingerprint;
+import org.example.fingerprint.DnaFingerprint;
+import org.example.fingerprint.Murmur3DnaFingerprint;
+import org.example.fingerprint.Sha256DnaFingerprint;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuracion del algoritmo de fingerprint usado como clave de deduplicacion.
+ * Cambiar el algoritmo sobre una base existente no rompe nada, pero los registros
+ * previos dejan de coincidir y esas muestras se vuelven a analizar una vez.
+ */
+@Slf4j
+@Configuration
+public class FingerprintConfig {
+
+    @Bean
+    public DnaFingerprint dnaFingerprint(@Value("${dna.fingerprint.algorithm:sha256}") String algorithm,
+                                         @Value("${dna.fingerprint.canonical:false}") boolean canonical) {
+        DnaFingerprint fingerprint = switch (algorithm.trim().toLowerCase()) {
+            case Sha256DnaFingerprint.NAME -> new Sha256DnaFingerprint();
+            case Murmur3DnaFingerprint.NAME -> new Murmur3DnaFingerprint();
+            default -> throw new IllegalStateException("Unknown dna.fingerprint.algorithm: " + algorithm);
+        };
+        if (canonical) {
+            // Todas las rotaciones/reflejos de una muestra comparten la clave de deduplicacion
+            fingerprint = new CanonicalDnaFingerprint(fingerprint);
+        }
+        log.info("Using {} DNA fingerprint", fingerprint.name());
+        return fingerprint;
+    }
+}
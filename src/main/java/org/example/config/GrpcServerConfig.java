@@ -0,0 +1,35 @@
+package org.example.config;
+
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.example.grpc.MutantGrpcService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+/**
+ * Servidor gRPC junto a la API HTTP, en su propio puerto ({@code grpc.server.port}).
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "grpc.server.enabled", havingValue = "true")
+public class GrpcServerConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public Server grpcServer(MutantGrpcService mutantGrpcService,
+                             @Value("${grpc.server.port:9090}") int port,
+                             @Value("${grpc.server.max-inbound-message-bytes:1048576}") int maxInboundMessageBytes)
+            throws IOException {
+        Server server = ServerBuilder.forPort(port)
+                .addService(mutantGrpcService)
+                .maxInboundMessageSize(maxInboundMessageBytes)
+                .build()
+                .start();
+        log.info("gRPC server listening on port {}", server.getPort());
+        return server;
+    }
+}
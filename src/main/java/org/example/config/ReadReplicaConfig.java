@@ -0,0 +1,106 @@
+package org.example.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.example.replica.ReadReplicaRoutingDataSource;
+import org.example.replica.ReplicaLagMonitor;
+import org.example.replica.ReplicationStandIn;
+import org.example.shard.ShardDataSources;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Separacion de lecturas y escrituras: las transacciones de solo lectura (estadisticas y
+ * consultas de veredicto) van a la replica de {@code datasource.replica.url} mientras su
+ * atraso no supere {@code datasource.replica.max-lag-ms}; el resto va al DataSource de
+ * Spring Boot. Solo disponible sin sharding.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    static final String HEARTBEAT_SCRIPT = "db/replica-heartbeat.sql";
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties,
+                                              @Value("${sharding.enabled:false}") boolean sharding) {
+        if (sharding) {
+            throw new IllegalStateException("datasource.replica.enabled is not supported together with sharding.enabled");
+        }
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        runScript(dataSource, HEARTBEAT_SCRIPT);
+        return dataSource;
+    }
+
+    /**
+     * Con el sustituto de replicacion la replica es una base vacia: se le crea el esquema.
+     * El timeout de conexion es corto: con la replica caida, el chequeo de atraso y la
+     * lectura que la encuentra vuelven al primario en lugar de esperar los 30 s de Hikari.
+     */
+    @Bean(destroyMethod = "close")
+    public HikariDataSource replicaDataSource(@Value("${datasource.replica.url}") String url,
+                                              @Value("${datasource.replica.username:sa}") String username,
+                                              @Value("${datasource.replica.password:}") String password,
+                                              @Value("${datasource.replica.connection-timeout-ms:1000}") long connectionTimeoutMs,
+                                              @Value("${datasource.replica.stand-in.enabled:false}") boolean standIn) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setJdbcUrl(url.trim());
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        // Hikari exige al menos 250 ms en ambos; la validacion no puede superar al timeout de conexion
+        dataSource.setConnectionTimeout(Math.max(250, connectionTimeoutMs));
+        dataSource.setValidationTimeout(Math.max(250, dataSource.getConnectionTimeout() / 2));
+        if (standIn) {
+            new ShardDataSources(List.of(dataSource)).initializeSchema();
+            runScript(dataSource, HEARTBEAT_SCRIPT);
+        }
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primary,
+                                               @Qualifier("replicaDataSource") DataSource replica,
+                                               @Value("${datasource.replica.max-lag-ms:5000}") long maxLagMs) {
+        log.info("Routing read-only transactions to the replica while its lag stays under {} ms", maxLagMs);
+        return new ReplicaLagMonitor(primary, replica, maxLagMs);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "datasource.replica.stand-in.enabled", havingValue = "true")
+    public ReplicationStandIn replicationStandIn(@Qualifier("primaryDataSource") DataSource primary,
+                                                 @Qualifier("replicaDataSource") DataSource replica) {
+        log.warn("Replication stand-in enabled: copying tables from primary to replica (local testing only)");
+        return new ReplicationStandIn(primary, replica);
+    }
+
+    /**
+     * Igual que con sharding, el proxy lazy difiere la conexion fisica hasta la primera
+     * sentencia, cuando la marca de solo lectura de la transaccion ya esta puesta.
+     */
+    @Bean
+    @Primary
+    public DataSource readWriteRoutingDataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                                 @Qualifier("replicaDataSource") DataSource replica,
+                                                 ReplicaLagMonitor replicaLagMonitor) {
+        return new LazyConnectionDataSourceProxy(new ReadReplicaRoutingDataSource(primary, replica, replicaLagMonitor));
+    }
+
+    private static void runScript(DataSource dataSource, String script) {
+        DatabasePopulatorUtils.execute(new ResourceDatabasePopulator(new ClassPathResource(script)), dataSource);
+    }
+}
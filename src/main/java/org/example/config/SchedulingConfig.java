@@ -0,0 +1,13 @@
+package org.example.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuracion para las tareas programadas (stream de estadisticas, limpiezas periodicas).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+    // Spring Boot will auto-configure a single-threaded ThreadPoolTaskScheduler
+}
@@ -0,0 +1,68 @@
+package org.example.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.shard.ShardDataSources;
+import org.example.shard.ShardRouter;
+import org.example.shard.ShardRoutingDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuracion del particionado de dna_records por prefijo de fingerprint.
+ * Con {@code sharding.enabled=false} hay un unico shard: el DataSource de Spring Boot.
+ */
+@Slf4j
+@Configuration
+public class ShardingConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ShardRouter shardRouter(@Value("${sharding.enabled:false}") boolean enabled,
+                                   @Value("${sharding.urls:}") List<String> urls) {
+        if (!enabled) {
+            return ShardRouter.singleShard();
+        }
+        if (urls.isEmpty()) {
+            throw new IllegalStateException("sharding.urls must list at least one JDBC URL when sharding is enabled");
+        }
+        log.info("Sharding dna_records across {} datasources", urls.size());
+        return new ShardRouter(urls.size());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+    public ShardDataSources shardDataSources(@Value("${sharding.urls}") List<String> urls,
+                                             @Value("${sharding.username:sa}") String username,
+                                             @Value("${sharding.password:}") String password) {
+        ShardDataSources shardDataSources = ShardDataSources.create(urls, username, password);
+        shardDataSources.initializeSchema();
+        return shardDataSources;
+    }
+
+    /**
+     * El proxy lazy difiere la obtencion de la conexion fisica hasta la primera
+     * sentencia, de modo que el shard se resuelve aunque la transaccion ya este abierta.
+     */
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+    public DataSource shardedDataSource(ShardDataSources shardDataSources) {
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shardDataSources.size(); shard++) {
+            targets.put(shard, shardDataSources.get(shard));
+        }
+        ShardRoutingDataSource routingDataSource = new ShardRoutingDataSource();
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.setDefaultTargetDataSource(shardDataSources.get(0));
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
@@ -2,10 +2,15 @@ package org.example.config;
 
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+/**
+ * Documentacion OpenAPI. Se omite cuando springdoc esta deshabilitado (perfil prod).
+ */
 @Configuration
+@ConditionalOnProperty(name = "springdoc.api-docs.enabled", havingValue = "true", matchIfMissing = true)
 public class SwaggerConfig {
 
     @Bean
@@ -16,8 +21,11 @@ public class SwaggerConfig {
                         .version("1.0")
                         .description("API para detectar mutantes mediante análisis de ADN.\n\n" +
                                 "**Endpoints disponibles:**\n" +
-                                "- POST /mutant - Detecta si un ADN pertenece a un mutante\n" +
+                                "- POST /mutant - Detecta si un ADN pertenece a un mutante (JSON o binario empaquetado)\n" +
+                                "- GET /mutant/{fingerprint}, POST /mutant/lookup - Consulta veredictos ya conocidos por fingerprint\n" +
+                                "- POST /mutant/async, GET /mutant/jobs/{id} - Análisis asincrónico con long-poll\n" +
                                 "- GET /stats - Obtiene estadísticas de verificaciones\n" +
+                                "- GET /stats/stream - Stream SSE de estadísticas\n" +
                                 "- GET /health - Verifica el estado de salud de la aplicación\n\n" +
                                 "**Validaciones:**\n" +
                                 "- Matriz NxN con caracteres ATCG únicamente\n" +
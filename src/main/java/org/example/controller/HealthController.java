@@ -5,6 +5,11 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.example.exception.RejectionCounters;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -18,9 +23,13 @@ import java.util.Map;
  */
 @RestController
 @RequestMapping
+@RequiredArgsConstructor
 @Tag(name = "Health", description = "Application health check endpoints")
 public class HealthController {
 
+    private final ApplicationAvailability applicationAvailability;
+    private final RejectionCounters rejectionCounters;
+
     @Operation(summary = "Health check", description = "Returns the application health status and current timestamp")
     @ApiResponse(responseCode = "200", description = "Application is healthy", content = @Content(schema = @Schema(implementation = Map.class)))
     @GetMapping("/health")
@@ -29,4 +38,24 @@ public class HealthController {
                 "status", "UP",
                 "timestamp", LocalDateTime.now().toString()));
     }
+
+    @Operation(summary = "Readiness probe", description = "Returns 200 once the application accepts traffic (after startup and the optional JIT warm-up), 503 before")
+    @ApiResponse(responseCode = "200", description = "Ready to accept traffic")
+    @ApiResponse(responseCode = "503", description = "Still starting or warming up")
+    @GetMapping("/health/readiness")
+    public ResponseEntity<Map<String, Object>> readiness() {
+        ReadinessState state = applicationAvailability.getReadinessState();
+        boolean ready = state == ReadinessState.ACCEPTING_TRAFFIC;
+        return ResponseEntity.status(ready ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(Map.of(
+                "status", ready ? "UP" : "OUT_OF_SERVICE",
+                "readiness", state.name()));
+    }
+
+    @Operation(summary = "Rejected requests", description = "Requests rejected before analysis since startup, by reason "
+            + "(EMPTY_BODY, BODY_TOO_LARGE, MALFORMED_BODY, INVALID_DNA, INVALID_ARGUMENT)")
+    @ApiResponse(responseCode = "200", description = "Counters by reason")
+    @GetMapping("/health/rejections")
+    public Map<String, Long> rejections() {
+        return rejectionCounters.snapshot();
+    }
 }
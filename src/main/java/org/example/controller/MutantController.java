@@ -6,15 +6,45 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.example.codec.PackedDnaCodec;
 import org.example.dto.DnaRequest;
+import org.example.dto.ExplainResponse;
+import org.example.dto.JobResponse;
+import org.example.dto.LookupRequest;
+import org.example.dto.LookupResponse;
 import org.example.dto.StatsResponse;
+import org.example.dto.StreamVerdictResponse;
+import org.example.dto.VerdictResponse;
+import org.example.export.DnaRecordExporter;
+import org.example.export.ExportCursor;
+import org.example.profiling.DnaStageEvent;
+import org.example.service.MutantJobService;
 import org.example.service.MutantService;
+import org.example.service.SequenceExplainer;
 import org.example.service.StatsService;
+import org.example.service.StatsStreamService;
+import org.example.service.StreamingMutantDetector;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping
@@ -24,6 +54,11 @@ public class MutantController {
 
     private final MutantService mutantService;
     private final StatsService statsService;
+    private final StatsStreamService statsStreamService;
+    private final MutantJobService mutantJobService;
+    private final StreamingMutantDetector streamingMutantDetector;
+    private final SequenceExplainer sequenceExplainer;
+    private final DnaRecordExporter dnaRecordExporter;
 
     @Operation(summary = "Detect if a human is a mutant", description = "Analyzes the DNA sequence to determine if the subject is a mutant.")
     @ApiResponses(value = {
@@ -41,10 +76,165 @@ public class MutantController {
         }
     }
 
+    @Operation(summary = "Detect if a human is a mutant (packed binary)", description = "Same as the JSON endpoint, with the body in the compact 2-bit format: "
+            + "4-byte big-endian N followed by N*N bases packed row-major, most significant bits first (A=00, C=01, G=10, T=11).")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Is a Mutant"),
+            @ApiResponse(responseCode = "403", description = "Is a Human"),
+            @ApiResponse(responseCode = "400", description = "Invalid header or body length")
+    })
+    @PostMapping(path = "/mutant", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<Void> detectMutantPacked(InputStream body) throws IOException {
+        DnaStageEvent parseEvent = DnaStageEvent.start(DnaStageEvent.PARSE, 0);
+        char[][] matrix = PackedDnaCodec.decode(body);
+        parseEvent.setSize(matrix.length);
+        parseEvent.finish();
+        boolean isMutant = mutantService.analyzeDna(matrix);
+        if (isMutant) {
+            return ResponseEntity.ok().build();
+        } else {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+    }
+
+    @Operation(summary = "Detect a large matrix by streaming (text)", description = "For matrices beyond the 1000x1000 limit: one row per line, N taken from the first row. "
+            + "Rows are analyzed as they arrive keeping only 4 in memory, and reading stops at the second sequence. The verdict is not persisted.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Is a Mutant", content = @Content(schema = @Schema(implementation = StreamVerdictResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Is a Human", content = @Content(schema = @Schema(implementation = StreamVerdictResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Ragged rows, invalid bases, wrong row count or size out of range")
+    })
+    @PostMapping(path = "/mutant/stream", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<StreamVerdictResponse> detectMutantStream(Reader body) throws IOException {
+        return toResponse(streamingMutantDetector.detectText(body));
+    }
+
+    @Operation(summary = "Detect a large matrix by streaming (packed binary)", description = "Same as the text variant, with the body in the packed 2-bit format of POST /mutant and N up to mutant.stream.max-size.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Is a Mutant", content = @Content(schema = @Schema(implementation = StreamVerdictResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Is a Human", content = @Content(schema = @Schema(implementation = StreamVerdictResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid header or body length")
+    })
+    @PostMapping(path = "/mutant/stream", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<StreamVerdictResponse> detectMutantStreamPacked(InputStream body) throws IOException {
+        return toResponse(streamingMutantDetector.detectPacked(body));
+    }
+
+    @Operation(summary = "Explain a verdict", description = "Scans the whole matrix without early termination and returns every 4-base sequence "
+            + "(direction, start cell, base). Work is bounded by mutant.explain.max-cells and mutant.explain.max-results; when a budget runs out "
+            + "the sequences found so far are returned with truncated=true. The result is not persisted.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sequences found", content = @Content(schema = @Schema(implementation = ExplainResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid DNA sequence")
+    })
+    @PostMapping("/mutant/explain")
+    public ResponseEntity<ExplainResponse> explainMutant(@Valid @RequestBody DnaRequest dnaRequest) {
+        return ResponseEntity.ok(sequenceExplainer.explain(dnaRequest.getDna()));
+    }
+
+    @Operation(summary = "Submit an asynchronous analysis", description = "Validates the DNA, queues it (smaller matrices first) and returns immediately with a job id. The verdict is fetched from GET /mutant/jobs/{id}.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Job accepted", content = @Content(schema = @Schema(implementation = JobResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid DNA sequence"),
+            @ApiResponse(responseCode = "503", description = "Job queue full, retry later")
+    })
+    @PostMapping("/mutant/async")
+    public ResponseEntity<JobResponse> submitMutantJob(@Valid @RequestBody DnaRequest dnaRequest) {
+        JobResponse job = mutantJobService.submit(dnaRequest.getDna());
+        return ResponseEntity.accepted()
+                .location(URI.create("/mutant/jobs/" + job.getId()))
+                .body(job);
+    }
+
+    @Operation(summary = "Get an asynchronous analysis", description = "Returns the job status. With waitMs > 0 the request is held (long-poll) until the job finishes or the wait expires.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job status", content = @Content(schema = @Schema(implementation = JobResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Unknown or expired job")
+    })
+    @GetMapping("/mutant/jobs/{id}")
+    public DeferredResult<JobResponse> getMutantJob(@PathVariable String id,
+                                                    @RequestParam(defaultValue = "0") long waitMs) {
+        return mutantJobService.awaitJob(id, waitMs);
+    }
+
+    @Operation(summary = "Lookup a verdict by fingerprint", description = "Returns the stored verdict for a fingerprint computed by the client with the server's algorithm, without uploading the sample.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Verdict known", content = @Content(schema = @Schema(implementation = VerdictResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Unknown fingerprint; upload the sample to POST /mutant"),
+            @ApiResponse(responseCode = "400", description = "Malformed fingerprint")
+    })
+    @GetMapping("/mutant/{fingerprint}")
+    public ResponseEntity<VerdictResponse> lookupVerdict(@PathVariable String fingerprint) {
+        String dnaHash = mutantService.normalizeFingerprint(fingerprint);
+        return mutantService.findVerdict(dnaHash)
+                .map(isMutant -> ResponseEntity.ok(new VerdictResponse(dnaHash, isMutant)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Bulk lookup of verdicts by fingerprint", description = "Splits the given fingerprints into known verdicts and unknown fingerprints, so collectors only upload the unknown samples.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lookup completed", content = @Content(schema = @Schema(implementation = LookupResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Malformed fingerprint or too many fingerprints")
+    })
+    @PostMapping("/mutant/lookup")
+    public ResponseEntity<LookupResponse> lookupVerdicts(@Valid @RequestBody LookupRequest lookupRequest) {
+        List<String> dnaHashes = lookupRequest.getFingerprints().stream()
+                .map(mutantService::normalizeFingerprint)
+                .toList();
+        Map<String, Boolean> found = mutantService.findVerdicts(dnaHashes);
+        List<String> unknown = dnaHashes.stream()
+                .distinct()
+                .filter(dnaHash -> !found.containsKey(dnaHash))
+                .toList();
+        return ResponseEntity.ok(new LookupResponse(mutantService.getFingerprintAlgorithm(), found, unknown));
+    }
+
     @Operation(summary = "Get statistics", description = "Returns the statistics of mutant verifications.")
     @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully", content = @Content(schema = @Schema(implementation = StatsResponse.class)))
     @GetMapping("/stats")
     public ResponseEntity<StatsResponse> getStats() {
         return ResponseEntity.ok(statsService.getStats());
     }
+
+    @Operation(summary = "Stream statistics", description = "Server-Sent Events stream that pushes a statistics snapshot at a fixed interval.")
+    @ApiResponse(responseCode = "200", description = "Stream opened successfully")
+    @GetMapping(path = "/stats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStats() {
+        return statsStreamService.subscribe();
+    }
+
+    /**
+     * Se escribe en el mismo hilo del request (sin el timeout de los requests asincronos)
+     * y la respuesta queda comprometida con la primera fila: si la exportacion se corta,
+     * se retoma con el shard y el id de la ultima linea recibida (ver ExportCursor para las
+     * filas confirmadas mientras tanto).
+     */
+    @Operation(summary = "Export records", description = "Streams every dna_record as NDJSON or CSV, ordered by shard and id, from a forward-only cursor. "
+            + "Resume an interrupted export with the shard and id of the last line received (afterId is exclusive); since filters by creation time. "
+            + "Resuming only covers rows committed before the original export started: ids are reserved in blocks before commit, so a row committed later "
+            + "may have an id below afterId. To pick those up, export again with since slightly before the first export started and drop repeated ids.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Records streamed"),
+            @ApiResponse(responseCode = "400", description = "Unknown format, shard out of range or negative afterId/limit")
+    })
+    @GetMapping("/records/export")
+    public void exportRecords(@RequestParam(defaultValue = "ndjson") String format,
+                              @RequestParam(defaultValue = "0") int shard,
+                              @RequestParam(defaultValue = "0") long afterId,
+                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+                              @RequestParam(defaultValue = "0") long limit,
+                              HttpServletResponse response) throws IOException {
+        DnaRecordExporter.Format exportFormat = DnaRecordExporter.Format.parse(format);
+        ExportCursor cursor = new ExportCursor(shard, afterId, since);
+        dnaRecordExporter.validate(cursor, limit);
+
+        response.setContentType(exportFormat == DnaRecordExporter.Format.CSV ? "text/csv" : "application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        Writer out = new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8);
+        dnaRecordExporter.export(cursor, limit, exportFormat, out);
+    }
+
+    private static ResponseEntity<StreamVerdictResponse> toResponse(StreamVerdictResponse verdict) {
+        return ResponseEntity.status(verdict.isMutant() ? HttpStatus.OK : HttpStatus.FORBIDDEN).body(verdict);
+    }
 }
@@ -0,0 +1,96 @@
+package org.example.detector;
+
+import org.example.profiling.DnaDetectEvent;
+
+/**
+ * Kernel para matrices de 4x4 a 8x8: cada base se representa como un long de 64 bits
+ * (celda (r, c) en el bit r * 8 + c) y las secuencias de cada direccion salen de cuatro
+ * desplazamientos y un AND, sin saltos por celda ni chequeos de limites. Las mascaras de
+ * inicio por tamaño descartan las secuencias que se saldrian de la matriz.
+ */
+public class BitboardStrategy implements DetectorStrategy {
+
+    public static final String NAME = "bitboard";
+
+    public static final int MIN_SIZE = 4;
+    public static final int MAX_SIZE = 8;
+
+    private static final int STRIDE = 8;
+
+    /**
+     * Mascaras de celdas de inicio por tamaño: horizontal, vertical, diagonal descendente y ascendente.
+     */
+    private static final long[][] START_MASKS = new long[MAX_SIZE + 1][];
+
+    static {
+        for (int n = MIN_SIZE; n <= MAX_SIZE; n++) {
+            long horizontal = 0;
+            long vertical = 0;
+            long descending = 0;
+            long ascending = 0;
+            for (int row = 0; row < n; row++) {
+                for (int col = 0; col < n; col++) {
+                    long bit = 1L << (row * STRIDE + col);
+                    if (col <= n - 4) {
+                        horizontal |= bit;
+                    }
+                    if (row <= n - 4) {
+                        vertical |= bit;
+                    }
+                    if (row <= n - 4 && col <= n - 4) {
+                        descending |= bit;
+                    }
+                    if (row >= 3 && col <= n - 4) {
+                        ascending |= bit;
+                    }
+                }
+            }
+            START_MASKS[n] = new long[] { horizontal, vertical, descending, ascending };
+        }
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean supports(int n) {
+        return n >= MIN_SIZE && n <= MAX_SIZE;
+    }
+
+    @Override
+    public boolean isMutant(char[][] matrix) {
+        int n = matrix.length;
+        DnaDetectEvent event = DnaDetectEvent.start(n, NAME);
+
+        // (base >> 1) & 3 separa las bases sin saltos: A=0, C=1, T=2, G=3
+        long[] boards = new long[4];
+        for (int row = 0; row < n; row++) {
+            char[] line = matrix[row];
+            int offset = row * STRIDE;
+            for (int col = 0; col < n; col++) {
+                boards[(line[col] >> 1) & 3] |= 1L << (offset + col);
+            }
+        }
+
+        long[] masks = START_MASKS[n];
+        int sequences = sequences(boards[0], masks) + sequences(boards[1], masks) + sequences(boards[2], masks)
+                + sequences(boards[3], masks);
+        return event.finish(sequences > 1, (long) n * n);
+    }
+
+    /**
+     * Cantidad de celdas de inicio con 4 bits seguidos en cada direccion.
+     */
+    private static int sequences(long cells, long[] masks) {
+        long horizontal = cells & (cells >>> 1) & (cells >>> 2) & (cells >>> 3) & masks[0];
+        long vertical = cells & (cells >>> STRIDE) & (cells >>> 2 * STRIDE) & (cells >>> 3 * STRIDE) & masks[1];
+        long descending = cells & (cells >>> (STRIDE + 1)) & (cells >>> 2 * (STRIDE + 1))
+                & (cells >>> 3 * (STRIDE + 1)) & masks[2];
+        long ascending = cells & (cells << (STRIDE - 1)) & (cells << 2 * (STRIDE - 1))
+                & (cells << 3 * (STRIDE - 1)) & masks[3];
+        return Long.bitCount(horizontal) + Long.bitCount(vertical) + Long.bitCount(descending)
+                + Long.bitCount(ascending);
+    }
+}
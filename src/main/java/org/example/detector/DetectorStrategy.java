@@ -0,0 +1,19 @@
+package org.example.detector;
+
+/**
+ * Algoritmo de busqueda de secuencias sobre una matriz ya validada (cuadrada, N >= 4,
+ * solo A, C, G y T). Todas las implementaciones deben dar exactamente el mismo veredicto
+ * que {@link RowScanStrategy}: mutante si hay mas de una secuencia de 4 bases iguales,
+ * contando cada celda de inicio y direccion por separado.
+ */
+public interface DetectorStrategy {
+
+    /**
+     * Nombre de la estrategia, tal como se configura en {@code mutant.detector.strategies}.
+     */
+    String name();
+
+    boolean supports(int n);
+
+    boolean isMutant(char[][] matrix);
+}
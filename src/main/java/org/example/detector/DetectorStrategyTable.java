@@ -0,0 +1,205 @@
+package org.example.detector;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.StringJoiner;
+
+/**
+ * Tabla inmutable con la estrategia a usar para cada N. Los tamaños sin entrada usan el
+ * recorrido generico ({@link RowScanStrategy}). Se arma una sola vez al iniciar, a partir
+ * de una micro-calibracion o de la configuracion.
+ */
+@Slf4j
+public final class DetectorStrategyTable {
+
+    private static final char[] BASES = { 'A', 'C', 'G', 'T' };
+    private static final int CALIBRATION_SAMPLES = 64;
+    private static final int CALIBRATION_PASSES = 200;
+    private static final int CALIBRATION_ROUNDS = 2;
+
+    /**
+     * Evita que el JIT descarte el trabajo medido durante la calibracion.
+     */
+    private static volatile int sink;
+
+    private final DetectorStrategy generic;
+    private final DetectorStrategy[] bySize;
+
+    private DetectorStrategyTable(DetectorStrategy generic, DetectorStrategy[] bySize) {
+        this.generic = generic;
+        this.bySize = bySize;
+    }
+
+    /**
+     * Tabla sin calibrar: kernels especializados para 4..8 y recorrido generico para el resto.
+     */
+    public static DetectorStrategyTable defaults() {
+        return build(List.of(new BitboardStrategy()), Map.of(), false);
+    }
+
+    /**
+     * Tabla que usa el recorrido generico para todos los tamaños.
+     */
+    public static DetectorStrategyTable generic() {
+        return build(List.of(), Map.of(), false);
+    }
+
+    /**
+     * @param specialized estrategias candidatas ademas del recorrido generico, en orden de preferencia
+     * @param overrides   estrategia fija por tamaño (nombre), tiene prioridad sobre la calibracion
+     * @param calibrate   si es true, mide cada candidata para cada tamaño y elige la mas rapida
+     * @throws IllegalStateException si un override nombra una estrategia desconocida o que no soporta ese N
+     */
+    public static DetectorStrategyTable build(List<DetectorStrategy> specialized, Map<Integer, String> overrides,
+                                              boolean calibrate) {
+        DetectorStrategy generic = new RowScanStrategy();
+        List<DetectorStrategy> candidates = new ArrayList<>(specialized);
+        candidates.add(generic);
+
+        int maxSize = BitboardStrategy.MAX_SIZE;
+        for (int n : overrides.keySet()) {
+            maxSize = Math.max(maxSize, n);
+        }
+        DetectorStrategy[] bySize = new DetectorStrategy[maxSize + 1];
+
+        for (int n = BitboardStrategy.MIN_SIZE; n <= maxSize; n++) {
+            String override = overrides.get(n);
+            if (override != null) {
+                bySize[n] = byName(candidates, override, n);
+                continue;
+            }
+            List<DetectorStrategy> supporting = supporting(candidates, n);
+            if (supporting.size() == 1) {
+                // Solo el recorrido generico: queda sin entrada
+                continue;
+            }
+            if (calibrate) {
+                bySize[n] = fastest(n, supporting, generic);
+            } else {
+                bySize[n] = supporting.get(0);
+            }
+        }
+        return new DetectorStrategyTable(generic, bySize);
+    }
+
+    public DetectorStrategy forSize(int n) {
+        if (n < bySize.length && bySize[n] != null) {
+            return bySize[n];
+        }
+        return generic;
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ");
+        for (int n = 0; n < bySize.length; n++) {
+            if (bySize[n] != null) {
+                joiner.add(n + "=" + bySize[n].name());
+            }
+        }
+        joiner.add("other=" + generic.name());
+        return joiner.toString();
+    }
+
+    private static DetectorStrategy byName(List<DetectorStrategy> candidates, String name, int n) {
+        for (DetectorStrategy candidate : candidates) {
+            if (candidate.name().equals(name)) {
+                if (!candidate.supports(n)) {
+                    throw new IllegalStateException("Detector strategy " + name + " does not support N=" + n);
+                }
+                return candidate;
+            }
+        }
+        throw new IllegalStateException("Unknown detector strategy: " + name);
+    }
+
+    private static List<DetectorStrategy> supporting(List<DetectorStrategy> candidates, int n) {
+        List<DetectorStrategy> supporting = new ArrayList<>();
+        for (DetectorStrategy candidate : candidates) {
+            if (candidate.supports(n)) {
+                supporting.add(candidate);
+            }
+        }
+        return supporting;
+    }
+
+    /**
+     * Mide cada candidata sobre las mismas muestras de N x N. Una candidata que no da el mismo
+     * veredicto que el recorrido generico en alguna muestra se descarta.
+     */
+    private static DetectorStrategy fastest(int n, List<DetectorStrategy> candidates, DetectorStrategy reference) {
+        char[][][] samples = calibrationSamples(n);
+        boolean[] expected = new boolean[samples.length];
+        for (int i = 0; i < samples.length; i++) {
+            expected[i] = reference.isMutant(samples[i]);
+        }
+
+        DetectorStrategy best = reference;
+        long bestNanos = Long.MAX_VALUE;
+        for (DetectorStrategy candidate : candidates) {
+            if (!sameVerdicts(candidate, samples, expected)) {
+                log.error("Detector strategy {} disagrees with {} for N={}; not using it", candidate.name(),
+                        reference.name(), n);
+                continue;
+            }
+            long nanos = Long.MAX_VALUE;
+            for (int round = 0; round < CALIBRATION_ROUNDS; round++) {
+                measure(candidate, samples);
+                nanos = Math.min(nanos, measure(candidate, samples));
+            }
+            log.debug("Detector calibration N={} {}: {} ns per pass", n, candidate.name(), nanos / CALIBRATION_PASSES);
+            if (nanos < bestNanos) {
+                bestNanos = nanos;
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    private static boolean sameVerdicts(DetectorStrategy candidate, char[][][] samples, boolean[] expected) {
+        for (int i = 0; i < samples.length; i++) {
+            if (candidate.isMutant(samples[i]) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long measure(DetectorStrategy strategy, char[][][] samples) {
+        int mutants = 0;
+        long start = System.nanoTime();
+        for (int pass = 0; pass < CALIBRATION_PASSES; pass++) {
+            for (char[][] sample : samples) {
+                mutants += strategy.isMutant(sample) ? 1 : 0;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        sink = mutants;
+        return elapsed;
+    }
+
+    /**
+     * Muestras aleatorias y un humano de peor caso (sin dos celdas vecinas iguales).
+     */
+    private static char[][][] calibrationSamples(int n) {
+        Random random = new Random(n);
+        char[][][] samples = new char[CALIBRATION_SAMPLES][n][n];
+        for (int row = 0; row < n; row++) {
+            for (int col = 0; col < n; col++) {
+                samples[0][row][col] = BASES[(col + 2 * row) & 3];
+            }
+        }
+        for (int i = 1; i < CALIBRATION_SAMPLES; i++) {
+            for (int row = 0; row < n; row++) {
+                for (int col = 0; col < n; col++) {
+                    samples[i][row][col] = BASES[random.nextInt(BASES.length)];
+                }
+            }
+        }
+        return samples;
+    }
+}
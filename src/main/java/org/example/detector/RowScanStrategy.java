@@ -0,0 +1,132 @@
+package org.example.detector;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.profiling.DnaDetectEvent;
+
+/**
+ * Recorrido generico para cualquier N: un solo paso por la matriz verificando las cuatro
+ * direcciones desde cada celda, con corte temprano al encontrar la segunda secuencia.
+ */
+@Slf4j
+public class RowScanStrategy implements DetectorStrategy {
+
+    public static final String NAME = "row-scan";
+
+    private static final int SEQUENCE_LENGTH = 4;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean supports(int n) {
+        return n >= SEQUENCE_LENGTH;
+    }
+
+    @Override
+    public boolean isMutant(char[][] matrix) {
+        int n = matrix.length;
+        DnaDetectEvent event = DnaDetectEvent.start(n, NAME);
+        int sequenceCount = 0;
+
+        // Paso único: recorra la matriz una vez verificando todas las direcciones
+        for (int row = 0; row < n; row++) {
+            for (int col = 0; col < n; col++) {
+                char base = matrix[row][col];
+
+                // Check Horizontal (→)
+                if (col <= n - SEQUENCE_LENGTH) {
+                    if (checkHorizontal(matrix, row, col, base)) {
+                        sequenceCount++;
+                        log.debug("Horizontal sequence found at row={}, col={}, base='{}', count={}", row, col, base,
+                                sequenceCount);
+                        if (sequenceCount > 1) {
+                            log.debug("Mutant detected! Found {} sequences. Early termination.", sequenceCount);
+                            return event.finish(true, (long) row * n + col + 1); // Early Termination
+                        }
+                    }
+                }
+
+                // Check Vertical (↓)
+                if (row <= n - SEQUENCE_LENGTH) {
+                    if (checkVertical(matrix, row, col, base)) {
+                        sequenceCount++;
+                        log.debug("Vertical sequence found at row={}, col={}, base='{}', count={}", row, col, base,
+                                sequenceCount);
+                        if (sequenceCount > 1) {
+                            log.debug("Mutant detected! Found {} sequences. Early termination.", sequenceCount);
+                            return event.finish(true, (long) row * n + col + 1); // Early Termination
+                        }
+                    }
+                }
+
+                // Check Diagonal Descending (↘)
+                if (row <= n - SEQUENCE_LENGTH && col <= n - SEQUENCE_LENGTH) {
+                    if (checkDiagonalDescending(matrix, row, col, base)) {
+                        sequenceCount++;
+                        log.debug("Diagonal descending sequence found at row={}, col={}, base='{}', count={}", row, col,
+                                base, sequenceCount);
+                        if (sequenceCount > 1) {
+                            log.debug("Mutant detected! Found {} sequences. Early termination.", sequenceCount);
+                            return event.finish(true, (long) row * n + col + 1); // Early Termination
+                        }
+                    }
+                }
+
+                // Check Diagonal Ascending (↗)
+                if (row >= SEQUENCE_LENGTH - 1 && col <= n - SEQUENCE_LENGTH) {
+                    if (checkDiagonalAscending(matrix, row, col, base)) {
+                        sequenceCount++;
+                        log.debug("Diagonal ascending sequence found at row={}, col={}, base='{}', count={}", row, col,
+                                base, sequenceCount);
+                        if (sequenceCount > 1) {
+                            log.debug("Mutant detected! Found {} sequences. Early termination.", sequenceCount);
+                            return event.finish(true, (long) row * n + col + 1); // Early Termination
+                        }
+                    }
+                }
+            }
+        }
+
+        log.debug("Scan complete without early termination (sequences found: {})", sequenceCount);
+        return event.finish(false, (long) n * n);
+    }
+
+    /**
+     * Comparación directa: comprueba secuencia horizontal sin bucle.
+     * Más eficiente que checkDirection genérico con bucle.
+     */
+    private boolean checkHorizontal(char[][] matrix, int row, int col, char base) {
+        return matrix[row][col + 1] == base &&
+                matrix[row][col + 2] == base &&
+                matrix[row][col + 3] == base;
+    }
+
+    /**
+     * Comparación directa: comprueba secuencia vertical sin bucle.
+     */
+    private boolean checkVertical(char[][] matrix, int row, int col, char base) {
+        return matrix[row + 1][col] == base &&
+                matrix[row + 2][col] == base &&
+                matrix[row + 3][col] == base;
+    }
+
+    /**
+     * Comparación directa: comprueba la secuencia descendente diagonal sin bucle.
+     */
+    private boolean checkDiagonalDescending(char[][] matrix, int row, int col, char base) {
+        return matrix[row + 1][col + 1] == base &&
+                matrix[row + 2][col + 2] == base &&
+                matrix[row + 3][col + 3] == base;
+    }
+
+    /**
+     * Comparación directa: comprueba la secuencia ascendente diagonal sin bucle.
+     */
+    private boolean checkDiagonalAscending(char[][] matrix, int row, int col, char base) {
+        return matrix[row - 1][col + 1] == base &&
+                matrix[row - 2][col + 2] == base &&
+                matrix[row - 3][col + 3] == base;
+    }
+}
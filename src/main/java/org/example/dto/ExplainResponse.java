@@ -0,0 +1,35 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Todas las secuencias de la matriz, en orden de recorrido (filas, luego columnas)")
+public class ExplainResponse {
+
+    @Schema(description = "Veredicto (mas de una secuencia); null si el presupuesto se agoto antes de poder decidir", example = "true")
+    private Boolean mutant;
+
+    @Schema(description = "Lado N de la matriz", example = "6")
+    private int size;
+
+    @Schema(description = "Celdas recorridas; las secuencias informadas son todas las que empiezan antes de esa posicion", example = "36")
+    private long cellsScanned;
+
+    @Schema(description = "true si se agoto mutant.explain.max-cells o mutant.explain.max-results", example = "false")
+    private boolean truncated;
+
+    @Schema(description = "Limite alcanzado (max-cells o max-results), solo si truncated", example = "max-results")
+    private String truncatedBy;
+
+    @Schema(description = "Secuencias encontradas")
+    private List<SequenceRun> sequences;
+}
@@ -0,0 +1,38 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Estado de un analisis asincronico")
+public class JobResponse {
+
+    public enum Status { QUEUED, RUNNING, DONE, FAILED }
+
+    @Schema(description = "Identificador del job", example = "0b6f3c0e-4d7e-4c39-9a36-5d1f0e5a8b21")
+    private String id;
+
+    @Schema(description = "Estado actual del job", example = "DONE")
+    private Status status;
+
+    @Schema(description = "Tamaño N de la matriz", example = "1000")
+    private int size;
+
+    @Schema(description = "Veredicto (solo cuando el estado es DONE)", example = "true")
+    private Boolean mutant;
+
+    @Schema(description = "Motivo del fallo (solo cuando el estado es FAILED)")
+    private String error;
+
+    private LocalDateTime submittedAt;
+
+    private LocalDateTime completedAt;
+}
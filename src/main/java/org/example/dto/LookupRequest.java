@@ -0,0 +1,26 @@
+package org.example.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request para consultar veredictos por fingerprint")
+public class LookupRequest {
+
+    public static final int MAX_FINGERPRINTS = 1000;
+
+    @Schema(description = "Fingerprints calculados por el cliente con el algoritmo configurado", required = true)
+    @NotNull(message = "Fingerprints cannot be null")
+    @NotEmpty(message = "Fingerprints cannot be empty")
+    @Size(max = MAX_FINGERPRINTS, message = "At most " + MAX_FINGERPRINTS + " fingerprints per lookup")
+    private List<String> fingerprints;
+}
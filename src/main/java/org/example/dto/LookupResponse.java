@@ -0,0 +1,25 @@
+package org.example.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Resultado de una consulta masiva de veredictos")
+public class LookupResponse {
+
+    @Schema(description = "Algoritmo de fingerprint del servidor", example = "sha256")
+    private String algorithm;
+
+    @Schema(description = "Veredictos conocidos (fingerprint -> es mutante)")
+    private Map<String, Boolean> found;
+
+    @Schema(description = "Fingerprints sin veredicto; el cliente debe enviar esas muestras a POST /mutant")
+    private List<String> unknown;
+}
@@ -0,0 +1,26 @@
+package org.example.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Secuencia de 4 bases iguales encontrada en la matriz")
+public class SequenceRun {
+
+    @Schema(description = "Direccion desde la celda inicial: HORIZONTAL (→), VERTICAL (↓), DIAGONAL_DESCENDING (↘) o DIAGONAL_ASCENDING (↗)",
+            example = "HORIZONTAL")
+    private String direction;
+
+    @Schema(description = "Fila de la celda inicial (desde 0)", example = "4")
+    private int row;
+
+    @Schema(description = "Columna de la celda inicial (desde 0)", example = "0")
+    private int col;
+
+    @Schema(description = "Base repetida", example = "C")
+    private char base;
+}
@@ -0,0 +1,22 @@
+package org.example.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Veredicto de un analisis por streaming (no se persiste)")
+public class StreamVerdictResponse {
+
+    @Schema(description = "true si la muestra es mutante", example = "true")
+    private boolean mutant;
+
+    @Schema(description = "Lado N de la matriz", example = "20000")
+    private int size;
+
+    @Schema(description = "Filas leidas antes de decidir; menor que size si hubo corte temprano", example = "137")
+    private int rowsScanned;
+}
@@ -0,0 +1,19 @@
+package org.example.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Veredicto ya conocido para un fingerprint de ADN")
+public class VerdictResponse {
+
+    @Schema(description = "Fingerprint consultado (hexadecimal en minusculas)", example = "3f5a9c0e1b2d4f6a8c0e1b2d4f6a8c0e1b2d4f6a8c0e1b2d4f6a8c0e1b2d4f6a")
+    private String fingerprint;
+
+    @Schema(description = "true si la muestra es mutante", example = "true")
+    private boolean mutant;
+}
@@ -0,0 +1,25 @@
+package org.example.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fingerprint de un registro ya compactado por RetentionService, con su veredicto. Su
+ * conteo ya esta en dna_stats y en dna_record_summary: si la muestra vuelve a llegar se
+ * responde con este veredicto y no se inserta ni se cuenta de nuevo.
+ */
+@Entity
+@Table(name = "dna_compacted_hashes")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DnaCompactedHash {
+
+    @Id
+    private String dnaHash;
+
+    @Column(nullable = false)
+    private boolean isMutant;
+}
@@ -8,14 +8,20 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "dna_records")
+@Table(name = "dna_records", indexes = @Index(name = "idx_dna_records_created_at", columnList = "createdAt"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class DnaRecord {
 
+    /**
+     * Ids de una secuencia con bloques de 50 (optimizador pooled): Hibernate reserva un
+     * bloque por consulta a la secuencia y puede agrupar los inserts en batches JDBC,
+     * cosa que IDENTITY impide porque necesita leer la clave generada de cada insert.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "dna_records_seq")
+    @SequenceGenerator(name = "dna_records_seq", sequenceName = "dna_records_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -27,6 +33,17 @@ public class DnaRecord {
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
+    /**
+     * Ubicacion de la muestra cruda en RawSampleArchive: id del directorio de la instancia
+     * que la escribio, segmento y offset. Null si el archivo esta apagado o si la muestra
+     * todavia no se escribio.
+     */
+    private String archiveId;
+
+    private Integer archiveSegment;
+
+    private Long archiveOffset;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -0,0 +1,29 @@
+package org.example.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Resumen de una particion diaria de dna_records ya compactada: los registros se borran
+ * y solo quedan los conteos, que se suman a las estadisticas en el modo de conteo.
+ */
+@Entity
+@Table(name = "dna_record_summary")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DnaRecordSummary {
+
+    @Id
+    private LocalDate partitionDay;
+
+    @Column(nullable = false)
+    private long mutantCount;
+
+    @Column(nullable = false)
+    private long humanCount;
+}
@@ -0,0 +1,28 @@
+package org.example.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fila de contadores materializados. Los contadores se reparten en varias filas
+ * (stripes) para que los inserts concurrentes no compitan por una sola fila;
+ * las estadisticas son la suma de todas las filas.
+ */
+@Entity
+@Table(name = "dna_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DnaStats {
+
+    @Id
+    private Integer stripe;
+
+    @Column(nullable = false)
+    private long mutantCount;
+
+    @Column(nullable = false)
+    private long humanCount;
+}
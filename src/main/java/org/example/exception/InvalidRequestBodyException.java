@@ -0,0 +1,18 @@
+package org.example.exception;
+
+import java.io.IOException;
+
+/**
+ * Se lanza cuando el cuerpo comprimido de una request esta corrupto o supera el
+ * tamaño maximo una vez descomprimido.
+ */
+public class InvalidRequestBodyException extends IOException {
+
+    public InvalidRequestBodyException(String message) {
+        super(message);
+    }
+
+    public InvalidRequestBodyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
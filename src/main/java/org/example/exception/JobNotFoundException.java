@@ -0,0 +1,11 @@
+package org.example.exception;
+
+/**
+ * Se lanza cuando se consulta un job asincronico inexistente o ya expirado.
+ */
+public class JobNotFoundException extends RuntimeException {
+
+    public JobNotFoundException(String id) {
+        super("Job " + id + " not found or expired");
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.exception;
+
+/**
+ * Se lanza cuando la cola de analisis asincronicos esta llena; el cliente debe reintentar.
+ */
+public class JobQueueFullException extends RuntimeException {
+
+    public JobQueueFullException(int capacity) {
+        super("Async job queue is full (" + capacity + " pending jobs), retry later");
+    }
+
+    public JobQueueFullException(long queuedCells, long maxQueuedCells) {
+        super("Async job queue is full (" + queuedCells + " of " + maxQueuedCells + " cells queued), retry later");
+    }
+}
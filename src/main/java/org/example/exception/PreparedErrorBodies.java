@@ -0,0 +1,74 @@
+package org.example.exception;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Cuerpos de error ya serializados para los rechazos frecuentes. Tienen el mismo formato
+ * que {@link org.example.dto.ErrorResponse}; solo el timestamp se completa al escribir y
+ * se reutiliza durante todo el segundo, asi una rafaga de requests invalidas no paga
+ * Jackson ni un LocalDateTime por respuesta.
+ */
+public final class PreparedErrorBodies {
+
+    private static volatile Timestamp current = Timestamp.at(System.currentTimeMillis() / 1000);
+
+    private final int status;
+    private final byte[] prefix;
+
+    private static final byte[] SUFFIX = "\"}".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * @param message texto fijo, sin caracteres que requieran escape en JSON
+     */
+    public PreparedErrorBodies(int status, String message) {
+        this.status = status;
+        this.prefix = ("{\"status\":" + status + ",\"message\":\"" + message + "\",\"timestamp\":\"")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    public void write(HttpServletResponse response) throws IOException {
+        byte[] timestamp = timestamp().bytes();
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(prefix.length + timestamp.length + SUFFIX.length);
+        OutputStream out = response.getOutputStream();
+        out.write(prefix);
+        out.write(timestamp);
+        out.write(SUFFIX);
+    }
+
+    /**
+     * Hora actual con precision de segundos, compartida entre todas las respuestas del segundo.
+     */
+    public static LocalDateTime now() {
+        return timestamp().value();
+    }
+
+    private static Timestamp timestamp() {
+        Timestamp timestamp = current;
+        long second = System.currentTimeMillis() / 1000;
+        if (timestamp.epochSecond() != second) {
+            // Carrera benigna: dos hilos pueden recalcular el mismo segundo
+            timestamp = Timestamp.at(second);
+            current = timestamp;
+        }
+        return timestamp;
+    }
+
+    private record Timestamp(long epochSecond, LocalDateTime value, byte[] bytes) {
+
+        private static Timestamp at(long epochSecond) {
+            LocalDateTime value = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+            return new Timestamp(epochSecond, value,
+                    DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value).getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.exception;
+
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cantidad de requests rechazadas por motivo desde el arranque (ver GET /health/rejections).
+ */
+@Component
+public class RejectionCounters {
+
+    private final Map<RejectionReason, LongAdder> counters = new EnumMap<>(RejectionReason.class);
+
+    public RejectionCounters() {
+        for (RejectionReason reason : RejectionReason.values()) {
+            counters.put(reason, new LongAdder());
+        }
+    }
+
+    public void record(RejectionReason reason) {
+        counters.get(reason).increment();
+    }
+
+    public long get(RejectionReason reason) {
+        return counters.get(reason).sum();
+    }
+
+    public Map<String, Long> snapshot() {
+        Map<String, Long> snapshot = new LinkedHashMap<>();
+        counters.forEach((reason, count) -> snapshot.put(reason.name(), count.sum()));
+        return snapshot;
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.exception;
+
+/**
+ * Motivos por los que se rechaza una request antes de analizarla. Los contadores de
+ * {@link RejectionCounters} se agrupan por estos valores.
+ */
+public enum RejectionReason {
+    /** Content-Length 0 en un endpoint que espera una muestra. */
+    EMPTY_BODY,
+    /** Content-Length mayor al de una matriz de tamaño maximo; el cuerpo no se lee. */
+    BODY_TOO_LARGE,
+    /** JSON o cuerpo comprimido que no se pudo leer. */
+    MALFORMED_BODY,
+    /** DnaRequest que no pasa Bean Validation. */
+    INVALID_DNA,
+    /** Otros argumentos invalidos (formato binario, fingerprints). */
+    INVALID_ARGUMENT
+}
@@ -0,0 +1,192 @@
+package org.example.export;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.shard.ShardContext;
+import org.example.shard.ShardRouter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Exporta dna_records sin cargar entidades: cada shard se recorre con un cursor JDBC de
+ * solo avance (ordenado por id, con fetch size fijo) y cada fila se escribe al salir del
+ * ResultSet, asi que la memoria no depende del tamano de la tabla. La consulta corre en
+ * una transaccion de solo lectura (la replica, si esta configurada): PostgreSQL solo usa
+ * el fetch size con autocommit apagado, y H2 pasa a disco los resultados grandes.
+ */
+@Slf4j
+@Component
+public class DnaRecordExporter {
+
+    public enum Format {
+        NDJSON, CSV;
+
+        public static Format parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported export format: " + value + " (expected ndjson or csv)");
+            }
+        }
+    }
+
+    static final String CSV_HEADER = "shard,id,dna_hash,is_mutant,created_at,archive_id,archive_segment,archive_offset\n";
+
+    private static final String SELECT_RECORDS = "SELECT id, dna_hash, is_mutant, created_at, archive_id, "
+            + "archive_segment, archive_offset FROM dna_records WHERE id > ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+
+    public DnaRecordExporter(DataSource dataSource,
+                             PlatformTransactionManager transactionManager,
+                             ShardRouter shardRouter,
+                             @Value("${records.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(Math.max(1, fetchSize));
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.shardRouter = shardRouter;
+    }
+
+    /**
+     * Valida el cursor antes de escribir la respuesta, para poder contestar 400.
+     */
+    public void validate(ExportCursor cursor, long limit) {
+        if (cursor.shard() < 0 || cursor.shard() >= shardRouter.getShardCount()) {
+            throw new IllegalArgumentException("shard must be between 0 and " + (shardRouter.getShardCount() - 1));
+        }
+        if (cursor.afterId() < 0) {
+            throw new IllegalArgumentException("afterId must not be negative");
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative");
+        }
+    }
+
+    /**
+     * Escribe los registros desde el cursor: el resto del shard del cursor y luego los
+     * shards siguientes completos, en orden de id dentro de cada shard.
+     *
+     * @param limit cantidad maxima de registros, 0 sin limite
+     * @return cantidad de registros escritos
+     */
+    public long export(ExportCursor cursor, long limit, Format format, Writer out) throws IOException {
+        validate(cursor, limit);
+        if (format == Format.CSV) {
+            out.write(CSV_HEADER);
+        }
+        long exported = 0;
+        for (int shard = cursor.shard(); shard < shardRouter.getShardCount(); shard++) {
+            if (limit > 0 && exported >= limit) {
+                break;
+            }
+            long afterId = shard == cursor.shard() ? cursor.afterId() : 0;
+            long remaining = limit > 0 ? limit - exported : 0;
+            int target = shard;
+            try {
+                exported += ShardContext.callOn(shard, () -> transactionTemplate.execute(status ->
+                        exportShard(target, afterId, cursor, remaining, format, out)));
+            } catch (UncheckedIOException e) {
+                // El cliente corto la conexion: el cursor se cierra al salir del query
+                throw e.getCause();
+            }
+        }
+        out.flush();
+        log.debug("Exported {} dna_records from shard {} after id {}", exported, cursor.shard(), cursor.afterId());
+        return exported;
+    }
+
+    private long exportShard(int shard, long afterId, ExportCursor cursor, long limit, Format format, Writer out) {
+        StringBuilder sql = new StringBuilder(SELECT_RECORDS);
+        List<Object> args = new ArrayList<>(3);
+        args.add(afterId);
+        if (cursor.since() != null) {
+            sql.append(" AND created_at >= ?");
+            args.add(Timestamp.valueOf(cursor.since()));
+        }
+        sql.append(" ORDER BY id");
+        if (limit > 0) {
+            sql.append(" LIMIT ?");
+            args.add(limit);
+        }
+
+        RowWriter rowWriter = new RowWriter(shard, format, out);
+        jdbcTemplate.query(sql.toString(), rowWriter, args.toArray());
+        return rowWriter.rows;
+    }
+
+    /**
+     * Escribe cada fila reutilizando el mismo buffer de linea.
+     */
+    private static final class RowWriter implements RowCallbackHandler {
+
+        private final int shard;
+        private final Format format;
+        private final Writer out;
+        private final StringBuilder line = new StringBuilder(256);
+        private long rows;
+
+        RowWriter(int shard, Format format, Writer out) {
+            this.shard = shard;
+            this.format = format;
+            this.out = out;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long id = rs.getLong("id");
+            String dnaHash = rs.getString("dna_hash");
+            boolean isMutant = rs.getBoolean("is_mutant");
+            String createdAt = rs.getTimestamp("created_at").toLocalDateTime().toString();
+            String archiveId = rs.getString("archive_id");
+            Object archiveSegment = rs.getObject("archive_segment");
+            Object archiveOffset = rs.getObject("archive_offset");
+
+            line.setLength(0);
+            if (format == Format.CSV) {
+                // Ningun campo lleva comas ni comillas: el hash es hexadecimal y el id del archivo un UUID
+                line.append(shard).append(',').append(id).append(',').append(dnaHash).append(',')
+                        .append(isMutant).append(',').append(createdAt).append(',')
+                        .append(archiveId == null ? "" : archiveId).append(',')
+                        .append(archiveSegment == null ? "" : archiveSegment).append(',')
+                        .append(archiveOffset == null ? "" : archiveOffset).append('\n');
+            } else {
+                line.append("{\"shard\":").append(shard)
+                        .append(",\"id\":").append(id)
+                        .append(",\"dnaHash\":\"").append(dnaHash)
+                        .append("\",\"mutant\":").append(isMutant)
+                        .append(",\"createdAt\":\"").append(createdAt)
+                        .append("\",\"archiveId\":");
+                if (archiveId == null) {
+                    line.append("null");
+                } else {
+                    line.append('"').append(archiveId).append('"');
+                }
+                line.append(",\"archiveSegment\":").append(archiveSegment)
+                        .append(",\"archiveOffset\":").append(archiveOffset).append("}\n");
+            }
+            try {
+                out.append(line);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            rows++;
+        }
+    }
+}
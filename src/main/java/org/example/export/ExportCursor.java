@@ -0,0 +1,17 @@
+package org.example.export;
+
+import java.time.LocalDateTime;
+
+/**
+ * Punto de partida de una exportacion: el shard, el ultimo id ya recibido en ese shard
+ * (exclusivo) y, opcionalmente, la fecha de creacion minima. Para retomar una exportacion
+ * cortada se repite con el shard y el id de la ultima linea recibida.
+ *
+ * Retomar solo cubre las filas confirmadas antes de que empezara la exportacion original:
+ * los ids se reservan en bloques por instancia antes del commit, asi que una fila que se
+ * confirma despues puede tener un id menor que afterId y no aparecer. Para esas filas se
+ * exporta de nuevo con {@code since} un poco antes del inicio de la primera exportacion y
+ * se descartan los ids repetidos.
+ */
+public record ExportCursor(int shard, long afterId, LocalDateTime since) {
+}
@@ -0,0 +1,135 @@
+package org.example.filter;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.example.exception.InvalidRequestBodyException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Stream que falla al superar un limite de bytes leidos. Se usa para cuerpos cuyo tamaño
+ * no se conoce de antemano (comprimidos o con Transfer-Encoding chunked).
+ *
+ * Con lectura asincrona, si el delegado es el stream del contenedor el listener se le
+ * registra a el; si es un stream que descomprime, que puede necesitar mas bytes de los
+ * disponibles, el listener se atiende en el momento leyendo en modo bloqueante.
+ */
+final class BoundedServletInputStream extends ServletInputStream {
+
+    private final InputStream delegate;
+    private final long limit;
+    private final String description;
+    private long count;
+    private boolean finished;
+    private ServletInputStream async;
+
+    /**
+     * @param description sujeto del mensaje de error, por ejemplo "Decompressed request body"
+     */
+    BoundedServletInputStream(InputStream delegate, long limit, String description) {
+        this.delegate = delegate;
+        this.limit = limit;
+        this.description = description;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        int read = read(single, 0, 1);
+        return read == -1 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read;
+        try {
+            read = delegate.read(buffer, offset, length);
+        } catch (ZipException e) {
+            throw new InvalidRequestBodyException("Corrupt compressed request body", e);
+        } catch (EOFException e) {
+            // GZIPInputStream e InflaterInputStream: el cuerpo termina antes de tiempo
+            throw new InvalidRequestBodyException("Truncated request body", e);
+        }
+        if (read == -1) {
+            finished = true;
+            return -1;
+        }
+        count += read;
+        if (count > limit) {
+            throw new InvalidRequestBodyException(description + " exceeds " + limit + " bytes");
+        }
+        return read;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return finished || (async != null && async.isFinished());
+    }
+
+    @Override
+    public boolean isReady() {
+        return async == null || async.isReady();
+    }
+
+    @Override
+    public void setReadListener(ReadListener readListener) {
+        if (delegate instanceof ServletInputStream source) {
+            async = source;
+            source.setReadListener(new LimitedReadListener(readListener));
+            return;
+        }
+        try {
+            readListener.onDataAvailable();
+            if (finished) {
+                readListener.onAllDataRead();
+            }
+        } catch (Throwable e) {
+            readListener.onError(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    /**
+     * El limite se controla en read(), que el listener llama desde onDataAvailable: si se
+     * supera, el listener recibe el error en lugar de que el contenedor lo descarte.
+     */
+    private final class LimitedReadListener implements ReadListener {
+
+        private final ReadListener listener;
+        private boolean failed;
+
+        private LimitedReadListener(ReadListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void onDataAvailable() throws IOException {
+            try {
+                listener.onDataAvailable();
+            } catch (InvalidRequestBodyException e) {
+                failed = true;
+                listener.onError(e);
+            }
+        }
+
+        @Override
+        public void onAllDataRead() throws IOException {
+            finished = true;
+            if (!failed) {
+                listener.onAllDataRead();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            listener.onError(throwable);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.example.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.codec.PackedDnaCodec;
+import org.example.exception.PreparedErrorBodies;
+import org.example.exception.RejectionCounters;
+import org.example.exception.RejectionReason;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import static org.example.validation.ValidDnaSequenceValidator.MAX_DNA_SIZE;
+
+/**
+ * Primer filtro de POST /mutant, /mutant/async y /mutant/explain: rechaza por Content-Length, antes de
+ * leer el cuerpo, las requests vacias o mas grandes que cualquier matriz aceptable, con
+ * una respuesta ya serializada. Si el largo no se conoce (chunked) el cuerpo se limita
+ * mientras se lee. Los cuerpos comprimidos los limita RequestDecompressionFilter.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class FailFastRejectionFilter extends OncePerRequestFilter {
+
+    /** Margen por fila para comillas, comas y espacios de un JSON formateado. */
+    static final int JSON_ROW_OVERHEAD = 16;
+    /** Margen para {"dna":[...]} y espacios alrededor. */
+    static final int JSON_ENVELOPE_BYTES = 256;
+
+    static final long MAX_JSON_BODY_BYTES = (long) MAX_DNA_SIZE * (MAX_DNA_SIZE + JSON_ROW_OVERHEAD) + JSON_ENVELOPE_BYTES;
+    static final long MAX_PACKED_BODY_BYTES = PackedDnaCodec.HEADER_BYTES + PackedDnaCodec.packedLength(MAX_DNA_SIZE);
+
+    private static final PreparedErrorBodies EMPTY_BODY =
+            new PreparedErrorBodies(HttpServletResponse.SC_BAD_REQUEST, "Request body is empty");
+    private static final PreparedErrorBodies JSON_TOO_LARGE =
+            new PreparedErrorBodies(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE,
+                    "Request body exceeds " + MAX_JSON_BODY_BYTES + " bytes (" + MAX_DNA_SIZE + "x" + MAX_DNA_SIZE + " DNA)");
+    private static final PreparedErrorBodies PACKED_TOO_LARGE =
+            new PreparedErrorBodies(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE,
+                    "Request body exceeds " + MAX_PACKED_BODY_BYTES + " bytes (" + MAX_DNA_SIZE + "x" + MAX_DNA_SIZE + " DNA)");
+
+    private final RejectionCounters rejectionCounters;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.equals("/mutant") && !path.equals("/mutant/async") && !path.equals("/mutant/explain");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (request.getHeader(HttpHeaders.CONTENT_ENCODING) != null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        boolean packed = isPacked(request.getContentType());
+        long limit = packed ? MAX_PACKED_BODY_BYTES : MAX_JSON_BODY_BYTES;
+        long length = request.getContentLengthLong();
+        if (length == 0) {
+            reject(response, RejectionReason.EMPTY_BODY, EMPTY_BODY);
+        } else if (length > limit) {
+            log.debug("Rejecting {} byte body on {} without reading it", length, request.getRequestURI());
+            // Sin Connection: close el contenedor intentaria consumir el cuerpo para reutilizar la conexion
+            response.setHeader(HttpHeaders.CONNECTION, "close");
+            reject(response, RejectionReason.BODY_TOO_LARGE, packed ? PACKED_TOO_LARGE : JSON_TOO_LARGE);
+        } else if (length < 0) {
+            filterChain.doFilter(new SizeLimitedRequest(request, limit), response);
+        } else {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    private void reject(HttpServletResponse response, RejectionReason reason, PreparedErrorBodies body)
+            throws IOException {
+        rejectionCounters.record(reason);
+        body.write(response);
+    }
+
+    private static boolean isPacked(String contentType) {
+        return contentType != null && contentType.regionMatches(true, 0,
+                MediaType.APPLICATION_OCTET_STREAM_VALUE, 0, MediaType.APPLICATION_OCTET_STREAM_VALUE.length());
+    }
+
+    /**
+     * Request sin Content-Length cuyo cuerpo falla al superar el limite.
+     */
+    private static final class SizeLimitedRequest extends HttpServletRequestWrapper {
+
+        private final long limit;
+        private ServletInputStream inputStream;
+
+        private SizeLimitedRequest(HttpServletRequest request, long limit) {
+            super(request);
+            this.limit = limit;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                inputStream = new BoundedServletInputStream(super.getInputStream(), limit, "Request body");
+            }
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package org.example.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.example.exception.InvalidRequestBodyException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Filtro que descomprime los cuerpos enviados con Content-Encoding gzip o deflate,
+ * tanto para JSON como para el formato binario empaquetado. El tamaño descomprimido
+ * se limita para que un cuerpo pequeño no pueda expandirse sin control.
+ */
+@Slf4j
+@Component
+public class RequestDecompressionFilter extends OncePerRequestFilter {
+
+    private final long maxInflatedBytes;
+
+    public RequestDecompressionFilter(@Value("${http.request.decompression.max-bytes:16777216}") long maxInflatedBytes) {
+        this.maxInflatedBytes = maxInflatedBytes;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String encoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+        if (encoding == null || encoding.isBlank() || encoding.trim().equalsIgnoreCase("identity")) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String normalized = encoding.trim().toLowerCase();
+        if (!normalized.equals("gzip") && !normalized.equals("x-gzip") && !normalized.equals("deflate")) {
+            log.debug("Rejecting request with unsupported Content-Encoding '{}'", encoding);
+            response.sendError(HttpServletResponse.SC_UNSUPPORTED_MEDIA_TYPE,
+                    "Unsupported Content-Encoding: " + encoding);
+            return;
+        }
+        filterChain.doFilter(new DecompressedRequest(request, normalized.equals("deflate")), response);
+    }
+
+    /**
+     * Request cuyo cuerpo se lee ya descomprimido; oculta Content-Encoding y
+     * Content-Length porque dejan de describir el cuerpo que ve la aplicacion.
+     */
+    private final class DecompressedRequest extends HttpServletRequestWrapper {
+
+        private final boolean deflate;
+        private ServletInputStream inputStream;
+
+        private DecompressedRequest(HttpServletRequest request, boolean deflate) {
+            super(request);
+            this.deflate = deflate;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                InputStream raw = super.getInputStream();
+                try {
+                    InputStream inflating = deflate ? new InflaterInputStream(raw) : new GZIPInputStream(raw);
+                    inputStream = new BoundedServletInputStream(inflating, maxInflatedBytes, "Decompressed request body");
+                } catch (ZipException e) {
+                    throw new InvalidRequestBodyException("Corrupt compressed request body", e);
+                } catch (EOFException e) {
+                    // Cuerpo mas corto que la cabecera gzip
+                    throw new InvalidRequestBodyException("Truncated compressed request body", e);
+                }
+            }
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return isHidden(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return isHidden(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            List<String> names = Collections.list(super.getHeaderNames());
+            names.removeIf(this::isHidden);
+            return Collections.enumeration(names);
+        }
+
+        private boolean isHidden(String name) {
+            return HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name) || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.fingerprint;
+
+/**
+ * Fingerprint invariante ante rotaciones y reflejos: calcula el fingerprint de la
+ * orientacion lexicograficamente menor de la matriz. Como la cantidad de secuencias
+ * en las cuatro direcciones no cambia con esas simetrias, todas las orientaciones de
+ * una muestra comparten veredicto y pueden compartir la clave de deduplicacion.
+ * Las matrices no cuadradas o con filas nulas usan el fingerprint sin canonizar.
+ */
+public class CanonicalDnaFingerprint implements DnaFingerprint {
+
+    private final DnaFingerprint delegate;
+
+    public CanonicalDnaFingerprint(DnaFingerprint delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String name() {
+        return delegate.name() + "-canonical";
+    }
+
+    @Override
+    public int hexLength() {
+        return delegate.hexLength();
+    }
+
+    @Override
+    public String fingerprint(CharSequence[] rows) {
+        if (!isSquare(rows)) {
+            return delegate.fingerprint(rows);
+        }
+        return delegate.fingerprint(DnaSymmetry.canonical(rows).view(rows));
+    }
+
+    private static boolean isSquare(CharSequence[] rows) {
+        for (CharSequence row : rows) {
+            if (row == null || row.length() != rows.length) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.fingerprint;
+
+/**
+ * Estrategia para calcular la clave de deduplicacion de una matriz de ADN.
+ * Las filas se recorren directamente, sin construir copias intermedias de la matriz.
+ */
+public interface DnaFingerprint {
+
+    /**
+     * Nombre del algoritmo, tal como se configura en {@code dna.fingerprint.algorithm}.
+     */
+    String name();
+
+    /**
+     * Fingerprint en hexadecimal (minusculas) de las filas de la matriz.
+     */
+    String fingerprint(CharSequence[] rows);
+
+    /**
+     * Cantidad de caracteres hexadecimales de cada fingerprint.
+     */
+    int hexLength();
+}
@@ -0,0 +1,145 @@
+package org.example.fingerprint;
+
+/**
+ * Las 8 simetrias del cuadrado (rotaciones y reflejos). Cada una indica que celda
+ * de la matriz original aparece en la posicion (row, col) de la matriz transformada,
+ * sin necesidad de construir la copia.
+ */
+public enum DnaSymmetry {
+
+    IDENTITY {
+        @Override
+        char at(CharSequence[] rows, int n, int row, int col) {
+            return rows[row].charAt(col);
+        }
+    },
+    ROTATE_90 {
+        @Override
+        char at(CharSequence[] rows, int n, int row, int col) {
+            return rows[n - 1 - col].charAt(row);
+        }
+    },
+    ROTATE_180 {
+        @Override
+        char at(CharSequence[] rows, int n, int row, int col) {
+            return rows[n - 1 - row].charAt(n - 1 - col);
+        }
+    },
+    ROTATE_270 {
+        @Override
+        char at(CharSequence[] rows, int n, int row, int col) {
+            return rows[col].charAt(n - 1 - row);
+        }
+    },
+    MIRROR_COLUMNS {
+        @Override
+        char at(CharSequence[] rows, int n, int row, int col) {
+            return rows[row].charAt(n - 1 - col);
+        }
+    },
+    MIRROR_ROWS {
+        @Override
+        char at(CharSequence[] rows, int n, int row, int col) {
+            return rows[n - 1 - row].charAt(col);
+        }
+    },
+    TRANSPOSE {
+        @Override
+        char at(CharSequence[] rows, int n, int row, int col) {
+            return rows[col].charAt(row);
+        }
+    },
+    ANTI_TRANSPOSE {
+        @Override
+        char at(CharSequence[] rows, int n, int row, int col) {
+            return rows[n - 1 - col].charAt(n - 1 - row);
+        }
+    };
+
+    private static final DnaSymmetry[] ALL = values();
+
+    abstract char at(CharSequence[] rows, int n, int row, int col);
+
+    /**
+     * Vista de solo lectura de las filas transformadas; no copia las bases.
+     */
+    public CharSequence[] view(CharSequence[] rows) {
+        if (this == IDENTITY) {
+            return rows;
+        }
+        int n = rows.length;
+        CharSequence[] view = new CharSequence[n];
+        for (int row = 0; row < n; row++) {
+            view[row] = new OrientedRow(this, rows, n, row);
+        }
+        return view;
+    }
+
+    /**
+     * Simetria cuya matriz transformada es la lexicograficamente menor (recorrida por filas).
+     * Compara las 8 orientaciones celda por celda y descarta las que pierden; en la
+     * practica quedan resueltas tras unas pocas celdas. Si hay empate (matriz simetrica)
+     * las orientaciones empatadas son identicas y cualquiera sirve.
+     */
+    public static DnaSymmetry canonical(CharSequence[] rows) {
+        int n = rows.length;
+        DnaSymmetry[] alive = ALL.clone();
+        int aliveCount = alive.length;
+
+        for (int row = 0; row < n && aliveCount > 1; row++) {
+            for (int col = 0; col < n && aliveCount > 1; col++) {
+                char min = Character.MAX_VALUE;
+                for (int i = 0; i < aliveCount; i++) {
+                    min = (char) Math.min(min, alive[i].at(rows, n, row, col));
+                }
+                int kept = 0;
+                for (int i = 0; i < aliveCount; i++) {
+                    if (alive[i].at(rows, n, row, col) == min) {
+                        alive[kept++] = alive[i];
+                    }
+                }
+                aliveCount = kept;
+            }
+        }
+        return alive[0];
+    }
+
+    private static final class OrientedRow implements CharSequence {
+
+        private final DnaSymmetry symmetry;
+        private final CharSequence[] rows;
+        private final int n;
+        private final int row;
+
+        private OrientedRow(DnaSymmetry symmetry, CharSequence[] rows, int n, int row) {
+            this.symmetry = symmetry;
+            this.rows = rows;
+            this.n = n;
+            this.row = row;
+        }
+
+        @Override
+        public int length() {
+            return n;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return symmetry.at(rows, n, row, index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            StringBuilder builder = new StringBuilder(end - start);
+            for (int i = start; i < end; i++) {
+                builder.append(charAt(i));
+            }
+            return builder;
+        }
+
+        @Override
+        public String toString() {
+            return subSequence(0, n).toString();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package org.example.fingerprint;
+
+import java.util.HexFormat;
+
+/**
+ * MurmurHash3 x64 de 128 bits calculado en streaming sobre los caracteres de cada fila.
+ * No es criptografico, pero 128 bits hacen despreciable la probabilidad de colision
+ * para deduplicar, y cuesta una fraccion de SHA-256. Cada fila termina con '\n'
+ * para que dos particiones distintas de las mismas bases no colisionen.
+ */
+public class Murmur3DnaFingerprint implements DnaFingerprint {
+
+    public static final String NAME = "murmur3";
+
+    private static final byte ROW_TERMINATOR = '\n';
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int hexLength() {
+        return 32;
+    }
+
+    @Override
+    public String fingerprint(CharSequence[] rows) {
+        Murmur3Hasher hasher = new Murmur3Hasher(0);
+        for (CharSequence row : rows) {
+            if (row != null) {
+                hasher.putAscii(row);
+            }
+            hasher.put(ROW_TERMINATOR);
+        }
+        return hasher.finishHex();
+    }
+
+    /**
+     * Implementacion incremental de MurmurHash3_x64_128 (un byte a la vez, bloques de 16).
+     */
+    static final class Murmur3Hasher {
+
+        private static final long C1 = 0x87c37b91114253d5L;
+        private static final long C2 = 0x4cf5ad432745937fL;
+
+        private long h1;
+        private long h2;
+        private long k1;
+        private long k2;
+        private int position;
+        private long length;
+
+        Murmur3Hasher(long seed) {
+            this.h1 = seed;
+            this.h2 = seed;
+        }
+
+        void put(byte value) {
+            long v = value & 0xffL;
+            if (position < 8) {
+                k1 |= v << (position << 3);
+            } else {
+                k2 |= v << ((position - 8) << 3);
+            }
+            length++;
+            if (++position == 16) {
+                mixBlock();
+                k1 = 0;
+                k2 = 0;
+                position = 0;
+            }
+        }
+
+        /**
+         * Agrega los caracteres (ASCII) de la fila: completa el bloque pendiente byte a
+         * byte y luego procesa bloques completos de 16 caracteres sin bifurcaciones.
+         */
+        void putAscii(CharSequence chars) {
+            int length = chars.length();
+            int index = 0;
+            while (position != 0 && index < length) {
+                put((byte) chars.charAt(index++));
+            }
+            if (length - index >= 16) {
+                while (length - index >= 16) {
+                    k1 = pack8(chars, index);
+                    k2 = pack8(chars, index + 8);
+                    mixBlock();
+                    index += 16;
+                    this.length += 16;
+                }
+                k1 = 0;
+                k2 = 0;
+            }
+            while (index < length) {
+                put((byte) chars.charAt(index++));
+            }
+        }
+
+        private static long pack8(CharSequence chars, int offset) {
+            return (chars.charAt(offset) & 0xffL)
+                    | (chars.charAt(offset + 1) & 0xffL) << 8
+                    | (chars.charAt(offset + 2) & 0xffL) << 16
+                    | (chars.charAt(offset + 3) & 0xffL) << 24
+                    | (chars.charAt(offset + 4) & 0xffL) << 32
+                    | (chars.charAt(offset + 5) & 0xffL) << 40
+                    | (chars.charAt(offset + 6) & 0xffL) << 48
+                    | (chars.charAt(offset + 7) & 0xffL) << 56;
+        }
+
+        private void mixBlock() {
+            h1 ^= mixK1(k1);
+            h1 = Long.rotateLeft(h1, 27);
+            h1 += h2;
+            h1 = h1 * 5 + 0x52dce729;
+
+            h2 ^= mixK2(k2);
+            h2 = Long.rotateLeft(h2, 31);
+            h2 += h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+
+        long[] finish() {
+            if (position > 8) {
+                h2 ^= mixK2(k2);
+            }
+            if (position > 0) {
+                h1 ^= mixK1(k1);
+            }
+
+            h1 ^= length;
+            h2 ^= length;
+            h1 += h2;
+            h2 += h1;
+            h1 = fmix(h1);
+            h2 = fmix(h2);
+            h1 += h2;
+            h2 += h1;
+            return new long[] { h1, h2 };
+        }
+
+        String finishHex() {
+            long[] hash = finish();
+            HexFormat hex = HexFormat.of();
+            return hex.toHexDigits(hash[0]) + hex.toHexDigits(hash[1]);
+        }
+
+        private static long mixK1(long k) {
+            k *= C1;
+            k = Long.rotateLeft(k, 31);
+            return k * C2;
+        }
+
+        private static long mixK2(long k) {
+            k *= C2;
+            k = Long.rotateLeft(k, 33);
+            return k * C1;
+        }
+
+        private static long fmix(long k) {
+            k ^= k >>> 33;
+            k *= 0xff51afd7ed558ccdL;
+            k ^= k >>> 33;
+            k *= 0xc4ceb9fe1a85ec53L;
+            k ^= k >>> 33;
+            return k;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.fingerprint;
+
+import org.example.exception.DnaHashCalculationException;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 sobre la representacion {@code Arrays.toString(dna)}, compatible con los
+ * hashes ya guardados en dna_records. Alimenta el digest fila por fila desde un
+ * buffer reutilizado en lugar de construir el String completo y su copia en bytes.
+ */
+public class Sha256DnaFingerprint implements DnaFingerprint {
+
+    public static final String NAME = "sha256";
+
+    private static final int BUFFER_SIZE = 4096;
+    private static final byte[] SEPARATOR = { ',', ' ' };
+    private static final byte[] NULL_ROW = { 'n', 'u', 'l', 'l' };
+
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new DnaHashCalculationException("Error calculating DNA hash", e);
+        }
+    });
+    private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int hexLength() {
+        return 64;
+    }
+
+    @Override
+    public String fingerprint(CharSequence[] rows) {
+        MessageDigest digest = DIGEST.get();
+        digest.reset();
+        byte[] buffer = BUFFER.get();
+
+        digest.update((byte) '[');
+        for (int i = 0; i < rows.length; i++) {
+            if (i > 0) {
+                digest.update(SEPARATOR);
+            }
+            CharSequence row = rows[i];
+            if (row == null) {
+                digest.update(NULL_ROW);
+                continue;
+            }
+            int length = row.length();
+            for (int start = 0; start < length; start += BUFFER_SIZE) {
+                int end = Math.min(length, start + BUFFER_SIZE);
+                for (int j = start; j < end; j++) {
+                    // Las bases validas son ASCII: un byte por caracter
+                    buffer[j - start] = (byte) row.charAt(j);
+                }
+                digest.update(buffer, 0, end - start);
+            }
+        }
+        digest.update((byte) ']');
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
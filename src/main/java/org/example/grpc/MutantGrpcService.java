@@ -0,0 +1,226 @@
+package org.example.grpc;
+
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.codec.PackedDnaCodec;
+import org.example.grpc.proto.DnaSample;
+import org.example.grpc.proto.MutantClassifierGrpc;
+import org.example.grpc.proto.Verdict;
+import org.example.service.MutantService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Clasificacion por stream bidireccional: el cliente envia muestras en formato empaquetado
+ * y recibe un veredicto por muestra, en el mismo orden.
+ * <p>
+ * Cada llamada procesa sus muestras en serie sobre un pool compartido. Las muestras que
+ * llegan mientras se procesa un lote forman el lote siguiente, que se resuelve con
+ * {@link MutantService#analyzeAll} (una consulta de duplicados y un insert por shard).
+ * El control de flujo es manual: el servidor pide a lo sumo {@code grpc.classify.window}
+ * muestras por adelantado y solo devuelve credito cuando el cliente esta leyendo los
+ * veredictos, asi un cliente lento no acumula respuestas en memoria.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "grpc.server.enabled", havingValue = "true")
+public class MutantGrpcService extends MutantClassifierGrpc.MutantClassifierImplBase {
+
+    private final MutantService mutantService;
+    private final int batchSize;
+    private final int window;
+    private final Executor executor;
+
+    @Autowired
+    public MutantGrpcService(MutantService mutantService,
+                             @Value("${grpc.classify.batch-size:256}") int batchSize,
+                             @Value("${grpc.classify.window:1024}") int window,
+                             @Value("${grpc.classify.threads:0}") int threads) {
+        this(mutantService, batchSize, window, newWorkerPool(threads));
+    }
+
+    MutantGrpcService(MutantService mutantService, int batchSize, int window, Executor executor) {
+        if (batchSize < 1 || window < 1) {
+            throw new IllegalArgumentException("grpc.classify.batch-size and grpc.classify.window must be positive");
+        }
+        this.mutantService = mutantService;
+        this.batchSize = batchSize;
+        this.window = window;
+        this.executor = executor;
+    }
+
+    @Override
+    public StreamObserver<DnaSample> classify(StreamObserver<Verdict> responseObserver) {
+        ServerCallStreamObserver<Verdict> responses = (ServerCallStreamObserver<Verdict>) responseObserver;
+        ClassifyCall call = new ClassifyCall(responses);
+        responses.disableAutoRequest();
+        responses.setOnReadyHandler(call::schedule);
+        responses.setOnCancelHandler(call::cancel);
+        responses.request(window);
+        return call;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService pool) {
+            pool.shutdownNow();
+        }
+    }
+
+    private static ExecutorService newWorkerPool(int threads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "grpc-classify-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Estado de una llamada. Los callbacks de gRPC solo encolan y agendan {@link #drain};
+     * el contador {@code wip} garantiza que un unico hilo a la vez procese y envie respuestas.
+     */
+    private final class ClassifyCall implements StreamObserver<DnaSample> {
+
+        private final ServerCallStreamObserver<Verdict> responses;
+        private final Queue<DnaSample> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private volatile boolean halfClosed;
+        private volatile boolean cancelled;
+
+        // Solo los accede el hilo que ejecuta drain
+        private long nextSequence;
+        private int deferredRequests;
+        private boolean finished;
+
+        private ClassifyCall(ServerCallStreamObserver<Verdict> responses) {
+            this.responses = responses;
+        }
+
+        @Override
+        public void onNext(DnaSample sample) {
+            pending.add(sample);
+            schedule();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            // El cliente cancelo o la conexion se corto: no queda nadie a quien responder
+            log.debug("Classify stream aborted by client: {}", t.getMessage());
+            cancel();
+        }
+
+        @Override
+        public void onCompleted() {
+            halfClosed = true;
+            schedule();
+        }
+
+        private void cancel() {
+            cancelled = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                try {
+                    drainPending();
+                } catch (RuntimeException e) {
+                    log.error("Classify stream failed after {} samples: {}", nextSequence, e.getMessage());
+                    finished = true;
+                    pending.clear();
+                    responses.onError(Status.INTERNAL.withDescription("Classification failed").asRuntimeException());
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drainPending() {
+            if (finished || cancelled) {
+                finished = true;
+                pending.clear();
+                return;
+            }
+            // Credito retenido mientras el cliente no leia los veredictos
+            if (deferredRequests > 0 && responses.isReady()) {
+                responses.request(deferredRequests);
+                deferredRequests = 0;
+            }
+
+            while (!pending.isEmpty() && !cancelled) {
+                List<DnaSample> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+                DnaSample sample;
+                while (batch.size() < batchSize && (sample = pending.poll()) != null) {
+                    batch.add(sample);
+                }
+                for (Verdict verdict : classifyBatch(batch)) {
+                    responses.onNext(verdict);
+                }
+                if (responses.isReady()) {
+                    responses.request(deferredRequests + batch.size());
+                    deferredRequests = 0;
+                } else {
+                    deferredRequests += batch.size();
+                }
+            }
+
+            if (halfClosed && pending.isEmpty() && !cancelled) {
+                finished = true;
+                responses.onCompleted();
+            }
+        }
+
+        private List<Verdict> classifyBatch(List<DnaSample> batch) {
+            List<char[][]> matrices = new ArrayList<>(batch.size());
+            String[] errors = new String[batch.size()];
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    matrices.add(PackedDnaCodec.decode(batch.get(i).getPacked().newInput()));
+                } catch (IllegalArgumentException e) {
+                    errors[i] = e.getMessage();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            List<Boolean> verdicts = matrices.isEmpty() ? List.of() : mutantService.analyzeAll(matrices);
+            List<Verdict> results = new ArrayList<>(batch.size());
+            int next = 0;
+            for (String error : errors) {
+                Verdict.Builder verdict = Verdict.newBuilder().setSequence(nextSequence++);
+                if (error != null) {
+                    verdict.setError(error);
+                } else {
+                    verdict.setMutant(verdicts.get(next++));
+                }
+                results.add(verdict.build());
+            }
+            return results;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Evento JFR que cubre una llamada completa a MutantService.analyzeDna, con el veredicto
+ * y de donde salio (cache, base de datos o deteccion).
+ */
+@Name("org.example.DnaAnalysis")
+@Label("DNA Analysis")
+@Category({ "Mutant Detector" })
+@Description("A complete MutantService.analyzeDna call with its verdict and cache outcome")
+@StackTrace(false)
+@Threshold("1 ms")
+public class DnaAnalysisEvent extends Event {
+
+    public static final String CACHE_HIT = "CACHE_HIT";
+    public static final String DB_HIT = "DB_HIT";
+    public static final String MISS = "MISS";
+
+    @Label("Matrix Size")
+    int size;
+
+    @Label("Mutant")
+    boolean mutant;
+
+    @Label("Cache Outcome")
+    @Description("CACHE_HIT (local or shared verdict cache), DB_HIT (stored record) or MISS (detected and persisted)")
+    String cacheOutcome;
+
+    public static DnaAnalysisEvent start(int size) {
+        DnaAnalysisEvent event = new DnaAnalysisEvent();
+        event.size = size;
+        event.begin();
+        return event;
+    }
+
+    public void setCacheOutcome(String cacheOutcome) {
+        this.cacheOutcome = cacheOutcome;
+    }
+
+    public boolean finish(boolean mutant) {
+        end();
+        if (shouldCommit()) {
+            this.mutant = mutant;
+            commit();
+        }
+        return mutant;
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Evento JFR del recorrido del detector. La cantidad de celdas recorridas muestra cuanto
+ * antes termino la busqueda: N*N para un humano, menos para un mutante con corte temprano.
+ */
+@Name("org.example.DnaDetect")
+@Label("DNA Detection")
+@Category({ "Mutant Detector" })
+@Description("Matrix scan of MutantDetector with the number of cells visited before the verdict")
+@StackTrace(false)
+@Threshold("1 ms")
+public class DnaDetectEvent extends Event {
+
+    @Label("Matrix Size")
+    int size;
+
+    @Label("Mutant")
+    boolean mutant;
+
+    @Label("Cells Scanned")
+    long cellsScanned;
+
+    @Label("Strategy")
+    @Description("Scan used for this size: a DetectorStrategy name or tiled")
+    String strategy;
+
+    public static DnaDetectEvent start(int size, String strategy) {
+        DnaDetectEvent event = new DnaDetectEvent();
+        event.size = size;
+        event.strategy = strategy;
+        event.begin();
+        return event;
+    }
+
+    public boolean finish(boolean mutant, long cellsScanned) {
+        end();
+        if (shouldCommit()) {
+            this.mutant = mutant;
+            this.cellsScanned = cellsScanned;
+            commit();
+        }
+        return mutant;
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.profiling;
+
+import org.example.dto.DnaRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+
+/**
+ * Emite el evento de la etapa parse para los cuerpos JSON de {@link DnaRequest}. La lectura
+ * ocurre en el mismo thread entre beforeBodyRead y afterBodyRead; si el parseo falla el
+ * evento queda sin registrar y lo reemplaza el siguiente request del thread.
+ */
+@ControllerAdvice
+public class DnaParseEventAdvice extends RequestBodyAdviceAdapter {
+
+    private static final ThreadLocal<DnaStageEvent> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return targetType == DnaRequest.class;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) {
+        CURRENT.set(DnaStageEvent.start(DnaStageEvent.PARSE, 0));
+        return inputMessage;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        DnaStageEvent event = CURRENT.get();
+        CURRENT.remove();
+        if (event != null) {
+            String[] dna = ((DnaRequest) body).getDna();
+            event.setSize(dna == null ? 0 : dna.length);
+            event.finish();
+        }
+        return body;
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Evento JFR para una etapa del procesamiento de una muestra. Con JFR apagado el costo es
+ * un chequeo de isEnabled; con JFR prendido solo se registran las etapas que superan el
+ * threshold (1 ms por defecto, configurable en jfr/mutant-detector.jfc).
+ */
+@Name("org.example.DnaStage")
+@Label("DNA Request Stage")
+@Category({ "Mutant Detector" })
+@Description("One stage of a DNA analysis: parse, validate, hash, cache-lookup, dedup-lookup or persist")
+@StackTrace(false)
+@Threshold("1 ms")
+public class DnaStageEvent extends Event {
+
+    public static final String PARSE = "parse";
+    public static final String VALIDATE = "validate";
+    public static final String HASH = "hash";
+    public static final String CACHE_LOOKUP = "cache-lookup";
+    public static final String DEDUP_LOOKUP = "dedup-lookup";
+    public static final String PERSIST = "persist";
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Matrix Size")
+    int size;
+
+    public static DnaStageEvent start(String stage, int size) {
+        DnaStageEvent event = new DnaStageEvent();
+        event.stage = stage;
+        event.size = size;
+        event.begin();
+        return event;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public void finish() {
+        end();
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.replica;
+
+import java.util.function.Supplier;
+
+/**
+ * Fuerza el primario para las lecturas del hilo actual, aunque la transaccion sea de solo
+ * lectura. Se usa en las consultas que deben ver las escrituras recientes (deduplicacion
+ * antes de insertar, inicializacion de contadores). Debe fijarse antes de abrir la
+ * transaccion, igual que {@link org.example.shard.ShardContext}.
+ */
+public final class ReadReplicaContext {
+
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+
+    private ReadReplicaContext() {
+    }
+
+    public static boolean isPrimaryForced() {
+        return Boolean.TRUE.equals(PRIMARY_FORCED.get());
+    }
+
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = PRIMARY_FORCED.get();
+        PRIMARY_FORCED.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_FORCED.remove();
+            } else {
+                PRIMARY_FORCED.set(previous);
+            }
+        }
+    }
+
+    public static void runOnPrimary(Runnable action) {
+        onPrimary(() -> {
+            action.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.replica;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Mide el atraso de la replica con una fila de latido: en cada chequeo escribe la hora
+ * actual en replication_heartbeat del primario y lee la que ya llego a la replica. El
+ * atraso incluye el intervalo entre chequeos, asi que el umbral debe ser mayor que ese
+ * intervalo. Hasta el primer chequeo exitoso la replica no se usa.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    static final String UPDATE_HEARTBEAT = "UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1";
+    static final String INSERT_HEARTBEAT = "INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, ?)";
+    static final String SELECT_HEARTBEAT = "SELECT beat_at FROM replication_heartbeat WHERE id = 1";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxLagMs;
+
+    private volatile boolean replicaUsable;
+    private volatile long lagMs = -1;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, long maxLagMs) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxLagMs = maxLagMs;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.check-interval-ms:1000}")
+    public void check() {
+        long now = System.currentTimeMillis();
+        try {
+            if (primary.update(UPDATE_HEARTBEAT, now) == 0) {
+                primary.update(INSERT_HEARTBEAT, now);
+            }
+            List<Long> beats = replica.queryForList(SELECT_HEARTBEAT, Long.class);
+            lagMs = beats.isEmpty() ? Long.MAX_VALUE : Math.max(0, now - beats.get(0));
+        } catch (DataAccessException e) {
+            log.debug("Replica lag check failed: {}", e.getMessage());
+            lagMs = Long.MAX_VALUE;
+        }
+
+        boolean usable = lagMs <= maxLagMs;
+        if (usable != replicaUsable) {
+            log.info("Read replica {} (lag {} ms, threshold {} ms)", usable ? "enabled" : "disabled, reads go to primary",
+                    lagMs == Long.MAX_VALUE ? "unknown" : lagMs, maxLagMs);
+        }
+        replicaUsable = usable;
+    }
+
+    /**
+     * Una conexion a la replica fallo al enrutar una lectura: se deja de usar sin esperar
+     * al proximo chequeo, que la vuelve a habilitar cuando responda.
+     */
+    public void markUnavailable(Exception cause) {
+        lagMs = Long.MAX_VALUE;
+        if (replicaUsable) {
+            log.warn("Read replica disabled, reads go to primary: {}", cause.getMessage());
+        }
+        replicaUsable = false;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    /**
+     * Atraso medido en el ultimo chequeo; -1 antes del primero y Long.MAX_VALUE si la
+     * replica no respondio o todavia no recibio ningun latido.
+     */
+    public long getLagMs() {
+        return lagMs;
+    }
+}
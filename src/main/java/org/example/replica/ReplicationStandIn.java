@@ -0,0 +1,117 @@
+package org.example.replica;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sustituto de la replicacion para probar localmente con dos bases H2: cada intervalo
+ * copia al replica las filas de dna_records que le faltan, borra las que el primario ya
+ * compacto, copia completas dna_stats, dna_record_summary y dna_compacted_hashes y, al
+ * final, el latido que habia en el primario al empezar. Asi el atraso medido nunca es
+ * menor que el real.
+ * Los ids se asignan antes del commit (secuencia en bloques), asi que una fila puede
+ * confirmarse despues de otra de id mayor: no alcanza con copiar desde el id maximo del
+ * replica, y cada pasada compara todos los ids por tramos (costo lineal, solo para pruebas).
+ * No propaga actualizaciones de filas ya copiadas (ubicacion en el archivo crudo).
+ */
+@Slf4j
+public class ReplicationStandIn {
+
+    private static final int PAGE_SIZE = 1000;
+
+    private static final String SELECT_RECORDS_PAGE = "SELECT id, dna_hash, is_mutant, created_at, archive_id, "
+            + "archive_segment, archive_offset FROM dna_records WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String SELECT_REPLICA_IDS = "SELECT id FROM dna_records WHERE id BETWEEN ? AND ?";
+    private static final String INSERT_RECORD = "INSERT INTO dna_records (id, dna_hash, is_mutant, created_at, "
+            + "archive_id, archive_segment, archive_offset) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final TransactionTemplate replicaTransaction;
+
+    public ReplicationStandIn(DataSource primary, DataSource replica) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.replicaTransaction = new TransactionTemplate(new DataSourceTransactionManager(replica));
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.stand-in.interval-ms:500}")
+    public void replicate() {
+        try {
+            List<Long> beats = primary.queryForList(ReplicaLagMonitor.SELECT_HEARTBEAT, Long.class);
+            long copied = copyMissingRecords();
+            replicaTransaction.executeWithoutResult(status -> {
+                removeCompactedRecords();
+                copyTable("dna_stats", "stripe, mutant_count, human_count");
+                copyTable("dna_record_summary", "partition_day, mutant_count, human_count");
+                copyTable("dna_compacted_hashes", "dna_hash, is_mutant");
+                if (!beats.isEmpty() && replica.update(ReplicaLagMonitor.UPDATE_HEARTBEAT, beats.get(0)) == 0) {
+                    replica.update(ReplicaLagMonitor.INSERT_HEARTBEAT, beats.get(0));
+                }
+            });
+            if (copied > 0) {
+                log.debug("Replication stand-in copied {} dna_records", copied);
+            }
+        } catch (DataAccessException e) {
+            // El esquema del primario puede no existir todavia durante el arranque
+            log.debug("Replication stand-in skipped: {}", e.getMessage());
+        }
+    }
+
+    private long copyMissingRecords() {
+        long lastId = 0;
+        long copied = 0;
+        while (true) {
+            List<Object[]> page = primary.query(SELECT_RECORDS_PAGE, (rs, rowNum) -> new Object[] {
+                    rs.getLong("id"), rs.getString("dna_hash"), rs.getBoolean("is_mutant"),
+                    rs.getTimestamp("created_at"), rs.getString("archive_id"), rs.getObject("archive_segment"),
+                    rs.getObject("archive_offset")
+            }, lastId, PAGE_SIZE);
+            if (page.isEmpty()) {
+                return copied;
+            }
+            long firstId = (Long) page.get(0)[0];
+            lastId = (Long) page.get(page.size() - 1)[0];
+            Set<Long> present = new HashSet<>(replica.queryForList(SELECT_REPLICA_IDS, Long.class, firstId, lastId));
+            List<Object[]> missing = page.stream()
+                    .filter(row -> !present.contains((Long) row[0]))
+                    .toList();
+            if (!missing.isEmpty()) {
+                replica.batchUpdate(INSERT_RECORD, missing);
+                copied += missing.size();
+            }
+        }
+    }
+
+    /**
+     * La retencion borra los dias mas viejos completos: todo lo anterior al registro mas
+     * viejo del primario ya fue compactado.
+     */
+    private void removeCompactedRecords() {
+        Timestamp oldest = primary.queryForObject("SELECT MIN(created_at) FROM dna_records", Timestamp.class);
+        if (oldest == null) {
+            replica.update("DELETE FROM dna_records");
+        } else {
+            replica.update("DELETE FROM dna_records WHERE created_at < ?", oldest);
+        }
+    }
+
+    private void copyTable(String table, String columns) {
+        List<Map<String, Object>> rows = primary.queryForList("SELECT " + columns + " FROM " + table);
+        replica.update("DELETE FROM " + table);
+        String placeholders = "?" + ", ?".repeat(columns.split(",").length - 1);
+        replica.batchUpdate("INSERT INTO " + table + " (" + columns + ") VALUES (" + placeholders + ")",
+                rows.stream().map(row -> row.values().toArray()).toList());
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.repository;
+
+import org.example.entity.DnaCompactedHash;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DnaCompactedHashRepository extends JpaRepository<DnaCompactedHash, String> {
+
+    @Transactional(readOnly = true)
+    Optional<DnaCompactedHash> findByDnaHash(String dnaHash);
+
+    @Transactional(readOnly = true)
+    List<DnaCompactedHash> findByDnaHashIn(Collection<String> dnaHashes);
+}
@@ -2,13 +2,32 @@ package org.example.repository;
 
 import org.example.entity.DnaRecord;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface DnaRecordRepository extends JpaRepository<DnaRecord, Long> {
+
+    // Lecturas de solo lectura: con replica configurada se atienden desde ella
+    @Transactional(readOnly = true)
     Optional<DnaRecord> findByDnaHash(String dnaHash);
 
+    @Transactional(readOnly = true)
+    List<DnaRecord> findByDnaHashIn(Collection<String> dnaHashes);
+
+    @Transactional(readOnly = true)
     long countByIsMutant(boolean isMutant);
+
+    @Modifying
+    @Query("update DnaRecord r set r.archiveId = :archiveId, r.archiveSegment = :segment, r.archiveOffset = :offset "
+            + "where r.dnaHash = :dnaHash")
+    int updateArchiveLocation(@Param("dnaHash") String dnaHash, @Param("archiveId") String archiveId,
+                              @Param("segment") int segment, @Param("offset") long offset);
 }
@@ -0,0 +1,29 @@
+package org.example.repository;
+
+import org.example.entity.DnaRecordSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+@Repository
+public interface DnaRecordSummaryRepository extends JpaRepository<DnaRecordSummary, LocalDate> {
+
+    @Modifying
+    @Query("update DnaRecordSummary s set s.mutantCount = s.mutantCount + :mutants, "
+            + "s.humanCount = s.humanCount + :humans where s.partitionDay = :partitionDay")
+    int increment(@Param("partitionDay") LocalDate partitionDay, @Param("mutants") long mutants,
+                  @Param("humans") long humans);
+
+    @Transactional(readOnly = true)
+    @Query("select coalesce(sum(s.mutantCount), 0) from DnaRecordSummary s")
+    long sumMutantCount();
+
+    @Transactional(readOnly = true)
+    @Query("select coalesce(sum(s.humanCount), 0) from DnaRecordSummary s")
+    long sumHumanCount();
+}
@@ -0,0 +1,23 @@
+package org.example.repository;
+
+import org.example.entity.DnaStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface DnaStatsRepository extends JpaRepository<DnaStats, Integer> {
+
+    @Modifying
+    @Query("update DnaStats s set s.mutantCount = s.mutantCount + :mutants, "
+            + "s.humanCount = s.humanCount + :humans where s.stripe = :stripe")
+    int increment(@Param("stripe") int stripe, @Param("mutants") long mutants, @Param("humans") long humans);
+
+    @Transactional(readOnly = true)
+    @Query("select coalesce(sum(s.mutantCount), 0) as mutantCount, "
+            + "coalesce(sum(s.humanCount), 0) as humanCount from DnaStats s")
+    StatsTotals sumCounts();
+}
@@ -0,0 +1,11 @@
+package org.example.repository;
+
+/**
+ * Proyeccion con los totales agregados de la tabla dna_stats.
+ */
+public interface StatsTotals {
+
+    long getMutantCount();
+
+    long getHumanCount();
+}
@@ -0,0 +1,156 @@
+package org.example.retention;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.entity.DnaRecordSummary;
+import org.example.repository.DnaRecordSummaryRepository;
+import org.example.shard.ShardContext;
+import org.example.shard.ShardRouter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Retencion de dna_records por particiones diarias de created_at. Los dias con mas de
+ * {@code retention.max-age-days} de antiguedad se compactan: sus conteos se suman a
+ * dna_record_summary y sus filas se borran. Cada shard se procesa en tramos de a lo sumo
+ * {@code retention.chunk-size} filas (por orden de id, con el indice de created_at), cada
+ * uno en su propia transaccion corta, para no bloquear la tabla viva.
+ *
+ * Los contadores de dna_stats no cambian; el modo de conteo de /stats suma el resumen.
+ * Los fingerprints compactados quedan en dna_compacted_hashes con su veredicto, para que
+ * una muestra que vuelve a llegar no se inserte ni se cuente dos veces.
+ */
+@Slf4j
+@Service
+public class RetentionService {
+
+    /** Ultimo id del proximo tramo: los primeros chunk-size ids vencidos. */
+    private static final String CHUNK_BOUNDARY =
+            "SELECT MAX(id) FROM (SELECT id FROM dna_records WHERE created_at < ? ORDER BY id LIMIT ?) AS expired";
+    private static final String CHUNK_COUNTS =
+            "SELECT CAST(created_at AS DATE) AS partition_day, "
+                    + "SUM(CASE WHEN is_mutant THEN 1 ELSE 0 END) AS mutant_count, "
+                    + "SUM(CASE WHEN is_mutant THEN 0 ELSE 1 END) AS human_count "
+                    + "FROM dna_records WHERE id <= ? AND created_at < ? GROUP BY CAST(created_at AS DATE)";
+    private static final String CHUNK_KEEP_HASHES =
+            "INSERT INTO dna_compacted_hashes (dna_hash, is_mutant) SELECT r.dna_hash, r.is_mutant FROM dna_records r "
+                    + "WHERE r.id <= ? AND r.created_at < ? "
+                    + "AND NOT EXISTS (SELECT 1 FROM dna_compacted_hashes c WHERE c.dna_hash = r.dna_hash)";
+    private static final String CHUNK_DELETE = "DELETE FROM dna_records WHERE id <= ? AND created_at < ?";
+
+    /** Tramos seguidos que otra instancia compacto al mismo tiempo antes de abandonar el shard. */
+    private static final int MAX_CONFLICTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DnaRecordSummaryRepository dnaRecordSummaryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+    private final boolean enabled;
+    private final int maxAgeDays;
+    private final int chunkSize;
+
+    public RetentionService(JdbcTemplate jdbcTemplate,
+                            DnaRecordSummaryRepository dnaRecordSummaryRepository,
+                            TransactionTemplate transactionTemplate,
+                            ShardRouter shardRouter,
+                            @Value("${retention.enabled:false}") boolean enabled,
+                            @Value("${retention.max-age-days:365}") int maxAgeDays,
+                            @Value("${retention.chunk-size:5000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dnaRecordSummaryRepository = dnaRecordSummaryRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.shardRouter = shardRouter;
+        this.enabled = enabled;
+        this.maxAgeDays = maxAgeDays;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    @Scheduled(fixedDelayString = "${retention.interval-ms:3600000}", initialDelayString = "${retention.interval-ms:3600000}")
+    public void compactExpiredPartitions() {
+        if (!enabled) {
+            return;
+        }
+        // Solo particiones completas: el corte cae al inicio de un dia
+        compact(LocalDate.now().minusDays(maxAgeDays).atStartOfDay());
+    }
+
+    /**
+     * Compacta en todos los shards los registros creados antes de {@code cutoff}.
+     *
+     * @return cantidad de registros compactados
+     */
+    public long compact(LocalDateTime cutoff) {
+        long compacted = 0;
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            compacted += ShardContext.callOn(shard, () -> compactShard(cutoff));
+        }
+        if (compacted > 0) {
+            log.info("Compacted {} dna_records created before {}", compacted, cutoff);
+        }
+        return compacted;
+    }
+
+    private long compactShard(LocalDateTime cutoff) {
+        Timestamp before = Timestamp.valueOf(cutoff);
+        long compacted = 0;
+        int conflicts = 0;
+        while (true) {
+            Long chunk = transactionTemplate.execute(status -> {
+                long moved = compactChunk(before);
+                if (moved < 0) {
+                    status.setRollbackOnly();
+                }
+                return moved;
+            });
+            if (chunk == null || chunk == 0) {
+                return compacted;
+            }
+            if (chunk < 0) {
+                if (++conflicts >= MAX_CONFLICTS) {
+                    log.warn("Giving up compaction of shard {} after {} concurrent conflicts", ShardContext.current(), conflicts);
+                    return compacted;
+                }
+                continue;
+            }
+            conflicts = 0;
+            compacted += chunk;
+        }
+    }
+
+    /**
+     * Suma los conteos del tramo al resumen, guarda sus fingerprints y borra sus filas en la
+     * misma transaccion.
+     *
+     * @return filas compactadas, 0 si no quedan, o -1 si otra instancia borro parte del tramo
+     */
+    private long compactChunk(Timestamp before) {
+        Long boundary = jdbcTemplate.queryForObject(CHUNK_BOUNDARY, Long.class, before, chunkSize);
+        if (boundary == null) {
+            return 0;
+        }
+
+        List<DnaRecordSummary> partitions = jdbcTemplate.query(CHUNK_COUNTS, (rs, rowNum) -> new DnaRecordSummary(
+                rs.getObject("partition_day", LocalDate.class),
+                rs.getLong("mutant_count"), rs.getLong("human_count")), boundary, before);
+        long expected = 0;
+        for (DnaRecordSummary partition : partitions) {
+            if (dnaRecordSummaryRepository.increment(partition.getPartitionDay(),
+                    partition.getMutantCount(), partition.getHumanCount()) == 0) {
+                dnaRecordSummaryRepository.save(partition);
+            }
+            expected += partition.getMutantCount() + partition.getHumanCount();
+        }
+
+        jdbcTemplate.update(CHUNK_KEEP_HASHES, boundary, before);
+        int deleted = jdbcTemplate.update(CHUNK_DELETE, boundary, before);
+        // Si otra instancia compacto filas del tramo en paralelo, el resumen contaria de mas
+        return deleted == expected ? deleted : -1;
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.entity.DnaCompactedHash;
+import org.example.entity.DnaRecord;
+import org.example.repository.DnaCompactedHashRepository;
+import org.example.repository.DnaRecordRepository;
+import org.example.shard.ShardContext;
+import org.example.shard.ShardRouter;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Inserta lotes de veredictos ya calculados en dna_records. Agrupa por shard y, en cada
+ * shard, descarta los fingerprints que ya existen o que la retencion ya compacto, inserta
+ * el resto y actualiza los contadores en una sola transaccion.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DnaRecordBatchWriter {
+
+    private final DnaRecordRepository dnaRecordRepository;
+    private final StatsCounterService statsCounterService;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+    private final DnaCompactedHashRepository dnaCompactedHashRepository;
+
+    /**
+     * @return cantidad de registros insertados (los ya existentes no se cuentan)
+     */
+    public int writeAll(Map<String, Boolean> verdicts) {
+        return insertAll(verdicts).size();
+    }
+
+    /**
+     * Igual que {@link #writeAll}, pero devuelve los fingerprints que se insertaron.
+     */
+    public Set<String> insertAll(Map<String, Boolean> verdicts) {
+        Map<Integer, Map<String, Boolean>> byShard = new HashMap<>();
+        verdicts.forEach((dnaHash, isMutant) ->
+                byShard.computeIfAbsent(shardRouter.shardFor(dnaHash), shard -> new HashMap<>()).put(dnaHash, isMutant));
+
+        Set<String> inserted = new HashSet<>();
+        for (Map.Entry<Integer, Map<String, Boolean>> entry : byShard.entrySet()) {
+            inserted.addAll(ShardContext.callOn(entry.getKey(), () -> writeShard(entry.getValue())));
+        }
+        return inserted;
+    }
+
+    private List<String> writeShard(Map<String, Boolean> verdicts) {
+        try {
+            return insertMissing(verdicts);
+        } catch (DataIntegrityViolationException e) {
+            // Otro escritor inserto alguno de los fingerprints en paralelo; al reintentar ya figura como existente
+            log.debug("Concurrent insert detected in batch of {} records, retrying", verdicts.size());
+            return insertMissing(verdicts);
+        }
+    }
+
+    private List<String> insertMissing(Map<String, Boolean> verdicts) {
+        List<String> inserted = transactionTemplate.execute(status -> {
+            Set<String> existing = dnaRecordRepository.findByDnaHashIn(verdicts.keySet()).stream()
+                    .map(DnaRecord::getDnaHash)
+                    .collect(Collectors.toCollection(HashSet::new));
+            if (existing.size() < verdicts.size()) {
+                // Los compactados ya estan contados en dna_stats
+                dnaCompactedHashRepository.findByDnaHashIn(verdicts.keySet()).stream()
+                        .map(DnaCompactedHash::getDnaHash)
+                        .forEach(existing::add);
+            }
+
+            List<DnaRecord> records = new ArrayList<>(verdicts.size() - existing.size());
+            long mutants = 0;
+            long humans = 0;
+            for (Map.Entry<String, Boolean> verdict : verdicts.entrySet()) {
+                if (existing.contains(verdict.getKey())) {
+                    continue;
+                }
+                DnaRecord record = new DnaRecord();
+                record.setDnaHash(verdict.getKey());
+                record.setMutant(verdict.getValue());
+                records.add(record);
+                if (verdict.getValue()) {
+                    mutants++;
+                } else {
+                    humans++;
+                }
+            }
+            if (records.isEmpty()) {
+                return List.<String>of();
+            }
+            dnaRecordRepository.saveAll(records);
+            statsCounterService.recordVerdicts(mutants, humans);
+            return records.stream().map(DnaRecord::getDnaHash).toList();
+        });
+        return inserted == null ? List.of() : inserted;
+    }
+}
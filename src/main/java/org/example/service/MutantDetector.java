@@ -1,6 +1,11 @@
 package org.example.service;
 
 import lombok.extern.slf4j.Slf4j;
+import org.example.detector.DetectorStrategy;
+import org.example.detector.DetectorStrategyTable;
+import org.example.profiling.DnaDetectEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.Set;
@@ -15,6 +20,39 @@ public class MutantDetector {
     private static final int SEQUENCE_LENGTH = 4;
     private static final Set<Character> VALID_BASES = Set.of('A', 'T', 'C', 'G');
 
+    static final int DEFAULT_TILING_THRESHOLD = 128;
+    static final int DEFAULT_TILE_SIZE = 64;
+    private static final String TILED_STRATEGY = "tiled";
+
+    private final int tilingThreshold;
+    private final int tileSize;
+    private final DetectorStrategyTable strategies;
+
+    public MutantDetector() {
+        this(DEFAULT_TILING_THRESHOLD, DEFAULT_TILE_SIZE);
+    }
+
+    public MutantDetector(int tilingThreshold, int tileSize) {
+        this(tilingThreshold, tileSize, DetectorStrategyTable.defaults());
+    }
+
+    /**
+     * @param tilingThreshold N a partir del cual se usa el recorrido por bloques
+     * @param tileSize        lado del bloque en celdas
+     * @param strategies      estrategia por tamaño para las matrices por debajo del umbral
+     */
+    @Autowired
+    public MutantDetector(@Value("${mutant.detector.tiling-threshold:" + DEFAULT_TILING_THRESHOLD + "}") int tilingThreshold,
+                          @Value("${mutant.detector.tile-size:" + DEFAULT_TILE_SIZE + "}") int tileSize,
+                          DetectorStrategyTable strategies) {
+        if (tileSize < 1) {
+            throw new IllegalArgumentException("mutant.detector.tile-size must be positive");
+        }
+        this.tilingThreshold = tilingThreshold;
+        this.tileSize = tileSize;
+        this.strategies = strategies;
+    }
+
     public boolean isMutant(String[] dna) {
         log.debug("Starting mutant detection analysis");
 
@@ -25,7 +63,6 @@ public class MutantDetector {
         }
 
         int n = dna.length;
-        log.debug("Analyzing DNA matrix of size {}x{}", n, n);
 
         // Validation: tamaño minimo
         if (n < SEQUENCE_LENGTH) {
@@ -33,6 +70,10 @@ public class MutantDetector {
             return false;
         }
 
+        if (n >= tilingThreshold) {
+            return isMutantTiled(dna, n);
+        }
+
         // Convertir a char[][] para acceder a O(1) y validar
         char[][] matrix = new char[n][];
         for (int i = 0; i < n; i++) {
@@ -59,106 +100,139 @@ public class MutantDetector {
             }
         }
 
-        int sequenceCount = 0;
-
-        // Paso único: recorra la matriz una vez verificando todas las direcciones
-        for (int row = 0; row < n; row++) {
-            for (int col = 0; col < n; col++) {
-                char base = matrix[row][col];
-
-                // Check Horizontal (→)
-                if (col <= n - SEQUENCE_LENGTH) {
-                    if (checkHorizontal(matrix, row, col, base)) {
-                        sequenceCount++;
-                        log.debug("Horizontal sequence found at row={}, col={}, base='{}', count={}", row, col, base,
-                                sequenceCount);
-                        if (sequenceCount > 1) {
-                            log.info("Mutant detected! Found {} sequences. Early termination.", sequenceCount);
-                            return true; // Early Termination
-                        }
-                    }
-                }
+        return scan(matrix, n);
+    }
 
-                // Check Vertical (↓)
-                if (row <= n - SEQUENCE_LENGTH) {
-                    if (checkVertical(matrix, row, col, base)) {
-                        sequenceCount++;
-                        log.debug("Vertical sequence found at row={}, col={}, base='{}', count={}", row, col, base,
-                                sequenceCount);
-                        if (sequenceCount > 1) {
-                            log.info("Mutant detected! Found {} sequences. Early termination.", sequenceCount);
-                            return true; // Early Termination
-                        }
-                    }
-                }
+    /**
+     * Variante para matrices ya decodificadas (por ejemplo, desde el formato binario
+     * empaquetado), que evita crear un String por fila.
+     */
+    public boolean isMutant(char[][] matrix) {
+        // Validation: matriz nula o vacia
+        if (matrix == null || matrix.length == 0) {
+            log.warn("DNA validation failed: null or empty matrix");
+            return false;
+        }
 
-                // Check Diagonal Descending (↘)
-                if (row <= n - SEQUENCE_LENGTH && col <= n - SEQUENCE_LENGTH) {
-                    if (checkDiagonalDescending(matrix, row, col, base)) {
-                        sequenceCount++;
-                        log.debug("Diagonal descending sequence found at row={}, col={}, base='{}', count={}", row, col,
-                                base, sequenceCount);
-                        if (sequenceCount > 1) {
-                            log.info("Mutant detected! Found {} sequences. Early termination.", sequenceCount);
-                            return true; // Early Termination
-                        }
-                    }
-                }
+        int n = matrix.length;
+        if (n < SEQUENCE_LENGTH) {
+            log.warn("DNA validation failed: matrix size {}x{} is below minimum {}", n, n, SEQUENCE_LENGTH);
+            return false;
+        }
 
-                // Check Diagonal Ascending (↗)
-                if (row >= SEQUENCE_LENGTH - 1 && col <= n - SEQUENCE_LENGTH) {
-                    if (checkDiagonalAscending(matrix, row, col, base)) {
-                        sequenceCount++;
-                        log.debug("Diagonal ascending sequence found at row={}, col={}, base='{}', count={}", row, col,
-                                base, sequenceCount);
-                        if (sequenceCount > 1) {
-                            log.info("Mutant detected! Found {} sequences. Early termination.", sequenceCount);
-                            return true; // Early Termination
-                        }
-                    }
+        for (int i = 0; i < n; i++) {
+            if (matrix[i] == null || matrix[i].length != n) {
+                log.warn("DNA validation failed: row {} is null or not of length {}", i, n);
+                return false;
+            }
+            for (char c : matrix[i]) {
+                if (!VALID_BASES.contains(c)) {
+                    log.warn("DNA validation failed: invalid character '{}' found at row {}", c, i);
+                    return false;
                 }
             }
         }
 
-        log.info("Analysis complete. Result: {} (sequences found: {})", sequenceCount > 1 ? "MUTANT" : "HUMAN",
-                sequenceCount);
-        return false;
+        if (n >= tilingThreshold) {
+            char[] grid = new char[n * n];
+            for (int i = 0; i < n; i++) {
+                System.arraycopy(matrix[i], 0, grid, i * n, n);
+            }
+            return scanTiled(grid, n);
+        }
+        return scan(matrix, n);
     }
 
     /**
-     * Comparación directa: comprueba secuencia horizontal sin bucle.
-     * Más eficiente que checkDirection genérico con bucle.
+     * Copia las filas (ya con longitud verificada) a un arreglo contiguo y las valida.
+     * Las filas nulas o de otra longitud se rechazan antes de reservar la grilla completa.
      */
-    private boolean checkHorizontal(char[][] matrix, int row, int col, char base) {
-        return matrix[row][col + 1] == base &&
-                matrix[row][col + 2] == base &&
-                matrix[row][col + 3] == base;
-    }
+    private boolean isMutantTiled(String[] dna, int n) {
+        for (int i = 0; i < n; i++) {
+            if (dna[i] == null || dna[i].length() != n) {
+                log.warn("DNA validation failed: row {} is null or not of length {}", i, n);
+                return false;
+            }
+        }
 
-    /**
-     * Comparación directa: comprueba secuencia vertical sin bucle.
-     */
-    private boolean checkVertical(char[][] matrix, int row, int col, char base) {
-        return matrix[row + 1][col] == base &&
-                matrix[row + 2][col] == base &&
-                matrix[row + 3][col] == base;
+        char[] grid = new char[n * n];
+        for (int i = 0; i < n; i++) {
+            dna[i].getChars(0, n, grid, i * n);
+        }
+        for (int i = 0; i < grid.length; i++) {
+            if (!VALID_BASES.contains(grid[i])) {
+                log.warn("DNA validation failed: invalid character '{}' found at row {}", grid[i], i / n);
+                return false;
+            }
+        }
+        return scanTiled(grid, n);
     }
 
     /**
-     * Comparación directa: comprueba la secuencia descendente diagonal sin bucle.
+     * Recorrido por bloques de tileSize x tileSize sobre la matriz en un arreglo contiguo
+     * (fila r en grid[r * n .. r * n + n)). Cada celda inicia sus cuatro chequeos dentro de
+     * su bloque, que solo lee un halo de 3 celdas alrededor, asi que las filas que tocan
+     * vertical y diagonales siguen en cache mientras se procesa el bloque. Cada secuencia
+     * se cuenta una sola vez porque cada celda de inicio pertenece a un unico bloque.
      */
-    private boolean checkDiagonalDescending(char[][] matrix, int row, int col, char base) {
-        return matrix[row + 1][col + 1] == base &&
-                matrix[row + 2][col + 2] == base &&
-                matrix[row + 3][col + 3] == base;
+    private boolean scanTiled(char[] grid, int n) {
+        log.debug("Analyzing DNA matrix of size {}x{} in {}x{} tiles", n, n, tileSize, tileSize);
+        DnaDetectEvent event = DnaDetectEvent.start(n, TILED_STRATEGY);
+        int last = n - SEQUENCE_LENGTH;
+        int sequenceCount = 0;
+
+        for (int tileRow = 0; tileRow < n; tileRow += tileSize) {
+            int rowEnd = Math.min(tileRow + tileSize, n);
+            for (int tileCol = 0; tileCol < n; tileCol += tileSize) {
+                int colEnd = Math.min(tileCol + tileSize, n);
+                for (int row = tileRow; row < rowEnd; row++) {
+                    int offset = row * n;
+                    for (int col = tileCol; col < colEnd; col++) {
+                        int i = offset + col;
+                        char base = grid[i];
+
+                        // Horizontal (→) y diagonal descendente (↘) / ascendente (↗)
+                        if (col <= last) {
+                            if (grid[i + 1] == base && grid[i + 2] == base && grid[i + 3] == base) {
+                                sequenceCount++;
+                            }
+                            if (row <= last && grid[i + n + 1] == base && grid[i + 2 * n + 2] == base
+                                    && grid[i + 3 * n + 3] == base) {
+                                sequenceCount++;
+                            }
+                            if (row >= SEQUENCE_LENGTH - 1 && grid[i - n + 1] == base && grid[i - 2 * n + 2] == base
+                                    && grid[i - 3 * n + 3] == base) {
+                                sequenceCount++;
+                            }
+                        }
+
+                        // Vertical (↓)
+                        if (row <= last && grid[i + n] == base && grid[i + 2 * n] == base
+                                && grid[i + 3 * n] == base) {
+                            sequenceCount++;
+                        }
+
+                        if (sequenceCount > 1) {
+                            log.info("Mutant detected! Found {} sequences. Early termination.", sequenceCount);
+                            // Celdas de los bloques anteriores mas las del bloque actual
+                            long cellsScanned = (long) tileRow * n + (long) tileCol * (rowEnd - tileRow)
+                                    + (long) (row - tileRow) * (colEnd - tileCol) + (col - tileCol) + 1;
+                            return event.finish(true, cellsScanned); // Early Termination
+                        }
+                    }
+                }
+            }
+        }
+
+        log.info("Analysis complete. Result: HUMAN (sequences found: {})", sequenceCount);
+        return event.finish(false, (long) n * n);
     }
 
-    /**
-     * Comparación directa: comprueba la secuencia ascendente diagonal sin bucle.
-     */
-    private boolean checkDiagonalAscending(char[][] matrix, int row, int col, char base) {
-        return matrix[row - 1][col + 1] == base &&
-                matrix[row - 2][col + 2] == base &&
-                matrix[row - 3][col + 3] == base;
+    private boolean scan(char[][] matrix, int n) {
+        DetectorStrategy strategy = strategies.forSize(n);
+        log.debug("Analyzing DNA matrix of size {}x{} with {}", n, n, strategy.name());
+        boolean isMutant = strategy.isMutant(matrix);
+        log.info("Analysis complete. Result: {}", isMutant ? "MUTANT" : "HUMAN");
+        return isMutant;
     }
 }
@@ -0,0 +1,236 @@
+package org.example.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dto.JobResponse;
+import org.example.exception.JobNotFoundException;
+import org.example.exception.JobQueueFullException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Servicio de analisis asincronico. Los jobs esperan en una cola de prioridad acotada
+ * (las matrices mas chicas primero, en orden de llegada entre iguales) y se procesan en
+ * un pool dedicado, sin ocupar threads de Tomcat. La cola se acota por cantidad de jobs
+ * y por celdas en espera (N*N por job), que es lo que cuesta memoria y tiempo de
+ * analisis. Los jobs terminados se conservan durante {@code mutant.jobs.ttl-ms} y luego
+ * se descartan.
+ */
+@Slf4j
+@Service
+public class MutantJobService {
+
+    private final MutantService mutantService;
+    private final int capacity;
+    private final long maxQueuedCells;
+    private final long ttlMs;
+    private final long maxWaitMs;
+    private final ThreadPoolExecutor workers;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong queuedCells = new AtomicLong();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public MutantJobService(MutantService mutantService,
+                            @Value("${mutant.jobs.workers:2}") int workerCount,
+                            @Value("${mutant.jobs.queue-capacity:1000}") int capacity,
+                            @Value("${mutant.jobs.max-queued-cells:50000000}") long maxQueuedCells,
+                            @Value("${mutant.jobs.ttl-ms:600000}") long ttlMs,
+                            @Value("${mutant.jobs.max-wait-ms:30000}") long maxWaitMs) {
+        this.mutantService = mutantService;
+        this.capacity = capacity;
+        this.maxQueuedCells = maxQueuedCells;
+        this.ttlMs = ttlMs;
+        this.maxWaitMs = maxWaitMs;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(Math.max(1, capacity)), runnable -> {
+                    Thread thread = new Thread(runnable, "mutant-job-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Encola el analisis y devuelve el estado inicial del job.
+     *
+     * @throws JobQueueFullException si ya hay {@code capacity} jobs pendientes o si la
+     *                               matriz no entra en {@code maxQueuedCells}
+     */
+    public JobResponse submit(String[] dna) {
+        if (pending.incrementAndGet() > capacity) {
+            pending.decrementAndGet();
+            throw new JobQueueFullException(capacity);
+        }
+        long cells = (long) dna.length * dna.length;
+        long queued = queuedCells.addAndGet(cells);
+        // Con la cola vacia se acepta igual, para que una matriz mayor al limite no quede rechazada siempre
+        if (queued > maxQueuedCells && queued != cells) {
+            queuedCells.addAndGet(-cells);
+            pending.decrementAndGet();
+            throw new JobQueueFullException(queued - cells, maxQueuedCells);
+        }
+        Job job = new Job(UUID.randomUUID().toString(), dna, sequence.incrementAndGet());
+        jobs.put(job.id, job);
+        try {
+            workers.execute(job);
+        } catch (RejectedExecutionException e) {
+            // Pool apagado: el job nunca va a correr, asi que no puede seguir ocupando la cola
+            jobs.remove(job.id);
+            queuedCells.addAndGet(-cells);
+            pending.decrementAndGet();
+            throw e;
+        }
+        log.debug("Queued async job {} for a {}x{} matrix", job.id, job.size, job.size);
+        return job.snapshot();
+    }
+
+    public JobResponse getJob(String id) {
+        Job job = jobs.get(id);
+        if (job == null) {
+            throw new JobNotFoundException(id);
+        }
+        return job.snapshot();
+    }
+
+    /**
+     * Long-poll: responde cuando el job termina o, como maximo, tras {@code waitMs}
+     * (acotado por {@code mutant.jobs.max-wait-ms}) con el estado que tenga en ese momento.
+     */
+    public DeferredResult<JobResponse> awaitJob(String id, long waitMs) {
+        Job job = jobs.get(id);
+        if (job == null) {
+            throw new JobNotFoundException(id);
+        }
+        long timeout = Math.max(1, Math.min(waitMs, maxWaitMs));
+        DeferredResult<JobResponse> result = new DeferredResult<>(timeout, job::snapshot);
+        Runnable listener = () -> result.setResult(job.snapshot());
+        if (waitMs <= 0 || !job.addListener(listener)) {
+            // Sin espera o ya terminado: responde de inmediato
+            result.setResult(job.snapshot());
+        } else {
+            result.onCompletion(() -> job.removeListener(listener));
+        }
+        return result;
+    }
+
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    public long getQueuedCells() {
+        return queuedCells.get();
+    }
+
+    @Scheduled(fixedDelayString = "${mutant.jobs.eviction-interval-ms:60000}")
+    public void evictExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(TimeUnit.MILLISECONDS.toNanos(ttlMs));
+        int before = jobs.size();
+        jobs.values().removeIf(job -> job.isExpired(cutoff));
+        int evicted = before - jobs.size();
+        if (evicted > 0) {
+            log.debug("Evicted {} expired async jobs", evicted);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Job encolado. Se ordena por tamaño de matriz y luego por orden de llegada.
+     */
+    private final class Job implements Runnable, Comparable<Job> {
+
+        private final String id;
+        private final int size;
+        private final long order;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final List<Runnable> listeners = new ArrayList<>();
+
+        private String[] dna;
+        private JobResponse.Status status = JobResponse.Status.QUEUED;
+        private Boolean mutant;
+        private String error;
+        private LocalDateTime completedAt;
+
+        private Job(String id, String[] dna, long order) {
+            this.id = id;
+            this.dna = dna;
+            this.size = dna.length;
+            this.order = order;
+        }
+
+        @Override
+        public void run() {
+            pending.decrementAndGet();
+            queuedCells.addAndGet(-(long) size * size);
+            String[] sample;
+            synchronized (this) {
+                status = JobResponse.Status.RUNNING;
+                sample = dna;
+            }
+            Boolean verdict = null;
+            String failure = null;
+            try {
+                verdict = mutantService.analyzeDna(sample);
+            } catch (RuntimeException e) {
+                log.warn("Async job {} failed: {}", id, e.getMessage());
+                failure = e.getMessage();
+            }
+            List<Runnable> toNotify;
+            synchronized (this) {
+                mutant = verdict;
+                error = failure;
+                status = failure == null ? JobResponse.Status.DONE : JobResponse.Status.FAILED;
+                completedAt = LocalDateTime.now();
+                dna = null; // La muestra ya no se necesita mientras el resultado espera a ser leido
+                toNotify = new ArrayList<>(listeners);
+                listeners.clear();
+            }
+            toNotify.forEach(Runnable::run);
+        }
+
+        @Override
+        public int compareTo(Job other) {
+            int bySize = Integer.compare(size, other.size);
+            return bySize != 0 ? bySize : Long.compare(order, other.order);
+        }
+
+        private synchronized boolean addListener(Runnable listener) {
+            if (completedAt != null) {
+                return false;
+            }
+            listeners.add(listener);
+            return true;
+        }
+
+        private synchronized void removeListener(Runnable listener) {
+            listeners.remove(listener);
+        }
+
+        private synchronized boolean isExpired(LocalDateTime cutoff) {
+            return completedAt != null && completedAt.isBefore(cutoff);
+        }
+
+        private synchronized JobResponse snapshot() {
+            return new JobResponse(id, status, size, mutant, error, submittedAt, completedAt);
+        }
+    }
+}
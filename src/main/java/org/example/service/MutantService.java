@@ -1,16 +1,31 @@
 package org.example.service;
 
 import lombok.RequiredArgsConstructor;
+import org.example.archive.RawSampleArchive;
+import org.example.cache.VerdictCache;
+import org.example.entity.DnaCompactedHash;
 import org.example.entity.DnaRecord;
-import org.example.exception.DnaHashCalculationException;
+import org.example.fingerprint.DnaFingerprint;
+import org.example.profiling.DnaAnalysisEvent;
+import org.example.profiling.DnaStageEvent;
+import org.example.replica.ReadReplicaContext;
+import org.example.repository.DnaCompactedHashRepository;
 import org.example.repository.DnaRecordRepository;
-import org.springframework.cache.annotation.Cacheable;
+import org.example.shard.ShardRouter;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.Arrays;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
 
 /**
  * Servicio para analizar secuencias de ADN y gestionar resultados de detección de mutantes.
@@ -21,44 +36,230 @@ public class MutantService {
 
     private final MutantDetector mutantDetector;
     private final DnaRecordRepository dnaRecordRepository;
+    private final StatsCounterService statsCounterService;
+    private final TransactionTemplate transactionTemplate;
+    private final VerdictCache verdictCache;
+    private final ShardRouter shardRouter;
+    private final DnaFingerprint dnaFingerprint;
+    private final DnaRecordBatchWriter dnaRecordBatchWriter;
+    private final RawSampleArchive rawSampleArchive;
+    private final DnaCompactedHashRepository dnaCompactedHashRepository;
 
-    @Cacheable(value = "dnaCache", key = "#dna")
     public boolean analyzeDna(String[] dna) {
-        String dnaHash = calculateDnaHash(dna);
+        return analyze(dna, () -> mutantDetector.isMutant(dna));
+    }
+
+    /**
+     * Analiza una matriz ya decodificada (formato binario empaquetado). El fingerprint
+     * es el mismo que tendria la muestra enviada como JSON.
+     */
+    public boolean analyzeDna(char[][] matrix) {
+        return analyze(asRows(matrix), () -> mutantDetector.isMutant(matrix));
+    }
+
+    /**
+     * Version por lotes de {@link #analyzeDna(char[][])}: los duplicados se resuelven con una
+     * consulta al cache y a lo sumo una por shard, y los veredictos nuevos se guardan con un
+     * lote por shard. Los veredictos se devuelven en el orden de la entrada.
+     */
+    public List<Boolean> analyzeAll(List<char[][]> matrices) {
+        List<String> dnaHashes = new ArrayList<>(matrices.size());
+        for (char[][] matrix : matrices) {
+            dnaHashes.add(dnaFingerprint.fingerprint(asRows(matrix)));
+        }
+        // Antes de insertar se consulta el primario: la replica puede no tener las ultimas filas
+        Map<String, Boolean> verdicts = ReadReplicaContext.onPrimary(
+                () -> lookupVerdicts(new LinkedHashSet<>(dnaHashes)));
+
+        Map<String, Boolean> newVerdicts = new HashMap<>();
+        List<Integer> newSamples = new ArrayList<>();
+        for (int i = 0; i < matrices.size(); i++) {
+            String dnaHash = dnaHashes.get(i);
+            // Una muestra repetida dentro del mismo lote se analiza una sola vez
+            if (!verdicts.containsKey(dnaHash)) {
+                boolean isMutant = mutantDetector.isMutant(matrices.get(i));
+                verdicts.put(dnaHash, isMutant);
+                newVerdicts.put(dnaHash, isMutant);
+                newSamples.add(i);
+            }
+        }
+        if (!newVerdicts.isEmpty()) {
+            Set<String> inserted = dnaRecordBatchWriter.insertAll(newVerdicts);
+            verdictCache.putAll(newVerdicts);
+            // Despues del insert: el archivo actualiza la ubicacion sobre el registro ya guardado.
+            // Solo los insertados: uno que otro escritor guardo en paralelo ya tiene su muestra
+            for (int i : newSamples) {
+                if (inserted.contains(dnaHashes.get(i))) {
+                    rawSampleArchive.append(dnaHashes.get(i), asRows(matrices.get(i)));
+                }
+            }
+        }
 
+        List<Boolean> results = new ArrayList<>(matrices.size());
+        for (String dnaHash : dnaHashes) {
+            results.add(verdicts.get(dnaHash));
+        }
+        return results;
+    }
+
+    /**
+     * Veredicto ya conocido para un fingerprint calculado por el cliente, sin analizar nada.
+     * Consulta el cache y, si no esta, el shard que corresponde al fingerprint.
+     */
+    public Optional<Boolean> findVerdict(String fingerprint) {
+        String dnaHash = normalizeFingerprint(fingerprint);
+        Optional<Boolean> cachedVerdict = verdictCache.get(dnaHash);
+        if (cachedVerdict.isPresent()) {
+            return cachedVerdict;
+        }
+
+        Optional<Boolean> storedVerdict = shardRouter.callOnShardFor(dnaHash,
+                () -> dnaRecordRepository.findByDnaHash(dnaHash).map(DnaRecord::isMutant)
+                        .or(() -> dnaCompactedHashRepository.findByDnaHash(dnaHash).map(DnaCompactedHash::isMutant)));
+        storedVerdict.ifPresent(isMutant -> verdictCache.put(dnaHash, isMutant));
+        return storedVerdict;
+    }
+
+    /**
+     * Version masiva de {@link #findVerdict}: una consulta al cache y a lo sumo una
+     * consulta por shard. El mapa solo contiene los fingerprints conocidos.
+     */
+    public Map<String, Boolean> findVerdicts(Collection<String> fingerprints) {
+        Set<String> dnaHashes = new LinkedHashSet<>();
+        for (String fingerprint : fingerprints) {
+            dnaHashes.add(normalizeFingerprint(fingerprint));
+        }
+        return lookupVerdicts(dnaHashes);
+    }
+
+    public String getFingerprintAlgorithm() {
+        return dnaFingerprint.name();
+    }
+
+    /**
+     * Valida el formato del fingerprint (hexadecimal del largo del algoritmo configurado)
+     * y lo normaliza a minusculas.
+     */
+    public String normalizeFingerprint(String fingerprint) {
+        String normalized = fingerprint == null ? "" : fingerprint.trim().toLowerCase();
+        if (normalized.length() != dnaFingerprint.hexLength() || !HexFormat.isHexDigits(normalized)) {
+            throw new IllegalArgumentException("Invalid " + dnaFingerprint.name() + " fingerprint: expected "
+                    + dnaFingerprint.hexLength() + " hex characters");
+        }
+        return normalized;
+    }
+
+    private Map<String, Boolean> lookupVerdicts(Set<String> dnaHashes) {
+        Map<String, Boolean> verdicts = new HashMap<>(verdictCache.getAll(dnaHashes));
+
+        // Agrupa los que faltan por shard para consultar cada base una sola vez
+        List<List<String>> missesByShard = new ArrayList<>(shardRouter.getShardCount());
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            missesByShard.add(new ArrayList<>());
+        }
+        boolean anyMiss = false;
+        for (String dnaHash : dnaHashes) {
+            if (!verdicts.containsKey(dnaHash)) {
+                missesByShard.get(shardRouter.shardFor(dnaHash)).add(dnaHash);
+                anyMiss = true;
+            }
+        }
+        if (!anyMiss) {
+            return verdicts;
+        }
+
+        Map<String, Boolean> storedVerdicts = new HashMap<>();
+        for (Map<String, Boolean> shardVerdicts : shardRouter.fanOut(shard -> missesByShard.get(shard).isEmpty()
+                ? Map.<String, Boolean>of()
+                : findStoredVerdicts(missesByShard.get(shard)))) {
+            storedVerdicts.putAll(shardVerdicts);
+        }
+        verdictCache.putAll(storedVerdicts);
+        verdicts.putAll(storedVerdicts);
+        return verdicts;
+    }
+
+    /**
+     * Veredictos guardados en el shard actual: los registros vivos y, para los que no estan,
+     * los fingerprints que la retencion ya compacto.
+     */
+    private Map<String, Boolean> findStoredVerdicts(List<String> dnaHashes) {
+        Map<String, Boolean> stored = new HashMap<>();
+        for (DnaRecord record : dnaRecordRepository.findByDnaHashIn(dnaHashes)) {
+            stored.put(record.getDnaHash(), record.isMutant());
+        }
+        if (stored.size() < dnaHashes.size()) {
+            List<String> missing = dnaHashes.stream().filter(dnaHash -> !stored.containsKey(dnaHash)).toList();
+            for (DnaCompactedHash compacted : dnaCompactedHashRepository.findByDnaHashIn(missing)) {
+                stored.put(compacted.getDnaHash(), compacted.isMutant());
+            }
+        }
+        return stored;
+    }
+
+    private static CharSequence[] asRows(char[][] matrix) {
+        CharSequence[] rows = new CharSequence[matrix.length];
+        for (int i = 0; i < matrix.length; i++) {
+            rows[i] = CharBuffer.wrap(matrix[i]);
+        }
+        return rows;
+    }
+
+    private boolean analyze(CharSequence[] rows, BooleanSupplier detection) {
+        DnaAnalysisEvent analysisEvent = DnaAnalysisEvent.start(rows.length);
+
+        DnaStageEvent hashEvent = DnaStageEvent.start(DnaStageEvent.HASH, rows.length);
+        String dnaHash = dnaFingerprint.fingerprint(rows);
+        hashEvent.finish();
+
+        // Mira si esta en el cache (local o compartido entre instancias)
+        DnaStageEvent cacheEvent = DnaStageEvent.start(DnaStageEvent.CACHE_LOOKUP, rows.length);
+        Optional<Boolean> cachedVerdict = verdictCache.get(dnaHash);
+        cacheEvent.finish();
+        if (cachedVerdict.isPresent()) {
+            analysisEvent.setCacheOutcome(DnaAnalysisEvent.CACHE_HIT);
+            return analysisEvent.finish(cachedVerdict.get());
+        }
+
+        // La busqueda y el insert van al shard que corresponde al hash
+        boolean isMutant = shardRouter.callOnShardFor(dnaHash,
+                () -> lookupOrAnalyze(detection, dnaHash, rows, analysisEvent));
+        verdictCache.put(dnaHash, isMutant);
+
+        return analysisEvent.finish(isMutant);
+    }
+
+    private boolean lookupOrAnalyze(BooleanSupplier detection, String dnaHash, CharSequence[] rows,
+                                    DnaAnalysisEvent analysisEvent) {
+        int size = rows.length;
         // Mira si esta duplicado
-        Optional<DnaRecord> existingRecord = dnaRecordRepository.findByDnaHash(dnaHash);
-        if (existingRecord.isPresent()) {
-            return existingRecord.get().isMutant();
+        DnaStageEvent lookupEvent = DnaStageEvent.start(DnaStageEvent.DEDUP_LOOKUP, size);
+        // Un fingerprint compactado ya esta contado en las estadisticas: no se vuelve a guardar
+        Optional<Boolean> existingVerdict = ReadReplicaContext.onPrimary(
+                () -> dnaRecordRepository.findByDnaHash(dnaHash).map(DnaRecord::isMutant)
+                        .or(() -> dnaCompactedHashRepository.findByDnaHash(dnaHash).map(DnaCompactedHash::isMutant)));
+        lookupEvent.finish();
+        if (existingVerdict.isPresent()) {
+            analysisEvent.setCacheOutcome(DnaAnalysisEvent.DB_HIT);
+            return existingVerdict.get();
         }
 
-        // Analiza el DNA
-        boolean isMutant = mutantDetector.isMutant(dna);
+        // Analiza el DNA (el detector emite su propio evento con las celdas recorridas)
+        analysisEvent.setCacheOutcome(DnaAnalysisEvent.MISS);
+        boolean isMutant = detection.getAsBoolean();
 
-        // guarda el resultado
+        // guarda el resultado y actualiza los contadores en la misma transaccion
         DnaRecord record = new DnaRecord();
         record.setDnaHash(dnaHash);
         record.setMutant(isMutant);
-        dnaRecordRepository.save(record);
+        DnaStageEvent persistEvent = DnaStageEvent.start(DnaStageEvent.PERSIST, size);
+        transactionTemplate.executeWithoutResult(status -> {
+            dnaRecordRepository.save(record);
+            statsCounterService.recordVerdict(isMutant);
+        });
+        persistEvent.finish();
+        rawSampleArchive.append(dnaHash, rows);
 
         return isMutant;
     }
-
-    private String calculateDnaHash(String[] dna) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            String combinedDna = Arrays.toString(dna);
-            byte[] hash = digest.digest(combinedDna.getBytes());
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : hash) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1)
-                    hexString.append('0');
-                hexString.append(hex);
-            }
-            return hexString.toString();
-        } catch (NoSuchAlgorithmException e) {
-            throw new DnaHashCalculationException("Error calculating DNA hash", e);
-        }
-    }
 }
@@ -0,0 +1,170 @@
+package org.example.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dto.ExplainResponse;
+import org.example.dto.SequenceRun;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Recorrido completo de la matriz (sin corte temprano) que informa cada secuencia
+ * encontrada con su direccion, celda inicial y base. Para matrices grandes las franjas
+ * de filas se recorren en paralelo; el trabajo queda acotado por un maximo de celdas
+ * y de resultados, y al agotarse se devuelve lo encontrado hasta ese punto.
+ *
+ * Acepta las mismas bases que MutantDetector: con una base fuera de A, C, G, T (por
+ * ejemplo en minuscula, que la validacion del request deja pasar) /mutant la trata como
+ * humano, y aqui se responde lo mismo sin recorrer la matriz.
+ */
+@Slf4j
+@Service
+public class SequenceExplainer {
+
+    public static final String HORIZONTAL = "HORIZONTAL";
+    public static final String VERTICAL = "VERTICAL";
+    public static final String DIAGONAL_DESCENDING = "DIAGONAL_DESCENDING";
+    public static final String DIAGONAL_ASCENDING = "DIAGONAL_ASCENDING";
+
+    public static final String TRUNCATED_BY_CELLS = "max-cells";
+    public static final String TRUNCATED_BY_RESULTS = "max-results";
+
+    private static final int SEQUENCE_LENGTH = 4;
+
+    private final long maxCells;
+    private final int maxResults;
+    private final int parallelThreshold;
+    private final int bandRows;
+    private final ExecutorService workers;
+
+    public SequenceExplainer(@Value("${mutant.explain.max-cells:1000000}") long maxCells,
+                             @Value("${mutant.explain.max-results:10000}") int maxResults,
+                             @Value("${mutant.explain.parallel-threshold:256}") int parallelThreshold,
+                             @Value("${mutant.explain.band-rows:64}") int bandRows,
+                             @Value("${mutant.explain.threads:0}") int threads) {
+        this.maxCells = maxCells;
+        this.maxResults = Math.max(1, maxResults);
+        this.parallelThreshold = parallelThreshold;
+        this.bandRows = Math.max(1, bandRows);
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "explain-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public ExplainResponse explain(String[] dna) {
+        int n = dna.length;
+        char[][] matrix = new char[n][];
+        for (int i = 0; i < n; i++) {
+            matrix[i] = dna[i].toCharArray();
+            for (char base : matrix[i]) {
+                if (base != 'A' && base != 'C' && base != 'G' && base != 'T') {
+                    log.debug("Explain skipped: invalid base '{}' at row {}", base, i);
+                    return new ExplainResponse(Boolean.FALSE, n, 0, false, null, List.of());
+                }
+            }
+        }
+
+        // El presupuesto de celdas se aplica como un prefijo de filas completas: el resultado
+        // es el mismo con o sin paralelismo
+        int rows = (int) Math.min(n, maxCells / Math.max(1, n));
+        boolean cellsExhausted = rows < n;
+
+        List<List<SequenceRun>> bands = n >= parallelThreshold
+                ? scanParallel(matrix, rows)
+                : List.of(scanBand(matrix, 0, rows));
+
+        List<SequenceRun> sequences = new ArrayList<>();
+        SequenceRun firstOmitted = null;
+        for (List<SequenceRun> band : bands) {
+            for (SequenceRun run : band) {
+                if (sequences.size() == maxResults) {
+                    firstOmitted = run;
+                    break;
+                }
+                sequences.add(run);
+            }
+            if (firstOmitted != null) {
+                break;
+            }
+        }
+
+        long cellsScanned = (long) rows * n;
+        String truncatedBy = null;
+        if (firstOmitted != null) {
+            // Solo las celdas anteriores a la primera secuencia omitida estan completas: la de
+            // la ultima informada puede tener secuencias en otras direcciones
+            cellsScanned = (long) firstOmitted.getRow() * n + firstOmitted.getCol();
+            truncatedBy = TRUNCATED_BY_RESULTS;
+        } else if (cellsExhausted) {
+            truncatedBy = TRUNCATED_BY_CELLS;
+        }
+
+        Boolean mutant = sequences.size() > 1 ? Boolean.TRUE : truncatedBy == null ? Boolean.FALSE : null;
+        log.debug("Explained {}x{} matrix: {} sequences, {} cells scanned, truncated by {}",
+                n, n, sequences.size(), cellsScanned, truncatedBy);
+        return new ExplainResponse(mutant, n, cellsScanned, truncatedBy != null, truncatedBy, sequences);
+    }
+
+    private List<List<SequenceRun>> scanParallel(char[][] matrix, int rows) {
+        List<CompletableFuture<List<SequenceRun>>> futures = new ArrayList<>();
+        for (int start = 0; start < rows; start += bandRows) {
+            int from = start;
+            int to = Math.min(rows, start + bandRows);
+            futures.add(CompletableFuture.supplyAsync(() -> scanBand(matrix, from, to), workers));
+        }
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    /**
+     * Recorre las filas [from, to) en el mismo orden que el detector. Cada franja guarda
+     * como mucho maxResults + 1 secuencias, suficiente para saber si el total se excede.
+     */
+    private List<SequenceRun> scanBand(char[][] matrix, int from, int to) {
+        int n = matrix.length;
+        List<SequenceRun> runs = new ArrayList<>();
+        for (int row = from; row < to; row++) {
+            for (int col = 0; col < n; col++) {
+                char base = matrix[row][col];
+                boolean fitsRight = col <= n - SEQUENCE_LENGTH;
+                boolean fitsDown = row <= n - SEQUENCE_LENGTH;
+
+                if (fitsRight && matrix[row][col + 1] == base && matrix[row][col + 2] == base
+                        && matrix[row][col + 3] == base) {
+                    runs.add(new SequenceRun(HORIZONTAL, row, col, base));
+                }
+                if (fitsDown && matrix[row + 1][col] == base && matrix[row + 2][col] == base
+                        && matrix[row + 3][col] == base) {
+                    runs.add(new SequenceRun(VERTICAL, row, col, base));
+                }
+                if (fitsDown && fitsRight && matrix[row + 1][col + 1] == base && matrix[row + 2][col + 2] == base
+                        && matrix[row + 3][col + 3] == base) {
+                    runs.add(new SequenceRun(DIAGONAL_DESCENDING, row, col, base));
+                }
+                if (row >= SEQUENCE_LENGTH - 1 && fitsRight && matrix[row - 1][col + 1] == base
+                        && matrix[row - 2][col + 2] == base && matrix[row - 3][col + 3] == base) {
+                    runs.add(new SequenceRun(DIAGONAL_ASCENDING, row, col, base));
+                }
+                if (runs.size() > maxResults) {
+                    return runs;
+                }
+            }
+        }
+        return runs;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.service;
+
+/**
+ * Detector incremental que recibe la matriz fila por fila y solo guarda las ultimas 4
+ * filas en un buffer circular, por lo que la memoria es O(N) en lugar de O(N²).
+ *
+ * Cada secuencia se cuenta cuando llega su fila inferior: horizontal en la fila nueva,
+ * vertical y diagonal descendente que empiezan 3 filas arriba, y diagonal ascendente que
+ * empieza en la fila nueva. Asi el conteo coincide con el de {@link MutantDetector}.
+ */
+final class SlidingWindowScanner {
+
+    private static final int SEQUENCE_LENGTH = 4;
+
+    private final int n;
+    private final char[][] window = new char[SEQUENCE_LENGTH][];
+    private int rows;
+    private int sequenceCount;
+
+    SlidingWindowScanner(int n) {
+        if (n < SEQUENCE_LENGTH) {
+            throw new IllegalArgumentException("DNA matrix must be at least " + SEQUENCE_LENGTH + "x" + SEQUENCE_LENGTH);
+        }
+        this.n = n;
+        for (int i = 0; i < SEQUENCE_LENGTH; i++) {
+            window[i] = new char[n];
+        }
+    }
+
+    /**
+     * Buffer donde se debe escribir la proxima fila antes de llamar a {@link #commitRow()}.
+     */
+    char[] nextRow() {
+        return window[rows & 3];
+    }
+
+    /**
+     * Analiza la fila escrita en {@link #nextRow()}.
+     *
+     * @return true si ya se encontraron dos secuencias (se puede dejar de leer)
+     */
+    boolean commitRow() {
+        int last = n - SEQUENCE_LENGTH;
+        char[] current = window[rows & 3];
+        boolean full = rows >= SEQUENCE_LENGTH - 1;
+        char[] up1 = window[(rows - 1) & 3];
+        char[] up2 = window[(rows - 2) & 3];
+        char[] up3 = window[(rows - 3) & 3];
+        rows++;
+
+        for (int col = 0; col < n; col++) {
+            char base = current[col];
+            if (col <= last) {
+                // Horizontal (→)
+                if (current[col + 1] == base && current[col + 2] == base && current[col + 3] == base) {
+                    sequenceCount++;
+                }
+                if (full) {
+                    // Diagonal ascendente (↗) desde la fila nueva
+                    if (up1[col + 1] == base && up2[col + 2] == base && up3[col + 3] == base) {
+                        sequenceCount++;
+                    }
+                    // Diagonal descendente (↘) que termina en la fila nueva
+                    char top = up3[col];
+                    if (up2[col + 1] == top && up1[col + 2] == top && current[col + 3] == top) {
+                        sequenceCount++;
+                    }
+                }
+            }
+            // Vertical (↓) que termina en la fila nueva
+            if (full && up3[col] == base && up2[col] == base && up1[col] == base) {
+                sequenceCount++;
+            }
+            if (sequenceCount > 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int getSize() {
+        return n;
+    }
+
+    int getRows() {
+        return rows;
+    }
+
+    boolean isMutant() {
+        return sequenceCount > 1;
+    }
+}
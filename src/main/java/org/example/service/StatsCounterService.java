@@ -0,0 +1,120 @@
+package org.example.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.example.entity.DnaStats;
+import org.example.replica.ReadReplicaContext;
+import org.example.repository.DnaRecordRepository;
+import org.example.repository.DnaRecordSummaryRepository;
+import org.example.repository.DnaStatsRepository;
+import org.example.repository.StatsTotals;
+import org.example.shard.ShardContext;
+import org.example.shard.ShardRouter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Servicio que mantiene los contadores materializados de la tabla dna_stats.
+ * Los incrementos deben ejecutarse dentro de la misma transaccion que el insert
+ * del DnaRecord para que los contadores sean exactos.
+ */
+@Slf4j
+@Service
+public class StatsCounterService {
+
+    private final DnaStatsRepository dnaStatsRepository;
+    private final DnaRecordRepository dnaRecordRepository;
+    private final DnaRecordSummaryRepository dnaRecordSummaryRepository;
+    /** Transaccion propia para crear filas, aunque haya una transaccion de insert activa. */
+    private final TransactionTemplate stripeTransaction;
+    private final ShardRouter shardRouter;
+    private final int stripes;
+
+    public StatsCounterService(DnaStatsRepository dnaStatsRepository,
+                               DnaRecordRepository dnaRecordRepository,
+                               DnaRecordSummaryRepository dnaRecordSummaryRepository,
+                               TransactionTemplate transactionTemplate,
+                               ShardRouter shardRouter,
+                               @Value("${stats.materialized.stripes:16}") int stripes) {
+        this.dnaStatsRepository = dnaStatsRepository;
+        this.dnaRecordRepository = dnaRecordRepository;
+        this.dnaRecordSummaryRepository = dnaRecordSummaryRepository;
+        this.stripeTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.stripeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.shardRouter = shardRouter;
+        this.stripes = stripes;
+    }
+
+    /**
+     * Crea las filas de contadores que falten en cada shard. Si la tabla esta vacia
+     * pero ya hay registros (migracion desde el modo de conteo), la primera fila se
+     * inicializa con los conteos actuales, incluidas las particiones ya compactadas.
+     */
+    @PostConstruct
+    public void initializeStripes() {
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            ShardContext.runOn(shard, () -> ReadReplicaContext.runOnPrimary(this::initializeShardStripes));
+        }
+        log.info("Materialized stats initialized with {} stripes on {} shard(s)", stripes, shardRouter.getShardCount());
+    }
+
+    private void initializeShardStripes() {
+        boolean seedFromRecords = dnaStatsRepository.count() == 0;
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            if (dnaStatsRepository.existsById(stripe)) {
+                continue;
+            }
+            DnaStats row = new DnaStats(stripe, 0, 0);
+            if (stripe == 0 && seedFromRecords) {
+                row.setMutantCount(dnaRecordRepository.countByIsMutant(true) + dnaRecordSummaryRepository.sumMutantCount());
+                row.setHumanCount(dnaRecordRepository.countByIsMutant(false) + dnaRecordSummaryRepository.sumHumanCount());
+            }
+            insertStripe(row);
+        }
+    }
+
+    /**
+     * Incrementa los contadores en una fila elegida al azar.
+     * Requiere una transaccion activa (la del insert del DnaRecord).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordVerdicts(long mutants, long humans) {
+        if (mutants == 0 && humans == 0) {
+            return;
+        }
+        int stripe = ThreadLocalRandom.current().nextInt(stripes);
+        if (dnaStatsRepository.increment(stripe, mutants, humans) == 0) {
+            // La fila todavia no existe (por ejemplo, se aumento la cantidad de stripes). Se crea
+            // en su propia transaccion: si otra instancia la crea a la vez, la violacion de clave
+            // no deja marcada para rollback la transaccion del insert del DnaRecord
+            insertStripe(new DnaStats(stripe, 0, 0));
+            dnaStatsRepository.increment(stripe, mutants, humans);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordVerdict(boolean isMutant) {
+        recordVerdicts(isMutant ? 1 : 0, isMutant ? 0 : 1);
+    }
+
+    @Transactional(readOnly = true)
+    public StatsTotals getTotals() {
+        return dnaStatsRepository.sumCounts();
+    }
+
+    private void insertStripe(DnaStats row) {
+        try {
+            stripeTransaction.executeWithoutResult(status -> dnaStatsRepository.saveAndFlush(row));
+        } catch (DataIntegrityViolationException e) {
+            // Otra instancia que comparte la base de datos creo la fila al mismo tiempo
+            log.debug("Stats stripe {} already created by another instance", row.getStripe());
+        }
+    }
+}
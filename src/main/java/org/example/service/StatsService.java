@@ -3,19 +3,49 @@ package org.example.service;
 import lombok.RequiredArgsConstructor;
 import org.example.dto.StatsResponse;
 import org.example.repository.DnaRecordRepository;
+import org.example.repository.DnaRecordSummaryRepository;
+import org.example.repository.StatsTotals;
+import org.example.shard.ShardRouter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class StatsService {
 
     private final DnaRecordRepository dnaRecordRepository;
+    private final DnaRecordSummaryRepository dnaRecordSummaryRepository;
+    private final StatsCounterService statsCounterService;
+    private final ShardRouter shardRouter;
+
+    // Lee los contadores materializados de dna_stats en lugar de contar filas
+    @Value("${stats.materialized.enabled:true}")
+    private boolean materializedEnabled;
 
     public StatsResponse getStats() {
-        long countMutant = dnaRecordRepository.countByIsMutant(true);
-        long countHuman = dnaRecordRepository.countByIsMutant(false);
+        // Consulta cada shard en paralelo y suma los resultados
+        List<long[]> perShard = shardRouter.fanOut(shard -> countShard());
+        long countMutant = 0;
+        long countHuman = 0;
+        for (long[] counts : perShard) {
+            countMutant += counts[0];
+            countHuman += counts[1];
+        }
         double ratio = countHuman == 0 ? 0 : (double) countMutant / countHuman;
 
         return new StatsResponse(countMutant, countHuman, ratio);
     }
+
+    private long[] countShard() {
+        if (materializedEnabled) {
+            StatsTotals totals = statsCounterService.getTotals();
+            return new long[] { totals.getMutantCount(), totals.getHumanCount() };
+        }
+        // Las filas vivas mas los conteos de las particiones ya compactadas
+        return new long[] {
+                dnaRecordRepository.countByIsMutant(true) + dnaRecordSummaryRepository.sumMutantCount(),
+                dnaRecordRepository.countByIsMutant(false) + dnaRecordSummaryRepository.sumHumanCount() };
+    }
 }
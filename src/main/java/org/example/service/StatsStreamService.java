@@ -0,0 +1,229 @@
+package org.example.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dto.StatsResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Servicio que publica snapshots de estadisticas a los suscriptores SSE.
+ * Calcula un unico snapshot por tick sin importar la cantidad de suscriptores,
+ * y descarta a los consumidores lentos en lugar de acumular eventos pendientes.
+ * Un envio bloqueado (el cliente dejo de leer) no retiene el pool: al descartar al
+ * suscriptor su hilo se da por perdido y el pool suma uno en su lugar hasta que vuelva.
+ */
+@Slf4j
+@Service
+public class StatsStreamService {
+
+    private static final String EVENT_NAME = "stats";
+
+    private final StatsService statsService;
+    private final int maxSkippedTicks;
+    private final long emitterTimeoutMs;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor sender;
+
+    private volatile StatsResponse lastSnapshot;
+
+    public StatsStreamService(StatsService statsService,
+                              @Value("${stats.stream.max-skipped-ticks:3}") int maxSkippedTicks,
+                              @Value("${stats.stream.emitter-timeout-ms:0}") long emitterTimeoutMs,
+                              @Value("${stats.stream.sender-threads:2}") int senderThreads) {
+        this.statsService = statsService;
+        this.maxSkippedTicks = maxSkippedTicks;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "stats-stream-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = newEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        log.debug("New stats stream subscriber (total: {})", subscribers.size());
+
+        // El nuevo suscriptor recibe el ultimo snapshot sin esperar al siguiente tick
+        StatsResponse snapshot = lastSnapshot;
+        if (snapshot != null) {
+            subscriber.offer(snapshot);
+        }
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${stats.stream.interval-ms:1000}")
+    public void publishSnapshot() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        // Un solo calculo por tick, compartido por todos los suscriptores
+        StatsResponse snapshot = statsService.getStats();
+        lastSnapshot = snapshot;
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(snapshot);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    SseEmitter newEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    /**
+     * Suma (o devuelve) un hilo al pool por cada envio bloqueado de un suscriptor descartado.
+     */
+    private void resizeSender(int delta) {
+        synchronized (sender) {
+            if (delta > 0) {
+                sender.setMaximumPoolSize(sender.getMaximumPoolSize() + delta);
+                sender.setCorePoolSize(sender.getCorePoolSize() + delta);
+            } else {
+                sender.setCorePoolSize(sender.getCorePoolSize() + delta);
+                sender.setMaximumPoolSize(sender.getMaximumPoolSize() + delta);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        sender.shutdownNow();
+    }
+
+    /**
+     * Suscriptor con a lo sumo un envio pendiente. Los ticks que llegan mientras el envio
+     * espera turno en el pool solo reemplazan el snapshot a enviar; los que llegan con el
+     * envio ya en curso cuentan como saltados, y tras demasiados seguidos (el plazo de
+     * escritura) el suscriptor se desconecta y su hilo se libera para los demas.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final AtomicReference<StatsResponse> latest = new AtomicReference<>();
+        private final AtomicBoolean queued = new AtomicBoolean();
+        private final AtomicInteger skippedTicks = new AtomicInteger();
+
+        private Thread sendingThread;
+        private boolean dropped;
+        private boolean abandoned;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void offer(StatsResponse snapshot) {
+            latest.set(snapshot);
+            if (queued.compareAndSet(false, true)) {
+                skippedTicks.set(0);
+                sender.execute(this::sendLatest);
+                return;
+            }
+            if (isSending() && skippedTicks.incrementAndGet() > maxSkippedTicks) {
+                log.info("Dropping slow stats stream subscriber after {} skipped ticks", maxSkippedTicks);
+                drop();
+            }
+        }
+
+        private void sendLatest() {
+            if (!startSending()) {
+                return;
+            }
+            boolean sent = false;
+            try {
+                StatsResponse snapshot = latest.getAndSet(null);
+                if (snapshot != null) {
+                    emitter.send(SseEmitter.event().name(EVENT_NAME).data(snapshot));
+                }
+                sent = true;
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Stats stream subscriber disconnected: {}", e.getMessage());
+                subscribers.remove(this);
+                emitter.completeWithError(e);
+            } finally {
+                if (finishSending()) {
+                    // Descartado mientras escribia: recien ahora se puede cerrar sin bloquear el tick
+                    emitter.complete();
+                } else if (sent) {
+                    skippedTicks.set(0);
+                    queued.set(false);
+                    // Un tick que llego durante el envio queda para el proximo turno
+                    if (latest.get() != null && queued.compareAndSet(false, true)) {
+                        sender.execute(this::sendLatest);
+                    }
+                }
+            }
+        }
+
+        private synchronized boolean isSending() {
+            return sendingThread != null;
+        }
+
+        private synchronized boolean startSending() {
+            if (dropped) {
+                return false;
+            }
+            sendingThread = Thread.currentThread();
+            return true;
+        }
+
+        /**
+         * @return true si el suscriptor fue descartado durante el envio
+         */
+        private synchronized boolean finishSending() {
+            sendingThread = null;
+            if (abandoned) {
+                abandoned = false;
+                resizeSender(-1);
+                Thread.interrupted();
+            }
+            return dropped;
+        }
+
+        /**
+         * Con un envio en curso no llama a complete(): el emitter esta tomado por el envio
+         * bloqueado y lo cierra el hilo que envia cuando termina.
+         */
+        private void drop() {
+            subscribers.remove(this);
+            synchronized (this) {
+                if (dropped) {
+                    return;
+                }
+                dropped = true;
+                if (sendingThread != null) {
+                    abandoned = true;
+                    resizeSender(1);
+                    sendingThread.interrupt();
+                    return;
+                }
+            }
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package org.example.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.dto.StreamVerdictResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Deteccion para matrices mas grandes que MAX_DNA_SIZE, leyendo las filas a medida que
+ * llegan (cuerpo del request o archivo) con una ventana de 4 filas. Deja de leer en cuanto
+ * encuentra la segunda secuencia, por lo que el resto del cuerpo no se valida.
+ * El resultado no se persiste: no hay fingerprint de la matriz completa.
+ */
+@Slf4j
+@Service
+public class StreamingMutantDetector {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final char[] BASES = { 'A', 'C', 'G', 'T' };
+
+    private final int maxSize;
+
+    public StreamingMutantDetector(@Value("${mutant.stream.max-size:50000}") int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Formato de texto: una fila por linea (LF o CRLF). N es la longitud de la primera fila.
+     *
+     * @throws IllegalArgumentException si una fila tiene otra longitud, una base invalida,
+     *                                  o la cantidad de filas no es N
+     */
+    public StreamVerdictResponse detectText(Reader reader) throws IOException {
+        char[] buffer = new char[BUFFER_SIZE];
+        char[] firstRow = new char[Math.min(maxSize, BUFFER_SIZE)];
+        SlidingWindowScanner scanner = null;
+        char[] row = firstRow;
+        int col = 0;
+
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            for (int i = 0; i < read; i++) {
+                char c = buffer[i];
+                if (c == '\r') {
+                    continue;
+                }
+                if (c == '\n') {
+                    if (col == 0 && scanner != null && scanner.getRows() == scanner.getSize()) {
+                        // Lineas vacias al final del cuerpo
+                        continue;
+                    }
+                    if (scanner == null) {
+                        scanner = new SlidingWindowScanner(checkSize(col));
+                        System.arraycopy(firstRow, 0, scanner.nextRow(), 0, col);
+                    } else if (col != scanner.getSize()) {
+                        throw new IllegalArgumentException("DNA row " + scanner.getRows() + " has length " + col
+                                + " (expected " + scanner.getSize() + ")");
+                    }
+                    if (scanner.commitRow()) {
+                        return result(scanner);
+                    }
+                    row = scanner.nextRow();
+                    col = 0;
+                    continue;
+                }
+                if (scanner != null && scanner.getRows() == scanner.getSize()) {
+                    throw new IllegalArgumentException("DNA matrix has more than " + scanner.getSize() + " rows");
+                }
+                if (c != 'A' && c != 'C' && c != 'G' && c != 'T') {
+                    throw new IllegalArgumentException("Invalid DNA base '" + c + "' at row "
+                            + (scanner == null ? 0 : scanner.getRows()));
+                }
+                if (scanner == null && col == row.length) {
+                    if (col == maxSize) {
+                        throw new IllegalArgumentException("DNA row exceeds the maximum size of " + maxSize);
+                    }
+                    firstRow = Arrays.copyOf(firstRow, Math.min(maxSize, col * 2));
+                    row = firstRow;
+                } else if (scanner != null && col == row.length) {
+                    throw new IllegalArgumentException("DNA row " + scanner.getRows() + " is longer than " + row.length);
+                }
+                row[col++] = c;
+            }
+        }
+
+        // Ultima fila sin salto de linea final
+        if (col > 0) {
+            if (scanner == null) {
+                scanner = new SlidingWindowScanner(checkSize(col));
+                System.arraycopy(firstRow, 0, scanner.nextRow(), 0, col);
+            } else if (col != scanner.getSize()) {
+                throw new IllegalArgumentException("DNA row " + scanner.getRows() + " has length " + col
+                        + " (expected " + scanner.getSize() + ")");
+            }
+            if (scanner.commitRow()) {
+                return result(scanner);
+            }
+        }
+        if (scanner == null) {
+            throw new IllegalArgumentException("DNA body is empty");
+        }
+        return finish(scanner);
+    }
+
+    /**
+     * Formato binario empaquetado de {@link org.example.codec.PackedDnaCodec}, con N hasta
+     * {@code mutant.stream.max-size}. Las bases se decodifican de a una directamente en la ventana.
+     *
+     * @throws IllegalArgumentException si el encabezado no es valido o el cuerpo esta truncado
+     *                                  o tiene bytes de mas
+     */
+    public StreamVerdictResponse detectPacked(InputStream body) throws IOException {
+        InputStream in = new BufferedInputStream(body, BUFFER_SIZE);
+        byte[] header = in.readNBytes(4);
+        if (header.length < 4) {
+            throw new IllegalArgumentException("Packed DNA body is shorter than its 4-byte header");
+        }
+        long size = ((header[0] & 0xFFL) << 24) | ((header[1] & 0xFFL) << 16) | ((header[2] & 0xFFL) << 8) | (header[3] & 0xFFL);
+        SlidingWindowScanner scanner = new SlidingWindowScanner(checkSize(size));
+        int n = scanner.getSize();
+
+        int current = 0;
+        long cell = 0;
+        for (int r = 0; r < n; r++) {
+            char[] row = scanner.nextRow();
+            for (int col = 0; col < n; col++, cell++) {
+                int shift = 6 - 2 * (int) (cell & 3);
+                if (shift == 6) {
+                    current = in.read();
+                    if (current == -1) {
+                        throw new IllegalArgumentException("Packed DNA body is truncated for a " + n + "x" + n + " matrix");
+                    }
+                }
+                row[col] = BASES[(current >>> shift) & 3];
+            }
+            if (scanner.commitRow()) {
+                return result(scanner);
+            }
+        }
+        if (in.read() != -1) {
+            throw new IllegalArgumentException("Packed DNA body has trailing bytes for a " + n + "x" + n + " matrix");
+        }
+        return finish(scanner);
+    }
+
+    private int checkSize(long size) {
+        if (size < 4 || size > maxSize) {
+            throw new IllegalArgumentException("DNA size must be between 4 and " + maxSize + " (got " + size + ")");
+        }
+        return (int) size;
+    }
+
+    private StreamVerdictResponse finish(SlidingWindowScanner scanner) {
+        if (scanner.getRows() != scanner.getSize()) {
+            throw new IllegalArgumentException("DNA matrix has " + scanner.getRows() + " rows (expected "
+                    + scanner.getSize() + ")");
+        }
+        return result(scanner);
+    }
+
+    private static StreamVerdictResponse result(SlidingWindowScanner scanner) {
+        log.info("Streaming analysis of {}x{} matrix: {} after {} rows", scanner.getSize(), scanner.getSize(),
+                scanner.isMutant() ? "MUTANT" : "HUMAN", scanner.getRows());
+        return new StreamVerdictResponse(scanner.isMutant(), scanner.getSize(), scanner.getRows());
+    }
+}
@@ -0,0 +1,202 @@
+package org.example.shard;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Herramienta offline para redistribuir dna_records entre una cantidad distinta de shards.
+ * Recorre cada shard de origen por paginas de id, copia cada registro al shard que le
+ * corresponde en el nuevo esquema, lo borra del origen si cambio de base, y al final
+ * recalcula las filas de dna_stats de cada shard de destino.
+ *
+ * <pre>
+ * java -cp app.jar org.example.shard.ReshardingTool \
+ *     --from=jdbc:h2:file:./shard0 \
+ *     --to=jdbc:h2:file:./shard0,jdbc:h2:file:./shard1,jdbc:h2:file:./shard2
+ * </pre>
+ *
+ * Debe ejecutarse con la aplicacion detenida: no coordina con escrituras concurrentes.
+ */
+@Slf4j
+public class ReshardingTool {
+
+    private static final int PAGE_SIZE = 1000;
+
+    private static final String SELECT_PAGE =
+            "SELECT id, dna_hash, is_mutant, created_at, archive_id, archive_segment, archive_offset FROM dna_records "
+                    + "WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String INSERT_IF_ABSENT =
+            "INSERT INTO dna_records (dna_hash, is_mutant, created_at, archive_id, archive_segment, archive_offset) "
+                    + "SELECT ?, ?, ?, ?, ?, ? "
+                    + "WHERE NOT EXISTS (SELECT 1 FROM dna_records WHERE dna_hash = ?)";
+    private static final String DELETE_BY_ID = "DELETE FROM dna_records WHERE id = ?";
+    private static final String SELECT_COMPACTED = "SELECT dna_hash, is_mutant FROM dna_compacted_hashes";
+    private static final String INSERT_COMPACTED_IF_ABSENT =
+            "INSERT INTO dna_compacted_hashes (dna_hash, is_mutant) SELECT ?, ? "
+                    + "WHERE NOT EXISTS (SELECT 1 FROM dna_compacted_hashes WHERE dna_hash = ?)";
+    private static final String DELETE_COMPACTED = "DELETE FROM dna_compacted_hashes WHERE dna_hash = ?";
+    private static final String SELECT_SUMMARY = "SELECT partition_day, mutant_count, human_count FROM dna_record_summary";
+    private static final String INCREMENT_SUMMARY = "UPDATE dna_record_summary SET mutant_count = mutant_count + ?, "
+            + "human_count = human_count + ? WHERE partition_day = ?";
+    private static final String INSERT_SUMMARY =
+            "INSERT INTO dna_record_summary (partition_day, mutant_count, human_count) VALUES (?, ?, ?)";
+
+    public static void main(String[] args) {
+        List<String> from = null;
+        List<String> to = null;
+        String username = "sa";
+        String password = "";
+        for (String arg : args) {
+            if (arg.startsWith("--from=")) {
+                from = Arrays.stream(arg.substring("--from=".length()).split(",")).map(String::trim).toList();
+            } else if (arg.startsWith("--to=")) {
+                to = Arrays.stream(arg.substring("--to=".length()).split(",")).map(String::trim).toList();
+            } else if (arg.startsWith("--username=")) {
+                username = arg.substring("--username=".length());
+            } else if (arg.startsWith("--password=")) {
+                password = arg.substring("--password=".length());
+            }
+        }
+        if (from == null || to == null) {
+            System.err.println("Usage: ReshardingTool --from=<url,...> --to=<url,...> [--username=] [--password=]");
+            System.exit(2);
+        }
+
+        List<DataSource> targets = toDataSources(to, username, password);
+        List<DataSource> sources = new ArrayList<>(from.size());
+        for (String url : from) {
+            // Una base presente en ambos esquemas debe ser la misma instancia para no copiarse a si misma
+            int index = to.indexOf(url);
+            sources.add(index >= 0 ? targets.get(index) : toDataSources(List.of(url), username, password).get(0));
+        }
+
+        Result result = new ReshardingTool().reshard(sources, targets);
+        System.out.printf("Resharding complete: %d records scanned, %d moved%n", result.scanned(), result.moved());
+    }
+
+    public Result reshard(List<DataSource> sources, List<DataSource> targets) {
+        // Tambien en los origenes: una base anterior puede no tener las columnas o tablas nuevas
+        new ShardDataSources(sources).initializeSchema();
+        new ShardDataSources(targets).initializeSchema();
+        List<JdbcTemplate> targetTemplates = targets.stream().map(JdbcTemplate::new).toList();
+
+        long scanned = 0;
+        long moved = 0;
+        for (DataSource source : sources) {
+            JdbcTemplate sourceTemplate = new JdbcTemplate(source);
+            long lastId = 0;
+            while (true) {
+                List<StoredRecord> page = sourceTemplate.query(SELECT_PAGE, (rs, rowNum) -> new StoredRecord(
+                        rs.getLong("id"), rs.getString("dna_hash"),
+                        rs.getBoolean("is_mutant"), rs.getTimestamp("created_at"),
+                        rs.getString("archive_id"), rs.getObject("archive_segment", Integer.class),
+                        rs.getObject("archive_offset", Long.class)),
+                        lastId, PAGE_SIZE);
+                if (page.isEmpty()) {
+                    break;
+                }
+                boolean sourceIsTarget = targets.contains(source);
+                List<Object[]> deletions = new ArrayList<>();
+                for (StoredRecord record : page) {
+                    int targetShard = ShardRouter.shardFor(record.dnaHash(), targets.size());
+                    if (targets.get(targetShard) == source) {
+                        continue;
+                    }
+                    // Una corrida anterior interrumpida puede haberlo copiado ya: solo cuenta si se inserto
+                    moved += targetTemplates.get(targetShard).update(INSERT_IF_ABSENT,
+                            record.dnaHash(), record.isMutant(), record.createdAt(),
+                            record.archiveId(), record.archiveSegment(), record.archiveOffset(), record.dnaHash());
+                    // Un origen que no forma parte del nuevo esquema se retira completo, no se borra
+                    if (sourceIsTarget) {
+                        deletions.add(new Object[] { record.id() });
+                    }
+                }
+                if (!deletions.isEmpty()) {
+                    sourceTemplate.batchUpdate(DELETE_BY_ID, deletions);
+                }
+                scanned += page.size();
+                lastId = page.get(page.size() - 1).id();
+            }
+            moveCompactedHashes(source, sourceTemplate, targets, targetTemplates);
+            if (!targets.contains(source)) {
+                // Los conteos compactados de un origen que se retira pasan al primer shard
+                moveSummary(sourceTemplate, targetTemplates.get(0));
+            }
+            log.info("Resharded source datasource {} ({} records scanned so far)", source, scanned);
+        }
+
+        for (JdbcTemplate target : targetTemplates) {
+            rebuildStats(target);
+        }
+        return new Result(scanned, moved);
+    }
+
+    /**
+     * Los fingerprints compactados siguen al shard de su hash, igual que los registros vivos.
+     */
+    private void moveCompactedHashes(DataSource source, JdbcTemplate sourceTemplate, List<DataSource> targets,
+                                     List<JdbcTemplate> targetTemplates) {
+        List<Object[]> deletions = new ArrayList<>();
+        sourceTemplate.query(SELECT_COMPACTED, rs -> {
+            String dnaHash = rs.getString("dna_hash");
+            int targetShard = ShardRouter.shardFor(dnaHash, targets.size());
+            if (targets.get(targetShard) == source) {
+                return;
+            }
+            targetTemplates.get(targetShard).update(INSERT_COMPACTED_IF_ABSENT,
+                    dnaHash, rs.getBoolean("is_mutant"), dnaHash);
+            if (targets.contains(source)) {
+                deletions.add(new Object[] { dnaHash });
+            }
+        });
+        if (!deletions.isEmpty()) {
+            sourceTemplate.batchUpdate(DELETE_COMPACTED, deletions);
+        }
+    }
+
+    private void moveSummary(JdbcTemplate source, JdbcTemplate target) {
+        source.query(SELECT_SUMMARY, rs -> {
+            Object partitionDay = rs.getObject("partition_day");
+            long mutants = rs.getLong("mutant_count");
+            long humans = rs.getLong("human_count");
+            if (target.update(INCREMENT_SUMMARY, mutants, humans, partitionDay) == 0) {
+                target.update(INSERT_SUMMARY, partitionDay, mutants, humans);
+            }
+        });
+    }
+
+    /**
+     * Recalcula los contadores materializados del shard a partir de sus filas y de las
+     * particiones ya compactadas.
+     */
+    private void rebuildStats(JdbcTemplate target) {
+        Long mutants = target.queryForObject("SELECT COUNT(*) FROM dna_records WHERE is_mutant = TRUE", Long.class)
+                + target.queryForObject("SELECT COALESCE(SUM(mutant_count), 0) FROM dna_record_summary", Long.class);
+        Long humans = target.queryForObject("SELECT COUNT(*) FROM dna_records WHERE is_mutant = FALSE", Long.class)
+                + target.queryForObject("SELECT COALESCE(SUM(human_count), 0) FROM dna_record_summary", Long.class);
+        target.update("DELETE FROM dna_stats");
+        target.update("INSERT INTO dna_stats (stripe, mutant_count, human_count) VALUES (0, ?, ?)", mutants, humans);
+    }
+
+    private static List<DataSource> toDataSources(List<String> urls, String username, String password) {
+        List<DataSource> dataSources = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            dataSources.add(new DriverManagerDataSource(url.trim(), username, password));
+        }
+        return dataSources;
+    }
+
+    public record Result(long scanned, long moved) {
+    }
+
+    private record StoredRecord(long id, String dnaHash, boolean isMutant, Timestamp createdAt,
+                                String archiveId, Integer archiveSegment, Long archiveOffset) {
+    }
+}
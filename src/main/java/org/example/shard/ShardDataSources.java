@@ -0,0 +1,70 @@
+package org.example.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * DataSources fisicos de cada shard, en orden de numero de shard.
+ */
+public class ShardDataSources implements DisposableBean {
+
+    static final String SCHEMA_SCRIPT = "db/shard-schema.sql";
+
+    private final List<DataSource> dataSources;
+
+    public ShardDataSources(List<DataSource> dataSources) {
+        this.dataSources = Collections.unmodifiableList(new ArrayList<>(dataSources));
+    }
+
+    public static ShardDataSources create(List<String> urls, String username, String password) {
+        List<DataSource> dataSources = new ArrayList<>(urls.size());
+        for (int shard = 0; shard < urls.size(); shard++) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("shard-" + shard);
+            dataSource.setJdbcUrl(urls.get(shard).trim());
+            dataSource.setUsername(username);
+            dataSource.setPassword(password);
+            dataSources.add(dataSource);
+        }
+        return new ShardDataSources(dataSources);
+    }
+
+    /**
+     * Crea las tablas en cada shard. Hibernate solo administra el esquema del shard 0.
+     */
+    public void initializeSchema() {
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource(SCHEMA_SCRIPT));
+        for (DataSource dataSource : dataSources) {
+            DatabasePopulatorUtils.execute(populator, dataSource);
+        }
+    }
+
+    public List<DataSource> getDataSources() {
+        return dataSources;
+    }
+
+    public DataSource get(int shard) {
+        return dataSources.get(shard);
+    }
+
+    public int size() {
+        return dataSources.size();
+    }
+
+    @Override
+    public void destroy() {
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof HikariDataSource hikari) {
+                hikari.close();
+            }
+        }
+    }
+}
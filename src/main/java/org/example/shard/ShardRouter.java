@@ -0,0 +1,106 @@
+package org.example.shard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Asigna cada fingerprint a un shard segun su prefijo hexadecimal y ejecuta
+ * consultas en paralelo sobre todos los shards. Con un solo shard no crea hilos.
+ */
+public class ShardRouter {
+
+    private static final int PREFIX_LENGTH = 8;
+
+    private final int shardCount;
+    private final ExecutorService fanOutExecutor;
+
+    public ShardRouter(int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be at least 1");
+        }
+        this.shardCount = shardCount;
+        if (shardCount == 1) {
+            this.fanOutExecutor = null;
+        } else {
+            AtomicInteger threadCount = new AtomicInteger();
+            this.fanOutExecutor = Executors.newFixedThreadPool(shardCount, runnable -> {
+                Thread thread = new Thread(runnable, "shard-fanout-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    public static ShardRouter singleShard() {
+        return new ShardRouter(1);
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public int shardFor(String fingerprint) {
+        return shardFor(fingerprint, shardCount);
+    }
+
+    /**
+     * Shard de un fingerprint para una cantidad arbitraria de shards (usado al reshardear).
+     */
+    public static int shardFor(String fingerprint, int shardCount) {
+        if (shardCount == 1) {
+            return 0;
+        }
+        int prefix;
+        try {
+            prefix = Integer.parseUnsignedInt(fingerprint, 0, Math.min(PREFIX_LENGTH, fingerprint.length()), 16);
+        } catch (NumberFormatException e) {
+            prefix = fingerprint.hashCode();
+        }
+        return Integer.remainderUnsigned(prefix, shardCount);
+    }
+
+    public <T> T callOnShardFor(String fingerprint, Supplier<T> action) {
+        return ShardContext.callOn(shardFor(fingerprint), action);
+    }
+
+    /**
+     * Ejecuta la funcion en cada shard (en paralelo si hay mas de uno) y devuelve
+     * los resultados ordenados por numero de shard.
+     */
+    public <T> List<T> fanOut(IntFunction<T> perShard) {
+        if (shardCount == 1) {
+            return List.of(ShardContext.callOn(0, () -> perShard.apply(0)));
+        }
+        List<CompletableFuture<T>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> ShardContext.callOn(target, () -> perShard.apply(target)), fanOutExecutor));
+        }
+        List<T> results = new ArrayList<>(shardCount);
+        try {
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    public void shutdown() {
+        if (fanOutExecutor != null) {
+            fanOutExecutor.shutdownNow();
+        }
+    }
+}
@@ -2,16 +2,32 @@ package org.example.validation;
 
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
-
-import java.util.regex.Pattern;
+import org.example.profiling.DnaStageEvent;
 
 public class ValidDnaSequenceValidator implements ConstraintValidator<ValidDnaSequence, String[]> {
 
-    private static final Pattern DNA_PATTERN = Pattern.compile("^[ATCG]+$");
-    private static final int MAX_DNA_SIZE = 1000; // Maximum allowed matrix size
+    public static final int MAX_DNA_SIZE = 1000; // Maximum allowed matrix size
+
+    // Tabla por caracter en lugar de toUpperCase() + regex por fila: sin allocations por request
+    private static final boolean[] VALID_BASE = new boolean[128];
+
+    static {
+        for (char base : "ACGTacgt".toCharArray()) {
+            VALID_BASE[base] = true;
+        }
+    }
 
     @Override
     public boolean isValid(String[] dna, ConstraintValidatorContext context) {
+        DnaStageEvent event = DnaStageEvent.start(DnaStageEvent.VALIDATE, dna == null ? 0 : dna.length);
+        try {
+            return validate(dna, context);
+        } finally {
+            event.finish();
+        }
+    }
+
+    private boolean validate(String[] dna, ConstraintValidatorContext context) {
         if (dna == null || dna.length == 0) {
             return false;
         }
@@ -27,15 +43,28 @@ public class ValidDnaSequenceValidator implements ConstraintValidator<ValidDnaSe
             return false;
         }
 
+        // Primero los largos: una matriz no cuadrada se rechaza sin recorrer ninguna base
         for (String row : dna) {
             if (row == null || row.length() != n) {
                 return false;
             }
-            if (!DNA_PATTERN.matcher(row.toUpperCase()).matches()) {
+        }
+        for (String row : dna) {
+            if (!isValidRow(row)) {
                 return false;
             }
         }
 
         return true;
     }
+
+    private static boolean isValidRow(String row) {
+        for (int i = 0; i < row.length(); i++) {
+            char base = row.charAt(i);
+            if (base >= VALID_BASE.length || !VALID_BASE[base]) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -0,0 +1,128 @@
+package org.example.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.example.codec.PackedDnaCodec;
+import org.example.dto.DnaRequest;
+import org.example.fingerprint.DnaFingerprint;
+import org.example.service.MutantDetector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Warm-up del JIT al arrancar: ejecuta una mezcla sintetica de matrices por el mismo
+ * camino que una request (parseo JSON y binario, validacion, fingerprint y deteccion)
+ * hasta completar {@code warmup.iterations} muestras o agotar {@code warmup.budget-ms}.
+ * No usa el cache ni la base de datos, por lo que no persiste nada.
+ *
+ * Spring Boot recien marca la aplicacion como ACCEPTING_TRAFFIC despues de los
+ * ApplicationRunner, asi que GET /health/readiness responde 503 mientras dura.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "warmup.enabled", havingValue = "true")
+public class JitWarmupRunner implements ApplicationRunner {
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final DnaFingerprint dnaFingerprint;
+    private final MutantDetector mutantDetector;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long budgetMs;
+    private final int iterations;
+
+    /**
+     * Evita que el JIT descarte los resultados del warm-up.
+     */
+    private volatile int sink;
+
+    public JitWarmupRunner(ObjectMapper objectMapper,
+                           Validator validator,
+                           DnaFingerprint dnaFingerprint,
+                           MutantDetector mutantDetector,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${warmup.budget-ms:10000}") long budgetMs,
+                           @Value("${warmup.iterations:20000}") int iterations) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.dnaFingerprint = dnaFingerprint;
+        this.mutantDetector = mutantDetector;
+        this.eventPublisher = eventPublisher;
+        this.budgetMs = budgetMs;
+        this.iterations = iterations;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        warmUp();
+    }
+
+    /**
+     * @return cantidad de muestras ejecutadas
+     */
+    public int warmUp() throws IOException {
+        List<PreparedSample> samples = prepare();
+        long start = System.nanoTime();
+        long deadline = start + budgetMs * 1_000_000L;
+        int executed = 0;
+        int checksum = 0;
+
+        while (executed < iterations && System.nanoTime() < deadline) {
+            for (PreparedSample sample : samples) {
+                checksum += runPipeline(sample);
+                if (++executed >= iterations || System.nanoTime() >= deadline) {
+                    break;
+                }
+            }
+        }
+        sink = checksum;
+        log.info("JIT warm-up finished: {} samples in {} ms", executed, (System.nanoTime() - start) / 1_000_000);
+        return executed;
+    }
+
+    private int runPipeline(PreparedSample sample) throws IOException {
+        // Camino JSON: parseo, validacion del DTO, fingerprint y deteccion
+        DnaRequest request = objectMapper.readValue(sample.json, DnaRequest.class);
+        int result = validator.validate(request).size();
+        String[] dna = request.getDna();
+        result += dnaFingerprint.fingerprint(dna).length();
+        result += mutantDetector.isMutant(dna) ? 1 : 0;
+
+        // Camino binario empaquetado
+        char[][] matrix = PackedDnaCodec.decode(new ByteArrayInputStream(sample.packed));
+        CharSequence[] rows = new CharSequence[matrix.length];
+        for (int i = 0; i < matrix.length; i++) {
+            rows[i] = CharBuffer.wrap(matrix[i]);
+        }
+        result += dnaFingerprint.fingerprint(rows).length();
+        result += mutantDetector.isMutant(matrix) ? 1 : 0;
+        return result;
+    }
+
+    private List<PreparedSample> prepare() throws IOException {
+        List<PreparedSample> prepared = new ArrayList<>();
+        for (WarmupSamples.Sample sample : WarmupSamples.generate(38)) {
+            prepared.add(new PreparedSample(
+                    objectMapper.writeValueAsBytes(new DnaRequest(sample.dna())),
+                    PackedDnaCodec.encode(sample.dna())));
+        }
+        return prepared;
+    }
+
+    private record PreparedSample(byte[] json, byte[] packed) {
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Mezcla sintetica de matrices para el warm-up: varios tamaños, mutantes que terminan
+ * temprano y tarde, humanos que recorren toda la matriz y muestras aleatorias.
+ */
+final class WarmupSamples {
+
+    /**
+     * Tamaños incluidos; los chicos se repiten porque son la mayoria del trafico.
+     */
+    static final int[] SIZES = { 4, 6, 6, 6, 8, 10, 16, 32, 64, 128, 256, 1000 };
+
+    private static final char[] BASES = { 'A', 'C', 'G', 'T' };
+
+    private WarmupSamples() {
+    }
+
+    /**
+     * @param expectedMutant veredicto esperado, o {@code null} si la muestra es aleatoria
+     */
+    record Sample(String label, String[] dna, Boolean expectedMutant) {
+    }
+
+    static List<Sample> generate(long seed) {
+        Random random = new Random(seed);
+        List<Sample> samples = new ArrayList<>();
+        for (int n : SIZES) {
+            samples.add(new Sample("human-full-scan-" + n, noSequences(n), false));
+            samples.add(new Sample("mutant-early-exit-" + n, withSequences(n, 0), true));
+            samples.add(new Sample("mutant-late-exit-" + n, withSequences(n, n - 2), true));
+            samples.add(new Sample("human-one-sequence-" + n, withSequence(noSequences(n), n - 1, 'T'), false));
+            samples.add(new Sample("random-" + n, random(n, random), null));
+        }
+        return samples;
+    }
+
+    /**
+     * Ningun par de celdas vecinas coincide en ninguna direccion.
+     */
+    private static String[] noSequences(int n) {
+        String[] dna = new String[n];
+        char[] row = new char[n];
+        for (int r = 0; r < n; r++) {
+            for (int c = 0; c < n; c++) {
+                row[c] = BASES[(c + 2 * r) & 3];
+            }
+            dna[r] = new String(row);
+        }
+        return dna;
+    }
+
+    /**
+     * Dos secuencias horizontales en las filas {@code firstRow} y {@code firstRow + 1}.
+     */
+    private static String[] withSequences(int n, int firstRow) {
+        String[] dna = withSequence(noSequences(n), firstRow, 'A');
+        return withSequence(dna, firstRow + 1, 'C');
+    }
+
+    private static String[] withSequence(String[] dna, int row, char base) {
+        dna[row] = String.valueOf(base).repeat(4) + dna[row].substring(4);
+        return dna;
+    }
+
+    private static String[] random(int n, Random random) {
+        String[] dna = new String[n];
+        char[] row = new char[n];
+        for (int r = 0; r < n; r++) {
+            for (int c = 0; c < n; c++) {
+                row[c] = BASES[random.nextInt(BASES.length)];
+            }
+            dna[r] = new String(row);
+        }
+        return dna;
+    }
+}
@@ -0,0 +1,5 @@
+-- Latido que ReplicaLagMonitor escribe en el primario y lee en la replica (epoch en ms)
+CREATE TABLE IF NOT EXISTS replication_heartbeat (
+    id INTEGER NOT NULL PRIMARY KEY,
+    beat_at BIGINT NOT NULL
+);
@@ -0,0 +1,41 @@
+-- Esquema de cada shard de dna_records (debe coincidir con las entidades JPA)
+-- Incremento igual al allocationSize de DnaRecord; los inserts SQL sin id (ReshardingTool)
+-- toman un valor de la secuencia, que nunca se superpone con los bloques de Hibernate
+CREATE SEQUENCE IF NOT EXISTS dna_records_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS dna_records (
+    id BIGINT DEFAULT NEXT VALUE FOR dna_records_seq NOT NULL PRIMARY KEY,
+    dna_hash VARCHAR(255) NOT NULL UNIQUE,
+    is_mutant BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    archive_id VARCHAR(64),
+    archive_segment INTEGER,
+    archive_offset BIGINT
+);
+
+-- Recorrido por antiguedad de RetentionService
+CREATE INDEX IF NOT EXISTS idx_dna_records_created_at ON dna_records (created_at);
+
+-- Bases creadas antes del archivo de muestras crudas
+ALTER TABLE dna_records ADD COLUMN IF NOT EXISTS archive_segment INTEGER;
+ALTER TABLE dna_records ADD COLUMN IF NOT EXISTS archive_offset BIGINT;
+ALTER TABLE dna_records ADD COLUMN IF NOT EXISTS archive_id VARCHAR(64);
+
+CREATE TABLE IF NOT EXISTS dna_stats (
+    stripe INTEGER NOT NULL PRIMARY KEY,
+    mutant_count BIGINT NOT NULL,
+    human_count BIGINT NOT NULL
+);
+
+-- Conteos de las particiones diarias de dna_records ya compactadas por RetentionService
+CREATE TABLE IF NOT EXISTS dna_record_summary (
+    partition_day DATE NOT NULL PRIMARY KEY,
+    mutant_count BIGINT NOT NULL,
+    human_count BIGINT NOT NULL
+);
+
+-- Fingerprints compactados: una muestra que vuelve a llegar no se inserta ni se cuenta otra vez
+CREATE TABLE IF NOT EXISTS dna_compacted_hashes (
+    dna_hash VARCHAR(255) NOT NULL PRIMARY KEY,
+    is_mutant BOOLEAN NOT NULL
+);
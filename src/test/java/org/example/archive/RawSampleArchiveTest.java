@@ -0,0 +1,256 @@
+package org.example.archive;
+
+import org.example.codec.PackedDnaCodec;
+import org.example.repository.DnaRecordRepository;
+import org.example.shard.ShardRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for RawSampleArchive on a temporary directory, with a mocked repository.
+ *
+ * Tests cover:
+ * - Round trip through the segment and location update in dna_records
+ * - Random access read by archive id, segment and offset
+ * - Rejection of a location from another archive or of another sample
+ * - Synchronous append used by the bulk load
+ * - Segment roll when the size limit is reached
+ * - Recovery of a segment with a torn tail and reuse of the archive id
+ * - Rollback of a batch that fails partway, without referencing its entries
+ *
+ * Total tests: 7
+ */
+@ExtendWith(MockitoExtension.class)
+class RawSampleArchiveTest {
+
+    private static final String[] MUTANT_DNA = {
+            "ATGCGA",
+            "CAGTGC",
+            "TTATGT",
+            "AGAAGG",
+            "CCCCTA",
+            "TCACTG"
+    };
+    private static final String[] HUMAN_DNA = {
+            "ATGCGA",
+            "CAGTGC",
+            "TTATTT",
+            "AGACGG",
+            "GCGTCA",
+            "TCACTG"
+    };
+
+    @Mock
+    private DnaRecordRepository dnaRecordRepository;
+
+    @TempDir
+    Path tempDir;
+
+    private final List<RawSampleArchive> archives = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (RawSampleArchive archive : archives) {
+            archive.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should write samples off the request path and replay them in order")
+    void testAppendAndReplay() throws Exception {
+        // Arrange
+        RawSampleArchive archive = newArchive(1 << 20);
+        archive.recover();
+
+        // Act
+        archive.append("hash-1", MUTANT_DNA);
+        archive.append("hash-2", HUMAN_DNA);
+        int written = archive.writePending();
+        List<ArchivedSample> samples = new ArrayList<>();
+        long count = archive.forEachSample(samples::add);
+
+        // Assert
+        assertEquals(2, written);
+        assertEquals(2, count);
+        assertEquals("hash-1", samples.get(0).dnaHash());
+        assertArrayEquals(toMatrix(MUTANT_DNA), samples.get(0).matrix());
+        assertArrayEquals(toMatrix(HUMAN_DNA), samples.get(1).matrix());
+        String archiveId = archive.getArchiveId();
+        assertNotNull(archiveId);
+        assertEquals(archiveId, samples.get(0).archiveId());
+        verify(dnaRecordRepository, times(1)).updateArchiveLocation("hash-1", archiveId, 1, 0L);
+        verify(dnaRecordRepository, times(1)).updateArchiveLocation("hash-2", archiveId, 1, samples.get(1).offset());
+    }
+
+    @Test
+    @DisplayName("Should read a single sample by the location stored in dna_records")
+    void testReadByLocation() throws Exception {
+        // Arrange
+        RawSampleArchive archive = newArchive(1 << 20);
+        archive.recover();
+        archive.append("hash-1", MUTANT_DNA);
+        archive.append("hash-2", HUMAN_DNA);
+        archive.writePending();
+        List<ArchivedSample> samples = new ArrayList<>();
+        archive.forEachSample(samples::add);
+
+        // Act
+        ArchivedSample sample = archive.read("hash-2", archive.getArchiveId(), 1, samples.get(1).offset());
+
+        // Assert
+        assertEquals("hash-2", sample.dnaHash());
+        assertArrayEquals(toMatrix(HUMAN_DNA), sample.matrix());
+    }
+
+    @Test
+    @DisplayName("Should reject a location from another archive or pointing at another sample")
+    void testReadRejectsForeignLocation() throws Exception {
+        // Arrange
+        RawSampleArchive archive = newArchive(1 << 20);
+        archive.recover();
+        archive.append("hash-1", MUTANT_DNA);
+        archive.writePending();
+        String archiveId = archive.getArchiveId();
+
+        // Act & Assert: mismo segmento y offset, pero escritos por otra instancia o para otra muestra
+        assertThrows(IOException.class, () -> archive.read("hash-1", "other-instance", 1, 0));
+        assertThrows(IOException.class, () -> archive.read("hash-1", null, 1, 0));
+        assertThrows(IOException.class, () -> archive.read("hash-9", archiveId, 1, 0));
+        assertEquals("hash-1", archive.read("hash-1", archiveId, 1, 0).dnaHash());
+    }
+
+    @Test
+    @DisplayName("Should write bulk-loaded samples synchronously, without the queue")
+    void testAppendAll() throws Exception {
+        // Arrange
+        RawSampleArchive archive = newArchive(1 << 20);
+        archive.recover();
+        Map<String, byte[]> packed = new LinkedHashMap<>();
+        packed.put("hash-1", PackedDnaCodec.encode(MUTANT_DNA));
+        packed.put("hash-2", PackedDnaCodec.encode(HUMAN_DNA));
+
+        // Act
+        archive.appendAll(packed);
+
+        // Assert: ya en disco sin pasar por writePending
+        List<ArchivedSample> samples = new ArrayList<>();
+        archive.forEachSample(samples::add);
+        assertEquals(2, samples.size());
+        assertArrayEquals(toMatrix(HUMAN_DNA), archive.read("hash-2", archive.getArchiveId(), 1,
+                samples.get(1).offset()).matrix());
+        assertEquals(0, archive.writePending());
+        verify(dnaRecordRepository, times(2)).updateArchiveLocation(anyString(), eq(archive.getArchiveId()),
+                eq(1), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should roll to a new segment when the size limit is reached")
+    void testSegmentRoll() throws Exception {
+        // Arrange
+        RawSampleArchive archive = newArchive(1);
+        archive.recover();
+
+        // Act
+        archive.append("hash-1", MUTANT_DNA);
+        archive.append("hash-2", HUMAN_DNA);
+        archive.writePending();
+
+        // Assert
+        String archiveId = archive.getArchiveId();
+        verify(dnaRecordRepository, times(1)).updateArchiveLocation("hash-1", archiveId, 1, 0L);
+        verify(dnaRecordRepository, times(1)).updateArchiveLocation("hash-2", archiveId, 2, 0L);
+        assertArrayEquals(toMatrix(HUMAN_DNA), archive.read("hash-2", archiveId, 2, 0).matrix());
+    }
+
+    @Test
+    @DisplayName("Should truncate a torn tail and keep appending after the last valid entry")
+    void testRecoverTornTail() throws Exception {
+        // Arrange
+        RawSampleArchive first = newArchive(1 << 20);
+        first.recover();
+        first.append("hash-1", MUTANT_DNA);
+        first.writePending();
+        Path segment = tempDir.resolve(RawSampleArchive.SEGMENT_PREFIX + "000001" + RawSampleArchive.SEGMENT_SUFFIX);
+        long validSize = Files.size(segment);
+        Files.write(segment, new byte[] { 0, 0, 0, 100, 1, 2, 3 }, StandardOpenOption.APPEND);
+
+        // Act
+        RawSampleArchive second = newArchive(1 << 20);
+        second.recover();
+        second.append("hash-2", HUMAN_DNA);
+        second.writePending();
+        List<ArchivedSample> samples = new ArrayList<>();
+        second.forEachSample(samples::add);
+
+        // Assert
+        assertEquals(2, samples.size());
+        assertEquals(validSize, samples.get(1).offset());
+        assertEquals(first.getArchiveId(), second.getArchiveId());
+        verify(dnaRecordRepository, times(1)).updateArchiveLocation(eq("hash-2"), eq(first.getArchiveId()), eq(1),
+                eq(validSize));
+    }
+
+    @Test
+    @DisplayName("Should truncate back to the batch start when a write fails partway")
+    void testRollBackFailedBatch() throws Exception {
+        // Arrange: el segundo segmento ya existe, asi que el cambio de segmento falla a mitad del lote
+        RawSampleArchive archive = newArchive(1);
+        archive.recover();
+        Path first = tempDir.resolve(RawSampleArchive.SEGMENT_PREFIX + "000001" + RawSampleArchive.SEGMENT_SUFFIX);
+        Path blocking = Files.createFile(
+                tempDir.resolve(RawSampleArchive.SEGMENT_PREFIX + "000002" + RawSampleArchive.SEGMENT_SUFFIX));
+        Map<String, byte[]> packed = new LinkedHashMap<>();
+        packed.put("hash-1", PackedDnaCodec.encode(MUTANT_DNA));
+        packed.put("hash-2", PackedDnaCodec.encode(HUMAN_DNA));
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> archive.appendAll(packed));
+        assertEquals(0, Files.size(first));
+        assertTrue(Files.exists(blocking));
+        verify(dnaRecordRepository, never()).updateArchiveLocation(anyString(), anyString(), anyInt(), anyLong());
+
+        // Act: el siguiente lote vuelve a empezar en el mismo lugar
+        Files.delete(blocking);
+        archive.appendAll(packed);
+
+        // Assert
+        verify(dnaRecordRepository, times(1)).updateArchiveLocation("hash-1", archive.getArchiveId(), 1, 0L);
+        verify(dnaRecordRepository, times(1)).updateArchiveLocation("hash-2", archive.getArchiveId(), 2, 0L);
+    }
+
+    private RawSampleArchive newArchive(long segmentBytes) {
+        RawSampleArchive archive = new RawSampleArchive(dnaRecordRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), ShardRouter.singleShard(),
+                true, tempDir.toString(), segmentBytes, 6, 100, 16);
+        archives.add(archive);
+        return archive;
+    }
+
+    private static char[][] toMatrix(String[] dna) {
+        char[][] matrix = new char[dna.length][];
+        for (int i = 0; i < dna.length; i++) {
+            matrix[i] = dna[i].toCharArray();
+        }
+        return matrix;
+    }
+}
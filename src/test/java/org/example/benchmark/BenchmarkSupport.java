@@ -0,0 +1,51 @@
+package org.example.benchmark;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Utilidades minimas para los benchmarks: medicion con warm-up y generacion de matrices.
+ */
+final class BenchmarkSupport {
+
+    private static final char[] BASES = { 'A', 'C', 'G', 'T' };
+
+    /**
+     * Evita que el JIT elimine el trabajo medido.
+     */
+    static volatile Object sink;
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Ejecuta la operacion durante el warm-up y luego mide el tiempo promedio en nanosegundos.
+     */
+    static double nanosPerOp(Supplier<?> operation, int warmupIterations, int measuredIterations) {
+        for (int i = 0; i < warmupIterations; i++) {
+            sink = operation.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < measuredIterations; i++) {
+            sink = operation.get();
+        }
+        return (double) (System.nanoTime() - start) / measuredIterations;
+    }
+
+    static void report(String name, double nanosPerOp) {
+        System.out.printf("%-55s %14.1f ns/op%n", name, nanosPerOp);
+    }
+
+    static String[] randomDna(int n, long seed) {
+        Random random = new Random(seed);
+        String[] dna = new String[n];
+        char[] row = new char[n];
+        for (int r = 0; r < n; r++) {
+            for (int c = 0; c < n; c++) {
+                row[c] = BASES[random.nextInt(BASES.length)];
+            }
+            dna[r] = new String(row);
+        }
+        return dna;
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.benchmark;
+
+import org.example.detector.BitboardStrategy;
+import org.example.detector.DetectorStrategy;
+import org.example.detector.RowScanStrategy;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+/**
+ * Recorrido generico contra el kernel bitboard para matrices chicas (4x4 a 8x8), sobre
+ * muestras aleatorias ya decodificadas a char[][].
+ */
+@Tag("benchmark")
+class DetectorStrategyBenchmark {
+
+    @Test
+    void smallMatrixStrategies() {
+        List<DetectorStrategy> strategies = List.of(new RowScanStrategy(), new BitboardStrategy());
+        for (int n = BitboardStrategy.MIN_SIZE; n <= BitboardStrategy.MAX_SIZE; n++) {
+            char[][][] samples = new char[64][][];
+            for (int i = 0; i < samples.length; i++) {
+                String[] dna = BenchmarkSupport.randomDna(n, i);
+                samples[i] = new char[n][];
+                for (int row = 0; row < n; row++) {
+                    samples[i][row] = dna[row].toCharArray();
+                }
+            }
+            for (DetectorStrategy strategy : strategies) {
+                int[] next = { 0 };
+                BenchmarkSupport.report(strategy.name() + " " + n + "x" + n,
+                        BenchmarkSupport.nanosPerOp(() -> strategy.isMutant(samples[next[0]++ & 63]), 2_000_000, 2_000_000));
+            }
+        }
+    }
+}
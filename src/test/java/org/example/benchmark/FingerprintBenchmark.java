@@ -0,0 +1,45 @@
+package org.example.benchmark;
+
+import org.example.fingerprint.DnaFingerprint;
+import org.example.fingerprint.Murmur3DnaFingerprint;
+import org.example.fingerprint.Sha256DnaFingerprint;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Costo por request del fingerprint de deduplicacion para 6x6 y 1000x1000.
+ * Incluye la implementacion original (Arrays.toString + getBytes + SHA-256) como referencia.
+ */
+@Tag("benchmark")
+class FingerprintBenchmark {
+
+    @Test
+    void fingerprintCostPerRequest() throws Exception {
+        List<DnaFingerprint> strategies = List.of(new Sha256DnaFingerprint(), new Murmur3DnaFingerprint());
+        for (int n : new int[] { 6, 1000 }) {
+            String[] dna = BenchmarkSupport.randomDna(n, n);
+            int iterations = n <= 6 ? 200_000 : 200;
+
+            BenchmarkSupport.report("legacy sha256 (toString + getBytes) " + n + "x" + n,
+                    BenchmarkSupport.nanosPerOp(() -> legacyHash(dna), iterations, iterations));
+            for (DnaFingerprint strategy : strategies) {
+                BenchmarkSupport.report(strategy.name() + " " + n + "x" + n,
+                        BenchmarkSupport.nanosPerOp(() -> strategy.fingerprint(dna), iterations, iterations));
+            }
+        }
+    }
+
+    private static String legacyHash(String[] dna) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(Arrays.toString(dna).getBytes()));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
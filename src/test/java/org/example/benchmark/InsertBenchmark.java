@@ -0,0 +1,71 @@
+package org.example.benchmark;
+
+import org.example.MutantDetectorApplication;
+import org.example.repository.DnaRecordRepository;
+import org.example.service.DnaRecordBatchWriter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Throughput de DnaRecordBatchWriter.writeAll (saveAll de DnaRecord y contadores en una
+ * transaccion por lote) con la entidad real, en dos contextos: la secuencia pooled de 50
+ * del mapeo y el mismo DnaRecord con IDENTITY por un orm.xml de test, con el que
+ * Hibernate no puede agrupar los inserts en batches JDBC.
+ */
+@Tag("benchmark")
+class InsertBenchmark {
+
+    private static final String IDENTITY_MAPPING = "benchmark/dna-record-identity-orm.xml";
+    private static final int ROWS = 50_000;
+    private static final int WARMUP_ROWS = 10_000;
+    private static final int ROWS_PER_BATCH = 1_000;
+
+    @Test
+    void insertThroughput() {
+        report("DnaRecord SEQUENCE pooled(50), JDBC batch of 50", measure("bench_sequence"));
+        report("DnaRecord IDENTITY (orm.xml), one insert per row",
+                measure("bench_identity", "--spring.jpa.mapping-resources=" + IDENTITY_MAPPING));
+    }
+
+    private static long measure(String database, String... extraArgs) {
+        String[] args = new String[extraArgs.length + 3];
+        args[0] = "--server.port=0";
+        args[1] = "--grpc.server.port=0";
+        args[2] = "--spring.datasource.url=jdbc:h2:mem:" + database;
+        System.arraycopy(extraArgs, 0, args, 3, extraArgs.length);
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(MutantDetectorApplication.class)
+                .run(args)) {
+            DnaRecordBatchWriter batchWriter = context.getBean(DnaRecordBatchWriter.class);
+            // Warm-up con fingerprints que no se repiten en la medicion
+            writeRows(batchWriter, ROWS, ROWS + WARMUP_ROWS);
+
+            long start = System.nanoTime();
+            writeRows(batchWriter, 0, ROWS);
+            long elapsed = System.nanoTime() - start;
+
+            assertEquals(ROWS + WARMUP_ROWS, context.getBean(DnaRecordRepository.class).count());
+            return elapsed;
+        }
+    }
+
+    private static void writeRows(DnaRecordBatchWriter batchWriter, int from, int to) {
+        for (int batchStart = from; batchStart < to; batchStart += ROWS_PER_BATCH) {
+            Map<String, Boolean> verdicts = new HashMap<>();
+            for (int row = batchStart; row < Math.min(to, batchStart + ROWS_PER_BATCH); row++) {
+                verdicts.put(String.format("%064x", (long) row * 0x9E3779B97F4A7C15L), (row & 1) == 0);
+            }
+            BenchmarkSupport.sink = batchWriter.writeAll(verdicts);
+        }
+    }
+
+    private static void report(String name, long elapsedNanos) {
+        System.out.printf("%-55s %10.0f rows/s%n", name, ROWS * 1e9 / elapsedNanos);
+    }
+}
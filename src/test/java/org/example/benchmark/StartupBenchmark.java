@@ -0,0 +1,54 @@
+package org.example.benchmark;
+
+import org.example.MutantDetectorApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tiempo hasta la primera respuesta de POST /mutant con el perfil prod, en una JVM
+ * recien iniciada (el task benchmark usa una JVM por clase). Para medir la imagen
+ * con AOT y CDS, ejecutar el contenedor y consultar /health apenas arranca.
+ */
+@Tag("benchmark")
+class StartupBenchmark {
+
+    private static final String MUTANT_BODY =
+            "{\"dna\": [\"ATGCGA\",\"CAGTGC\",\"TTATGT\",\"AGAAGG\",\"CCCCTA\",\"TCACTG\"]}";
+
+    @Test
+    void timeToFirstRequest() throws Exception {
+        long start = System.nanoTime();
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(MutantDetectorApplication.class)
+                .profiles("prod")
+                .run("--server.port=0", "--grpc.server.port=0");
+        try {
+            long contextReady = System.nanoTime();
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/mutant"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(MUTANT_BODY))
+                    .build();
+            HttpResponse<Void> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.discarding());
+            long firstResponse = System.nanoTime();
+
+            assertEquals(200, response.statusCode());
+            System.out.printf("%-55s %10d ms%n", "context start (prod profile)", (contextReady - start) / 1_000_000);
+            System.out.printf("%-55s %10d ms%n", "first POST /mutant after context start", (firstResponse - contextReady) / 1_000_000);
+            System.out.printf("%-55s %10d ms%n", "time to first request since JVM start",
+                    ManagementFactory.getRuntimeMXBean().getUptime());
+        } finally {
+            context.close();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.benchmark;
+
+import org.example.service.MutantDetector;
+import org.example.support.DnaSamples;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Recorrido por filas (char[][] desde toCharArray) contra el recorrido por bloques sobre
+ * un arreglo contiguo, con humanos de peor caso de N=256 a N=1000 y varios tamaños de bloque.
+ */
+@Tag("benchmark")
+class TiledScanBenchmark {
+
+    @Test
+    void worstCaseHumanRowScanVsTiledScan() {
+        MutantDetector rowScan = new MutantDetector(Integer.MAX_VALUE, 64);
+        for (int n : new int[] { 256, 384, 512, 768, 1000 }) {
+            String[] dna = DnaSamples.worstCaseHuman(n);
+            int iterations = Math.max(50, 20_000_000 / (n * n));
+
+            BenchmarkSupport.report("row scan " + n + "x" + n,
+                    BenchmarkSupport.nanosPerOp(() -> rowScan.isMutant(dna), iterations, iterations));
+            for (int tileSize : new int[] { 32, 64, 128 }) {
+                MutantDetector tiled = new MutantDetector(0, tileSize);
+                BenchmarkSupport.report("tiled scan (tile " + tileSize + ") " + n + "x" + n,
+                        BenchmarkSupport.nanosPerOp(() -> tiled.isMutant(dna), iterations, iterations));
+            }
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package org.example.bulk;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.example.archive.RawSampleArchive;
+import org.example.codec.PackedDnaCodec;
+import org.example.fingerprint.Sha256DnaFingerprint;
+import org.example.service.DnaRecordBatchWriter;
+import org.example.service.MutantDetector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for BulkClassifier over memory-mapped NDJSON files.
+ *
+ * Tests cover:
+ * - Verdicts written in input order when the file is split across many chunks
+ * - Invalid and malformed lines reported without stopping the run
+ * - Optional bulk load of the verdicts through DnaRecordBatchWriter
+ * - Raw samples archived for the records the bulk load inserted
+ * - Chunks in flight capped while an earlier chunk is still running
+ *
+ * Total tests: 5
+ */
+@ExtendWith(MockitoExtension.class)
+class BulkClassifierTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static Validator validator;
+
+    @Mock
+    private DnaRecordBatchWriter batchWriter;
+
+    @Mock
+    private RawSampleArchive rawSampleArchive;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    static void setUpValidator() {
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+    }
+
+    @Test
+    @DisplayName("Should write one verdict per line in input order across chunks")
+    void testVerdictsInInputOrder() throws Exception {
+        // Arrange
+        List<String[]> samples = randomSamples(300);
+        Path input = writeInput(samples);
+        Path output = tempDir.resolve("verdicts.ndjson");
+        MutantDetector detector = new MutantDetector();
+
+        // Act: rangos de 64 bytes para forzar muchos chunks
+        BulkClassifier.Report report = classifier(64).classify(input, output, false);
+
+        // Assert
+        List<String> lines = Files.readAllLines(output);
+        assertEquals(samples.size(), lines.size());
+        long mutants = 0;
+        for (int i = 0; i < samples.size(); i++) {
+            JsonNode verdict = OBJECT_MAPPER.readTree(lines.get(i));
+            boolean expected = detector.isMutant(samples.get(i));
+            assertEquals(new Sha256DnaFingerprint().fingerprint(samples.get(i)), verdict.get("fingerprint").asText());
+            assertEquals(expected, verdict.get("mutant").asBoolean(), "line " + i);
+            mutants += expected ? 1 : 0;
+        }
+        assertEquals(300, report.samples());
+        assertEquals(mutants, report.mutants());
+        assertEquals(Files.size(input), report.bytes());
+        verifyNoInteractions(batchWriter);
+    }
+
+    @Test
+    @DisplayName("Should report invalid and malformed lines and keep going")
+    void testInvalidLines() throws Exception {
+        // Arrange
+        Path input = tempDir.resolve("samples.ndjson");
+        Files.writeString(input, String.join("\n",
+                "{\"dna\":[\"ATGC\",\"CAGT\",\"TTAT\",\"AGAA\"]}",
+                "{\"dna\":[\"ATGX\",\"CAGT\"]}",
+                "",
+                "not json",
+                "{\"dna\":[\"AAAA\",\"CCCC\",\"TTAT\",\"AGAC\"]}\r"));
+        Path output = tempDir.resolve("verdicts.ndjson");
+
+        // Act
+        BulkClassifier.Report report = classifier(1 << 20).classify(input, output, false);
+
+        // Assert
+        List<String> lines = Files.readAllLines(output);
+        assertEquals(4, lines.size());
+        assertFalse(OBJECT_MAPPER.readTree(lines.get(0)).get("mutant").asBoolean());
+        assertTrue(OBJECT_MAPPER.readTree(lines.get(1)).has("error"));
+        assertEquals("Malformed JSON line", OBJECT_MAPPER.readTree(lines.get(2)).get("error").asText());
+        assertTrue(OBJECT_MAPPER.readTree(lines.get(3)).get("mutant").asBoolean());
+        assertEquals(4, report.samples());
+        assertEquals(2, report.invalid());
+    }
+
+    @Test
+    @DisplayName("Should bulk-load verdicts when requested")
+    void testBulkLoad() throws Exception {
+        // Arrange
+        List<String[]> samples = randomSamples(50);
+        Path input = writeInput(samples);
+        when(batchWriter.writeAll(anyMap())).thenAnswer(invocation -> ((Map<?, ?>) invocation.getArgument(0)).size());
+
+        // Act
+        BulkClassifier.Report report = classifier(256).classify(input, tempDir.resolve("out.ndjson"), true);
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Boolean>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(batchWriter, atLeastOnce()).writeAll(captor.capture());
+        Map<String, Boolean> loaded = new HashMap<>();
+        captor.getAllValues().forEach(loaded::putAll);
+        MutantDetector detector = new MutantDetector();
+        for (String[] sample : samples) {
+            assertEquals(detector.isMutant(sample), loaded.get(new Sha256DnaFingerprint().fingerprint(sample)));
+        }
+        assertEquals(report.loaded(), captor.getAllValues().stream().mapToInt(Map::size).sum());
+    }
+
+    @Test
+    @DisplayName("Should archive the raw samples of the records inserted by the bulk load")
+    void testBulkLoadArchivesInsertedSamples() throws Exception {
+        // Arrange: la primera muestra ya estaba en dna_records
+        List<String[]> samples = randomSamples(50);
+        Path input = writeInput(samples);
+        String existing = new Sha256DnaFingerprint().fingerprint(samples.get(0));
+        when(rawSampleArchive.isEnabled()).thenReturn(true);
+        when(batchWriter.insertAll(anyMap())).thenAnswer(invocation -> {
+            Set<String> inserted = new HashSet<>(((Map<String, ?>) invocation.getArgument(0)).keySet());
+            inserted.remove(existing);
+            return inserted;
+        });
+
+        // Act
+        BulkClassifier.Report report = classifier(256).classify(input, tempDir.resolve("out.ndjson"), true);
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, byte[]>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(rawSampleArchive, atLeastOnce()).appendAll(captor.capture());
+        Map<String, byte[]> archived = new HashMap<>();
+        captor.getAllValues().forEach(archived::putAll);
+        assertEquals(samples.size() - 1, archived.size());
+        assertFalse(archived.containsKey(existing));
+        for (String[] sample : samples.subList(1, samples.size())) {
+            assertArrayEquals(PackedDnaCodec.encode(sample),
+                    archived.get(new Sha256DnaFingerprint().fingerprint(sample)));
+        }
+        assertEquals(samples.size() - 1, report.loaded());
+        verify(batchWriter, never()).writeAll(anyMap());
+    }
+
+    @Test
+    @DisplayName("Should not start more chunks than the window while the oldest one is running")
+    void testChunksInFlightCapped() throws Exception {
+        // Arrange: el primer rango queda bloqueado en la carga
+        List<String[]> samples = randomSamples(200);
+        Path input = writeInput(samples);
+        String firstHash = new Sha256DnaFingerprint().fingerprint(samples.get(0));
+        CountDownLatch headBlocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        when(batchWriter.writeAll(anyMap())).thenAnswer(invocation -> {
+            Map<?, ?> verdicts = invocation.getArgument(0);
+            loads.incrementAndGet();
+            if (verdicts.containsKey(firstHash)) {
+                headBlocked.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return verdicts.size();
+        });
+        BulkClassifier classifier = new BulkClassifier(OBJECT_MAPPER, validator, new MutantDetector(),
+                new Sha256DnaFingerprint(), batchWriter, rawSampleArchive, 2, 64, 16);
+        ExecutorService runner = Executors.newSingleThreadExecutor();
+
+        try {
+            // Act
+            Future<BulkClassifier.Report> report = runner.submit(
+                    () -> classifier.classify(input, tempDir.resolve("out.ndjson"), true));
+            assertTrue(headBlocked.await(5, TimeUnit.SECONDS));
+            Thread.sleep(200);
+            int loadsWhileBlocked = loads.get();
+            release.countDown();
+
+            // Assert: 2 hilos x 2 rangos, contando el bloqueado
+            assertTrue(loadsWhileBlocked <= 2 * BulkClassifier.CHUNKS_IN_FLIGHT_PER_THREAD,
+                    "loads while blocked: " + loadsWhileBlocked);
+            assertEquals(200, report.get(5, TimeUnit.SECONDS).loaded());
+            assertEquals(200, Files.readAllLines(tempDir.resolve("out.ndjson")).size());
+        } finally {
+            release.countDown();
+            runner.shutdownNow();
+        }
+    }
+
+    private BulkClassifier classifier(long chunkBytes) {
+        return new BulkClassifier(OBJECT_MAPPER, validator, new MutantDetector(), new Sha256DnaFingerprint(),
+                batchWriter, rawSampleArchive, 4, chunkBytes, 16);
+    }
+
+    private Path writeInput(List<String[]> samples) throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (String[] sample : samples) {
+            content.append(OBJECT_MAPPER.writeValueAsString(Map.of("dna", sample))).append('\n');
+        }
+        Path input = tempDir.resolve("samples.ndjson");
+        Files.writeString(input, content);
+        return input;
+    }
+
+    private static List<String[]> randomSamples(int count) {
+        Random random = new Random(35);
+        List<String[]> samples = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int n = 4 + random.nextInt(5);
+            String[] dna = new String[n];
+            for (int row = 0; row < n; row++) {
+                StringBuilder builder = new StringBuilder(n);
+                for (int col = 0; col < n; col++) {
+                    builder.append("ATCG".charAt(random.nextInt(4)));
+                }
+                dna[row] = builder.toString();
+            }
+            samples.add(dna);
+        }
+        return samples;
+    }
+}
@@ -0,0 +1,207 @@
+package org.example.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for SocketSharedVerdictStore against a real EmbeddedVerdictServer.
+ *
+ * Tests cover:
+ * - Batch put and get round trip
+ * - Verdicts written by one client are visible to another (cross-node hit)
+ * - First writer wins (verdicts are never overwritten)
+ * - Unknown fingerprints are omitted
+ * - New verdicts counted as rejected once the server is full
+ * - Connections beyond the limit closed with an error
+ * - Idle connections closed by the server and reopened by the client
+ * - Client capped to its maximum of open connections
+ *
+ * Total tests: 8
+ */
+class SocketSharedVerdictStoreTest {
+
+    private EmbeddedVerdictServer server;
+    private SocketSharedVerdictStore nodeA;
+    private SocketSharedVerdictStore nodeB;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new EmbeddedVerdictServer(0, 1000);
+        server.start();
+        nodeA = new SocketSharedVerdictStore("localhost", server.getPort(), 1000, 2, 4);
+        nodeB = new SocketSharedVerdictStore("localhost", server.getPort(), 1000, 2, 4);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        nodeA.close();
+        nodeB.close();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Should round-trip a batch of verdicts")
+    void testBatchRoundTrip() throws IOException {
+        // Act
+        nodeA.putAll(Map.of("aaa", true, "bbb", false));
+        Map<String, Boolean> verdicts = nodeA.getAll(List.of("aaa", "bbb"));
+
+        // Assert
+        assertEquals(Map.of("aaa", true, "bbb", false), verdicts);
+    }
+
+    @Test
+    @DisplayName("Should share verdicts between nodes")
+    void testVerdictVisibleFromOtherNode() throws IOException {
+        // Arrange
+        TwoTierVerdictCache cacheA = new TwoTierVerdictCache(new NearCache(64), nodeA);
+        TwoTierVerdictCache cacheB = new TwoTierVerdictCache(new NearCache(64), nodeB);
+
+        // Act
+        cacheA.put("abc", true);
+
+        // Assert
+        assertEquals(Boolean.TRUE, cacheB.get("abc").orElse(null));
+    }
+
+    @Test
+    @DisplayName("Should keep the first verdict written for a fingerprint")
+    void testFirstWriterWins() throws IOException {
+        // Act
+        nodeA.putAll(Map.of("abc", true));
+        nodeB.putAll(Map.of("abc", false));
+
+        // Assert
+        assertEquals(Map.of("abc", true), nodeB.getAll(List.of("abc")));
+        assertEquals(1, server.size());
+    }
+
+    @Test
+    @DisplayName("Should omit unknown fingerprints")
+    void testUnknownFingerprintsOmitted() throws IOException {
+        // Arrange
+        nodeA.putAll(Map.of("known", false));
+
+        // Act
+        Map<String, Boolean> verdicts = nodeA.getAll(List.of("known", "unknown"));
+
+        // Assert
+        assertEquals(Map.of("known", false), verdicts);
+    }
+
+    @Test
+    @DisplayName("Should count new verdicts rejected once the server is full")
+    void testRejectedWhenFull() throws IOException {
+        // Arrange
+        try (EmbeddedVerdictServer fullServer = new EmbeddedVerdictServer(InetAddress.getLoopbackAddress(), 0, 1, 4, 30_000)) {
+            fullServer.start();
+            try (SocketSharedVerdictStore client = new SocketSharedVerdictStore("localhost", fullServer.getPort(), 1000, 1, 1)) {
+
+                // Act
+                client.putAll(Map.of("first", true));
+                client.putAll(Map.of("second", false, "third", true));
+
+                // Assert
+                assertEquals(1, fullServer.size());
+                assertEquals(2, fullServer.getRejectedVerdicts());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should close connections beyond the limit with an error")
+    void testConnectionLimit() throws IOException {
+        // Arrange
+        try (EmbeddedVerdictServer limitedServer = new EmbeddedVerdictServer(InetAddress.getLoopbackAddress(), 0, 100, 1, 30_000)) {
+            limitedServer.start();
+            try (Socket holder = new Socket(InetAddress.getLoopbackAddress(), limitedServer.getPort());
+                 Socket rejected = new Socket(InetAddress.getLoopbackAddress(), limitedServer.getPort())) {
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(rejected.getInputStream(), StandardCharsets.US_ASCII));
+
+                // Act
+                String response = in.readLine();
+
+                // Assert
+                assertTrue(holder.isConnected());
+                assertEquals(VerdictProtocol.ERROR + " too many connections", response);
+                assertEquals(1, limitedServer.getRejectedConnections());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should close idle connections and reconnect transparently")
+    void testIdleConnectionReopened() throws Exception {
+        // Arrange
+        try (EmbeddedVerdictServer idleServer = new EmbeddedVerdictServer(InetAddress.getLoopbackAddress(), 0, 100, 1, 100)) {
+            idleServer.start();
+            try (SocketSharedVerdictStore client = new SocketSharedVerdictStore("localhost", idleServer.getPort(), 1000, 1, 1)) {
+                client.putAll(Map.of("abc", true));
+
+                // Act: la conexion del pool supera el timeout de inactividad del servidor
+                Thread.sleep(300);
+                Map<String, Boolean> verdicts = client.getAll(List.of("abc"));
+
+                // Assert: el unico lugar del servidor se libero y el cliente reconecto
+                assertEquals(Map.of("abc", true), verdicts);
+                assertEquals(0, idleServer.getRejectedConnections());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should not open more connections than the client limit")
+    void testClientConnectionLimit() throws Exception {
+        // Arrange: un servidor que acepta y nunca responde
+        try (ServerSocket silentServer = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+             SocketSharedVerdictStore client = new SocketSharedVerdictStore("localhost", silentServer.getLocalPort(), 1000, 2, 2)) {
+            List<Socket> accepted = new CopyOnWriteArrayList<>();
+            Thread acceptor = new Thread(() -> {
+                try {
+                    while (true) {
+                        accepted.add(silentServer.accept());
+                    }
+                } catch (IOException e) {
+                    // Servidor cerrado al terminar el test
+                }
+            });
+            acceptor.setDaemon(true);
+            acceptor.start();
+            ExecutorService callers = Executors.newFixedThreadPool(4);
+
+            try {
+                // Act
+                for (int i = 0; i < 4; i++) {
+                    callers.submit(() -> client.getAll(List.of("abc")));
+                }
+                Thread.sleep(300);
+
+                // Assert: los pedidos restantes esperan un lugar en vez de abrir otra conexion
+                assertEquals(2, accepted.size());
+            } finally {
+                callers.shutdownNow();
+                for (Socket socket : accepted) {
+                    socket.close();
+                }
+            }
+        }
+    }
+}
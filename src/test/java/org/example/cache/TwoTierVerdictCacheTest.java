@@ -0,0 +1,117 @@
+package org.example.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for TwoTierVerdictCache with a mocked shared tier.
+ *
+ * Tests cover:
+ * - Near-cache hits skip the shared tier
+ * - Shared-tier hits populate the near-cache
+ * - Batch lookups only query the shared tier for near-cache misses
+ * - Shared-tier failures degrade to misses
+ * - Near-cache size bound
+ *
+ * Total tests: 5
+ */
+@ExtendWith(MockitoExtension.class)
+class TwoTierVerdictCacheTest {
+
+    @Mock
+    private SharedVerdictStore sharedStore;
+
+    private NearCache nearCache;
+    private TwoTierVerdictCache cache;
+
+    @BeforeEach
+    void setUp() {
+        nearCache = new NearCache(64);
+        cache = new TwoTierVerdictCache(nearCache, sharedStore);
+    }
+
+    @Test
+    @DisplayName("Should serve near-cache hits without querying the shared tier")
+    void testNearCacheHit() throws IOException {
+        // Arrange
+        cache.put("abc", true);
+
+        // Act
+        Optional<Boolean> verdict = cache.get("abc");
+
+        // Assert
+        assertEquals(Optional.of(true), verdict);
+        verify(sharedStore, never()).getAll(any());
+    }
+
+    @Test
+    @DisplayName("Should populate the near-cache from shared-tier hits")
+    void testSharedTierHitPopulatesNearCache() throws IOException {
+        // Arrange
+        when(sharedStore.getAll(List.of("abc"))).thenReturn(Map.of("abc", false));
+
+        // Act
+        Optional<Boolean> first = cache.get("abc");
+        Optional<Boolean> second = cache.get("abc");
+
+        // Assert
+        assertEquals(Optional.of(false), first);
+        assertEquals(Optional.of(false), second);
+        verify(sharedStore, times(1)).getAll(any());
+    }
+
+    @Test
+    @DisplayName("Should only query the shared tier for near-cache misses in batch lookups")
+    void testBatchLookupQueriesOnlyMisses() throws IOException {
+        // Arrange
+        cache.put("known", true);
+        when(sharedStore.getAll(List.of("remote", "missing"))).thenReturn(Map.of("remote", false));
+
+        // Act
+        Map<String, Boolean> verdicts = cache.getAll(List.of("known", "remote", "missing"));
+
+        // Assert
+        assertEquals(Map.of("known", true, "remote", false), verdicts);
+    }
+
+    @Test
+    @DisplayName("Should treat shared-tier failures as cache misses")
+    void testSharedTierFailureIsMiss() throws IOException {
+        // Arrange
+        when(sharedStore.getAll(any())).thenThrow(new IOException("connection refused"));
+        doThrow(new IOException("connection refused")).when(sharedStore).putAll(any());
+
+        // Act
+        Optional<Boolean> verdict = cache.get("abc");
+        cache.put("def", true);
+
+        // Assert
+        assertTrue(verdict.isEmpty());
+        assertEquals(Optional.of(true), cache.get("def"));
+    }
+
+    @Test
+    @DisplayName("Should keep the near-cache bounded")
+    void testNearCacheIsBounded() {
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            nearCache.put("key-" + i, i % 2 == 0);
+        }
+
+        // Assert
+        assertTrue(nearCache.size() <= 64);
+    }
+}
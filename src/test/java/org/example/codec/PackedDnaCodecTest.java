@@ -0,0 +1,92 @@
+package org.example.codec;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for PackedDnaCodec.
+ *
+ * Tests cover:
+ * - Encode/decode round trip for sizes that do and do not fill the last byte
+ * - Bit layout of the packed format
+ * - Rejection of invalid sizes, truncated bodies and trailing bytes
+ *
+ * Total tests: 5
+ */
+class PackedDnaCodecTest {
+
+    @Test
+    @DisplayName("Should round-trip random matrices of several sizes")
+    void testRoundTrip() throws IOException {
+        Random random = new Random(32);
+        for (int n : new int[] { 1, 3, 4, 6, 7, 33, 1000 }) {
+            // Arrange
+            String[] dna = new String[n];
+            for (int row = 0; row < n; row++) {
+                StringBuilder builder = new StringBuilder(n);
+                for (int col = 0; col < n; col++) {
+                    builder.append("ACGT".charAt(random.nextInt(4)));
+                }
+                dna[row] = builder.toString();
+            }
+
+            // Act
+            byte[] packed = PackedDnaCodec.encode(dna);
+            char[][] decoded = PackedDnaCodec.decode(new ByteArrayInputStream(packed));
+
+            // Assert
+            assertEquals(PackedDnaCodec.HEADER_BYTES + PackedDnaCodec.packedLength(n), packed.length);
+            assertArrayEquals(dna, Arrays.stream(decoded).map(String::new).toArray(String[]::new), "size " + n);
+        }
+    }
+
+    @Test
+    @DisplayName("Should pack bases MSB-first with A=00, C=01, G=10, T=11")
+    void testBitLayout() {
+        // Act: 2x2 = ACGT en un solo byte
+        byte[] packed = PackedDnaCodec.encode(new String[] { "AC", "gt" });
+
+        // Assert
+        assertArrayEquals(new byte[] { 0, 0, 0, 2, (byte) 0b00_01_10_11 }, packed);
+    }
+
+    @Test
+    @DisplayName("Should reject sizes outside 1..1000")
+    void testRejectInvalidSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> PackedDnaCodec.decode(new ByteArrayInputStream(new byte[] { 0, 0, 0, 0 })));
+        assertThrows(IllegalArgumentException.class,
+                () -> PackedDnaCodec.decode(new ByteArrayInputStream(new byte[] { 0, 0, 0x03, (byte) 0xE9 })));
+        assertThrows(IllegalArgumentException.class,
+                () -> PackedDnaCodec.decode(new ByteArrayInputStream(new byte[] { (byte) 0xFF, 0, 0, 1 })));
+    }
+
+    @Test
+    @DisplayName("Should reject truncated bodies")
+    void testRejectTruncatedBody() {
+        byte[] packed = PackedDnaCodec.encode(new String[] { "ACGTA", "ACGTA", "ACGTA", "ACGTA", "ACGTA" });
+        byte[] truncated = Arrays.copyOf(packed, packed.length - 1);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> PackedDnaCodec.decode(new ByteArrayInputStream(truncated)));
+        assertThrows(IllegalArgumentException.class,
+                () -> PackedDnaCodec.decode(new ByteArrayInputStream(new byte[] { 0, 0 })));
+    }
+
+    @Test
+    @DisplayName("Should reject bodies with trailing bytes")
+    void testRejectTrailingBytes() {
+        byte[] packed = PackedDnaCodec.encode(new String[] { "ACGT", "ACGT", "ACGT", "ACGT" });
+        byte[] padded = Arrays.copyOf(packed, packed.length + 1);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> PackedDnaCodec.decode(new ByteArrayInputStream(padded)));
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.AotDetector;
+import org.springframework.boot.SpringApplication;
+import org.springframework.core.SpringProperties;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for AotConditionGuard.
+ *
+ * Tests cover:
+ * - No differences when the runtime matches the values recorded by processAot
+ * - Changed, added and removed condition properties reported by name
+ * - Startup check skipped without AOT and failing when the snapshot is missing
+ *
+ * Total tests: 3
+ */
+class AotConditionGuardTest {
+
+    @AfterEach
+    void tearDown() {
+        SpringProperties.setProperty(AotDetector.AOT_ENABLED, null);
+    }
+
+    @Test
+    @DisplayName("Should accept a runtime environment equal to the build-time one")
+    void testUnchangedProperties() throws Exception {
+        // Arrange
+        MockEnvironment environment = prodEnvironment();
+        Properties buildTime = load(AotConditionGuard.snapshot(environment));
+
+        // Act
+        List<String> changed = AotConditionGuard.changedProperties(buildTime, environment);
+
+        // Assert
+        assertTrue(changed.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should report every condition property that differs from the build")
+    void testChangedProperties() throws Exception {
+        // Arrange
+        Properties buildTime = load(AotConditionGuard.snapshot(prodEnvironment()));
+        MockEnvironment runtime = new MockEnvironment()
+                .withProperty("grpc.server.enabled", "true")
+                .withProperty("springdoc.api-docs.enabled", "false")
+                .withProperty("sharding.enabled", "true")
+                .withProperty("bulk.input", "samples.ndjson");
+
+        // Act
+        List<String> changed = AotConditionGuard.changedProperties(buildTime, runtime);
+
+        // Assert
+        assertEquals(List.of(
+                "sharding.enabled (build: null, runtime: true)",
+                "bulk.input (build: null, runtime: samples.ndjson)",
+                "spring.h2.console.enabled (build: false, runtime: null)"), changed);
+    }
+
+    @Test
+    @DisplayName("Should check only when generated artifacts are in use")
+    void testCheckOnlyWithAot() {
+        // Arrange
+        AotConditionGuard guard = new AotConditionGuard();
+        MockEnvironment environment = prodEnvironment().withProperty("sharding.enabled", "true");
+        SpringApplication application = new SpringApplication(AotConditionGuardTest.class);
+
+        // Act & Assert: en los tests no hay snapshot generado
+        assertDoesNotThrow(() -> guard.postProcessEnvironment(environment, application));
+        SpringProperties.setProperty(AotDetector.AOT_ENABLED, "true");
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> guard.postProcessEnvironment(environment, application));
+        assertTrue(e.getMessage().contains(AotConditionGuard.SNAPSHOT_RESOURCE));
+    }
+
+    private static MockEnvironment prodEnvironment() {
+        return new MockEnvironment()
+                .withProperty("grpc.server.enabled", "true")
+                .withProperty("springdoc.api-docs.enabled", "false")
+                .withProperty("spring.h2.console.enabled", "false");
+    }
+
+    private static Properties load(String snapshot) throws Exception {
+        Properties properties = new Properties();
+        properties.load(new StringReader(snapshot));
+        return properties;
+    }
+}
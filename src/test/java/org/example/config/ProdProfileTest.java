@@ -0,0 +1,57 @@
+package org.example.config;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test suite for the startup-optimized prod profile.
+ *
+ * Tests cover:
+ * - Swagger/OpenAPI and H2 console are not initialized
+ * - The API keeps working with deferred repository bootstrap
+ *
+ * Total tests: 2
+ */
+@SpringBootTest(properties = "grpc.server.port=0")
+@AutoConfigureMockMvc
+@ActiveProfiles("prod")
+class ProdProfileTest {
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Prod profile should not create Swagger or H2 console beans")
+    void testOptionalSubsystemsExcluded() throws Exception {
+        assertEquals(0, applicationContext.getBeanNamesForType(OpenAPI.class).length);
+        assertFalse(applicationContext.containsBean("h2Console"));
+        mockMvc.perform(get("/api-docs"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Prod profile should still serve the API")
+    void testApiAvailable() throws Exception {
+        mockMvc.perform(post("/mutant")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"dna\": [\"ATGCGA\",\"CAGTGC\",\"TTATGT\",\"AGAAGG\",\"CCCCTA\",\"TCACTG\"]}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/stats"))
+                .andExpect(status().isOk());
+    }
+}
@@ -1,7 +1,10 @@
 package org.example.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.codec.PackedDnaCodec;
 import org.example.dto.DnaRequest;
+import org.example.dto.LookupRequest;
+import org.example.fingerprint.Sha256DnaFingerprint;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +13,13 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -19,8 +29,14 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * - POST /mutant with valid human DNA (403 Forbidden)
  * - POST /mutant with invalid DNA (400 Bad Request)
  * - GET /stats endpoint
+ * - POST /mutant with packed binary body (application/octet-stream)
+ * - POST /mutant with gzip-compressed JSON body, corrupt or truncated
+ * - GET /mutant/{fingerprint} and POST /mutant/lookup
+ * - POST /mutant/stream with text and packed bodies
+ * - POST /mutant/explain listing every sequence
+ * - GET /records/export as CSV and with an unknown format
  * 
- * Total tests: 8
+ * Total tests: 19
  */
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -167,4 +183,230 @@ class MutantControllerTest {
                                 .andExpect(jsonPath("$.count_mutant_dna").isNumber())
                                 .andExpect(jsonPath("$.count_human_dna").isNumber());
         }
+
+        @Test
+        @DisplayName("POST /mutant should accept the packed binary format")
+        void testPackedMutantEndpoint_ReturnOk() throws Exception {
+                String[] dna = {
+                                "ATGCGA",
+                                "CAGTGC",
+                                "TTATGT",
+                                "AGAAGG",
+                                "CCCCTA",
+                                "TCACTG"
+                };
+
+                mockMvc.perform(post("/mutant")
+                                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                                .content(PackedDnaCodec.encode(dna)))
+                                .andExpect(status().isOk());
+        }
+
+        @Test
+        @DisplayName("POST /mutant should return 400 Bad Request for a truncated packed body")
+        void testPackedTruncated_ReturnBadRequest() throws Exception {
+                byte[] packed = PackedDnaCodec.encode(new String[] { "ATGC", "CAGT", "TTAT", "AGAA" });
+
+                mockMvc.perform(post("/mutant")
+                                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                                .content(Arrays.copyOf(packed, packed.length - 1)))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("POST /mutant should accept gzip-compressed JSON")
+        void testGzipJson_ReturnForbidden() throws Exception {
+                String[] dna = {
+                                "ATGCGA",
+                                "CAGTGC",
+                                "TTATTT",
+                                "AGACGG",
+                                "GCGTCA",
+                                "TCACTG"
+                };
+                ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+                try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                        gzip.write(objectMapper.writeValueAsBytes(new DnaRequest(dna)));
+                }
+
+                mockMvc.perform(post("/mutant")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .header("Content-Encoding", "gzip")
+                                .content(compressed.toByteArray()))
+                                .andExpect(status().isForbidden());
+        }
+
+        @Test
+        @DisplayName("POST /mutant should return 400 Bad Request for a corrupt gzip body")
+        void testCorruptGzip_ReturnBadRequest() throws Exception {
+                mockMvc.perform(post("/mutant")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .header("Content-Encoding", "gzip")
+                                .content("{\"dna\": [\"ATGC\"]}"))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("POST /mutant should return 400 Bad Request for a truncated gzip body")
+        void testTruncatedGzip_ReturnBadRequest() throws Exception {
+                String[] dna = { "ATGC", "CAGT", "TTAT", "AGAA" };
+                ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+                try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                        gzip.write(objectMapper.writeValueAsBytes(new DnaRequest(dna)));
+                }
+                byte[] body = compressed.toByteArray();
+
+                mockMvc.perform(post("/mutant")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .header("Content-Encoding", "gzip")
+                                .content(Arrays.copyOf(body, body.length / 2)))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("POST /mutant/stream should stop at the second sequence of a text body")
+        void testStreamText_ReturnOk() throws Exception {
+                String body = "CCCCAG\nAAAAGT\nTTATGT\nAGAAGG\nCCGCTA\nTCACTG\n";
+
+                mockMvc.perform(post("/mutant/stream")
+                                .contentType(MediaType.TEXT_PLAIN)
+                                .content(body))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.mutant").value(true))
+                                .andExpect(jsonPath("$.size").value(6))
+                                .andExpect(jsonPath("$.rowsScanned").value(2));
+        }
+
+        @Test
+        @DisplayName("POST /mutant/stream should return 403 Forbidden for a packed human body")
+        void testStreamPacked_ReturnForbidden() throws Exception {
+                String[] dna = {
+                                "ATGCGA",
+                                "CAGTGC",
+                                "TTATTT",
+                                "AGACGG",
+                                "GCGTCA",
+                                "TCACTG"
+                };
+
+                mockMvc.perform(post("/mutant/stream")
+                                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                                .content(PackedDnaCodec.encode(dna)))
+                                .andExpect(status().isForbidden())
+                                .andExpect(jsonPath("$.mutant").value(false))
+                                .andExpect(jsonPath("$.rowsScanned").value(6));
+        }
+
+        @Test
+        @DisplayName("GET /mutant/{fingerprint} should return 404 before upload and the verdict after")
+        void testLookupByFingerprint() throws Exception {
+                String[] dna = {
+                                "GGGGCA",
+                                "CAGTGC",
+                                "TTATGT",
+                                "AGAAGG",
+                                "CCCCTA",
+                                "TCACTG"
+                };
+                String fingerprint = new Sha256DnaFingerprint().fingerprint(dna);
+
+                mockMvc.perform(get("/mutant/" + fingerprint))
+                                .andExpect(status().isNotFound());
+
+                mockMvc.perform(post("/mutant")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new DnaRequest(dna))))
+                                .andExpect(status().isOk());
+
+                mockMvc.perform(get("/mutant/" + fingerprint))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.fingerprint").value(fingerprint))
+                                .andExpect(jsonPath("$.mutant").value(true));
+        }
+
+        @Test
+        @DisplayName("POST /mutant/lookup should split known and unknown fingerprints")
+        void testBulkLookup() throws Exception {
+                String[] dna = {
+                                "ATGCGA",
+                                "CAGTGC",
+                                "TTATTT",
+                                "AGACGG",
+                                "GCGTCA",
+                                "TCACTG"
+                };
+                mockMvc.perform(post("/mutant")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new DnaRequest(dna))))
+                                .andExpect(status().isForbidden());
+                String known = new Sha256DnaFingerprint().fingerprint(dna);
+                String unknown = "f".repeat(64);
+
+                mockMvc.perform(post("/mutant/lookup")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new LookupRequest(List.of(known, unknown)))))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.algorithm").value("sha256"))
+                                .andExpect(jsonPath("$.found['" + known + "']").value(false))
+                                .andExpect(jsonPath("$.unknown[0]").value(unknown));
+
+                mockMvc.perform(post("/mutant/lookup")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new LookupRequest(List.of("not-hex")))))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("POST /mutant/explain should list every sequence with its start cell")
+        void testExplainEndpoint() throws Exception {
+                String[] dna = {
+                                "ATGCGA",
+                                "CAGTGC",
+                                "TTATGT",
+                                "AGAAGG",
+                                "CCCCTA",
+                                "TCACTG"
+                };
+
+                mockMvc.perform(post("/mutant/explain")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new DnaRequest(dna))))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.mutant").value(true))
+                                .andExpect(jsonPath("$.truncated").value(false))
+                                .andExpect(jsonPath("$.cellsScanned").value(36))
+                                .andExpect(jsonPath("$.sequences.length()").value(3))
+                                .andExpect(jsonPath("$.sequences[0].direction").value("DIAGONAL_DESCENDING"))
+                                .andExpect(jsonPath("$.sequences[2].direction").value("HORIZONTAL"))
+                                .andExpect(jsonPath("$.sequences[2].row").value(4))
+                                .andExpect(jsonPath("$.sequences[2].col").value(0))
+                                .andExpect(jsonPath("$.sequences[2].base").value("C"));
+        }
+
+        @Test
+        @DisplayName("GET /records/export should stream stored records as CSV and reject unknown formats")
+        void testExportEndpoint() throws Exception {
+                String[] dna = {
+                                "GGGGCA",
+                                "CAGTGC",
+                                "TTATGT",
+                                "AGAAGG",
+                                "CCCCTA",
+                                "TCACTG"
+                };
+                mockMvc.perform(post("/mutant")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new DnaRequest(dna))))
+                                .andExpect(status().isOk());
+
+                mockMvc.perform(get("/records/export").param("format", "csv"))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                                .andExpect(content().string(startsWith(
+                                                "shard,id,dna_hash,is_mutant,created_at,archive_id,archive_segment,archive_offset\n")))
+                                .andExpect(content().string(containsString(",true,")));
+
+                mockMvc.perform(get("/records/export").param("format", "xml"))
+                                .andExpect(status().isBadRequest());
+        }
 }
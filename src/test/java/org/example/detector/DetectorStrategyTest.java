@@ -0,0 +1,106 @@
+package org.example.detector;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.example.support.DnaSamples.worstCaseHumanMatrix;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the DetectorStrategy implementations and the per-size selection table.
+ *
+ * Tests cover:
+ * - Randomized equivalence of the bitboard kernel with the row scan for N=4..8
+ * - Sequences touching every border of the matrix
+ * - Calibrated table only picks strategies that support each size
+ * - Configured overrides and rejection of unknown or unsupported strategies
+ *
+ * Total tests: 4
+ */
+class DetectorStrategyTest {
+
+    private final RowScanStrategy rowScan = new RowScanStrategy();
+    private final BitboardStrategy bitboard = new BitboardStrategy();
+
+    @Test
+    @DisplayName("Bitboard kernel should give the same verdict as the row scan")
+    void testBitboardMatchesRowScan() {
+        // Arrange: alfabetos de 2 a 4 bases para cubrir humanos, mutantes y muchas secuencias
+        Random random = new Random(42);
+        int mutants = 0;
+
+        for (int n = BitboardStrategy.MIN_SIZE; n <= BitboardStrategy.MAX_SIZE; n++) {
+            for (int i = 0; i < 50_000; i++) {
+                int alphabet = 2 + random.nextInt(3);
+                char[][] matrix = new char[n][n];
+                for (int row = 0; row < n; row++) {
+                    for (int col = 0; col < n; col++) {
+                        matrix[row][col] = "ACGT".charAt(random.nextInt(alphabet));
+                    }
+                }
+
+                // Act
+                boolean expected = rowScan.isMutant(matrix);
+
+                // Assert
+                assertEquals(expected, bitboard.isMutant(matrix), "N=" + n + " sample " + i);
+                mutants += expected ? 1 : 0;
+            }
+        }
+        assertTrue(mutants > 0 && mutants < 250_000);
+    }
+
+    @Test
+    @DisplayName("Bitboard kernel should count sequences on every border")
+    void testBitboardBorders() {
+        for (int n = BitboardStrategy.MIN_SIZE; n <= BitboardStrategy.MAX_SIZE; n++) {
+            // Arrange: una secuencia en la ultima columna y otra en la diagonal ascendente de la esquina
+            char[][] oneSequence = worstCaseHumanMatrix(n);
+            char[][] twoSequences = worstCaseHumanMatrix(n);
+            for (int k = 0; k < 4; k++) {
+                oneSequence[n - 4 + k][n - 1] = 'T';
+                twoSequences[n - 4 + k][n - 1] = 'T';
+                twoSequences[n - 1 - k][k] = 'T';
+            }
+
+            // Act & Assert
+            assertFalse(bitboard.isMutant(worstCaseHumanMatrix(n)), "N=" + n);
+            assertEquals(rowScan.isMutant(oneSequence), bitboard.isMutant(oneSequence), "N=" + n);
+            assertEquals(rowScan.isMutant(twoSequences), bitboard.isMutant(twoSequences), "N=" + n);
+            assertTrue(bitboard.isMutant(twoSequences), "N=" + n);
+        }
+    }
+
+    @Test
+    @DisplayName("Calibrated table should only use strategies that support each size")
+    void testCalibratedTable() {
+        // Act
+        DetectorStrategyTable table = DetectorStrategyTable.build(List.of(bitboard), Map.of(), true);
+
+        // Assert
+        for (int n = 4; n <= 20; n++) {
+            assertTrue(table.forSize(n).supports(n), "N=" + n);
+        }
+        assertEquals(RowScanStrategy.NAME, table.forSize(1000).name());
+    }
+
+    @Test
+    @DisplayName("Configured strategies should override calibration and be validated")
+    void testOverrides() {
+        // Act
+        DetectorStrategyTable table = DetectorStrategyTable.build(List.of(bitboard),
+                Map.of(6, RowScanStrategy.NAME, 7, BitboardStrategy.NAME), true);
+
+        // Assert
+        assertEquals(RowScanStrategy.NAME, table.forSize(6).name());
+        assertEquals(BitboardStrategy.NAME, table.forSize(7).name());
+        assertThrows(IllegalStateException.class,
+                () -> DetectorStrategyTable.build(List.of(bitboard), Map.of(12, BitboardStrategy.NAME), false));
+        assertThrows(IllegalStateException.class,
+                () -> DetectorStrategyTable.build(List.of(bitboard), Map.of(6, "simd"), false));
+    }
+}
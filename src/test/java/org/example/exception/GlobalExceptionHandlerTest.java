@@ -5,6 +5,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -23,6 +24,9 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class GlobalExceptionHandlerTest {
 
+    @Spy
+    private RejectionCounters rejectionCounters = new RejectionCounters();
+
     @InjectMocks
     private GlobalExceptionHandler globalExceptionHandler;
 
@@ -121,4 +125,26 @@ class GlobalExceptionHandlerTest {
         // Timestamp should be recent (within last second)
         assertTrue(response.getBody().getTimestamp().toString().length() > 0);
     }
+
+    @Test
+    @DisplayName("Should count rejections by reason")
+    void testRejectionsCountedByReason() {
+        // Arrange
+        MethodArgumentNotValidException ex = mock(MethodArgumentNotValidException.class);
+        BindingResult bindingResult = mock(BindingResult.class);
+        when(ex.getBindingResult()).thenReturn(bindingResult);
+        when(bindingResult.getFieldErrors()).thenReturn(Arrays.asList(
+                new FieldError("dnaRequest", "dna", "Secuencia de ADN inválida")));
+
+        // Act
+        ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleValidationExceptions(ex);
+        globalExceptionHandler.handleIllegalArgumentException(new IllegalArgumentException("bad"));
+        globalExceptionHandler.handleIllegalArgumentException(new IllegalArgumentException("bad"));
+
+        // Assert
+        assertEquals("dna: Secuencia de ADN inválida", response.getBody().getMessage());
+        assertEquals(1, rejectionCounters.get(RejectionReason.INVALID_DNA));
+        assertEquals(2, rejectionCounters.get(RejectionReason.INVALID_ARGUMENT));
+        assertEquals(0, rejectionCounters.get(RejectionReason.MALFORMED_BODY));
+    }
 }
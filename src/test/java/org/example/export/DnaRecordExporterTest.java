@@ -0,0 +1,131 @@
+package org.example.export;
+
+import org.example.shard.ShardDataSources;
+import org.example.shard.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.io.StringWriter;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for DnaRecordExporter on an in-memory H2 shard.
+ *
+ * Tests cover:
+ * - NDJSON export of every record in id order
+ * - CSV export resumed from an id cursor with a limit
+ * - Creation time filter
+ * - Rejection of an out of range shard and an unknown format
+ *
+ * Total tests: 4
+ */
+class DnaRecordExporterTest {
+
+    private static final LocalDateTime OLD = LocalDateTime.of(2020, 1, 1, 10, 0);
+    private static final LocalDateTime RECENT = LocalDateTime.of(2024, 6, 1, 12, 30, 15);
+
+    private DnaRecordExporter exporter;
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:export-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        new ShardDataSources(List.of(dataSource)).initializeSchema();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        // 2 registros viejos y 3 recientes, el primero reciente con ubicacion en el archivo
+        insert(jdbcTemplate, "a1", true, OLD);
+        insert(jdbcTemplate, "b2", false, OLD);
+        insert(jdbcTemplate, "c3", true, RECENT);
+        insert(jdbcTemplate, "d4", false, RECENT);
+        insert(jdbcTemplate, "e5", false, RECENT);
+        jdbcTemplate.update("UPDATE dna_records SET archive_id = 'node-a', archive_segment = 1, archive_offset = 42 "
+                + "WHERE dna_hash = 'c3'");
+        ids = jdbcTemplate.queryForList("SELECT id FROM dna_records ORDER BY id", Long.class);
+
+        exporter = new DnaRecordExporter(dataSource, new DataSourceTransactionManager(dataSource),
+                ShardRouter.singleShard(), 2);
+    }
+
+    @Test
+    @DisplayName("Should stream every record as NDJSON in id order")
+    void testExportNdjson() throws Exception {
+        // Arrange
+        StringWriter out = new StringWriter();
+
+        // Act
+        long exported = exporter.export(new ExportCursor(0, 0, null), 0, DnaRecordExporter.Format.NDJSON, out);
+
+        // Assert
+        String[] lines = out.toString().split("\n");
+        assertEquals(5, exported);
+        assertEquals(5, lines.length);
+        assertEquals("{\"shard\":0,\"id\":" + ids.get(0) + ",\"dnaHash\":\"a1\",\"mutant\":true,"
+                + "\"createdAt\":\"2020-01-01T10:00\",\"archiveId\":null,\"archiveSegment\":null,\"archiveOffset\":null}",
+                lines[0]);
+        assertEquals("{\"shard\":0,\"id\":" + ids.get(2) + ",\"dnaHash\":\"c3\",\"mutant\":true,"
+                + "\"createdAt\":\"2024-06-01T12:30:15\",\"archiveId\":\"node-a\",\"archiveSegment\":1,"
+                + "\"archiveOffset\":42}", lines[2]);
+        assertTrue(lines[4].contains("\"dnaHash\":\"e5\""));
+    }
+
+    @Test
+    @DisplayName("Should resume a CSV export after the last id received, up to the limit")
+    void testExportCsvResumed() throws Exception {
+        // Arrange
+        StringWriter out = new StringWriter();
+
+        // Act
+        long exported = exporter.export(new ExportCursor(0, ids.get(1), null), 2, DnaRecordExporter.Format.CSV, out);
+
+        // Assert
+        assertEquals(2, exported);
+        assertEquals(DnaRecordExporter.CSV_HEADER
+                + "0," + ids.get(2) + ",c3,true,2024-06-01T12:30:15,node-a,1,42\n"
+                + "0," + ids.get(3) + ",d4,false,2024-06-01T12:30:15,,,\n", out.toString());
+    }
+
+    @Test
+    @DisplayName("Should export only records created since the given time")
+    void testExportSince() throws Exception {
+        // Arrange
+        StringWriter out = new StringWriter();
+
+        // Act
+        long exported = exporter.export(new ExportCursor(0, 0, RECENT.minusDays(1)), 0,
+                DnaRecordExporter.Format.CSV, out);
+
+        // Assert
+        assertEquals(3, exported);
+        assertFalse(out.toString().contains(",a1,"));
+        assertTrue(out.toString().contains(",e5,"));
+    }
+
+    @Test
+    @DisplayName("Should reject an out of range shard and an unknown format before writing")
+    void testInvalidRequest() {
+        // Arrange
+        StringWriter out = new StringWriter();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () ->
+                exporter.export(new ExportCursor(1, 0, null), 0, DnaRecordExporter.Format.NDJSON, out));
+        assertThrows(IllegalArgumentException.class, () -> DnaRecordExporter.Format.parse("xml"));
+        assertEquals("", out.toString());
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, String dnaHash, boolean isMutant, LocalDateTime createdAt) {
+        jdbcTemplate.update("INSERT INTO dna_records (dna_hash, is_mutant, created_at) VALUES (?, ?, ?)",
+                dnaHash, isMutant, Timestamp.valueOf(createdAt));
+    }
+}
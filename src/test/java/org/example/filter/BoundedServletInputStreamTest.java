@@ -0,0 +1,178 @@
+package org.example.filter;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.example.exception.InvalidRequestBodyException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for BoundedServletInputStream.
+ *
+ * Tests cover:
+ * - Read listener forwarded to the container stream, with the limit reported to onError
+ * - Read listener served with blocking reads over an inflating stream
+ * - Truncated gzip body reported as an invalid request body
+ *
+ * Total tests: 3
+ */
+class BoundedServletInputStreamTest {
+
+    @Test
+    @DisplayName("Should forward the read listener to the container stream and report the limit to onError")
+    void testForwardReadListener() {
+        // Arrange
+        ContainerStream container = new ContainerStream(new byte[16]);
+        BoundedServletInputStream stream = new BoundedServletInputStream(container, 8, "Request body");
+        RecordingListener listener = new RecordingListener(stream);
+
+        // Act
+        stream.setReadListener(listener);
+        container.dispatch();
+
+        // Assert
+        assertNotNull(container.listener);
+        assertEquals(List.of("onError"), listener.events);
+        assertInstanceOf(InvalidRequestBodyException.class, listener.error);
+    }
+
+    @Test
+    @DisplayName("Should serve the read listener with blocking reads over an inflating stream")
+    void testReadListenerOverInflatingStream() throws Exception {
+        // Arrange
+        byte[] body = "{\"dna\":[\"ATGC\"]}".getBytes();
+        InputStream inflating = new GZIPInputStream(new ByteArrayInputStream(gzip(body)));
+        BoundedServletInputStream stream = new BoundedServletInputStream(inflating, 1024, "Decompressed request body");
+        RecordingListener listener = new RecordingListener(stream);
+
+        // Act
+        stream.setReadListener(listener);
+
+        // Assert
+        assertEquals(List.of("onDataAvailable", "onAllDataRead"), listener.events);
+        assertArrayEquals(body, listener.read.toByteArray());
+        assertTrue(stream.isFinished());
+    }
+
+    @Test
+    @DisplayName("Should report a truncated gzip body as an invalid request body")
+    void testTruncatedGzip() throws Exception {
+        // Arrange
+        byte[] compressed = gzip(new byte[4096]);
+        InputStream inflating = new GZIPInputStream(
+                new ByteArrayInputStream(Arrays.copyOf(compressed, compressed.length / 2)));
+        BoundedServletInputStream stream = new BoundedServletInputStream(inflating, 1 << 20, "Decompressed request body");
+
+        // Act & Assert
+        assertThrows(InvalidRequestBodyException.class, stream::readAllBytes);
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * Stream del contenedor con todo el cuerpo disponible; dispatch() hace lo que haria el
+     * contenedor al llegar los datos.
+     */
+    private static final class ContainerStream extends ServletInputStream {
+
+        private final ByteArrayInputStream body;
+        private ReadListener listener;
+
+        private ContainerStream(byte[] body) {
+            this.body = new ByteArrayInputStream(body);
+        }
+
+        private void dispatch() {
+            try {
+                listener.onDataAvailable();
+                if (isFinished()) {
+                    listener.onAllDataRead();
+                }
+            } catch (Throwable e) {
+                listener.onError(e);
+            }
+        }
+
+        @Override
+        public int read() {
+            return body.read();
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            return body.read(buffer, offset, length);
+        }
+
+        @Override
+        public boolean isFinished() {
+            return body.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+            return body.available() > 0;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            this.listener = readListener;
+        }
+    }
+
+    /**
+     * Lee mientras el stream este listo, como una aplicacion con lectura asincrona.
+     */
+    private static final class RecordingListener implements ReadListener {
+
+        private final ServletInputStream stream;
+        private final ByteArrayOutputStream read = new ByteArrayOutputStream();
+        private final List<String> events = new ArrayList<>();
+        private Throwable error;
+
+        private RecordingListener(ServletInputStream stream) {
+            this.stream = stream;
+        }
+
+        @Override
+        public void onDataAvailable() throws IOException {
+            byte[] buffer = new byte[1024];
+            while (stream.isReady() && !stream.isFinished()) {
+                int count = stream.read(buffer);
+                if (count == -1) {
+                    break;
+                }
+                read.write(buffer, 0, count);
+            }
+            events.add("onDataAvailable");
+        }
+
+        @Override
+        public void onAllDataRead() {
+            events.add("onAllDataRead");
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            events.add("onError");
+            error = throwable;
+        }
+    }
+}
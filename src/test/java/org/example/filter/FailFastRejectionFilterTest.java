@@ -0,0 +1,129 @@
+package org.example.filter;
+
+import org.example.exception.InvalidRequestBodyException;
+import org.example.exception.RejectionCounters;
+import org.example.exception.RejectionReason;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for FailFastRejectionFilter.
+ *
+ * Tests cover:
+ * - Oversized Content-Length rejected with a pre-serialized 413 without reading the body
+ * - Empty body rejected with 400
+ * - Requests within the limit and other endpoints passed through
+ * - Bodies without Content-Length limited while they are read
+ *
+ * Total tests: 4
+ */
+class FailFastRejectionFilterTest {
+
+    private RejectionCounters rejectionCounters;
+    private FailFastRejectionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        rejectionCounters = new RejectionCounters();
+        filter = new FailFastRejectionFilter(rejectionCounters);
+    }
+
+    @Test
+    @DisplayName("Should reject an oversized packed body by Content-Length with a 413 error body")
+    void testRejectOversizedBody() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/mutant");
+        request.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        request.setContent(new byte[(int) FailFastRejectionFilter.MAX_PACKED_BODY_BYTES + 1]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertEquals(413, response.getStatus());
+        assertNull(chain.getRequest());
+        assertEquals("close", response.getHeader("Connection"));
+        String body = response.getContentAsString();
+        assertTrue(body.startsWith("{\"status\":413,\"message\":\"Request body exceeds 250004 bytes"));
+        String timestamp = body.substring(body.indexOf("\"timestamp\":\"") + 13, body.length() - 2);
+        assertNotNull(LocalDateTime.parse(timestamp));
+        assertEquals(1, rejectionCounters.get(RejectionReason.BODY_TOO_LARGE));
+    }
+
+    @Test
+    @DisplayName("Should reject an empty body with 400")
+    void testRejectEmptyBody() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/mutant/async");
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(new byte[0]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertEquals(400, response.getStatus());
+        assertNull(chain.getRequest());
+        assertEquals(1, rejectionCounters.get(RejectionReason.EMPTY_BODY));
+    }
+
+    @Test
+    @DisplayName("Should pass through bodies within the limit and other endpoints")
+    void testPassThrough() throws Exception {
+        // Arrange
+        MockHttpServletRequest valid = new MockHttpServletRequest("POST", "/mutant");
+        valid.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        valid.setContent("{\"dna\":[\"ATGC\",\"CAGT\",\"TTAT\",\"AGAC\"]}".getBytes());
+        MockHttpServletRequest stream = new MockHttpServletRequest("POST", "/mutant/stream");
+        stream.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        stream.setContent(new byte[(int) FailFastRejectionFilter.MAX_PACKED_BODY_BYTES + 1]);
+        MockFilterChain validChain = new MockFilterChain();
+        MockFilterChain streamChain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(valid, new MockHttpServletResponse(), validChain);
+        filter.doFilter(stream, new MockHttpServletResponse(), streamChain);
+
+        // Assert
+        assertSame(valid, validChain.getRequest());
+        assertSame(stream, streamChain.getRequest());
+        assertEquals(0, rejectionCounters.get(RejectionReason.BODY_TOO_LARGE));
+    }
+
+    @Test
+    @DisplayName("Should limit a body without Content-Length while it is read")
+    void testLimitChunkedBody() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/mutant") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        request.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        request.setContent(new byte[(int) FailFastRejectionFilter.MAX_PACKED_BODY_BYTES + 1]);
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert
+        InputStream body = chain.getRequest().getInputStream();
+        InvalidRequestBodyException ex = assertThrows(InvalidRequestBodyException.class, body::readAllBytes);
+        assertTrue(ex.getMessage().contains("exceeds 250004 bytes"));
+    }
+}
@@ -0,0 +1,167 @@
+package org.example.fingerprint;
+
+import org.example.service.MutantDetector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the symmetry-canonical fingerprint.
+ *
+ * Tests cover:
+ * - Symmetry views match explicitly rotated/reflected copies
+ * - All 8 orientations of a sample share the canonical fingerprint
+ * - The canonical orientation is the lexicographically smallest one
+ * - Verdicts are invariant under the 8 symmetries
+ * - Non-square input falls back to the plain fingerprint
+ *
+ * Total tests: 5
+ */
+class CanonicalDnaFingerprintTest {
+
+    private static final String[] DNA = { "ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG" };
+
+    @Test
+    @DisplayName("Symmetry views should match explicitly transformed copies")
+    void testViewsMatchExplicitCopies() {
+        // Arrange
+        String[] rotated = rotate(DNA);
+        String[] transposed = transpose(DNA);
+
+        // Act & Assert
+        assertArrayEquals(rotated, toStrings(DnaSymmetry.ROTATE_90.view(DNA)));
+        assertArrayEquals(rotate(rotated), toStrings(DnaSymmetry.ROTATE_180.view(DNA)));
+        assertArrayEquals(rotate(rotate(rotated)), toStrings(DnaSymmetry.ROTATE_270.view(DNA)));
+        assertArrayEquals(transposed, toStrings(DnaSymmetry.TRANSPOSE.view(DNA)));
+        assertArrayEquals(rotate(rotate(transposed)), toStrings(DnaSymmetry.ANTI_TRANSPOSE.view(DNA)));
+        assertArrayEquals(rotate(transposed), toStrings(DnaSymmetry.MIRROR_COLUMNS.view(DNA)));
+        assertArrayEquals(rotate(rotate(rotate(transposed))), toStrings(DnaSymmetry.MIRROR_ROWS.view(DNA)));
+    }
+
+    @Test
+    @DisplayName("All orientations of a sample should share the canonical fingerprint")
+    void testOrientationsShareFingerprint() {
+        Random random = new Random(31);
+        for (DnaFingerprint delegate : List.of(new Sha256DnaFingerprint(), new Murmur3DnaFingerprint())) {
+            CanonicalDnaFingerprint canonical = new CanonicalDnaFingerprint(delegate);
+            for (int sample = 0; sample < 50; sample++) {
+                String[] dna = randomDna(random, 4 + random.nextInt(8));
+                Set<String> fingerprints = new HashSet<>();
+                for (String[] orientation : orientations(dna)) {
+                    fingerprints.add(canonical.fingerprint(orientation));
+                }
+                assertEquals(1, fingerprints.size(), "orientations of sample " + sample);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Canonical orientation should be the lexicographically smallest one")
+    void testCanonicalIsSmallestOrientation() {
+        Random random = new Random(7);
+        for (int sample = 0; sample < 50; sample++) {
+            // Alfabeto reducido para forzar empates largos entre orientaciones
+            String[] dna = randomDna(random, 2 + random.nextInt(6), "AT");
+            String smallest = orientations(dna).stream().map(rows -> String.join("", rows)).min(String::compareTo).orElseThrow();
+
+            String canonical = String.join("", toStrings(DnaSymmetry.canonical(dna).view(dna)));
+
+            assertEquals(smallest, canonical);
+        }
+    }
+
+    @Test
+    @DisplayName("Verdicts should be invariant under the 8 symmetries")
+    void testVerdictInvariantUnderSymmetries() {
+        MutantDetector detector = new MutantDetector();
+        Random random = new Random(42);
+        for (int sample = 0; sample < 200; sample++) {
+            String[] dna = randomDna(random, 4 + random.nextInt(5));
+            boolean expected = detector.isMutant(dna);
+            for (String[] orientation : orientations(dna)) {
+                assertEquals(expected, detector.isMutant(orientation));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Non-square input should use the plain fingerprint")
+    void testNonSquareFallsBackToDelegate() {
+        // Arrange
+        Sha256DnaFingerprint delegate = new Sha256DnaFingerprint();
+        String[] dna = { "ATGC", "CAGT", "TTAT" };
+
+        // Act & Assert
+        assertEquals(delegate.fingerprint(dna), new CanonicalDnaFingerprint(delegate).fingerprint(dna));
+        assertEquals("sha256-canonical", new CanonicalDnaFingerprint(delegate).name());
+    }
+
+    private static List<String[]> orientations(String[] dna) {
+        List<String[]> result = new ArrayList<>(8);
+        String[] current = dna;
+        for (int i = 0; i < 4; i++) {
+            result.add(current);
+            result.add(transpose(current));
+            current = rotate(current);
+        }
+        return result;
+    }
+
+    /** Rotacion de 90 grados en sentido horario. */
+    private static String[] rotate(String[] dna) {
+        int n = dna.length;
+        String[] rotated = new String[n];
+        for (int row = 0; row < n; row++) {
+            StringBuilder builder = new StringBuilder(n);
+            for (int col = 0; col < n; col++) {
+                builder.append(dna[n - 1 - col].charAt(row));
+            }
+            rotated[row] = builder.toString();
+        }
+        return rotated;
+    }
+
+    private static String[] transpose(String[] dna) {
+        int n = dna.length;
+        String[] transposed = new String[n];
+        for (int row = 0; row < n; row++) {
+            StringBuilder builder = new StringBuilder(n);
+            for (int col = 0; col < n; col++) {
+                builder.append(dna[col].charAt(row));
+            }
+            transposed[row] = builder.toString();
+        }
+        return transposed;
+    }
+
+    private static String[] toStrings(CharSequence[] rows) {
+        String[] result = new String[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            result[i] = rows[i].toString();
+        }
+        return result;
+    }
+
+    private static String[] randomDna(Random random, int n) {
+        return randomDna(random, n, "ATCG");
+    }
+
+    private static String[] randomDna(Random random, int n, String alphabet) {
+        String[] dna = new String[n];
+        for (int row = 0; row < n; row++) {
+            StringBuilder builder = new StringBuilder(n);
+            for (int col = 0; col < n; col++) {
+                builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            dna[row] = builder.toString();
+        }
+        return dna;
+    }
+}
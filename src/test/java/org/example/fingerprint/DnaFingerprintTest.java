@@ -0,0 +1,110 @@
+package org.example.fingerprint;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the DNA fingerprint strategies.
+ *
+ * Tests cover:
+ * - SHA-256 strategy matches the hashes already stored (Arrays.toString format)
+ * - MurmurHash3 x64 128 reference vectors
+ * - Murmur3 block-wise row hashing matches byte-at-a-time hashing
+ * - Row boundaries change the Murmur3 fingerprint
+ * - String rows and char[] rows produce the same fingerprint
+ *
+ * Total tests: 6
+ */
+class DnaFingerprintTest {
+
+    private static final String[] DNA = { "ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG" };
+
+    @Test
+    @DisplayName("SHA-256 strategy should match the legacy Arrays.toString hash")
+    void testSha256MatchesLegacyHash() throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        String legacy = HexFormat.of().formatHex(digest.digest(Arrays.toString(DNA).getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(legacy, new Sha256DnaFingerprint().fingerprint(DNA));
+    }
+
+    @Test
+    @DisplayName("SHA-256 strategy should match the legacy hash for rows longer than its buffer")
+    void testSha256MatchesLegacyHashForLargeRows() throws Exception {
+        char[] row = new char[5000];
+        Arrays.fill(row, 'G');
+        String[] dna = { new String(row), new String(row).replace('G', 'T') };
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        String legacy = HexFormat.of().formatHex(digest.digest(Arrays.toString(dna).getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(legacy, new Sha256DnaFingerprint().fingerprint(dna));
+    }
+
+    @Test
+    @DisplayName("Murmur3 hasher should match the reference MurmurHash3_x64_128 vectors")
+    void testMurmur3ReferenceVectors() {
+        assertEquals("00000000000000000000000000000000", murmur(""));
+        assertEquals("cbd8a7b341bd9b025b1e906a48ae1d19", murmur("hello"));
+        assertEquals("e34bbc7bbc071b6c7a433ca9c49a9347", murmur("The quick brown fox jumps over the lazy dog"));
+    }
+
+    @Test
+    @DisplayName("Murmur3 strategy should match byte-at-a-time hashing of rows plus terminators")
+    void testMurmur3BlockPathMatchesBytePath() {
+        Random random = new Random(30);
+        for (int sample = 0; sample < 500; sample++) {
+            String[] rows = new String[1 + random.nextInt(5)];
+            StringBuilder stream = new StringBuilder();
+            for (int i = 0; i < rows.length; i++) {
+                char[] row = new char[random.nextInt(60)];
+                for (int j = 0; j < row.length; j++) {
+                    row[j] = "ACGT".charAt(random.nextInt(4));
+                }
+                rows[i] = new String(row);
+                stream.append(rows[i]).append('\n');
+            }
+
+            assertEquals(murmur(stream.toString()), new Murmur3DnaFingerprint().fingerprint(rows));
+        }
+    }
+
+    @Test
+    @DisplayName("Murmur3 strategy should distinguish different row boundaries")
+    void testMurmur3RowBoundaries() {
+        DnaFingerprint fingerprint = new Murmur3DnaFingerprint();
+
+        assertNotEquals(fingerprint.fingerprint(new String[] { "AAA", "A" }),
+                fingerprint.fingerprint(new String[] { "AA", "AA" }));
+        assertEquals(32, fingerprint.fingerprint(DNA).length());
+    }
+
+    @Test
+    @DisplayName("String rows and char[] rows should produce the same fingerprint")
+    void testCharArrayRowsMatchStringRows() {
+        CharSequence[] charRows = new CharSequence[DNA.length];
+        for (int i = 0; i < DNA.length; i++) {
+            charRows[i] = CharBuffer.wrap(DNA[i].toCharArray());
+        }
+
+        for (DnaFingerprint fingerprint : new DnaFingerprint[] { new Sha256DnaFingerprint(), new Murmur3DnaFingerprint() }) {
+            assertEquals(fingerprint.fingerprint(DNA), fingerprint.fingerprint(charRows), fingerprint.name());
+        }
+    }
+
+    private static String murmur(String value) {
+        Murmur3DnaFingerprint.Murmur3Hasher hasher = new Murmur3DnaFingerprint.Murmur3Hasher(0);
+        for (byte b : value.getBytes(StandardCharsets.US_ASCII)) {
+            hasher.put(b);
+        }
+        return hasher.finishHex();
+    }
+}
@@ -0,0 +1,214 @@
+package org.example.grpc;
+
+import com.google.protobuf.ByteString;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.example.codec.PackedDnaCodec;
+import org.example.grpc.proto.DnaSample;
+import org.example.grpc.proto.MutantClassifierGrpc;
+import org.example.grpc.proto.Verdict;
+import org.example.service.MutantService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for MutantGrpcService with a mocked MutantService.
+ *
+ * Tests cover:
+ * - In-order verdicts over an in-process channel
+ * - Invalid samples answered with an error verdict without closing the stream
+ * - Samples received together classified as one batch
+ * - Inbound credit withheld while the client is not reading verdicts
+ *
+ * Total tests: 4
+ */
+@ExtendWith(MockitoExtension.class)
+class MutantGrpcServiceTest {
+
+    private static final String[] MUTANT = { "ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG" };
+    private static final String[] HUMAN = { "ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG" };
+
+    @Mock
+    private MutantService mutantService;
+
+    private Server server;
+    private ManagedChannel channel;
+
+    @AfterEach
+    void tearDown() {
+        if (channel != null) {
+            channel.shutdownNow();
+        }
+        if (server != null) {
+            server.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should stream one verdict per sample in request order")
+    void testVerdictsInOrder() throws Exception {
+        // Arrange
+        answerByThirdRow();
+        MutantClassifierGrpc.MutantClassifierStub stub = startInProcess(new MutantGrpcService(mutantService, 4, 16, Runnable::run));
+        VerdictCollector collector = new VerdictCollector();
+
+        // Act
+        StreamObserver<DnaSample> samples = stub.classify(collector);
+        for (int i = 0; i < 10; i++) {
+            samples.onNext(sample(i % 3 == 0 ? HUMAN : MUTANT));
+        }
+        samples.onCompleted();
+
+        // Assert
+        assertTrue(collector.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(10, collector.verdicts.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, collector.verdicts.get(i).getSequence());
+            assertEquals(i % 3 != 0, collector.verdicts.get(i).getMutant());
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer an invalid sample with an error verdict and keep the stream open")
+    void testInvalidSampleKeepsStream() throws Exception {
+        // Arrange
+        answerByThirdRow();
+        MutantClassifierGrpc.MutantClassifierStub stub = startInProcess(new MutantGrpcService(mutantService, 4, 16, Runnable::run));
+        VerdictCollector collector = new VerdictCollector();
+
+        // Act
+        StreamObserver<DnaSample> samples = stub.classify(collector);
+        samples.onNext(sample(MUTANT));
+        samples.onNext(DnaSample.newBuilder().setPacked(ByteString.copyFrom(new byte[] { 0, 0, 0, 6, 1 })).build());
+        samples.onNext(sample(HUMAN));
+        samples.onCompleted();
+
+        // Assert
+        assertTrue(collector.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(3, collector.verdicts.size());
+        assertEquals(Verdict.ResultCase.MUTANT, collector.verdicts.get(0).getResultCase());
+        assertEquals(Verdict.ResultCase.ERROR, collector.verdicts.get(1).getResultCase());
+        assertTrue(collector.verdicts.get(1).getError().contains("truncated"));
+        assertFalse(collector.verdicts.get(2).getMutant());
+    }
+
+    @Test
+    @DisplayName("Should classify samples that arrive while the worker is busy as a single batch")
+    @SuppressWarnings("unchecked")
+    void testSamplesBatchedTogether() {
+        // Arrange
+        answerByThirdRow();
+        List<Runnable> queued = new ArrayList<>();
+        MutantGrpcService service = new MutantGrpcService(mutantService, 4, 16, queued::add);
+        ServerCallStreamObserver<Verdict> responses = mock(ServerCallStreamObserver.class);
+        when(responses.isReady()).thenReturn(true);
+
+        // Act
+        StreamObserver<DnaSample> samples = service.classify(responses);
+        for (int i = 0; i < 6; i++) {
+            samples.onNext(sample(MUTANT));
+        }
+        samples.onCompleted();
+        queued.forEach(Runnable::run);
+
+        // Assert
+        ArgumentCaptor<List<char[][]>> batches = ArgumentCaptor.forClass(List.class);
+        verify(mutantService, times(2)).analyzeAll(batches.capture());
+        assertEquals(4, batches.getAllValues().get(0).size());
+        assertEquals(2, batches.getAllValues().get(1).size());
+        verify(responses, times(6)).onNext(any(Verdict.class));
+        verify(responses, times(1)).onCompleted();
+    }
+
+    @Test
+    @DisplayName("Should withhold inbound credit until the client is ready for more verdicts")
+    @SuppressWarnings("unchecked")
+    void testCreditWithheldUntilReady() {
+        // Arrange
+        answerByThirdRow();
+        MutantGrpcService service = new MutantGrpcService(mutantService, 4, 8, Runnable::run);
+        ServerCallStreamObserver<Verdict> responses = mock(ServerCallStreamObserver.class);
+        when(responses.isReady()).thenReturn(false);
+        StreamObserver<DnaSample> samples = service.classify(responses);
+        ArgumentCaptor<Runnable> onReady = ArgumentCaptor.forClass(Runnable.class);
+        verify(responses).setOnReadyHandler(onReady.capture());
+        verify(responses).disableAutoRequest();
+        verify(responses).request(8);
+
+        // Act
+        samples.onNext(sample(MUTANT));
+        samples.onNext(sample(HUMAN));
+
+        // Assert
+        verify(responses, times(2)).onNext(any(Verdict.class));
+        verify(responses, never()).request(2);
+        when(responses.isReady()).thenReturn(true);
+        onReady.getValue().run();
+        verify(responses, times(1)).request(2);
+    }
+
+    private MutantClassifierGrpc.MutantClassifierStub startInProcess(MutantGrpcService service) throws Exception {
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name).directExecutor().addService(service).build().start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+        return MutantClassifierGrpc.newStub(channel);
+    }
+
+    /**
+     * MUTANT y HUMAN comparten las dos primeras filas; se distinguen por la tercera ("TTATGT" / "TTATTT").
+     */
+    private void answerByThirdRow() {
+        when(mutantService.analyzeAll(anyList())).thenAnswer(invocation -> {
+            List<char[][]> matrices = invocation.getArgument(0);
+            List<Boolean> verdicts = new ArrayList<>(matrices.size());
+            for (char[][] matrix : matrices) {
+                verdicts.add(matrix[2][4] == 'G');
+            }
+            return verdicts;
+        });
+    }
+
+    private static DnaSample sample(String[] dna) {
+        return DnaSample.newBuilder().setPacked(ByteString.copyFrom(PackedDnaCodec.encode(dna))).build();
+    }
+
+    private static final class VerdictCollector implements StreamObserver<Verdict> {
+
+        private final List<Verdict> verdicts = new CopyOnWriteArrayList<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void onNext(Verdict verdict) {
+            verdicts.add(verdict);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            completed.countDown();
+        }
+
+        @Override
+        public void onCompleted() {
+            completed.countDown();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package org.example.profiling;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.example.archive.RawSampleArchive;
+import org.example.cache.VerdictCache;
+import org.example.detector.DetectorStrategyTable;
+import org.example.fingerprint.Sha256DnaFingerprint;
+import org.example.repository.DnaCompactedHashRepository;
+import org.example.repository.DnaRecordRepository;
+import org.example.service.DnaRecordBatchWriter;
+import org.example.service.MutantDetector;
+import org.example.service.MutantService;
+import org.example.service.StatsCounterService;
+import org.example.shard.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for the JFR events emitted around DNA analysis.
+ *
+ * Tests cover:
+ * - Stage, detection and analysis events on a cache miss
+ * - Cache hit reported without detection events
+ * - Cells scanned before early exit for row and tiled scans
+ *
+ * Total tests: 3
+ */
+@ExtendWith(MockitoExtension.class)
+class DnaEventsTest {
+
+    private static final String[] MUTANT = { "ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG" };
+    private static final String[] HUMAN = { "ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG" };
+
+    @Mock
+    private DnaRecordRepository dnaRecordRepository;
+
+    @Mock
+    private StatsCounterService statsCounterService;
+
+    @Mock
+    private VerdictCache verdictCache;
+
+    @TempDir
+    Path tempDir;
+
+    private MutantService mutantService;
+
+    @BeforeEach
+    void setUp() {
+        mutantService = new MutantService(new MutantDetector(), dnaRecordRepository, statsCounterService,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), verdictCache,
+                ShardRouter.singleShard(), new Sha256DnaFingerprint(), mock(DnaRecordBatchWriter.class),
+                mock(RawSampleArchive.class), mock(DnaCompactedHashRepository.class));
+    }
+
+    @Test
+    @DisplayName("Should emit stage, detection and analysis events on a cache miss")
+    void testEventsOnCacheMiss() throws Exception {
+        // Arrange
+        when(verdictCache.get(anyString())).thenReturn(Optional.empty());
+        when(dnaRecordRepository.findByDnaHash(anyString())).thenReturn(Optional.empty());
+
+        // Act
+        List<RecordedEvent> events = record(() -> mutantService.analyzeDna(MUTANT));
+
+        // Assert
+        RecordedEvent analysis = single(events, "org.example.DnaAnalysis");
+        assertEquals(6, analysis.getInt("size"));
+        assertTrue(analysis.getBoolean("mutant"));
+        assertEquals(DnaAnalysisEvent.MISS, analysis.getString("cacheOutcome"));
+        List<String> stages = events.stream()
+                .filter(event -> event.getEventType().getName().equals("org.example.DnaStage"))
+                .map(event -> event.getString("stage"))
+                .toList();
+        assertEquals(List.of(DnaStageEvent.HASH, DnaStageEvent.CACHE_LOOKUP, DnaStageEvent.DEDUP_LOOKUP,
+                DnaStageEvent.PERSIST), stages);
+        RecordedEvent detect = single(events, "org.example.DnaDetect");
+        assertEquals(6, detect.getInt("size"));
+        assertTrue(detect.getBoolean("mutant"));
+    }
+
+    @Test
+    @DisplayName("Should report a cache hit without running the detector")
+    void testCacheHitOutcome() throws Exception {
+        // Arrange
+        when(verdictCache.get(anyString())).thenReturn(Optional.of(false));
+
+        // Act
+        List<RecordedEvent> events = record(() -> mutantService.analyzeDna(HUMAN));
+
+        // Assert
+        RecordedEvent analysis = single(events, "org.example.DnaAnalysis");
+        assertEquals(DnaAnalysisEvent.CACHE_HIT, analysis.getString("cacheOutcome"));
+        assertFalse(analysis.getBoolean("mutant"));
+        assertTrue(events.stream().noneMatch(event -> event.getEventType().getName().equals("org.example.DnaDetect")));
+    }
+
+    @Test
+    @DisplayName("Should count every cell for humans and fewer for early exits")
+    void testCellsScanned() throws Exception {
+        // Arrange
+        MutantDetector rowScan = new MutantDetector(Integer.MAX_VALUE, 4, DetectorStrategyTable.generic());
+        MutantDetector tiled = new MutantDetector(4, 4);
+
+        // Act
+        List<RecordedEvent> events = record(() -> {
+            rowScan.isMutant(HUMAN);
+            tiled.isMutant(HUMAN);
+            tiled.isMutant(MUTANT);
+        });
+
+        // Assert
+        List<RecordedEvent> detections = events.stream()
+                .filter(event -> event.getEventType().getName().equals("org.example.DnaDetect"))
+                .toList();
+        assertEquals(3, detections.size());
+        assertEquals(36, detections.get(0).getLong("cellsScanned"));
+        assertEquals("row-scan", detections.get(0).getString("strategy"));
+        assertEquals(36, detections.get(1).getLong("cellsScanned"));
+        assertEquals("tiled", detections.get(1).getString("strategy"));
+        assertTrue(detections.get(2).getBoolean("mutant"));
+        assertTrue(detections.get(2).getLong("cellsScanned") < 36);
+    }
+
+    private List<RecordedEvent> record(Runnable action) throws Exception {
+        Path file = tempDir.resolve("events.jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : List.of("org.example.DnaAnalysis", "org.example.DnaStage", "org.example.DnaDetect")) {
+                recording.enable(name).withThreshold(Duration.ZERO);
+            }
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+                .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+                .toList();
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .toList();
+        assertEquals(1, matching.size(), name);
+        return matching.get(0);
+    }
+}
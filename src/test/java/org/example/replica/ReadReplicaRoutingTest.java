@@ -0,0 +1,244 @@
+package org.example.replica;
+
+import org.example.shard.ShardDataSources;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for read/write routing between two in-memory H2 databases, with the
+ * replication stand-in copying from primary to replica.
+ *
+ * Tests cover:
+ * - Read-only transactions on the replica once it is caught up, writes on the primary
+ * - Fallback to the primary when the replica lags past the threshold
+ * - Fallback to the primary when a replica connection fails, disabling the replica
+ * - Primary forced for the current thread
+ * - Stand-in copy of new records, compacted records and stats
+ * - Stand-in copy of a record committed after one with a higher id
+ *
+ * Total tests: 6
+ */
+class ReadReplicaRoutingTest {
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private DataSource primaryDataSource;
+    private DataSource replicaDataSource;
+
+    @BeforeEach
+    void setUp() {
+        primaryDataSource = newDatabase("primary");
+        replicaDataSource = newDatabase("replica");
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to the replica once it is caught up")
+    void testReadOnlyOnReplica() {
+        // Arrange
+        ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(primaryDataSource, replicaDataSource, 60_000);
+        ReplicationStandIn standIn = new ReplicationStandIn(primaryDataSource, replicaDataSource);
+        JdbcTemplate routed = new JdbcTemplate(routingDataSource(lagMonitor));
+        String beforeFirstCheck = readNode(routed, true);
+
+        // Act
+        lagMonitor.check();
+        standIn.replicate();
+        lagMonitor.check();
+
+        // Assert
+        assertEquals("primary", beforeFirstCheck);
+        assertTrue(lagMonitor.isReplicaUsable());
+        assertEquals("replica", readNode(routed, true));
+        assertEquals("primary", readNode(routed, false));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when the replica lags past the threshold")
+    void testFallbackWhenLagging() {
+        // Arrange
+        ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(primaryDataSource, replicaDataSource, 1_000);
+        JdbcTemplate routed = new JdbcTemplate(routingDataSource(lagMonitor));
+        replica.update(ReplicaLagMonitor.INSERT_HEARTBEAT, System.currentTimeMillis() - 60_000);
+
+        // Act
+        lagMonitor.check();
+
+        // Assert
+        assertFalse(lagMonitor.isReplicaUsable());
+        assertTrue(lagMonitor.getLagMs() >= 60_000);
+        assertEquals("primary", readNode(routed, true));
+    }
+
+    @Test
+    @DisplayName("Should read from the primary and disable the replica when its connection fails")
+    void testFallbackWhenConnectionFails() {
+        // Arrange
+        FailingDataSource failingReplica = new FailingDataSource(replicaDataSource);
+        ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(primaryDataSource, failingReplica, 60_000);
+        JdbcTemplate routed = new JdbcTemplate(new LazyConnectionDataSourceProxy(
+                new ReadReplicaRoutingDataSource(primaryDataSource, failingReplica, lagMonitor)));
+        lagMonitor.check();
+        new ReplicationStandIn(primaryDataSource, replicaDataSource).replicate();
+        lagMonitor.check();
+        assertTrue(lagMonitor.isReplicaUsable());
+
+        // Act
+        failingReplica.failing = true;
+        String node = readNode(routed, true);
+
+        // Assert
+        assertEquals("primary", node);
+        assertFalse(lagMonitor.isReplicaUsable());
+        assertEquals(Long.MAX_VALUE, lagMonitor.getLagMs());
+    }
+
+    @Test
+    @DisplayName("Should read from the primary when the thread forces it")
+    void testPrimaryForced() {
+        // Arrange
+        ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(primaryDataSource, replicaDataSource, 60_000);
+        JdbcTemplate routed = new JdbcTemplate(routingDataSource(lagMonitor));
+        lagMonitor.check();
+        new ReplicationStandIn(primaryDataSource, replicaDataSource).replicate();
+        lagMonitor.check();
+
+        // Act
+        String forced = ReadReplicaContext.onPrimary(() -> readNode(routed, true));
+
+        // Assert
+        assertEquals("primary", forced);
+        assertEquals("replica", readNode(routed, true));
+        assertFalse(ReadReplicaContext.isPrimaryForced());
+    }
+
+    @Test
+    @DisplayName("Should copy new records and stats and drop records compacted on the primary")
+    void testStandInCatchesUp() {
+        // Arrange
+        ReplicationStandIn standIn = new ReplicationStandIn(primaryDataSource, replicaDataSource);
+        insertRecord(LocalDateTime.now().minusDays(400), true);
+        insertRecord(LocalDateTime.now(), false);
+        primary.update("INSERT INTO dna_stats (stripe, mutant_count, human_count) VALUES (0, 1, 1)");
+        standIn.replicate();
+        insertRecord(LocalDateTime.now(), true);
+        primary.update("DELETE FROM dna_records WHERE created_at < ?", Timestamp.valueOf(LocalDateTime.now().minusDays(1)));
+        primary.update("UPDATE dna_stats SET mutant_count = 2 WHERE stripe = 0");
+
+        // Act
+        standIn.replicate();
+
+        // Assert
+        assertEquals(primary.queryForList("SELECT id FROM dna_records ORDER BY id", Long.class),
+                replica.queryForList("SELECT id FROM dna_records ORDER BY id", Long.class));
+        assertEquals(2, replica.queryForObject("SELECT mutant_count FROM dna_stats WHERE stripe = 0", Long.class));
+    }
+
+    @Test
+    @DisplayName("Should copy a record committed after another one with a higher id")
+    void testStandInCopiesOutOfOrderCommits() throws Exception {
+        // Arrange
+        ReplicationStandIn standIn = new ReplicationStandIn(primaryDataSource, replicaDataSource);
+        List<Long> beforeCommit;
+        try (Connection slowTransaction = primaryDataSource.getConnection()) {
+            // Dos instancias con bloques de ids distintos: el id 1 confirma despues del 51
+            slowTransaction.setAutoCommit(false);
+            insertRecord(slowTransaction, 1);
+            try (Connection fastTransaction = primaryDataSource.getConnection()) {
+                insertRecord(fastTransaction, 51);
+            }
+            standIn.replicate();
+            beforeCommit = replica.queryForList("SELECT id FROM dna_records ORDER BY id", Long.class);
+            slowTransaction.commit();
+        }
+
+        // Act
+        standIn.replicate();
+
+        // Assert
+        assertEquals(List.of(51L), beforeCommit);
+        assertEquals(List.of(1L, 51L), replica.queryForList("SELECT id FROM dna_records ORDER BY id", Long.class));
+    }
+
+    private DataSource newDatabase(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        new ShardDataSources(List.of(dataSource)).initializeSchema();
+        DatabasePopulatorUtils.execute(new ResourceDatabasePopulator(new ClassPathResource("db/replica-heartbeat.sql")),
+                dataSource);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(16))");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    /**
+     * Replica que deja de entregar conexiones, como un pool que agota su timeout.
+     */
+    private static final class FailingDataSource extends DelegatingDataSource {
+
+        private volatile boolean failing;
+
+        private FailingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (failing) {
+                throw new SQLException("Connection is not available, request timed out after 1000ms");
+            }
+            return super.getConnection();
+        }
+    }
+
+    private DataSource routingDataSource(ReplicaLagMonitor lagMonitor) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadReplicaRoutingDataSource(primaryDataSource, replicaDataSource, lagMonitor));
+    }
+
+    private static String readNode(JdbcTemplate routed, boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(
+                new DataSourceTransactionManager(routed.getDataSource()));
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> routed.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private static void insertRecord(Connection connection, long id) throws Exception {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO dna_records (id, dna_hash, is_mutant, created_at) VALUES (?, ?, ?, ?)")) {
+            statement.setLong(1, id);
+            statement.setString(2, UUID.randomUUID().toString());
+            statement.setBoolean(3, true);
+            statement.setTimestamp(4, Timestamp.valueOf(LocalDateTime.now()));
+            statement.executeUpdate();
+        }
+    }
+
+    private void insertRecord(LocalDateTime createdAt, boolean isMutant) {
+        primary.update("INSERT INTO dna_records (dna_hash, is_mutant, created_at) VALUES (?, ?, ?)",
+                UUID.randomUUID().toString(), isMutant, Timestamp.valueOf(createdAt));
+    }
+}
@@ -0,0 +1,137 @@
+package org.example.retention;
+
+import org.example.entity.DnaRecordSummary;
+import org.example.repository.DnaRecordSummaryRepository;
+import org.example.shard.ShardDataSources;
+import org.example.shard.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for RetentionService on an in-memory H2 shard, with a mocked summary repository.
+ *
+ * Tests cover:
+ * - Chunked compaction of expired partitions with per-day counts and kept fingerprints
+ * - No changes when nothing is expired
+ * - Scheduled run skipped when retention is disabled
+ *
+ * Total tests: 3
+ */
+@ExtendWith(MockitoExtension.class)
+class RetentionServiceTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2020, 1, 1);
+    private static final LocalDate SECOND_DAY = LocalDate.of(2020, 1, 2);
+
+    @Mock
+    private DnaRecordSummaryRepository dnaRecordSummaryRepository;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:retention-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        new ShardDataSources(List.of(dataSource)).initializeSchema();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        // 7 registros el primer dia (3 mutantes), 5 el segundo (1 mutante) y 4 actuales
+        insert(7, 3, FIRST_DAY.atTime(10, 0));
+        insert(5, 1, SECOND_DAY.atTime(23, 59));
+        insert(4, 2, LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("Should fold expired partitions into per-day counts and delete them in chunks")
+    void testCompactExpiredPartitions() {
+        // Arrange
+        when(dnaRecordSummaryRepository.increment(any(), anyLong(), anyLong())).thenReturn(0);
+        RetentionService retentionService = newService(true, 3);
+
+        // Act
+        long compacted = retentionService.compact(LocalDate.of(2021, 1, 1).atStartOfDay());
+
+        // Assert
+        assertEquals(12, compacted);
+        assertEquals(4, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM dna_records", Long.class));
+        assertEquals(3 + 1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM dna_compacted_hashes WHERE is_mutant = TRUE", Long.class));
+        assertEquals(12, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM dna_compacted_hashes", Long.class));
+        ArgumentCaptor<DnaRecordSummary> captor = ArgumentCaptor.forClass(DnaRecordSummary.class);
+        verify(dnaRecordSummaryRepository, atLeast(4)).save(captor.capture());
+        Map<LocalDate, long[]> perDay = new HashMap<>();
+        for (DnaRecordSummary summary : captor.getAllValues()) {
+            long[] counts = perDay.computeIfAbsent(summary.getPartitionDay(), day -> new long[2]);
+            counts[0] += summary.getMutantCount();
+            counts[1] += summary.getHumanCount();
+        }
+        assertArrayEquals(new long[] { 3, 4 }, perDay.get(FIRST_DAY));
+        assertArrayEquals(new long[] { 1, 4 }, perDay.get(SECOND_DAY));
+        assertEquals(2, perDay.size());
+    }
+
+    @Test
+    @DisplayName("Should leave the table untouched when no partition is expired")
+    void testNothingExpired() {
+        // Arrange
+        RetentionService retentionService = newService(true, 3);
+
+        // Act
+        long compacted = retentionService.compact(FIRST_DAY.atStartOfDay());
+
+        // Assert
+        assertEquals(0, compacted);
+        assertEquals(16, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM dna_records", Long.class));
+        verifyNoInteractions(dnaRecordSummaryRepository);
+    }
+
+    @Test
+    @DisplayName("Should skip the scheduled run when retention is disabled")
+    void testScheduledRunDisabled() {
+        // Arrange
+        RetentionService retentionService = newService(false, 3);
+
+        // Act
+        retentionService.compactExpiredPartitions();
+
+        // Assert
+        assertEquals(16, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM dna_records", Long.class));
+        verifyNoInteractions(dnaRecordSummaryRepository);
+    }
+
+    private RetentionService newService(boolean enabled, int chunkSize) {
+        return new RetentionService(jdbcTemplate, dnaRecordSummaryRepository, transactionTemplate,
+                ShardRouter.singleShard(), enabled, 30, chunkSize);
+    }
+
+    private void insert(int count, int mutants, LocalDateTime createdAt) {
+        for (int i = 0; i < count; i++) {
+            jdbcTemplate.update("INSERT INTO dna_records (dna_hash, is_mutant, created_at) VALUES (?, ?, ?)",
+                    UUID.randomUUID().toString(), i < mutants, Timestamp.valueOf(createdAt));
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.service;
+
+import org.example.entity.DnaCompactedHash;
+import org.example.entity.DnaRecord;
+import org.example.repository.DnaCompactedHashRepository;
+import org.example.repository.DnaRecordRepository;
+import org.example.shard.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for DnaRecordBatchWriter with mocked repositories.
+ *
+ * Tests cover:
+ * - Existing fingerprints are skipped and stats incremented once per batch
+ * - Retry after a concurrent insert of the same fingerprint
+ * - Fingerprints already compacted by retention neither inserted nor counted
+ *
+ * Total tests: 3
+ */
+@ExtendWith(MockitoExtension.class)
+class DnaRecordBatchWriterTest {
+
+    private static final String KNOWN = "a".repeat(64);
+    private static final String NEW_MUTANT = "b".repeat(64);
+    private static final String NEW_HUMAN = "c".repeat(64);
+
+    @Mock
+    private DnaRecordRepository dnaRecordRepository;
+
+    @Mock
+    private StatsCounterService statsCounterService;
+
+    @Mock
+    private DnaCompactedHashRepository dnaCompactedHashRepository;
+
+    private DnaRecordBatchWriter batchWriter;
+
+    @BeforeEach
+    void setUp() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        batchWriter = new DnaRecordBatchWriter(dnaRecordRepository, statsCounterService, transactionTemplate,
+                ShardRouter.singleShard(), dnaCompactedHashRepository);
+    }
+
+    @Test
+    @DisplayName("Should insert only new fingerprints and count them once")
+    void testSkipExistingFingerprints() {
+        // Arrange
+        when(dnaRecordRepository.findByDnaHashIn(anyCollection())).thenReturn(List.of(record(KNOWN, true)));
+
+        // Act
+        int inserted = batchWriter.writeAll(Map.of(KNOWN, true, NEW_MUTANT, true, NEW_HUMAN, false));
+
+        // Assert
+        assertEquals(2, inserted);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<DnaRecord>> captor = ArgumentCaptor.forClass(List.class);
+        verify(dnaRecordRepository, times(1)).saveAll(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertTrue(captor.getValue().stream().noneMatch(record -> record.getDnaHash().equals(KNOWN)));
+        verify(statsCounterService, times(1)).recordVerdicts(1, 1);
+    }
+
+    @Test
+    @DisplayName("Should retry the batch after a concurrent insert")
+    void testRetryAfterConcurrentInsert() {
+        // Arrange
+        when(dnaRecordRepository.findByDnaHashIn(anyCollection()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(record(NEW_MUTANT, true)));
+        when(dnaRecordRepository.saveAll(anyList()))
+                .thenThrow(new DataIntegrityViolationException("duplicate dna_hash"))
+                .thenReturn(List.of());
+
+        // Act
+        int inserted = batchWriter.writeAll(Map.of(NEW_MUTANT, true, NEW_HUMAN, false));
+
+        // Assert
+        assertEquals(1, inserted);
+        verify(statsCounterService, times(1)).recordVerdicts(0, 1);
+    }
+
+    @Test
+    @DisplayName("Should not insert or count a fingerprint that retention already compacted")
+    void testSkipCompactedFingerprints() {
+        // Arrange
+        when(dnaCompactedHashRepository.findByDnaHashIn(anyCollection()))
+                .thenReturn(List.of(new DnaCompactedHash(KNOWN, true)));
+
+        // Act
+        int inserted = batchWriter.writeAll(Map.of(KNOWN, true, NEW_HUMAN, false));
+
+        // Assert
+        assertEquals(1, inserted);
+        verify(statsCounterService, times(1)).recordVerdicts(0, 1);
+    }
+
+    private static DnaRecord record(String dnaHash, boolean isMutant) {
+        DnaRecord record = new DnaRecord();
+        record.setDnaHash(dnaHash);
+        record.setMutant(isMutant);
+        return record;
+    }
+}
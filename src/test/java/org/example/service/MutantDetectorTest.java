@@ -4,6 +4,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.Random;
+
+import static org.example.support.DnaSamples.worstCaseHuman;
+import static org.example.support.DnaSamples.worstCaseHumanMatrix;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -12,8 +16,10 @@ import static org.junit.jupiter.api.Assertions.*;
  * - Non-mutant detection (0 or 1 sequences)
  * - Edge cases and validations
  * - Performance optimizations
+ * - char[][] input used by the packed binary format
+ * - Tiled scan over a contiguous grid (equivalence, tile boundaries, validation)
  * 
- * Total tests: 17
+ * Total tests: 22
  */
 class MutantDetectorTest {
 
@@ -174,7 +180,7 @@ class MutantDetectorTest {
     @Test
     @DisplayName("Should reject null DNA array")
     void testNullDna() {
-        assertFalse(mutantDetector.isMutant(null), "Null DNA should return false");
+        assertFalse(mutantDetector.isMutant((String[]) null), "Null DNA should return false");
     }
 
     @Test
@@ -248,4 +254,93 @@ class MutantDetectorTest {
         boolean result = mutantDetector.isMutant(dna);
         assertNotNull(result);
     }
+
+    @Test
+    @DisplayName("char[][] input should give the same verdict as String[] input")
+    void testCharMatrixMatchesStringVerdict() {
+        String[] mutant = { "ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG" };
+        String[] human = { "ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG" };
+
+        assertTrue(mutantDetector.isMutant(toMatrix(mutant)));
+        assertFalse(mutantDetector.isMutant(toMatrix(human)));
+    }
+
+    @Test
+    @DisplayName("char[][] input should be rejected when not square or with invalid bases")
+    void testCharMatrixValidation() {
+        assertFalse(mutantDetector.isMutant((char[][]) null));
+        assertFalse(mutantDetector.isMutant(toMatrix(new String[] { "AAAA", "AAAA", "AAAA", "AAA" })));
+        assertFalse(mutantDetector.isMutant(toMatrix(new String[] { "AAAA", "AAAA", "AAXA", "AAAA" })));
+    }
+
+    @Test
+    @DisplayName("Tiled scan should give the same verdict as the row scan")
+    void testTiledScanMatchesRowScan() {
+        // Arrange: bloques de 5 para que casi toda secuencia cruce un borde
+        MutantDetector rowScan = new MutantDetector(Integer.MAX_VALUE, MutantDetector.DEFAULT_TILE_SIZE);
+        MutantDetector tiled = new MutantDetector(4, 5);
+        Random random = new Random(39);
+
+        // Act & Assert
+        for (int i = 0; i < 2000; i++) {
+            int n = 4 + random.nextInt(20);
+            String[] dna = new String[n];
+            for (int r = 0; r < n; r++) {
+                StringBuilder row = new StringBuilder(n);
+                for (int c = 0; c < n; c++) {
+                    row.append("ACGT".charAt(random.nextInt(4)));
+                }
+                dna[r] = row.toString();
+            }
+            assertEquals(rowScan.isMutant(dna), tiled.isMutant(dna), "sample " + i);
+            assertEquals(rowScan.isMutant(dna), tiled.isMutant(toMatrix(dna)), "sample " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Tiled scan should count sequences that cross tile boundaries once")
+    void testTiledScanAcrossTileBoundaries() {
+        // Arrange
+        MutantDetector tiled = new MutantDetector(4, 4);
+        char[][] oneSequence = worstCaseHumanMatrix(16);
+        char[][] twoSequences = worstCaseHumanMatrix(16);
+        for (int k = 0; k < 4; k++) {
+            // Vertical que cruza de la fila de bloques 0 a la 1
+            oneSequence[2 + k][5] = 'A';
+            twoSequences[2 + k][5] = 'A';
+            // Diagonal descendente que cruza bloques en filas y columnas
+            twoSequences[9 + k][6 + k] = 'C';
+        }
+
+        // Act & Assert
+        assertFalse(tiled.isMutant(worstCaseHuman(16)));
+        assertFalse(tiled.isMutant(oneSequence));
+        assertTrue(tiled.isMutant(twoSequences));
+    }
+
+    @Test
+    @DisplayName("Tiled scan should reject null rows, ragged rows and invalid bases")
+    void testTiledScanValidation() {
+        // Arrange
+        MutantDetector tiled = new MutantDetector(4, 4);
+        String[] nullRow = worstCaseHuman(8);
+        nullRow[3] = null;
+        String[] ragged = worstCaseHuman(8);
+        ragged[7] = ragged[7].substring(1);
+        String[] invalid = worstCaseHuman(8);
+        invalid[5] = "ACGTNACG";
+
+        // Act & Assert
+        assertFalse(tiled.isMutant(nullRow));
+        assertFalse(tiled.isMutant(ragged));
+        assertFalse(tiled.isMutant(invalid));
+    }
+
+    private static char[][] toMatrix(String[] dna) {
+        char[][] matrix = new char[dna.length][];
+        for (int i = 0; i < dna.length; i++) {
+            matrix[i] = dna[i].toCharArray();
+        }
+        return matrix;
+    }
 }
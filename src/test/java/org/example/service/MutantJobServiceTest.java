@@ -0,0 +1,202 @@
+package org.example.service;
+
+import org.example.dto.JobResponse;
+import org.example.exception.JobNotFoundException;
+import org.example.exception.JobQueueFullException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for MutantJobService with mocked MutantService.
+ *
+ * Tests cover:
+ * - Job completion and long-poll notification
+ * - Admission control when the queue is full
+ * - Admission control by queued cells, with an oversized matrix accepted on an empty queue
+ * - Counters released when the worker pool rejects a job
+ * - Smaller matrices processed first
+ * - Eviction of expired jobs and unknown job ids
+ *
+ * Total tests: 6
+ */
+@ExtendWith(MockitoExtension.class)
+class MutantJobServiceTest {
+
+    private static final String[] SMALL_DNA = { "ATGC", "CAGT", "TTAT", "AGAA" };
+    private static final String[] LARGE_DNA = { "ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG" };
+
+    @Mock
+    private MutantService mutantService;
+
+    private MutantJobService mutantJobService;
+
+    @AfterEach
+    void tearDown() {
+        mutantJobService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should complete the job and notify long-poll waiters")
+    void testJobCompletesAndNotifiesWaiter() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        when(mutantService.analyzeDna(any(String[].class))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+        mutantJobService = new MutantJobService(mutantService, 1, 10, 1_000_000, 60_000, 30_000);
+
+        // Act
+        JobResponse submitted = mutantJobService.submit(LARGE_DNA);
+        DeferredResult<JobResponse> poll = mutantJobService.awaitJob(submitted.getId(), 5_000);
+        assertFalse(poll.hasResult());
+        release.countDown();
+
+        // Assert
+        JobResponse done = waitForStatus(submitted.getId(), JobResponse.Status.DONE);
+        assertTrue(done.getMutant());
+        assertEquals(6, done.getSize());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!poll.hasResult() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(poll.hasResult());
+        assertEquals(JobResponse.Status.DONE, ((JobResponse) poll.getResult()).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should reject submissions when the queue is full")
+    void testRejectWhenQueueFull() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(mutantService.analyzeDna(any(String[].class))).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return false;
+        });
+        mutantJobService = new MutantJobService(mutantService, 1, 1, 1_000_000, 60_000, 30_000);
+        mutantJobService.submit(LARGE_DNA);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Act
+        mutantJobService.submit(LARGE_DNA);
+
+        // Assert
+        assertThrows(JobQueueFullException.class, () -> mutantJobService.submit(LARGE_DNA));
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Should reject submissions past the queued cells limit")
+    void testRejectWhenCellsLimitReached() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(mutantService.analyzeDna(any(String[].class))).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return false;
+        });
+        mutantJobService = new MutantJobService(mutantService, 1, 10, 20, 60_000, 30_000);
+        mutantJobService.submit(SMALL_DNA);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Act: 36 celdas superan el limite pero la cola esta vacia
+        JobResponse large = mutantJobService.submit(LARGE_DNA);
+
+        // Assert
+        assertThrows(JobQueueFullException.class, () -> mutantJobService.submit(SMALL_DNA));
+        assertEquals(36, mutantJobService.getQueuedCells());
+        assertEquals(1, mutantJobService.getPendingCount());
+        release.countDown();
+        waitForStatus(large.getId(), JobResponse.Status.DONE);
+        assertEquals(0, mutantJobService.getQueuedCells());
+    }
+
+    @Test
+    @DisplayName("Should release the pending and queued cells counters when the pool rejects a job")
+    void testRejectedJobReleasesCounters() {
+        // Arrange
+        mutantJobService = new MutantJobService(mutantService, 1, 10, 1_000_000, 60_000, 30_000);
+        mutantJobService.shutdown();
+
+        // Act & Assert
+        assertThrows(RejectedExecutionException.class, () -> mutantJobService.submit(LARGE_DNA));
+        assertEquals(0, mutantJobService.getPendingCount());
+        assertEquals(0, mutantJobService.getQueuedCells());
+        verifyNoInteractions(mutantService);
+    }
+
+    @Test
+    @DisplayName("Should process smaller matrices first")
+    void testSmallerMatricesFirst() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> processedSizes = new CopyOnWriteArrayList<>();
+        when(mutantService.analyzeDna(any(String[].class))).thenAnswer(invocation -> {
+            String[] dna = invocation.getArgument(0);
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            processedSizes.add(dna.length);
+            return false;
+        });
+        mutantJobService = new MutantJobService(mutantService, 1, 10, 1_000_000, 60_000, 30_000);
+        mutantJobService.submit(LARGE_DNA);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Act: con el unico worker ocupado, llegan una grande y luego una chica
+        mutantJobService.submit(LARGE_DNA);
+        JobResponse small = mutantJobService.submit(SMALL_DNA);
+        release.countDown();
+        waitForStatus(small.getId(), JobResponse.Status.DONE);
+
+        // Assert
+        assertEquals(List.of(6, 4), processedSizes.subList(0, 2));
+    }
+
+    @Test
+    @DisplayName("Should evict expired jobs and reject unknown ids")
+    void testEvictExpiredJobs() throws Exception {
+        // Arrange
+        when(mutantService.analyzeDna(any(String[].class))).thenReturn(true);
+        mutantJobService = new MutantJobService(mutantService, 1, 10, 1_000_000, 0, 30_000);
+        JobResponse submitted = mutantJobService.submit(SMALL_DNA);
+        waitForStatus(submitted.getId(), JobResponse.Status.DONE);
+        Thread.sleep(5);
+
+        // Act
+        mutantJobService.evictExpiredJobs();
+
+        // Assert
+        assertThrows(JobNotFoundException.class, () -> mutantJobService.getJob(submitted.getId()));
+        assertThrows(JobNotFoundException.class, () -> mutantJobService.awaitJob("unknown", 0));
+    }
+
+    private JobResponse waitForStatus(String id, JobResponse.Status status) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        JobResponse job = mutantJobService.getJob(id);
+        while (job.getStatus() != status && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+            job = mutantJobService.getJob(id);
+        }
+        assertEquals(status, job.getStatus());
+        return job;
+    }
+}
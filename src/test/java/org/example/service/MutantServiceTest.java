@@ -1,18 +1,31 @@
 package org.example.service;
 
+import org.example.archive.RawSampleArchive;
+import org.example.cache.VerdictCache;
+import org.example.entity.DnaCompactedHash;
 import org.example.entity.DnaRecord;
+import org.example.fingerprint.DnaFingerprint;
+import org.example.fingerprint.Sha256DnaFingerprint;
 import org.example.exception.DnaHashCalculationException;
+import org.example.repository.DnaCompactedHashRepository;
 import org.example.repository.DnaRecordRepository;
+import org.example.shard.ShardRouter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -25,9 +38,16 @@ import static org.mockito.Mockito.*;
  * - DNA analysis with mutant detection
  * - DNA analysis with human detection
  * - Caching/deduplication mechanism
+ * - Compacted fingerprints answered without being saved or counted again
  * - Hash calculation consistency
+ * - Materialized stats counters updated with each insert
+ * - Verdict cache short-circuits repository and detector
+ * - Packed (char[][]) input shares the JSON fingerprint
+ * - Verdict lookup by fingerprint (single and bulk)
+ * - Batch analysis with in-order verdicts and a single batched insert
+ * - Raw samples archived only for new verdicts actually inserted by the batch
  * 
- * Total tests: 5
+ * Total tests: 14
  */
 @ExtendWith(MockitoExtension.class)
 class MutantServiceTest {
@@ -38,6 +58,30 @@ class MutantServiceTest {
     @Mock
     private DnaRecordRepository dnaRecordRepository;
 
+    @Mock
+    private StatsCounterService statsCounterService;
+
+    @Mock
+    private VerdictCache verdictCache;
+
+    @Mock
+    private DnaRecordBatchWriter dnaRecordBatchWriter;
+
+    @Mock
+    private RawSampleArchive rawSampleArchive;
+
+    @Mock
+    private DnaCompactedHashRepository dnaCompactedHashRepository;
+
+    @Spy
+    private DnaFingerprint dnaFingerprint = new Sha256DnaFingerprint();
+
+    @Spy
+    private ShardRouter shardRouter = ShardRouter.singleShard();
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private MutantService mutantService;
 
@@ -83,6 +127,8 @@ class MutantServiceTest {
         assertTrue(result, "Should return true for mutant");
         verify(mutantDetector, times(1)).isMutant(mutantDna);
         verify(dnaRecordRepository, times(1)).save(any(DnaRecord.class));
+        verify(statsCounterService, times(1)).recordVerdict(true);
+        verify(rawSampleArchive, times(1)).append(eq(new Sha256DnaFingerprint().fingerprint(mutantDna)), any());
     }
 
     @Test
@@ -103,6 +149,7 @@ class MutantServiceTest {
         assertFalse(result, "Should return false for human");
         verify(mutantDetector, times(1)).isMutant(humanDna);
         verify(dnaRecordRepository, times(1)).save(any(DnaRecord.class));
+        verify(statsCounterService, times(1)).recordVerdict(false);
     }
 
     @Test
@@ -121,18 +168,39 @@ class MutantServiceTest {
 
         // Assert
         assertTrue(result, "Should return cached result");
-        verify(mutantDetector, never()).isMutant(any()); // Should NOT call detector
+        verify(mutantDetector, never()).isMutant(any(String[].class)); // Should NOT call detector
         verify(dnaRecordRepository, never()).save(any()); // Should NOT save again
+        verify(statsCounterService, never()).recordVerdict(anyBoolean()); // Should NOT count again
         verify(dnaRecordRepository, times(1)).findByDnaHash(anyString());
     }
 
+    @Test
+    @DisplayName("Should answer a compacted fingerprint without saving or counting it again")
+    void testCompactedDnaNotCountedAgain() {
+        // Arrange
+        String dnaHash = new Sha256DnaFingerprint().fingerprint(mutantDna);
+        when(dnaRecordRepository.findByDnaHash(dnaHash)).thenReturn(Optional.empty());
+        when(dnaCompactedHashRepository.findByDnaHash(dnaHash))
+                .thenReturn(Optional.of(new DnaCompactedHash(dnaHash, true)));
+
+        // Act
+        boolean result = mutantService.analyzeDna(mutantDna);
+
+        // Assert
+        assertTrue(result, "Should return the compacted verdict");
+        verify(mutantDetector, never()).isMutant(any(String[].class));
+        verify(dnaRecordRepository, never()).save(any());
+        verify(statsCounterService, never()).recordVerdict(anyBoolean());
+        verify(rawSampleArchive, never()).append(anyString(), any());
+    }
+
     @Test
     @DisplayName("Should calculate consistent hash for same DNA")
     void testCalculateDnaHashConsistency() {
         // Arrange
         when(dnaRecordRepository.findByDnaHash(anyString()))
                 .thenReturn(Optional.empty());
-        when(mutantDetector.isMutant(any()))
+        when(mutantDetector.isMutant(any(String[].class)))
                 .thenReturn(true);
         when(dnaRecordRepository.save(any(DnaRecord.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
@@ -152,7 +220,7 @@ class MutantServiceTest {
         // Arrange
         when(dnaRecordRepository.findByDnaHash(anyString()))
                 .thenReturn(Optional.empty());
-        when(mutantDetector.isMutant(any()))
+        when(mutantDetector.isMutant(any(String[].class)))
                 .thenReturn(true);
         when(dnaRecordRepository.save(any(DnaRecord.class)))
                 .thenReturn(new DnaRecord());
@@ -166,4 +234,148 @@ class MutantServiceTest {
         assertTrue(result2); // Both return true (mocked)
         verify(dnaRecordRepository, times(2)).save(any(DnaRecord.class));
     }
+
+    @Test
+    @DisplayName("Should return verdict from cache without touching the database")
+    void testReturnVerdictFromCache() {
+        // Arrange
+        when(verdictCache.get(anyString())).thenReturn(Optional.of(true));
+
+        // Act
+        boolean result = mutantService.analyzeDna(mutantDna);
+
+        // Assert
+        assertTrue(result);
+        verify(dnaRecordRepository, never()).findByDnaHash(anyString());
+        verify(mutantDetector, never()).isMutant(any(String[].class));
+    }
+
+    @Test
+    @DisplayName("Should cache verdict after analyzing new DNA")
+    void testCacheVerdictAfterAnalysis() {
+        // Arrange
+        when(dnaRecordRepository.findByDnaHash(anyString()))
+                .thenReturn(Optional.empty());
+        when(mutantDetector.isMutant(humanDna))
+                .thenReturn(false);
+
+        // Act
+        mutantService.analyzeDna(humanDna);
+
+        // Assert
+        verify(verdictCache, times(1)).put(anyString(), eq(false));
+    }
+
+    @Test
+    @DisplayName("Packed matrix should share the fingerprint of the equivalent JSON sample")
+    void testPackedMatrixUsesSameFingerprint() {
+        // Arrange
+        char[][] matrix = Arrays.stream(mutantDna).map(String::toCharArray).toArray(char[][]::new);
+        String expectedHash = new Sha256DnaFingerprint().fingerprint(mutantDna);
+        when(dnaRecordRepository.findByDnaHash(expectedHash)).thenReturn(Optional.empty());
+        when(mutantDetector.isMutant(matrix)).thenReturn(true);
+
+        // Act
+        boolean result = mutantService.analyzeDna(matrix);
+
+        // Assert
+        assertTrue(result);
+        verify(mutantDetector, times(1)).isMutant(matrix);
+        verify(mutantDetector, never()).isMutant(any(String[].class));
+        verify(verdictCache, times(1)).put(expectedHash, true);
+    }
+
+    @Test
+    @DisplayName("Should analyze a batch in order, detecting each new sample once and inserting them together")
+    void testAnalyzeAllBatchesNewVerdicts() {
+        // Arrange
+        char[][] mutant = Arrays.stream(mutantDna).map(String::toCharArray).toArray(char[][]::new);
+        char[][] human = Arrays.stream(humanDna).map(String::toCharArray).toArray(char[][]::new);
+        String mutantHash = new Sha256DnaFingerprint().fingerprint(mutantDna);
+        String humanHash = new Sha256DnaFingerprint().fingerprint(humanDna);
+        DnaRecord stored = new DnaRecord();
+        stored.setDnaHash(humanHash);
+        stored.setMutant(false);
+        when(dnaRecordRepository.findByDnaHashIn(anyCollection())).thenReturn(List.of(stored));
+        when(mutantDetector.isMutant(mutant)).thenReturn(true);
+        when(dnaRecordBatchWriter.insertAll(Map.of(mutantHash, true))).thenReturn(Set.of(mutantHash));
+
+        // Act
+        List<Boolean> verdicts = mutantService.analyzeAll(List.of(mutant, human, mutant));
+
+        // Assert
+        assertEquals(List.of(true, false, true), verdicts);
+        verify(mutantDetector, times(1)).isMutant(mutant);
+        verify(mutantDetector, never()).isMutant(human);
+        verify(dnaRecordBatchWriter, times(1)).insertAll(Map.of(mutantHash, true));
+        verify(dnaRecordRepository, never()).save(any());
+        verify(verdictCache, times(1)).putAll(Map.of(mutantHash, true));
+        verify(rawSampleArchive, times(1)).append(eq(mutantHash), any());
+        verify(rawSampleArchive, never()).append(eq(humanHash), any());
+    }
+
+    @Test
+    @DisplayName("Should not archive a batch sample that a concurrent writer inserted first")
+    void testAnalyzeAllSkipsConcurrentlyInserted() {
+        // Arrange
+        char[][] mutant = Arrays.stream(mutantDna).map(String::toCharArray).toArray(char[][]::new);
+        when(mutantDetector.isMutant(mutant)).thenReturn(true);
+        when(dnaRecordBatchWriter.insertAll(anyMap())).thenReturn(Set.of());
+
+        // Act
+        List<Boolean> verdicts = mutantService.analyzeAll(List.of(mutant));
+
+        // Assert
+        assertEquals(List.of(true), verdicts);
+        verify(rawSampleArchive, never()).append(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should find a stored verdict by fingerprint and cache it")
+    void testFindVerdictFromRepository() {
+        // Arrange
+        String dnaHash = new Sha256DnaFingerprint().fingerprint(mutantDna);
+        DnaRecord record = new DnaRecord();
+        record.setDnaHash(dnaHash);
+        record.setMutant(true);
+        when(dnaRecordRepository.findByDnaHash(dnaHash)).thenReturn(Optional.of(record));
+
+        // Act
+        Optional<Boolean> verdict = mutantService.findVerdict(dnaHash.toUpperCase());
+
+        // Assert
+        assertEquals(Optional.of(true), verdict);
+        verify(verdictCache, times(1)).put(dnaHash, true);
+        verify(mutantDetector, never()).isMutant(any(String[].class));
+    }
+
+    @Test
+    @DisplayName("Should answer bulk lookups from cache first and query only the misses")
+    void testFindVerdictsQueriesOnlyMisses() {
+        // Arrange
+        String cachedHash = new Sha256DnaFingerprint().fingerprint(mutantDna);
+        String storedHash = new Sha256DnaFingerprint().fingerprint(humanDna);
+        String unknownHash = "0".repeat(64);
+        DnaRecord stored = new DnaRecord();
+        stored.setDnaHash(storedHash);
+        stored.setMutant(false);
+        when(verdictCache.getAll(anyCollection())).thenReturn(Map.of(cachedHash, true));
+        when(dnaRecordRepository.findByDnaHashIn(List.of(storedHash, unknownHash))).thenReturn(List.of(stored));
+
+        // Act
+        Map<String, Boolean> verdicts = mutantService.findVerdicts(List.of(cachedHash, storedHash, unknownHash));
+
+        // Assert
+        assertEquals(Map.of(cachedHash, true, storedHash, false), verdicts);
+        verify(verdictCache, times(1)).putAll(Map.of(storedHash, false));
+    }
+
+    @Test
+    @DisplayName("Should reject fingerprints that do not match the configured algorithm")
+    void testRejectMalformedFingerprint() {
+        assertThrows(IllegalArgumentException.class, () -> mutantService.findVerdict("abc"));
+        assertThrows(IllegalArgumentException.class, () -> mutantService.findVerdict("z".repeat(64)));
+        assertThrows(IllegalArgumentException.class, () -> mutantService.findVerdicts(List.of("0".repeat(32))));
+        verify(dnaRecordRepository, never()).findByDnaHash(anyString());
+    }
 }
@@ -0,0 +1,147 @@
+package org.example.service;
+
+import org.example.dto.ExplainResponse;
+import org.example.dto.SequenceRun;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for SequenceExplainer.
+ *
+ * Tests cover:
+ * - Every sequence reported with direction, start cell and base
+ * - Parallel band scan matching the sequential scan
+ * - Truncation by max-results and by max-cells, counting only completed cells
+ * - Bases rejected by the detector answered as human, like /mutant
+ *
+ * Total tests: 5
+ */
+class SequenceExplainerTest {
+
+    @Test
+    @DisplayName("Should report every sequence in all four directions")
+    void testExplainAllDirections() {
+        // Arrange
+        SequenceExplainer explainer = new SequenceExplainer(1_000_000, 100, 256, 64, 1);
+        String[] dna = {
+                "AAAAC",
+                "TAAGC",
+                "GAATC",
+                "ATGAC",
+                "GCTGT"
+        };
+
+        // Act
+        ExplainResponse response = explainer.explain(dna);
+        explainer.shutdown();
+
+        // Assert
+        assertEquals(List.of(
+                new SequenceRun(SequenceExplainer.HORIZONTAL, 0, 0, 'A'),
+                new SequenceRun(SequenceExplainer.DIAGONAL_DESCENDING, 0, 0, 'A'),
+                new SequenceRun(SequenceExplainer.VERTICAL, 0, 4, 'C'),
+                new SequenceRun(SequenceExplainer.DIAGONAL_ASCENDING, 3, 0, 'A')), response.getSequences());
+        assertTrue(response.getMutant());
+        assertFalse(response.isTruncated());
+        assertEquals(25, response.getCellsScanned());
+    }
+
+    @Test
+    @DisplayName("Should return the same sequences when scanning bands in parallel")
+    void testParallelMatchesSequential() {
+        // Arrange
+        String[] dna = new String[40];
+        Arrays.fill(dna, "A".repeat(40));
+        SequenceExplainer sequential = new SequenceExplainer(1_000_000, 100_000, 1000, 64, 1);
+        SequenceExplainer parallel = new SequenceExplainer(1_000_000, 100_000, 1, 3, 4);
+
+        // Act
+        ExplainResponse expected = sequential.explain(dna);
+        ExplainResponse actual = parallel.explain(dna);
+        sequential.shutdown();
+        parallel.shutdown();
+
+        // Assert
+        assertEquals(expected, actual);
+        // 40*37 horizontales y verticales, 37*37 en cada diagonal
+        assertEquals(40 * 37 * 2 + 37 * 37 * 2, actual.getSequences().size());
+    }
+
+    @Test
+    @DisplayName("Should stop at max-results and report the scanned prefix")
+    void testTruncatedByMaxResults() {
+        // Arrange
+        String[] dna = new String[8];
+        Arrays.fill(dna, "AAAAAAAA");
+        SequenceExplainer explainer = new SequenceExplainer(1_000_000, 5, 1, 2, 2);
+
+        // Act
+        ExplainResponse response = explainer.explain(dna);
+        explainer.shutdown();
+
+        // Assert
+        assertTrue(response.isTruncated());
+        assertEquals(SequenceExplainer.TRUNCATED_BY_RESULTS, response.getTruncatedBy());
+        assertEquals(5, response.getSequences().size());
+        assertTrue(response.getMutant());
+        // (0,0) tiene 3 secuencias y (0,1) otras 3, de las que se informan 2: solo (0,0) esta completa
+        assertEquals(new SequenceRun(SequenceExplainer.VERTICAL, 0, 1, 'A'), response.getSequences().get(4));
+        assertEquals(1, response.getCellsScanned());
+    }
+
+    @Test
+    @DisplayName("Should answer lowercase bases as human without scanning, like /mutant")
+    void testLowercaseBasesMatchDetector() {
+        // Arrange
+        String[] dna = {
+                "atgcga",
+                "cagtgc",
+                "ttatgt",
+                "agaagg",
+                "ccccta",
+                "tcactg"
+        };
+        SequenceExplainer explainer = new SequenceExplainer(1_000_000, 100, 256, 64, 1);
+
+        // Act
+        ExplainResponse response = explainer.explain(dna);
+        explainer.shutdown();
+
+        // Assert
+        assertEquals(new MutantDetector().isMutant(dna), response.getMutant());
+        assertFalse(response.getMutant());
+        assertTrue(response.getSequences().isEmpty());
+        assertEquals(0, response.getCellsScanned());
+    }
+
+    @Test
+    @DisplayName("Should scan only a prefix of rows within max-cells and leave the verdict open")
+    void testTruncatedByMaxCells() {
+        // Arrange
+        String[] dna = {
+                "ATGCGA",
+                "CAGTGC",
+                "TTATGT",
+                "AGAAGG",
+                "CCCCTA",
+                "TCACTG"
+        };
+        SequenceExplainer explainer = new SequenceExplainer(12, 100, 256, 64, 1);
+
+        // Act
+        ExplainResponse response = explainer.explain(dna);
+        explainer.shutdown();
+
+        // Assert
+        assertTrue(response.isTruncated());
+        assertEquals(SequenceExplainer.TRUNCATED_BY_CELLS, response.getTruncatedBy());
+        assertEquals(12, response.getCellsScanned());
+        assertEquals(2, response.getSequences().size());
+        assertTrue(response.getMutant());
+    }
+}
@@ -0,0 +1,131 @@
+package org.example.service;
+
+import org.example.entity.DnaStats;
+import org.example.repository.DnaRecordRepository;
+import org.example.repository.DnaRecordSummaryRepository;
+import org.example.repository.DnaStatsRepository;
+import org.example.shard.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for StatsCounterService with mocked repositories.
+ *
+ * Tests cover:
+ * - Counter increments on an existing stripe
+ * - Stripe creation when the row is missing, in its own transaction and tolerating a concurrent creation
+ * - Stripe initialization and seeding from existing records
+ *
+ * Total tests: 4
+ */
+@ExtendWith(MockitoExtension.class)
+class StatsCounterServiceTest {
+
+    private static final int STRIPES = 4;
+
+    @Mock
+    private DnaStatsRepository dnaStatsRepository;
+
+    @Mock
+    private DnaRecordRepository dnaRecordRepository;
+
+    @Mock
+    private DnaRecordSummaryRepository dnaRecordSummaryRepository;
+
+    private StatsCounterService statsCounterService;
+
+    @BeforeEach
+    void setUp() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        statsCounterService = new StatsCounterService(dnaStatsRepository, dnaRecordRepository, dnaRecordSummaryRepository,
+                transactionTemplate, ShardRouter.singleShard(), STRIPES);
+    }
+
+    @Test
+    @DisplayName("Should increment mutant counter on an existing stripe")
+    void testRecordMutantVerdict() {
+        // Arrange
+        when(dnaStatsRepository.increment(anyInt(), eq(1L), eq(0L))).thenReturn(1);
+
+        // Act
+        statsCounterService.recordVerdict(true);
+
+        // Assert
+        verify(dnaStatsRepository, times(1)).increment(intThat(stripe -> stripe >= 0 && stripe < STRIPES),
+                eq(1L), eq(0L));
+        verify(dnaStatsRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should create the stripe row when it does not exist yet")
+    void testRecordVerdictCreatesMissingStripe() {
+        // Arrange: otra instancia crea la misma fila al mismo tiempo
+        when(dnaStatsRepository.increment(anyInt(), eq(0L), eq(1L))).thenReturn(0, 1);
+        when(dnaStatsRepository.saveAndFlush(any(DnaStats.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate stripe"));
+
+        // Act
+        statsCounterService.recordVerdict(false);
+
+        // Assert: la fila se crea vacia aparte y el incremento se repite sobre ella
+        ArgumentCaptor<DnaStats> captor = ArgumentCaptor.forClass(DnaStats.class);
+        verify(dnaStatsRepository, times(1)).saveAndFlush(captor.capture());
+        assertEquals(0, captor.getValue().getMutantCount());
+        assertEquals(0, captor.getValue().getHumanCount());
+        verify(dnaStatsRepository, times(2)).increment(captor.getValue().getStripe(), 0L, 1L);
+        verify(dnaStatsRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should seed the first stripe from existing records and compacted partitions on an empty table")
+    void testInitializeStripesSeedsFromRecords() {
+        // Arrange
+        when(dnaStatsRepository.count()).thenReturn(0L);
+        when(dnaStatsRepository.existsById(anyInt())).thenReturn(false);
+        when(dnaRecordRepository.countByIsMutant(true)).thenReturn(40L);
+        when(dnaRecordRepository.countByIsMutant(false)).thenReturn(100L);
+        when(dnaRecordSummaryRepository.sumMutantCount()).thenReturn(5L);
+        when(dnaRecordSummaryRepository.sumHumanCount()).thenReturn(7L);
+
+        // Act
+        statsCounterService.initializeStripes();
+
+        // Assert
+        ArgumentCaptor<DnaStats> captor = ArgumentCaptor.forClass(DnaStats.class);
+        verify(dnaStatsRepository, times(STRIPES)).saveAndFlush(captor.capture());
+        List<DnaStats> rows = captor.getAllValues();
+        assertEquals(45, rows.get(0).getMutantCount());
+        assertEquals(107, rows.get(0).getHumanCount());
+        assertEquals(0, rows.get(1).getMutantCount());
+        assertEquals(0, rows.get(1).getHumanCount());
+    }
+
+    @Test
+    @DisplayName("Should not recreate existing stripes")
+    void testInitializeStripesSkipsExisting() {
+        // Arrange
+        when(dnaStatsRepository.count()).thenReturn((long) STRIPES);
+        when(dnaStatsRepository.existsById(anyInt())).thenReturn(true);
+
+        // Act
+        statsCounterService.initializeStripes();
+
+        // Assert
+        verify(dnaStatsRepository, never()).saveAndFlush(any());
+        verify(dnaRecordRepository, never()).countByIsMutant(anyBoolean());
+    }
+}
@@ -2,12 +2,17 @@ package org.example.service;
 
 import org.example.dto.StatsResponse;
 import org.example.repository.DnaRecordRepository;
+import org.example.repository.DnaRecordSummaryRepository;
+import org.example.repository.StatsTotals;
+import org.example.shard.ShardRouter;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -21,8 +26,10 @@ import static org.mockito.Mockito.*;
  * - Statistics with only humans
  * - Statistics with mixed records
  * - Ratio calculation edge cases
+ * - Statistics read from materialized counters
+ * - Compacted partitions added to the row counts
  * 
- * Total tests: 6
+ * Total tests: 9
  */
 @ExtendWith(MockitoExtension.class)
 class StatsServiceTest {
@@ -30,6 +37,15 @@ class StatsServiceTest {
     @Mock
     private DnaRecordRepository dnaRecordRepository;
 
+    @Mock
+    private DnaRecordSummaryRepository dnaRecordSummaryRepository;
+
+    @Mock
+    private StatsCounterService statsCounterService;
+
+    @Spy
+    private ShardRouter shardRouter = ShardRouter.singleShard();
+
     @InjectMocks
     private StatsService statsService;
 
@@ -131,4 +147,59 @@ class StatsServiceTest {
         verify(dnaRecordRepository, times(1)).countByIsMutant(true);
         verify(dnaRecordRepository, times(1)).countByIsMutant(false);
     }
+
+    @Test
+    @DisplayName("Should read stats from materialized counters when enabled")
+    void testGetStatsFromMaterializedCounters() {
+        // Arrange
+        ReflectionTestUtils.setField(statsService, "materializedEnabled", true);
+        StatsTotals totals = mock(StatsTotals.class);
+        when(totals.getMutantCount()).thenReturn(40L);
+        when(totals.getHumanCount()).thenReturn(100L);
+        when(statsCounterService.getTotals()).thenReturn(totals);
+
+        // Act
+        StatsResponse stats = statsService.getStats();
+
+        // Assert
+        assertEquals(40, stats.getCountMutantDna());
+        assertEquals(100, stats.getCountHumanDna());
+        assertEquals(0.4, stats.getRatio(), 0.001);
+        verify(dnaRecordRepository, never()).countByIsMutant(anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Should return zeros from empty materialized counters")
+    void testGetStatsFromEmptyMaterializedCounters() {
+        // Arrange
+        ReflectionTestUtils.setField(statsService, "materializedEnabled", true);
+        StatsTotals totals = mock(StatsTotals.class);
+        when(statsCounterService.getTotals()).thenReturn(totals);
+
+        // Act
+        StatsResponse stats = statsService.getStats();
+
+        // Assert
+        assertEquals(0, stats.getCountMutantDna());
+        assertEquals(0, stats.getCountHumanDna());
+        assertEquals(0.0, stats.getRatio(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Should add compacted partitions to the row counts")
+    void testGetStatsIncludesCompactedPartitions() {
+        // Arrange
+        when(dnaRecordRepository.countByIsMutant(true)).thenReturn(10L);
+        when(dnaRecordRepository.countByIsMutant(false)).thenReturn(20L);
+        when(dnaRecordSummaryRepository.sumMutantCount()).thenReturn(30L);
+        when(dnaRecordSummaryRepository.sumHumanCount()).thenReturn(80L);
+
+        // Act
+        StatsResponse stats = statsService.getStats();
+
+        // Assert
+        assertEquals(40, stats.getCountMutantDna());
+        assertEquals(100, stats.getCountHumanDna());
+        assertEquals(0.4, stats.getRatio(), 0.001);
+    }
 }
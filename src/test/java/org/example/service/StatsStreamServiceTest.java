@@ -0,0 +1,180 @@
+package org.example.service;
+
+import org.example.dto.StatsResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for StatsStreamService with mocked StatsService.
+ *
+ * Tests cover:
+ * - No stats query when there are no subscribers
+ * - One stats query per tick regardless of subscriber count
+ * - Subscriber registration
+ * - A stalled subscriber dropped without taking a healthy one with it
+ *
+ * Total tests: 4
+ */
+@ExtendWith(MockitoExtension.class)
+class StatsStreamServiceTest {
+
+    @Mock
+    private StatsService statsService;
+
+    private StatsStreamService statsStreamService;
+
+    @BeforeEach
+    void setUp() {
+        statsStreamService = new StatsStreamService(statsService, 3, 0L, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statsStreamService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should not query stats when there are no subscribers")
+    void testNoQueryWithoutSubscribers() {
+        // Act
+        statsStreamService.publishSnapshot();
+
+        // Assert
+        verify(statsService, never()).getStats();
+    }
+
+    @Test
+    @DisplayName("Should compute a single snapshot per tick for all subscribers")
+    void testSingleSnapshotPerTick() {
+        // Arrange
+        when(statsService.getStats()).thenReturn(new StatsResponse(40, 100, 0.4));
+        for (int i = 0; i < 10; i++) {
+            statsStreamService.subscribe();
+        }
+
+        // Act
+        statsStreamService.publishSnapshot();
+
+        // Assert
+        verify(statsService, times(1)).getStats();
+    }
+
+    @Test
+    @DisplayName("Should drop a stalled subscriber and keep serving a healthy one")
+    void testStalledSubscriberDoesNotDropHealthyOne() throws Exception {
+        // Arrange: un solo hilo de envio, ocupado por el cliente que dejo de leer
+        when(statsService.getStats()).thenReturn(new StatsResponse(40, 100, 0.4));
+        CountDownLatch stalledStarted = new CountDownLatch(1);
+        CountDownLatch unblock = new CountDownLatch(1);
+        AtomicInteger healthySends = new AtomicInteger();
+        List<SseEmitter> emitters = List.of(new StalledEmitter(stalledStarted, unblock), new CountingEmitter(healthySends));
+        Iterator<SseEmitter> nextEmitter = emitters.iterator();
+        statsStreamService.shutdown();
+        statsStreamService = new StatsStreamService(statsService, 2, 0L, 1) {
+            @Override
+            SseEmitter newEmitter(long timeoutMs) {
+                return nextEmitter.next();
+            }
+        };
+        statsStreamService.subscribe();
+        statsStreamService.subscribe();
+
+        try {
+            // Act
+            statsStreamService.publishSnapshot();
+            assertTrue(stalledStarted.await(5, TimeUnit.SECONDS));
+            for (int tick = 0; tick < 3; tick++) {
+                statsStreamService.publishSnapshot();
+            }
+            waitFor(() -> healthySends.get() >= 1);
+            for (int tick = 0; tick < 5; tick++) {
+                int before = healthySends.get();
+                statsStreamService.publishSnapshot();
+                waitFor(() -> healthySends.get() > before);
+            }
+
+            // Assert: solo queda el suscriptor sano, que siguio recibiendo cada tick
+            assertEquals(1, statsStreamService.getSubscriberCount());
+            assertTrue(healthySends.get() >= 6);
+        } finally {
+            unblock.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should register subscribers")
+    void testSubscribeRegistersEmitter() {
+        // Act
+        SseEmitter emitter = statsStreamService.subscribe();
+
+        // Assert
+        assertNotNull(emitter);
+        assertEquals(1, statsStreamService.getSubscriberCount());
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    /**
+     * Cliente que dejo de leer: el envio queda bloqueado y no responde a interrupciones,
+     * como una escritura de socket con el buffer lleno.
+     */
+    private static final class StalledEmitter extends SseEmitter {
+
+        private final CountDownLatch started;
+        private final CountDownLatch unblock;
+
+        private StalledEmitter(CountDownLatch started, CountDownLatch unblock) {
+            this.started = started;
+            this.unblock = unblock;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            started.countDown();
+            boolean done = false;
+            while (!done) {
+                try {
+                    done = unblock.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    // Se ignora, igual que un write bloqueante
+                }
+            }
+        }
+    }
+
+    private static final class CountingEmitter extends SseEmitter {
+
+        private final AtomicInteger sends;
+
+        private CountingEmitter(AtomicInteger sends) {
+            this.sends = sends;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sends.incrementAndGet();
+        }
+    }
+}
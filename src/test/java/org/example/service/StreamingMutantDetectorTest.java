@@ -0,0 +1,160 @@
+package org.example.service;
+
+import org.example.codec.PackedDnaCodec;
+import org.example.dto.StreamVerdictResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for StreamingMutantDetector and its 4-row sliding window.
+ *
+ * Tests cover:
+ * - Same verdict as MutantDetector for text and packed bodies
+ * - Early stop without reading the rest of a matrix beyond MAX_DNA_SIZE
+ * - Full scan of a large worst-case human
+ * - Rejection of ragged rows, invalid bases, wrong row counts and bad packed bodies
+ *
+ * Total tests: 4
+ */
+class StreamingMutantDetectorTest {
+
+    private final StreamingMutantDetector detector = new StreamingMutantDetector(50_000);
+
+    @Test
+    @DisplayName("Should match MutantDetector verdicts for text and packed bodies")
+    void testMatchesInMemoryDetector() throws Exception {
+        // Arrange
+        MutantDetector reference = new MutantDetector();
+        Random random = new Random(40);
+
+        for (int i = 0; i < 1000; i++) {
+            int n = 4 + random.nextInt(20);
+            String[] dna = new String[n];
+            for (int r = 0; r < n; r++) {
+                StringBuilder row = new StringBuilder(n);
+                for (int c = 0; c < n; c++) {
+                    row.append("ACGT".charAt(random.nextInt(4)));
+                }
+                dna[r] = row.toString();
+            }
+            boolean expected = reference.isMutant(dna);
+
+            // Act
+            StreamVerdictResponse text = detector.detectText(new StringReader(String.join("\r\n", dna) + "\n"));
+            StreamVerdictResponse packed = detector.detectPacked(new ByteArrayInputStream(PackedDnaCodec.encode(dna)));
+
+            // Assert
+            assertEquals(expected, text.isMutant(), "sample " + i);
+            assertEquals(expected, packed.isMutant(), "sample " + i);
+            assertEquals(n, text.getSize());
+        }
+    }
+
+    @Test
+    @DisplayName("Should stop reading as soon as the second sequence is found")
+    void testEarlyStop() throws Exception {
+        // Arrange: 20000x20000 con dos secuencias horizontales en las primeras filas
+        RowGenerator body = new RowGenerator(20_000, 1);
+
+        // Act
+        StreamVerdictResponse verdict = detector.detectText(body);
+
+        // Assert
+        assertTrue(verdict.isMutant());
+        assertEquals(20_000, verdict.getSize());
+        assertEquals(2, verdict.getRowsScanned());
+        assertTrue(body.rowsProduced < 5, "rows produced: " + body.rowsProduced);
+    }
+
+    @Test
+    @DisplayName("Should scan every row of a large worst-case human")
+    void testLargeHumanFullScan() throws Exception {
+        // Arrange
+        RowGenerator body = new RowGenerator(3_000, -1);
+
+        // Act
+        StreamVerdictResponse verdict = detector.detectText(body);
+
+        // Assert
+        assertFalse(verdict.isMutant());
+        assertEquals(3_000, verdict.getRowsScanned());
+    }
+
+    @Test
+    @DisplayName("Should reject malformed bodies")
+    void testRejectsMalformedBodies() {
+        // Arrange
+        byte[] packed = PackedDnaCodec.encode(new String[] { "ACGT", "CGTA", "GTAC", "TACG" });
+        byte[] oversized = { 0, 0, (byte) 0xC3, 0x51 };
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> detector.detectText(new StringReader("ACGT\nACG\nACGT\nACGT")));
+        assertThrows(IllegalArgumentException.class, () -> detector.detectText(new StringReader("ACGT\nACXT\nACGT\nACGT")));
+        assertThrows(IllegalArgumentException.class, () -> detector.detectText(new StringReader("ACGT\nCGTA\nGTAC")));
+        assertThrows(IllegalArgumentException.class, () -> detector.detectText(new StringReader("ACGT\nCGTA\nGTAC\nTACG\nACGT")));
+        assertThrows(IllegalArgumentException.class, () -> detector.detectText(new StringReader("")));
+        assertThrows(IllegalArgumentException.class, () -> detector.detectPacked(new ByteArrayInputStream(oversized)));
+        assertThrows(IllegalArgumentException.class,
+                () -> detector.detectPacked(new ByteArrayInputStream(Arrays.copyOf(packed, packed.length - 1))));
+        assertThrows(IllegalArgumentException.class,
+                () -> detector.detectPacked(new ByteArrayInputStream(Arrays.copyOf(packed, packed.length + 1))));
+    }
+
+    /**
+     * Genera las filas de un humano de peor caso bajo demanda, sin tener la matriz en memoria.
+     * Con {@code mutantRow >= 0} la fila anterior y esa fila empiezan con CCCC y AAAA.
+     */
+    private static final class RowGenerator extends Reader {
+
+        private final int n;
+        private final int mutantRow;
+        private char[] pending = new char[0];
+        private int position;
+        private int rowsProduced;
+
+        private RowGenerator(int n, int mutantRow) {
+            this.n = n;
+            this.mutantRow = mutantRow;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position == pending.length) {
+                if (rowsProduced == n) {
+                    return -1;
+                }
+                pending = nextRow();
+                position = 0;
+            }
+            int count = Math.min(length, pending.length - position);
+            System.arraycopy(pending, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+
+        private char[] nextRow() {
+            int r = rowsProduced++;
+            char[] row = new char[n + 1];
+            for (int c = 0; c < n; c++) {
+                row[c] = "ACGT".charAt((c + 2 * r) & 3);
+            }
+            if (r == mutantRow - 1 || r == mutantRow) {
+                Arrays.fill(row, 0, 4, r == mutantRow ? 'A' : 'C');
+            }
+            row[n] = '\n';
+            return row;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
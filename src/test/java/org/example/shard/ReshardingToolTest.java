@@ -0,0 +1,118 @@
+package org.example.shard;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for ReshardingTool with embedded H2 shards.
+ *
+ * Tests cover:
+ * - Growing from 1 to 3 shards keeps every record exactly once
+ * - Each record ends up in the shard chosen by the router
+ * - Materialized stats are rebuilt per shard
+ * - Records already on their target (interrupted run) removed from the source but not counted as moved
+ *
+ * Total tests: 3
+ */
+class ReshardingToolTest {
+
+    private static final int RECORDS = 200;
+
+    private List<DataSource> shards;
+
+    @BeforeEach
+    void setUp() {
+        String prefix = "reshard-" + UUID.randomUUID();
+        shards = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            shards.add(new DriverManagerDataSource("jdbc:h2:mem:" + prefix + "-" + i + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        }
+        new ShardDataSources(shards).initializeSchema();
+
+        JdbcTemplate source = new JdbcTemplate(shards.get(0));
+        for (int i = 0; i < RECORDS; i++) {
+            source.update("INSERT INTO dna_records (dna_hash, is_mutant, created_at) VALUES (?, ?, ?)",
+                    String.format("%08x%056x", i * 0x01000193, i), i % 4 == 0, Timestamp.valueOf(LocalDateTime.now()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should move every record to the shard chosen by the router")
+    void testReshardOneToThree() {
+        // Act
+        ReshardingTool.Result result = new ReshardingTool().reshard(List.of(shards.get(0)), shards);
+
+        // Assert
+        assertEquals(RECORDS, result.scanned());
+        long total = 0;
+        for (int shard = 0; shard < shards.size(); shard++) {
+            List<String> hashes = new JdbcTemplate(shards.get(shard))
+                    .queryForList("SELECT dna_hash FROM dna_records", String.class);
+            for (String hash : hashes) {
+                assertEquals(shard, ShardRouter.shardFor(hash, shards.size()));
+            }
+            total += hashes.size();
+        }
+        assertEquals(RECORDS, total);
+        assertEquals(RECORDS - countRecords(shards.get(0)), result.moved());
+    }
+
+    @Test
+    @DisplayName("Should count as moved only the records actually inserted on the target")
+    void testRerunAfterInterruptedCopy() {
+        // Arrange: una corrida anterior ya copio un registro a su shard pero no lo borro del origen
+        JdbcTemplate source = new JdbcTemplate(shards.get(0));
+        String copied = source.queryForList("SELECT dna_hash FROM dna_records ORDER BY id", String.class).stream()
+                .filter(hash -> ShardRouter.shardFor(hash, shards.size()) != 0)
+                .findFirst()
+                .orElseThrow();
+        new JdbcTemplate(shards.get(ShardRouter.shardFor(copied, shards.size()))).update(
+                "INSERT INTO dna_records (dna_hash, is_mutant, created_at) VALUES (?, ?, ?)",
+                copied, true, Timestamp.valueOf(LocalDateTime.now()));
+
+        // Act
+        ReshardingTool.Result result = new ReshardingTool().reshard(List.of(shards.get(0)), shards);
+
+        // Assert
+        long total = 0;
+        for (DataSource shard : shards) {
+            total += countRecords(shard);
+        }
+        assertEquals(RECORDS, total);
+        assertEquals(RECORDS - countRecords(shards.get(0)) - 1, result.moved());
+    }
+
+    @Test
+    @DisplayName("Should rebuild materialized stats on every target shard")
+    void testReshardRebuildsStats() {
+        // Act
+        new ReshardingTool().reshard(List.of(shards.get(0)), shards);
+
+        // Assert
+        long mutants = 0;
+        long humans = 0;
+        for (DataSource shard : shards) {
+            JdbcTemplate template = new JdbcTemplate(shard);
+            mutants += template.queryForObject("SELECT SUM(mutant_count) FROM dna_stats", Long.class);
+            humans += template.queryForObject("SELECT SUM(human_count) FROM dna_stats", Long.class);
+        }
+        assertEquals(RECORDS / 4, mutants);
+        assertEquals(RECORDS - RECORDS / 4, humans);
+    }
+
+    private long countRecords(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM dna_records", Long.class);
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.shard;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for ShardRouter.
+ *
+ * Tests cover:
+ * - Routing by fingerprint prefix
+ * - Fan-out runs each task with its shard bound
+ * - Single-shard routing
+ *
+ * Total tests: 4
+ */
+class ShardRouterTest {
+
+    private ShardRouter router;
+
+    @BeforeEach
+    void setUp() {
+        router = new ShardRouter(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        router.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should route by the hexadecimal fingerprint prefix")
+    void testRoutesByPrefix() {
+        assertEquals(0, router.shardFor("00000000ffff"));
+        assertEquals(1, router.shardFor("00000001ffff"));
+        assertEquals(3, router.shardFor("0000000b0000"));
+        assertEquals(router.shardFor("abcdef0123"), router.shardFor("abcdef0123"));
+    }
+
+    @Test
+    @DisplayName("Should always route inside the shard range")
+    void testRoutesInsideRange() {
+        for (String fingerprint : List.of("ffffffff", "80000000", "7fffffff", "not-hex", "a")) {
+            int shard = router.shardFor(fingerprint);
+            assertTrue(shard >= 0 && shard < 4, "Shard out of range for " + fingerprint);
+        }
+    }
+
+    @Test
+    @DisplayName("Should bind each shard while fanning out")
+    void testFanOutBindsShard() {
+        // Act
+        List<Integer> shards = router.fanOut(shard -> ShardContext.current() * 10 + shard);
+
+        // Assert
+        assertEquals(List.of(0, 11, 22, 33), shards);
+    }
+
+    @Test
+    @DisplayName("Should route everything to shard 0 with a single shard")
+    void testSingleShard() {
+        ShardRouter single = ShardRouter.singleShard();
+        assertEquals(0, single.shardFor("ffffffff"));
+        assertEquals(List.of(0), single.fanOut(shard -> ShardContext.current()));
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.shard;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.dto.DnaRequest;
+import org.example.service.MutantDetector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration test running the application against 3 embedded H2 shards.
+ *
+ * Tests cover:
+ * - Records are spread across shards and stats are merged
+ *
+ * Total tests: 1
+ */
+@SpringBootTest(properties = {
+        "sharding.enabled=true",
+        "sharding.urls=jdbc:h2:mem:shardtest0;DB_CLOSE_DELAY=-1,"
+                + "jdbc:h2:mem:shardtest1;DB_CLOSE_DELAY=-1,"
+                + "jdbc:h2:mem:shardtest2;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+class ShardingIntegrationTest {
+
+    private static final char[] BASES = { 'A', 'T', 'C', 'G' };
+    private static final int SAMPLES = 60;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ShardDataSources shardDataSources;
+
+    @Test
+    @DisplayName("Should spread records across shards and merge stats")
+    void testRecordsSpreadAndStatsMerged() throws Exception {
+        MutantDetector detector = new MutantDetector();
+        Random random = new Random(29);
+        long mutants = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            String[] dna = randomDna(random, 6);
+            boolean isMutant = detector.isMutant(dna);
+            mutants += isMutant ? 1 : 0;
+            mockMvc.perform(post("/mutant")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new DnaRequest(dna))))
+                    .andExpect(status().is(isMutant ? 200 : 403));
+        }
+
+        long total = 0;
+        for (int shard = 0; shard < shardDataSources.size(); shard++) {
+            long count = new JdbcTemplate(shardDataSources.get(shard))
+                    .queryForObject("SELECT COUNT(*) FROM dna_records", Long.class);
+            assertTrue(count > 0, "Shard " + shard + " should hold records");
+            total += count;
+        }
+        assertEquals(SAMPLES, total);
+
+        mockMvc.perform(get("/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count_mutant_dna").value(mutants))
+                .andExpect(jsonPath("$.count_human_dna").value(SAMPLES - mutants));
+    }
+
+    private static String[] randomDna(Random random, int n) {
+        String[] dna = new String[n];
+        for (int row = 0; row < n; row++) {
+            char[] chars = new char[n];
+            for (int col = 0; col < n; col++) {
+                chars[col] = BASES[random.nextInt(BASES.length)];
+            }
+            dna[row] = new String(chars);
+        }
+        return dna;
+    }
+}
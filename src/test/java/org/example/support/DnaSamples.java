@@ -0,0 +1,35 @@
+package org.example.support;
+
+/**
+ * Matrices de ADN compartidas por los tests del detector y los benchmarks.
+ */
+public final class DnaSamples {
+
+    private static final char[] BASES = { 'A', 'C', 'G', 'T' };
+
+    private DnaSamples() {
+    }
+
+    /**
+     * Humano de peor caso: ninguna celda coincide con sus vecinas en ninguna direccion, por lo
+     * que el detector recorre la matriz completa sin terminar antes.
+     */
+    public static String[] worstCaseHuman(int n) {
+        char[][] matrix = worstCaseHumanMatrix(n);
+        String[] dna = new String[n];
+        for (int r = 0; r < n; r++) {
+            dna[r] = new String(matrix[r]);
+        }
+        return dna;
+    }
+
+    public static char[][] worstCaseHumanMatrix(int n) {
+        char[][] matrix = new char[n][n];
+        for (int r = 0; r < n; r++) {
+            for (int c = 0; c < n; c++) {
+                matrix[r][c] = BASES[(c + 2 * r) & 3];
+            }
+        }
+        return matrix;
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.example.fingerprint.Sha256DnaFingerprint;
+import org.example.service.MutantDetector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test suite for JitWarmupRunner and its synthetic samples.
+ *
+ * Tests cover:
+ * - Synthetic samples produce the verdict they were built for
+ * - Iteration cap and time budget both stop the warm-up
+ * - Readiness set to REFUSING_TRAFFIC while warming up
+ *
+ * Total tests: 4
+ */
+class JitWarmupRunnerTest {
+
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    @Test
+    @DisplayName("Should build samples that match their expected verdict")
+    void testSamplesMatchExpectedVerdict() {
+        // Arrange
+        MutantDetector detector = new MutantDetector();
+
+        // Act & Assert
+        for (WarmupSamples.Sample sample : WarmupSamples.generate(38)) {
+            assertEquals(sample.dna().length, sample.dna()[0].length(), sample.label());
+            if (sample.expectedMutant() != null) {
+                assertEquals(sample.expectedMutant(), detector.isMutant(sample.dna()), sample.label());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should stop after the configured number of iterations")
+    void testStopsAtIterationCap() throws Exception {
+        // Arrange
+        JitWarmupRunner runner = runner(60_000, 100);
+
+        // Act
+        int executed = runner.warmUp();
+
+        // Assert
+        assertEquals(100, executed);
+    }
+
+    @Test
+    @DisplayName("Should stop when the time budget runs out")
+    void testStopsAtTimeBudget() throws Exception {
+        // Arrange
+        JitWarmupRunner runner = runner(0, Integer.MAX_VALUE);
+
+        // Act
+        int executed = runner.warmUp();
+
+        // Assert
+        assertTrue(executed <= 1);
+    }
+
+    @Test
+    @DisplayName("Should refuse traffic while warming up")
+    void testPublishesRefusingTraffic() throws Exception {
+        // Arrange
+        JitWarmupRunner runner = runner(60_000, 10);
+
+        // Act
+        runner.run(new DefaultApplicationArguments());
+
+        // Assert
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof AvailabilityChangeEvent<?> change
+                && change.getState() == ReadinessState.REFUSING_TRAFFIC));
+    }
+
+    private JitWarmupRunner runner(long budgetMs, int iterations) {
+        return new JitWarmupRunner(new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new Sha256DnaFingerprint(), new MutantDetector(), eventPublisher, budgetMs, iterations);
+    }
+}